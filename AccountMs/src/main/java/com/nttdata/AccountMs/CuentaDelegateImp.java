@@ -1,16 +1,29 @@
 package com.nttdata.AccountMs;
 
 import com.nttdata.AccountMs.api.CuentasApiDelegate;
+import com.nttdata.AccountMs.business.CuentaMapper;
 import com.nttdata.AccountMs.business.CuentaService;
+import com.nttdata.AccountMs.dto.FiltroCuentas;
+import com.nttdata.AccountMs.model.AjustesCuentaResponse;
+import com.nttdata.AccountMs.model.CuentaLoteRequest;
+import com.nttdata.AccountMs.model.CuentaLoteResponse;
+import com.nttdata.AccountMs.model.CuentaPage;
 import com.nttdata.AccountMs.model.CuentaRequest;
 import com.nttdata.AccountMs.model.CuentaResponse;
 import com.nttdata.AccountMs.model.InlineObject;
+import com.nttdata.AccountMs.model.MovimientoLoteRequest;
+import com.nttdata.AccountMs.model.MovimientoLoteResponse;
+import com.nttdata.AccountMs.model.MovimientoSaldoRequest;
+import com.nttdata.AccountMs.model.SaldoConciliacionResponse;
 import com.nttdata.AccountMs.model.SaldoTipoResponse;
+import com.nttdata.AccountMs.model.TransferenciaRequest;
+import com.nttdata.AccountMs.model.TransferenciaResponse;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 
+import java.time.OffsetDateTime;
 import java.util.List;
 
 @Service
@@ -19,18 +32,34 @@ public class CuentaDelegateImp implements CuentasApiDelegate {
     @Autowired
     private CuentaService cuentaService;
 
+    @Autowired
+    private CuentaMapper cuentaMapper;
+
     @Override
     public ResponseEntity<List<CuentaResponse>> listAllAccounts() {
         List<CuentaResponse> cuentas = cuentaService.listAllAccounts();
         return ResponseEntity.ok(cuentas);
     }
 
+    @Override
+    public ResponseEntity<CuentaPage> listAccountsPaged(Integer clienteId, String tipoCuenta, String ordenarPor, String direccion,
+                                                        Integer pagina, String cursor, Integer tamanio) {
+        FiltroCuentas filtro = cuentaMapper.getFiltroCuentas(clienteId, tipoCuenta);
+        CuentaPage cuentas = cuentaService.listAccountsPaged(filtro, ordenarPor, direccion, pagina, cursor, tamanio);
+        return ResponseEntity.ok(cuentas);
+    }
+
     @Override
     public ResponseEntity<CuentaResponse> createAccount(CuentaRequest cuentaRequest) {
         CuentaResponse cuentaResponse = cuentaService.createAccount(cuentaRequest);
         return new ResponseEntity<>(cuentaResponse, HttpStatus.CREATED);
     }
 
+    @Override
+    public ResponseEntity<CuentaLoteResponse> createAccountsBatch(CuentaLoteRequest cuentaLoteRequest) {
+        return ResponseEntity.ok(cuentaService.createAccountsBatch(cuentaLoteRequest));
+    }
+
     @Override
     public ResponseEntity<CuentaResponse> getAccountById(Integer id) {
         CuentaResponse cuentaResponse = cuentaService.getAccountById(id);
@@ -54,4 +83,40 @@ public class CuentaDelegateImp implements CuentasApiDelegate {
         SaldoTipoResponse saldoTipoResponse = cuentaService.getAccountBalanceAndType(numeroCuenta);
         return ResponseEntity.ok(saldoTipoResponse);
     }
-}
\ No newline at end of file
+
+    @Override
+    public ResponseEntity<AjustesCuentaResponse> getAccountAdjustments(String numeroCuenta, OffsetDateTime desde,
+                                                                       OffsetDateTime hasta) {
+        return ResponseEntity.ok(cuentaService.getAccountAdjustments(numeroCuenta, desde, hasta));
+    }
+
+    @Override
+    public ResponseEntity<SaldoTipoResponse> applyBalanceMovement(String numeroCuenta, MovimientoSaldoRequest movimientoSaldoRequest,
+                                                                  String idempotencyKey) {
+        SaldoTipoResponse saldoTipoResponse = cuentaService.applyBalanceMovement(numeroCuenta, movimientoSaldoRequest, idempotencyKey);
+        return ResponseEntity.ok(saldoTipoResponse);
+    }
+
+    @Override
+    public ResponseEntity<MovimientoLoteResponse> applyMovementsBatch(MovimientoLoteRequest movimientoLoteRequest) {
+        return ResponseEntity.ok(cuentaService.applyMovementsBatch(movimientoLoteRequest));
+    }
+
+    @Override
+    public ResponseEntity<TransferenciaResponse> transferBetweenAccounts(TransferenciaRequest transferenciaRequest, String idempotencyKey) {
+        TransferenciaResponse transferenciaResponse = cuentaService.transferBetweenAccounts(transferenciaRequest, idempotencyKey);
+        return ResponseEntity.ok(transferenciaResponse);
+    }
+
+    @Override
+    public ResponseEntity<Void> updateCustomerExistence(Integer clienteId, Boolean existe) {
+        cuentaService.updateCustomerExistence(clienteId, existe);
+        return new ResponseEntity<>(HttpStatus.NO_CONTENT);
+    }
+
+    @Override
+    public ResponseEntity<List<SaldoConciliacionResponse>> listBalancesInRange(String desde, String hasta, Integer limite) {
+        List<SaldoConciliacionResponse> saldos = cuentaService.listBalancesInRange(desde, hasta, limite);
+        return ResponseEntity.ok(saldos);
+    }
+}
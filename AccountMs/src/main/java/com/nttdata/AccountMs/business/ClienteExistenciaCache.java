@@ -0,0 +1,148 @@
+package com.nttdata.AccountMs.business;
+
+import com.nttdata.AccountMs.clients.CustomerFeignClient;
+import com.nttdata.AccountMs.config.CacheConfig;
+import com.nttdata.AccountMs.dto.ClienteIdsRequest;
+import com.nttdata.AccountMs.dto.ClienteIdsResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Component
+public class ClienteExistenciaCache {
+
+    @Autowired
+    CustomerFeignClient customerFeignClient;
+
+    @Autowired
+    CacheManager cacheManager;
+
+    @Value("${clientes.cache.bloom.capacidad:1000000}")
+    int capacidadBloom;
+
+    @Value("${clientes.cache.bloom.probabilidad-falso-positivo:0.01}")
+    double probabilidadFalsoPositivo;
+
+    @Value("${clientes.cache.carga.tamanio-pagina:5000}")
+    int tamanioPagina;
+
+    @Value("${clientes.cache.margen-ids:100}")
+    int margenIds;
+
+    private volatile IndiceClientes indice;
+
+    // Cada baja cambia la versión: una consulta a CustomerMs que se cruza con una baja no guarda su respuesta positiva.
+    private final AtomicLong versionBajas = new AtomicLong();
+
+    public boolean existe(Integer clienteId) {
+        if (clienteId == null) {
+            return false;
+        }
+        if (cacheClientes().get(clienteId) != null) {
+            return true;
+        }
+
+        IndiceClientes actual = indice;
+        if (actual != null && clienteId <= actual.limiteConfiable() && !actual.filtro().puedeContener(clienteId)) {
+            return false;
+        }
+
+        long version = versionBajas.get();
+        boolean existe = Boolean.TRUE.equals(customerFeignClient.checkIfCustomerExists(clienteId));
+        if (existe) {
+            registrarSiNoHuboBajas(clienteId, version);
+        }
+        return existe;
+    }
+
+    public Set<Integer> existentes(Collection<Integer> clienteIds) {
+        Set<Integer> existentes = new HashSet<>();
+        List<Integer> desconocidos = new ArrayList<>();
+        Cache cache = cacheClientes();
+        IndiceClientes actual = indice;
+
+        clienteIds.stream()
+                .filter(Objects::nonNull)
+                .distinct()
+                .forEach(clienteId -> {
+                    if (cache.get(clienteId) != null) {
+                        existentes.add(clienteId);
+                    } else if (actual == null || clienteId > actual.limiteConfiable() || actual.filtro().puedeContener(clienteId)) {
+                        desconocidos.add(clienteId);
+                    }
+                });
+
+        if (!desconocidos.isEmpty()) {
+            long version = versionBajas.get();
+            customerFeignClient.findExistingCustomerIds(new ClienteIdsRequest(desconocidos)).getIds()
+                    .forEach(clienteId -> {
+                        registrarSiNoHuboBajas(clienteId, version);
+                        existentes.add(clienteId);
+                    });
+        }
+        return existentes;
+    }
+
+    public void registrar(Integer clienteId) {
+        cacheClientes().put(clienteId, Boolean.TRUE);
+        IndiceClientes actual = indice;
+        if (actual != null) {
+            actual.filtro().agregar(clienteId);
+        }
+    }
+
+    public void invalidar(Integer clienteId) {
+        versionBajas.incrementAndGet();
+        cacheClientes().evict(clienteId);
+    }
+
+    // La carga solo alimenta el filtro: que contenga a un cliente borrado durante la carga solo cuesta una consulta,
+    // mientras que una entrada positiva lo daría por existente hasta expirar.
+    @Scheduled(initialDelayString = "${clientes.cache.carga.retraso-inicial-ms:30000}",
+            fixedDelayString = "${clientes.cache.carga.intervalo-ms:900000}")
+    public void recargar() {
+        FiltroBloom filtro = new FiltroBloom(capacidadBloom, probabilidadFalsoPositivo);
+        int ultimoId = 0;
+        Integer desdeId = 0;
+
+        do {
+            ClienteIdsResponse pagina = customerFeignClient.listCustomerIds(desdeId, tamanioPagina);
+            for (Integer id : pagina.getIds()) {
+                filtro.agregar(id);
+                ultimoId = Math.max(ultimoId, id);
+            }
+            desdeId = pagina.getSiguienteDesdeId();
+        } while (desdeId != null);
+
+        indice = new IndiceClientes(filtro, ultimoId - margenIds);
+    }
+
+    // Se vuelve a mirar la versión tras guardar: una baja que llega entre la comprobación y el put no queda tapada.
+    private void registrarSiNoHuboBajas(Integer clienteId, long version) {
+        if (versionBajas.get() != version) {
+            return;
+        }
+        registrar(clienteId);
+        if (versionBajas.get() != version) {
+            cacheClientes().evict(clienteId);
+        }
+    }
+
+    private Cache cacheClientes() {
+        return cacheManager.getCache(CacheConfig.CACHE_CLIENTES);
+    }
+
+    private record IndiceClientes(FiltroBloom filtro, int limiteConfiable) {
+    }
+}
@@ -1,13 +1,30 @@
 package com.nttdata.AccountMs.business;
 
 
+import com.nttdata.AccountMs.dto.FiltroCuentas;
+import com.nttdata.AccountMs.exception.CustomExceptions;
+import com.nttdata.AccountMs.model.AjusteSaldoResponse;
+import com.nttdata.AccountMs.model.AjustesCuentaResponse;
+import com.nttdata.AccountMs.model.CuentaLoteResponse;
+import com.nttdata.AccountMs.model.CuentaLoteResultado;
+import com.nttdata.AccountMs.model.CuentaPage;
 import com.nttdata.AccountMs.model.CuentaRequest;
 import com.nttdata.AccountMs.model.CuentaResponse;
+import com.nttdata.AccountMs.model.MovimientoLoteResponse;
+import com.nttdata.AccountMs.model.MovimientoLoteResultado;
+import com.nttdata.AccountMs.model.SaldoConciliacionResponse;
 import com.nttdata.AccountMs.model.SaldoTipoResponse;
+import com.nttdata.AccountMs.model.TransferenciaResponse;
+import com.nttdata.AccountMs.model.entity.AjusteSaldo;
 import com.nttdata.AccountMs.model.entity.Cuenta;
 import com.nttdata.AccountMs.model.entity.TipoCuentaEnum;
 import org.springframework.stereotype.Component;
 
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
 @Component
 public class CuentaMapper {
 
@@ -26,7 +43,7 @@ public class CuentaMapper {
         CuentaResponse cuentaResponse = new CuentaResponse();
         cuentaResponse.setId(entity.getId());
         cuentaResponse.setNumeroCuenta(entity.getNumeroCuenta());
-        cuentaResponse.setSaldo(entity.getSaldo());
+        cuentaResponse.setSaldo(Dinero.aDecimal(entity.getSaldoCentimos()));
         cuentaResponse.setTipoCuenta(mapToResponseTipoCuenta(entity.getTipoCuenta()));
         cuentaResponse.setClienteId(entity.getClienteId());
         return cuentaResponse;
@@ -37,9 +54,62 @@ public class CuentaMapper {
         return CuentaResponse.TipoCuentaEnum.valueOf(tipoCuentaEntity.name());
     }
 
+    public CuentaPage getCuentaPageOfCuentas(List<Cuenta> cuentas, boolean hayMas, String siguienteCursor) {
+        CuentaPage response = new CuentaPage();
+        response.setCuentas(cuentas.stream()
+                .map(this::getCuentaResponseOfCuenta)
+                .collect(Collectors.toList()));
+        response.setHayMas(hayMas);
+        response.setSiguienteCursor(siguienteCursor);
+        return response;
+    }
+
+    public FiltroCuentas getFiltroCuentas(Integer clienteId, String tipoCuenta) {
+        return FiltroCuentas.builder()
+                .clienteId(clienteId)
+                .tipoCuenta(mapToEntityTipoCuenta(tipoCuenta))
+                .build();
+    }
+
+    public TipoCuentaEnum mapToEntityTipoCuenta(String tipoCuenta) {
+        if (tipoCuenta == null) {
+            return null;
+        }
+        return Arrays.stream(TipoCuentaEnum.values())
+                .filter(tipo -> tipo.name().equalsIgnoreCase(tipoCuenta))
+                .findFirst()
+                .orElseThrow(() -> new CustomExceptions.BadRequestException("El tipo de cuenta debe ser AHORROS o CORRIENTE"));
+    }
+
+    public AjustesCuentaResponse getAjustesCuentaResponse(String numeroCuenta, long ajusteInicialCentimos,
+                                                          List<AjusteSaldo> ajustes) {
+        AjustesCuentaResponse ajustesCuentaResponse = new AjustesCuentaResponse();
+        ajustesCuentaResponse.setNumeroCuenta(numeroCuenta);
+        ajustesCuentaResponse.setAjusteInicial(Dinero.aDecimal(ajusteInicialCentimos));
+        ajustesCuentaResponse.setAjustes(ajustes.stream()
+                .map(this::getAjusteSaldoResponseOfAjusteSaldo)
+                .collect(Collectors.toList()));
+        return ajustesCuentaResponse;
+    }
+
+    public AjusteSaldoResponse getAjusteSaldoResponseOfAjusteSaldo(AjusteSaldo entity) {
+        AjusteSaldoResponse ajusteSaldoResponse = new AjusteSaldoResponse();
+        ajusteSaldoResponse.setMonto(Dinero.aDecimal(entity.getMontoCentimos()));
+        ajusteSaldoResponse.setFecha(entity.getFecha().atOffset(ZoneOffset.UTC));
+        return ajusteSaldoResponse;
+    }
+
+    public SaldoConciliacionResponse getSaldoConciliacionOfCuenta(Cuenta entity) {
+        SaldoConciliacionResponse saldoConciliacionResponse = new SaldoConciliacionResponse();
+        saldoConciliacionResponse.setNumeroCuenta(entity.getNumeroCuenta());
+        saldoConciliacionResponse.setSaldo(Dinero.aDecimal(entity.getSaldoCentimos()));
+        saldoConciliacionResponse.setAjustes(Dinero.aDecimal(entity.getAjusteCentimos()));
+        return saldoConciliacionResponse;
+    }
+
     public SaldoTipoResponse getSaldoOfCuenta(Cuenta entity){
         SaldoTipoResponse saldoTipoResponse = new SaldoTipoResponse();
-        saldoTipoResponse.setSaldo(entity.getSaldo());
+        saldoTipoResponse.setSaldo(Dinero.aDecimal(entity.getSaldoCentimos()));
         saldoTipoResponse.tipoCuenta(mapToResponseSaldo(entity.getTipoCuenta()));
 
         return saldoTipoResponse;
@@ -48,4 +118,64 @@ public class CuentaMapper {
     public SaldoTipoResponse.TipoCuentaEnum mapToResponseSaldo(TipoCuentaEnum tipoCuentaEntity) {
         return SaldoTipoResponse.TipoCuentaEnum.valueOf(tipoCuentaEntity.name());
     }
+
+    public TransferenciaResponse getTransferenciaResponseOfCuentas(Cuenta origen, Cuenta destino) {
+        TransferenciaResponse transferenciaResponse = new TransferenciaResponse();
+        transferenciaResponse.setSaldoOrigen(Dinero.aDecimal(origen.getSaldoCentimos()));
+        transferenciaResponse.setSaldoDestino(Dinero.aDecimal(destino.getSaldoCentimos()));
+        return transferenciaResponse;
+    }
+
+    public CuentaLoteResultado getCuentaLoteResultadoCreada(int indice, Cuenta entity) {
+        CuentaLoteResultado resultado = new CuentaLoteResultado();
+        resultado.setIndice(indice);
+        resultado.setEstado(CuentaLoteResultado.EstadoEnum.CREADA);
+        resultado.setCuenta(getCuentaResponseOfCuenta(entity));
+        return resultado;
+    }
+
+    public CuentaLoteResultado getCuentaLoteResultadoRechazada(int indice, String error) {
+        CuentaLoteResultado resultado = new CuentaLoteResultado();
+        resultado.setIndice(indice);
+        resultado.setEstado(CuentaLoteResultado.EstadoEnum.RECHAZADA);
+        resultado.setError(error);
+        return resultado;
+    }
+
+    public CuentaLoteResponse getCuentaLoteResponseOfResultados(List<CuentaLoteResultado> resultados) {
+        CuentaLoteResponse response = new CuentaLoteResponse();
+        response.setResultados(resultados);
+        response.setCreadas((int) resultados.stream()
+                .filter(resultado -> resultado.getEstado() == CuentaLoteResultado.EstadoEnum.CREADA)
+                .count());
+        response.setRechazadas(resultados.size() - response.getCreadas());
+        return response;
+    }
+
+    public MovimientoLoteResultado getMovimientoLoteResultadoAplicado(int indice, Cuenta origen, Cuenta destino) {
+        MovimientoLoteResultado resultado = new MovimientoLoteResultado();
+        resultado.setIndice(indice);
+        resultado.setAplicado(true);
+        resultado.setSaldoOrigen(Dinero.aDecimal(origen.getSaldoCentimos()));
+        resultado.setSaldoDestino(destino == null ? null : Dinero.aDecimal(destino.getSaldoCentimos()));
+        return resultado;
+    }
+
+    public MovimientoLoteResultado getMovimientoLoteResultadoRechazado(int indice, String error) {
+        MovimientoLoteResultado resultado = new MovimientoLoteResultado();
+        resultado.setIndice(indice);
+        resultado.setAplicado(false);
+        resultado.setError(error);
+        return resultado;
+    }
+
+    public MovimientoLoteResponse getMovimientoLoteResponseOfResultados(List<MovimientoLoteResultado> resultados) {
+        MovimientoLoteResponse response = new MovimientoLoteResponse();
+        response.setResultados(resultados);
+        response.setAplicados((int) resultados.stream()
+                .filter(MovimientoLoteResultado::getAplicado)
+                .count());
+        response.setRechazados(resultados.size() - response.getAplicados());
+        return response;
+    }
 }
@@ -1,19 +1,40 @@
 package com.nttdata.AccountMs.business;
 
 
+import com.nttdata.AccountMs.dto.FiltroCuentas;
+import com.nttdata.AccountMs.model.AjustesCuentaResponse;
+import com.nttdata.AccountMs.model.CuentaLoteRequest;
+import com.nttdata.AccountMs.model.CuentaLoteResponse;
+import com.nttdata.AccountMs.model.CuentaPage;
 import com.nttdata.AccountMs.model.CuentaRequest;
 import com.nttdata.AccountMs.model.CuentaResponse;
 import com.nttdata.AccountMs.model.InlineObject;
+import com.nttdata.AccountMs.model.MovimientoLoteRequest;
+import com.nttdata.AccountMs.model.MovimientoLoteResponse;
+import com.nttdata.AccountMs.model.MovimientoSaldoRequest;
+import com.nttdata.AccountMs.model.SaldoConciliacionResponse;
 import com.nttdata.AccountMs.model.SaldoTipoResponse;
+import com.nttdata.AccountMs.model.TransferenciaRequest;
+import com.nttdata.AccountMs.model.TransferenciaResponse;
 import org.springframework.http.ResponseEntity;
 
+import java.time.OffsetDateTime;
 import java.util.List;
 
 public interface CuentaService {
     List<CuentaResponse> listAllAccounts();
+    CuentaPage listAccountsPaged(FiltroCuentas filtro, String ordenarPor, String direccion,
+                                 Integer pagina, String cursor, Integer tamanio);
     CuentaResponse createAccount(CuentaRequest cuentaRequest);
+    CuentaLoteResponse createAccountsBatch(CuentaLoteRequest cuentaLoteRequest);
     CuentaResponse getAccountById(Integer id);
     void deleteAccountById(Integer id);
     void updateAccountBalance(String numeroCuenta, InlineObject inlineObject);
     SaldoTipoResponse getAccountBalanceAndType(String numeroCuenta);
+    AjustesCuentaResponse getAccountAdjustments(String numeroCuenta, OffsetDateTime desde, OffsetDateTime hasta);
+    SaldoTipoResponse applyBalanceMovement(String numeroCuenta, MovimientoSaldoRequest movimientoSaldoRequest, String referencia);
+    TransferenciaResponse transferBetweenAccounts(TransferenciaRequest transferenciaRequest, String referencia);
+    MovimientoLoteResponse applyMovementsBatch(MovimientoLoteRequest movimientoLoteRequest);
+    void updateCustomerExistence(Integer clienteId, Boolean existe);
+    List<SaldoConciliacionResponse> listBalancesInRange(String desde, String hasta, Integer limite);
 }
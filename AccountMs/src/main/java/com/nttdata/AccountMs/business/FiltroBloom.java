@@ -0,0 +1,57 @@
+package com.nttdata.AccountMs.business;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+public class FiltroBloom {
+
+    private final AtomicLongArray bits;
+    private final int numeroBits;
+    private final int numeroHashes;
+
+    public FiltroBloom(int capacidad, double probabilidadFalsoPositivo) {
+        long tamanio = (long) Math.ceil(-capacidad * Math.log(probabilidadFalsoPositivo) / (Math.log(2) * Math.log(2)));
+        this.numeroBits = (int) Math.max(64, Math.min(tamanio, Integer.MAX_VALUE - 63));
+        this.numeroHashes = Math.max(1, (int) Math.round((double) numeroBits / capacidad * Math.log(2)));
+        this.bits = new AtomicLongArray((numeroBits + 63) / 64);
+    }
+
+    public void agregar(int valor) {
+        long hash = mezclar(valor);
+        int hash1 = (int) hash;
+        int hash2 = (int) (hash >>> 32);
+        for (int i = 1; i <= numeroHashes; i++) {
+            int indice = posicion(hash1 + i * hash2);
+            long mascara = 1L << indice;
+            long actual;
+            do {
+                actual = bits.get(indice >>> 6);
+            } while ((actual & mascara) == 0 && !bits.compareAndSet(indice >>> 6, actual, actual | mascara));
+        }
+    }
+
+    public boolean puedeContener(int valor) {
+        long hash = mezclar(valor);
+        int hash1 = (int) hash;
+        int hash2 = (int) (hash >>> 32);
+        for (int i = 1; i <= numeroHashes; i++) {
+            int indice = posicion(hash1 + i * hash2);
+            if ((bits.get(indice >>> 6) & (1L << indice)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int posicion(int hash) {
+        return (hash & Integer.MAX_VALUE) % numeroBits;
+    }
+
+    private static long mezclar(long valor) {
+        valor ^= valor >>> 33;
+        valor *= 0xff51afd7ed558ccdL;
+        valor ^= valor >>> 33;
+        valor *= 0xc4ceb9fe1a85ec53L;
+        valor ^= valor >>> 33;
+        return valor;
+    }
+}
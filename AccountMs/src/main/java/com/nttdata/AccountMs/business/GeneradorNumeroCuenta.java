@@ -0,0 +1,112 @@
+package com.nttdata.AccountMs.business;
+
+import com.nttdata.AccountMs.model.entity.Secuencia;
+import com.nttdata.AccountMs.repository.SecuenciaRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantLock;
+
+@Component
+public class GeneradorNumeroCuenta {
+
+    static final String SECUENCIA_NUMERO_CUENTA = "numero_cuenta";
+    static final long VALOR_INICIAL = 100_000_000L;
+    static final long VALOR_MAXIMO = 999_999_999L;
+
+    @Autowired
+    SecuenciaRepository secuenciaRepository;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @Value("${cuentas.numeracion.tamanio-bloque:1000}")
+    int tamanioBloque;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private long siguiente;
+    private long limite;
+
+    public String siguienteNumero() {
+        return siguientesNumeros(1).get(0);
+    }
+
+    public List<String> siguientesNumeros(int cantidad) {
+        List<String> numeros = new ArrayList<>(cantidad);
+        lock.lock();
+        try {
+            while (numeros.size() < cantidad) {
+                if (siguiente >= limite) {
+                    reservarBloque(Math.max(tamanioBloque, cantidad - numeros.size()));
+                }
+                numeros.add(conDigitoVerificador(siguiente++));
+            }
+        } finally {
+            lock.unlock();
+        }
+        return numeros;
+    }
+
+    private void reservarBloque(int tamanio) {
+        long inicio = avanzarSecuencia(tamanio)
+                .or(() -> {
+                    inicializarSecuencia();
+                    return avanzarSecuencia(tamanio);
+                })
+                .orElseThrow(() -> new IllegalStateException("No se pudo inicializar la secuencia de números de cuenta"));
+
+        siguiente = inicio;
+        limite = inicio + tamanio;
+    }
+
+    private Optional<Long> avanzarSecuencia(int tamanio) {
+        return nuevaTransaccion().execute(status -> secuenciaRepository.findByNombreForUpdate(SECUENCIA_NUMERO_CUENTA)
+                .map(secuencia -> {
+                    long valor = secuencia.getSiguienteValor();
+                    if (valor + tamanio - 1 > VALOR_MAXIMO) {
+                        throw new IllegalStateException("Se agotó el rango de números de cuenta disponibles");
+                    }
+                    secuencia.setSiguienteValor(valor + tamanio);
+                    return valor;
+                }));
+    }
+
+    private void inicializarSecuencia() {
+        try {
+            nuevaTransaccion().executeWithoutResult(status ->
+                    secuenciaRepository.saveAndFlush(new Secuencia(SECUENCIA_NUMERO_CUENTA, VALOR_INICIAL)));
+        } catch (DataIntegrityViolationException e) {
+            // otra instancia la creó primero; basta con volver a leerla
+        }
+    }
+
+    private TransactionTemplate nuevaTransaccion() {
+        TransactionTemplate transaccion = new TransactionTemplate(transactionManager);
+        transaccion.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        return transaccion;
+    }
+
+    static String conDigitoVerificador(long cuerpo) {
+        String digitos = Long.toString(cuerpo);
+        int suma = 0;
+        for (int i = 0; i < digitos.length(); i++) {
+            int digito = digitos.charAt(digitos.length() - 1 - i) - '0';
+            if (i % 2 == 0) {
+                digito *= 2;
+                if (digito > 9) {
+                    digito -= 9;
+                }
+            }
+            suma += digito;
+        }
+        return digitos + (10 - suma % 10) % 10;
+    }
+}
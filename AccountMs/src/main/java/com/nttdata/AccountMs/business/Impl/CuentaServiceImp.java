@@ -1,24 +1,69 @@
 package com.nttdata.AccountMs.business.Impl;
 
+import com.nttdata.AccountMs.business.ClienteExistenciaCache;
 import com.nttdata.AccountMs.business.CuentaMapper;
 import com.nttdata.AccountMs.business.CuentaService;
-
-import com.nttdata.AccountMs.clients.CustomerFeignClient;
+import com.nttdata.AccountMs.business.Dinero;
+import com.nttdata.AccountMs.business.GeneradorNumeroCuenta;
+import com.nttdata.AccountMs.business.OperacionesIdempotentes;
+import com.nttdata.AccountMs.business.ReintentoOptimista;
+import com.nttdata.AccountMs.config.CacheConfig;
+import com.nttdata.AccountMs.dto.CursorCuentas;
+import com.nttdata.AccountMs.dto.FiltroCuentas;
 import com.nttdata.AccountMs.exception.CustomExceptions;
+import com.nttdata.AccountMs.model.AjustesCuentaResponse;
+import com.nttdata.AccountMs.model.CuentaLoteRequest;
+import com.nttdata.AccountMs.model.CuentaLoteResponse;
+import com.nttdata.AccountMs.model.CuentaLoteResultado;
+import com.nttdata.AccountMs.model.CuentaPage;
 import com.nttdata.AccountMs.model.CuentaRequest;
 import com.nttdata.AccountMs.model.CuentaResponse;
 import com.nttdata.AccountMs.model.InlineObject;
+import com.nttdata.AccountMs.model.MovimientoLoteItem;
+import com.nttdata.AccountMs.model.MovimientoLoteRequest;
+import com.nttdata.AccountMs.model.MovimientoLoteResponse;
+import com.nttdata.AccountMs.model.MovimientoLoteResultado;
+import com.nttdata.AccountMs.model.MovimientoSaldoRequest;
+import com.nttdata.AccountMs.model.SaldoConciliacionResponse;
 import com.nttdata.AccountMs.model.SaldoTipoResponse;
+import com.nttdata.AccountMs.model.TransferenciaRequest;
+import com.nttdata.AccountMs.model.TransferenciaResponse;
+import com.nttdata.AccountMs.model.entity.AjusteSaldo;
 import com.nttdata.AccountMs.model.entity.Cuenta;
 import com.nttdata.AccountMs.model.entity.TipoCuentaEnum;
+import com.nttdata.AccountMs.repository.AjusteSaldoRepository;
 import com.nttdata.AccountMs.repository.CuentaRepository;
+import com.nttdata.AccountMs.repository.CuentaSpecifications;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
-import java.util.UUID;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeSet;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 public class CuentaServiceImp implements CuentaService {
@@ -30,7 +75,35 @@ public class CuentaServiceImp implements CuentaService {
     CuentaMapper cuentaMapper;
 
     @Autowired
-    CustomerFeignClient customerFeignClient;
+    ClienteExistenciaCache clienteExistenciaCache;
+
+    @Autowired
+    GeneradorNumeroCuenta generadorNumeroCuenta;
+
+    @Autowired
+    CacheManager cacheManager;
+
+    @Autowired
+    ReintentoOptimista reintentoOptimista;
+
+    @Autowired
+    OperacionesIdempotentes operacionesIdempotentes;
+
+    @Autowired
+    AjusteSaldoRepository ajusteSaldoRepository;
+
+    private static final int TAMANIO_MAXIMO_LOTE = 5000;
+    private static final int TAMANIO_BLOQUE_BLOQUEO = 1000;
+    private static final int TAMANIO_PAGINA_POR_DEFECTO = 50;
+    private static final int TAMANIO_PAGINA_MAXIMO = 500;
+    private static final int TAMANIO_RANGO_SALDOS_POR_DEFECTO = 1000;
+    private static final int TAMANIO_RANGO_SALDOS_MAXIMO = 5000;
+    private static final String CAMPO_ID = "id";
+    private static final Map<String, String> CAMPOS_ORDEN = Map.of("ID", CAMPO_ID, "NUMERO_CUENTA", "numeroCuenta");
+    private static final String OPERACION_ACTUALIZAR_SALDO = "actualizar-saldo";
+    private static final String OPERACION_TRANSFERENCIA = "transferencia";
+    private static final String OPERACION_MOVIMIENTO = "movimiento";
+    private static final long LIMITE_SOBREGIRO_CENTIMOS = -50_000;
 
     @Override
     public List<CuentaResponse> listAllAccounts() {
@@ -42,29 +115,104 @@ public class CuentaServiceImp implements CuentaService {
     }
 
     @Override
-    public CuentaResponse createAccount(CuentaRequest cuentaRequest) {
+    public CuentaPage listAccountsPaged(FiltroCuentas filtro, String ordenarPor, String direccion,
+                                        Integer pagina, String cursor, Integer tamanio) {
+        int tamanioPagina = Optional.ofNullable(tamanio).orElse(TAMANIO_PAGINA_POR_DEFECTO);
+        if (tamanioPagina < 1 || tamanioPagina > TAMANIO_PAGINA_MAXIMO) {
+            throw new CustomExceptions.BadRequestException("El tamaño de página debe estar entre 1 y " + TAMANIO_PAGINA_MAXIMO);
+        }
+        if (pagina != null && pagina < 0) {
+            throw new CustomExceptions.BadRequestException("El número de página no puede ser negativo");
+        }
+
+        String criterio = Optional.ofNullable(ordenarPor).orElse("ID").toUpperCase();
+        String campo = Optional.ofNullable(CAMPOS_ORDEN.get(criterio))
+                .orElseThrow(() -> new CustomExceptions.BadRequestException("El orden debe ser ID o NUMERO_CUENTA"));
+        Sort.Direction sentido = Sort.Direction.fromOptionalString(Optional.ofNullable(direccion).orElse("ASC"))
+                .orElseThrow(() -> new CustomExceptions.BadRequestException("La dirección debe ser ASC o DESC"));
+        String orden = criterio + ":" + sentido;
+
+        ScrollPosition posicion;
+        if (cursor != null && !cursor.isBlank()) {
+            if (pagina != null) {
+                throw new CustomExceptions.BadRequestException("No se puede combinar pagina y cursor");
+            }
+            posicion = getPosicionOfCursor(CursorCuentas.decodificar(cursor), orden, campo);
+        } else if (pagina != null && pagina > 0) {
+            posicion = ScrollPosition.offset((long) pagina * tamanioPagina - 1);
+        } else {
+            posicion = ScrollPosition.keyset();
+        }
+
+        Sort sort = CAMPO_ID.equals(campo)
+                ? Sort.by(sentido, CAMPO_ID)
+                : Sort.by(sentido, campo).and(Sort.by(sentido, CAMPO_ID));
+        Window<Cuenta> ventana = cuentaRepository.findBy(CuentaSpecifications.conFiltro(filtro),
+                consulta -> consulta.sortBy(sort).limit(tamanioPagina).scroll(posicion));
 
-        Boolean customerExists = customerFeignClient.checkIfCustomerExists(cuentaRequest.getClienteId());
+        List<Cuenta> cuentas = ventana.getContent();
+        String siguienteCursor = ventana.hasNext()
+                ? CursorCuentas.of(orden, cuentas.get(cuentas.size() - 1)).codificar()
+                : null;
 
-        if (!Boolean.TRUE.equals(customerExists)) {
+        return cuentaMapper.getCuentaPageOfCuentas(cuentas, ventana.hasNext(), siguienteCursor);
+    }
+
+    @Override
+    public CuentaResponse createAccount(CuentaRequest cuentaRequest) {
+
+        if (!clienteExistenciaCache.existe(cuentaRequest.getClienteId())) {
             throw new CustomExceptions.BadRequestException("El cliente no existe.");
         }
 
-        if (cuentaRequest.getSaldo() <= 0) {
+        if (cuentaRequest.getSaldo().signum() <= 0) {
             throw new CustomExceptions.BadRequestException("El saldo inicial debe ser mayor a 0.");
         }
 
-        Cuenta cuenta = new Cuenta();
-        cuenta.setNumeroCuenta(generarNumeroCuentaUnico());
-        cuenta.setSaldo(cuentaRequest.getSaldo());
-        cuenta.setTipoCuenta(cuentaMapper.mapToEntityTipoCuenta(cuentaRequest.getTipoCuenta()));
-        cuenta.setClienteId(cuentaRequest.getClienteId());
+        if (!Dinero.esExacto(cuentaRequest.getSaldo())) {
+            throw new CustomExceptions.BadRequestException(Dinero.MENSAJE_PRECISION);
+        }
 
-        Cuenta cuentaSave = cuentaRepository.save(cuenta);
+        Cuenta cuentaSave = cuentaRepository.save(crearCuenta(cuentaRequest, generadorNumeroCuenta.siguienteNumero()));
 
         return cuentaMapper.getCuentaResponseOfCuenta(cuentaSave);
     }
 
+    @Override
+    @Transactional
+    public CuentaLoteResponse createAccountsBatch(CuentaLoteRequest cuentaLoteRequest) {
+        List<CuentaRequest> solicitudes = Optional.ofNullable(cuentaLoteRequest.getCuentas()).orElse(List.of());
+
+        if (solicitudes.isEmpty() || solicitudes.size() > TAMANIO_MAXIMO_LOTE) {
+            throw new CustomExceptions.BadRequestException("El lote debe contener entre 1 y " + TAMANIO_MAXIMO_LOTE + " cuentas.");
+        }
+
+        Set<Integer> clientesExistentes = clienteExistenciaCache.existentes(solicitudes.stream()
+                .filter(Objects::nonNull)
+                .map(CuentaRequest::getClienteId)
+                .collect(Collectors.toList()));
+
+        CuentaLoteResultado[] resultados = new CuentaLoteResultado[solicitudes.size()];
+        Map<Integer, CuentaRequest> validas = new LinkedHashMap<>();
+        for (int indice = 0; indice < solicitudes.size(); indice++) {
+            String error = validarSolicitudLote(solicitudes.get(indice), clientesExistentes);
+            if (error != null) {
+                resultados[indice] = cuentaMapper.getCuentaLoteResultadoRechazada(indice, error);
+            } else {
+                validas.put(indice, solicitudes.get(indice));
+            }
+        }
+
+        Iterator<String> numeros = generadorNumeroCuenta.siguientesNumeros(validas.size()).iterator();
+        Map<Integer, Cuenta> cuentas = new LinkedHashMap<>();
+        validas.forEach((indice, solicitud) -> cuentas.put(indice, crearCuenta(solicitud, numeros.next())));
+
+        cuentaRepository.saveAll(cuentas.values());
+        cuentas.forEach((indice, cuenta) -> resultados[indice] = cuentaMapper.getCuentaLoteResultadoCreada(indice, cuenta));
+
+        return cuentaMapper.getCuentaLoteResponseOfResultados(Arrays.asList(resultados));
+    }
+
     @Override
     public CuentaResponse getAccountById(Integer id) {
         return cuentaRepository.findById(id)
@@ -75,44 +223,319 @@ public class CuentaServiceImp implements CuentaService {
     @Override
     public void deleteAccountById(Integer id) {
         cuentaRepository.findById(id)
-                .ifPresentOrElse(cuentaRepository::delete,
+                .ifPresentOrElse(cuenta -> {
+                            cuentaRepository.delete(cuenta);
+                            cacheSaldoTipo().evict(cuenta.getNumeroCuenta());
+                        },
                         () -> { throw new CustomExceptions.ResourceNotFoundException("Cuenta no existente con ID: " + id);
                 });
     }
 
     @Override
+    @CacheEvict(cacheNames = CacheConfig.CACHE_SALDO_TIPO, key = "#numeroCuenta")
     public void updateAccountBalance(String numeroCuenta, InlineObject inlineObject) {
-        Optional.ofNullable(cuentaRepository.findByNumeroCuenta(numeroCuenta))
-                .map(cuentaOpt -> {
-                    if (cuentaOpt.isEmpty()) {
-                        throw new CustomExceptions.ResourceNotFoundException("Cuenta no encontrada");
-                    }
-                    Cuenta cuenta = cuentaOpt.get();
-
-                    double nuevoSaldo = inlineObject.getNuevoSaldo();
-                    cuenta.setSaldo(nuevoSaldo);
-
-                    return cuentaRepository.save(cuenta);
-                }).orElseThrow(() -> new CustomExceptions.BadRequestException("No se pudo actualizar el saldo"));
+        long nuevoSaldo = Dinero.aCentimos(inlineObject.getNuevoSaldo());
+        reintentoOptimista.ejecutar(OPERACION_ACTUALIZAR_SALDO, List.of(numeroCuenta), () -> {
+            Cuenta cuenta = cuentaRepository.findByNumeroCuenta(numeroCuenta)
+                    .orElseThrow(() -> new CustomExceptions.ResourceNotFoundException("Cuenta no encontrada"));
+            long ajuste = nuevoSaldo - cuenta.getSaldoCentimos();
+            if (ajuste != 0) {
+                ajusteSaldoRepository.save(new AjusteSaldo(null, numeroCuenta, ajuste, Instant.now()));
+            }
+            cuenta.setAjusteCentimos(cuenta.getAjusteCentimos() + ajuste);
+            cuenta.setSaldoCentimos(nuevoSaldo);
+            return cuentaRepository.save(cuenta);
+        });
     }
 
     @Override
+    @Cacheable(cacheNames = CacheConfig.CACHE_SALDO_TIPO, key = "#numeroCuenta")
     public SaldoTipoResponse getAccountBalanceAndType(String numeroCuenta) {
         return cuentaRepository.findByNumeroCuenta(numeroCuenta)
                 .map(cuentaMapper::getSaldoOfCuenta)
                 .orElseThrow(() -> new CustomExceptions.ResourceNotFoundException("Cuenta no encontrada"));
     }
 
-    private String generarNumeroCuentaUnico() {
-        String numeroCuenta;
-        boolean existe;
+    @Override
+    @Transactional(readOnly = true)
+    public AjustesCuentaResponse getAccountAdjustments(String numeroCuenta, OffsetDateTime desde, OffsetDateTime hasta) {
+        if (desde == null || hasta == null) {
+            throw new CustomExceptions.BadRequestException("Los parámetros 'desde' y 'hasta' son obligatorios.");
+        }
+        if (desde.isAfter(hasta)) {
+            throw new CustomExceptions.BadRequestException("La fecha 'desde' no puede ser posterior a 'hasta'.");
+        }
+
+        Cuenta cuenta = cuentaRepository.findByNumeroCuenta(numeroCuenta)
+                .orElseThrow(() -> new CustomExceptions.ResourceNotFoundException("Cuenta no encontrada"));
+        // El saldo inicial y los ajustes anteriores a esta tabla no tienen fila: quedan dentro del ajuste inicial.
+        List<AjusteSaldo> posteriores = ajusteSaldoRepository
+                .findByNumeroCuentaAndFechaGreaterThanEqualOrderByFechaAscIdAsc(numeroCuenta, desde.toInstant());
+        long ajusteInicial = cuenta.getAjusteCentimos() - posteriores.stream().mapToLong(AjusteSaldo::getMontoCentimos).sum();
+        List<AjusteSaldo> delPeriodo = posteriores.stream()
+                .filter(ajuste -> !ajuste.getFecha().isAfter(hasta.toInstant()))
+                .toList();
+
+        return cuentaMapper.getAjustesCuentaResponse(numeroCuenta, ajusteInicial, delPeriodo);
+    }
+
+    @Override
+    @CachePut(cacheNames = CacheConfig.CACHE_SALDO_TIPO, key = "#numeroCuenta")
+    public SaldoTipoResponse applyBalanceMovement(String numeroCuenta, MovimientoSaldoRequest movimientoSaldoRequest, String referencia) {
+        BigDecimal monto = movimientoSaldoRequest.getMonto();
+
+        if (monto == null || monto.signum() == 0) {
+            throw new CustomExceptions.BadRequestException("El monto del movimiento debe ser distinto de 0.");
+        }
+
+        return operacionesIdempotentes.ejecutar(referencia, () -> getAccountBalanceAndType(numeroCuenta),
+                () -> reintentoOptimista.ejecutar(OPERACION_MOVIMIENTO, List.of(numeroCuenta), () -> {
+                    if (!operacionesIdempotentes.registrar(referencia, OPERACION_MOVIMIENTO)) {
+                        return getAccountBalanceAndType(numeroCuenta);
+                    }
+
+                    if (cuentaRepository.aplicarMovimiento(numeroCuenta, Dinero.aCentimos(monto)) == 0) {
+                        Cuenta cuenta = cuentaRepository.findByNumeroCuenta(numeroCuenta)
+                                .orElseThrow(() -> new CustomExceptions.ResourceNotFoundException("Cuenta no encontrada"));
+                        throw new CustomExceptions.BadRequestException(mensajeLimiteSaldo(cuenta.getTipoCuenta(), "un retiro"));
+                    }
+
+                    return getAccountBalanceAndType(numeroCuenta);
+                }));
+    }
+
+    @Override
+    public TransferenciaResponse transferBetweenAccounts(TransferenciaRequest transferenciaRequest, String referencia) {
+        BigDecimal monto = transferenciaRequest.getMonto();
+
+        if (monto == null || monto.signum() <= 0) {
+            throw new CustomExceptions.BadRequestException("El monto de la transferencia debe ser mayor a 0.");
+        }
+        long montoCentimos = Dinero.aCentimos(monto);
+
+        if (transferenciaRequest.getCuentaOrigen().equals(transferenciaRequest.getCuentaDestino())) {
+            throw new CustomExceptions.BadRequestException("La cuenta de origen y la de destino deben ser distintas.");
+        }
+
+        List<String> numerosCuenta = List.of(transferenciaRequest.getCuentaOrigen(), transferenciaRequest.getCuentaDestino());
+        return operacionesIdempotentes.ejecutar(referencia, () -> transferenciaAplicada(transferenciaRequest),
+                () -> reintentoOptimista.ejecutar(OPERACION_TRANSFERENCIA, numerosCuenta, () -> {
+                    if (!operacionesIdempotentes.registrar(referencia, OPERACION_TRANSFERENCIA)) {
+                        return transferenciaAplicada(transferenciaRequest);
+                    }
+
+                    Map<String, Cuenta> cuentas = cargarCuentas(numerosCuenta);
+                    Cuenta origen = cuentas.get(transferenciaRequest.getCuentaOrigen());
+                    Cuenta destino = cuentas.get(transferenciaRequest.getCuentaDestino());
+
+                    long nuevoSaldoOrigen = origen.getSaldoCentimos() - montoCentimos;
+                    if (nuevoSaldoOrigen < limiteSaldo(origen.getTipoCuenta())) {
+                        throw new CustomExceptions.BadRequestException(mensajeLimiteSaldo(origen.getTipoCuenta(), "una transferencia"));
+                    }
+
+                    origen.setSaldoCentimos(nuevoSaldoOrigen);
+                    destino.setSaldoCentimos(destino.getSaldoCentimos() + montoCentimos);
+
+                    cacheSaldoTipo().put(origen.getNumeroCuenta(), cuentaMapper.getSaldoOfCuenta(origen));
+                    cacheSaldoTipo().put(destino.getNumeroCuenta(), cuentaMapper.getSaldoOfCuenta(destino));
+
+                    return cuentaMapper.getTransferenciaResponseOfCuentas(origen, destino);
+                }));
+    }
+
+    @Override
+    @Transactional
+    public MovimientoLoteResponse applyMovementsBatch(MovimientoLoteRequest movimientoLoteRequest) {
+        List<MovimientoLoteItem> movimientos = Optional.ofNullable(movimientoLoteRequest.getMovimientos()).orElse(List.of());
+
+        if (movimientos.isEmpty() || movimientos.size() > TAMANIO_MAXIMO_LOTE) {
+            throw new CustomExceptions.BadRequestException("El lote debe contener entre 1 y " + TAMANIO_MAXIMO_LOTE + " movimientos.");
+        }
+
+        Map<String, Cuenta> cuentas = bloquearCuentasLote(movimientos.stream()
+                .filter(Objects::nonNull)
+                .flatMap(movimiento -> Stream.of(movimiento.getCuentaOrigen(), movimiento.getCuentaDestino()))
+                .filter(Objects::nonNull)
+                .collect(Collectors.toCollection(TreeSet::new)));
+
+        List<MovimientoLoteResultado> resultados = new ArrayList<>(movimientos.size());
+        Map<String, Cuenta> modificadas = new LinkedHashMap<>();
+        for (int indice = 0; indice < movimientos.size(); indice++) {
+            MovimientoLoteItem movimiento = movimientos.get(indice);
+            String error = aplicarMovimientoLote(movimiento, cuentas);
+            if (error != null) {
+                resultados.add(cuentaMapper.getMovimientoLoteResultadoRechazado(indice, error));
+                continue;
+            }
+            Cuenta origen = cuentas.get(movimiento.getCuentaOrigen());
+            Cuenta destino = movimiento.getCuentaDestino() == null ? null : cuentas.get(movimiento.getCuentaDestino());
+            modificadas.put(origen.getNumeroCuenta(), origen);
+            if (destino != null) {
+                modificadas.put(destino.getNumeroCuenta(), destino);
+            }
+            resultados.add(cuentaMapper.getMovimientoLoteResultadoAplicado(indice, origen, destino));
+        }
+
+        modificadas.forEach((numeroCuenta, cuenta) -> cacheSaldoTipo().put(numeroCuenta, cuentaMapper.getSaldoOfCuenta(cuenta)));
+
+        return cuentaMapper.getMovimientoLoteResponseOfResultados(resultados);
+    }
+
+    @Override
+    public void updateCustomerExistence(Integer clienteId, Boolean existe) {
+        if (Boolean.TRUE.equals(existe)) {
+            clienteExistenciaCache.registrar(clienteId);
+        } else {
+            clienteExistenciaCache.invalidar(clienteId);
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<SaldoConciliacionResponse> listBalancesInRange(String desde, String hasta, Integer limite) {
+        int tamanio = Optional.ofNullable(limite).orElse(TAMANIO_RANGO_SALDOS_POR_DEFECTO);
+
+        if (desde == null || hasta == null || desde.isBlank() || hasta.isBlank()) {
+            throw new CustomExceptions.BadRequestException("Los parámetros 'desde' y 'hasta' son obligatorios.");
+        }
+        if (tamanio < 1 || tamanio > TAMANIO_RANGO_SALDOS_MAXIMO) {
+            throw new CustomExceptions.BadRequestException("El límite debe estar entre 1 y " + TAMANIO_RANGO_SALDOS_MAXIMO + ".");
+        }
 
-        do {
-            numeroCuenta = UUID.randomUUID().toString().replace("-", "").substring(0, 10);
-            existe = cuentaRepository.existsByNumeroCuenta(numeroCuenta);
-        } while (existe);
+        return cuentaRepository.findByNumeroCuentaGreaterThanAndNumeroCuentaLessThanEqualOrderByNumeroCuentaAsc(desde, hasta,
+                        Limit.of(tamanio))
+                .stream()
+                .map(cuentaMapper::getSaldoConciliacionOfCuenta)
+                .collect(Collectors.toList());
+    }
+
+    private Cuenta crearCuenta(CuentaRequest cuentaRequest, String numeroCuenta) {
+        Cuenta cuenta = new Cuenta();
+        cuenta.setNumeroCuenta(numeroCuenta);
+        cuenta.setSaldoCentimos(Dinero.aCentimos(cuentaRequest.getSaldo()));
+        cuenta.setAjusteCentimos(cuenta.getSaldoCentimos());
+        cuenta.setTipoCuenta(cuentaMapper.mapToEntityTipoCuenta(cuentaRequest.getTipoCuenta()));
+        cuenta.setClienteId(cuentaRequest.getClienteId());
+        return cuenta;
+    }
+
+    private String validarSolicitudLote(CuentaRequest cuentaRequest, Set<Integer> clientesExistentes) {
+        if (cuentaRequest == null || cuentaRequest.getClienteId() == null || cuentaRequest.getTipoCuenta() == null
+                || cuentaRequest.getSaldo() == null) {
+            return "Los campos 'clienteId', 'saldo' y 'tipoCuenta' son obligatorios.";
+        }
+        if (!clientesExistentes.contains(cuentaRequest.getClienteId())) {
+            return "El cliente no existe.";
+        }
+        if (cuentaRequest.getSaldo().signum() <= 0) {
+            return "El saldo inicial debe ser mayor a 0.";
+        }
+        if (!Dinero.esExacto(cuentaRequest.getSaldo())) {
+            return Dinero.MENSAJE_PRECISION;
+        }
+        return null;
+    }
+
+    private ScrollPosition getPosicionOfCursor(CursorCuentas cursor, String orden, String campo) {
+        if (!orden.equals(cursor.getOrden())) {
+            throw new CustomExceptions.BadRequestException("El cursor no corresponde al orden solicitado");
+        }
+        Map<String, Object> claves = new HashMap<>();
+        claves.put(CAMPO_ID, cursor.getId());
+        if (!CAMPO_ID.equals(campo)) {
+            claves.put(campo, cursor.getNumeroCuenta());
+        }
+        return ScrollPosition.forward(claves);
+    }
+
+    private String aplicarMovimientoLote(MovimientoLoteItem movimiento, Map<String, Cuenta> cuentas) {
+        if (movimiento == null || movimiento.getCuentaOrigen() == null || movimiento.getMonto() == null) {
+            return "Los campos 'cuentaOrigen' y 'monto' son obligatorios.";
+        }
+        Cuenta origen = cuentas.get(movimiento.getCuentaOrigen());
+        if (origen == null) {
+            return "Cuenta no encontrada: " + movimiento.getCuentaOrigen();
+        }
+        if (!Dinero.esExacto(movimiento.getMonto())) {
+            return Dinero.MENSAJE_PRECISION;
+        }
+        long monto = Dinero.aCentimos(movimiento.getMonto());
+
+        if (movimiento.getCuentaDestino() == null) {
+            if (monto == 0) {
+                return "El monto del movimiento debe ser distinto de 0.";
+            }
+            long nuevoSaldo = origen.getSaldoCentimos() + monto;
+            if (monto < 0 && nuevoSaldo < limiteSaldo(origen.getTipoCuenta())) {
+                return mensajeLimiteSaldo(origen.getTipoCuenta(), "un retiro");
+            }
+            origen.setSaldoCentimos(nuevoSaldo);
+            return null;
+        }
+
+        if (monto <= 0) {
+            return "El monto de la transferencia debe ser mayor a 0.";
+        }
+        if (movimiento.getCuentaOrigen().equals(movimiento.getCuentaDestino())) {
+            return "La cuenta de origen y la de destino deben ser distintas.";
+        }
+        Cuenta destino = cuentas.get(movimiento.getCuentaDestino());
+        if (destino == null) {
+            return "Cuenta no encontrada: " + movimiento.getCuentaDestino();
+        }
+        long nuevoSaldoOrigen = origen.getSaldoCentimos() - monto;
+        if (nuevoSaldoOrigen < limiteSaldo(origen.getTipoCuenta())) {
+            return mensajeLimiteSaldo(origen.getTipoCuenta(), "una transferencia");
+        }
+        origen.setSaldoCentimos(nuevoSaldoOrigen);
+        destino.setSaldoCentimos(destino.getSaldoCentimos() + monto);
+        return null;
+    }
+
+    private Map<String, Cuenta> bloquearCuentasLote(SortedSet<String> numerosCuenta) {
+        Map<String, Cuenta> cuentas = new HashMap<>();
+        List<String> pendientes = new ArrayList<>(numerosCuenta);
+        for (int desde = 0; desde < pendientes.size(); desde += TAMANIO_BLOQUE_BLOQUEO) {
+            List<String> bloque = pendientes.subList(desde, Math.min(desde + TAMANIO_BLOQUE_BLOQUEO, pendientes.size()));
+            cuentaRepository.findAllByNumeroCuentaInForUpdate(bloque)
+                    .forEach(cuenta -> cuentas.put(cuenta.getNumeroCuenta(), cuenta));
+        }
+        return cuentas;
+    }
+
+    private TransferenciaResponse transferenciaAplicada(TransferenciaRequest transferenciaRequest) {
+        Map<String, Cuenta> cuentas = cargarCuentas(List.of(transferenciaRequest.getCuentaOrigen(), transferenciaRequest.getCuentaDestino()));
+        return cuentaMapper.getTransferenciaResponseOfCuentas(cuentas.get(transferenciaRequest.getCuentaOrigen()),
+                cuentas.get(transferenciaRequest.getCuentaDestino()));
+    }
+
+    private Map<String, Cuenta> cargarCuentas(List<String> numerosCuenta) {
+        List<String> ordenados = numerosCuenta.stream().sorted().toList();
+        Map<String, Cuenta> cuentas = new LinkedHashMap<>();
+        cuentaRepository.findAllByNumeroCuentaIn(ordenados)
+                .forEach(cuenta -> cuentas.put(cuenta.getNumeroCuenta(), cuenta));
+
+        ordenados.stream()
+                .filter(numeroCuenta -> !cuentas.containsKey(numeroCuenta))
+                .findFirst()
+                .ifPresent(numeroCuenta -> {
+                    throw new CustomExceptions.ResourceNotFoundException("Cuenta no encontrada: " + numeroCuenta);
+                });
+        return cuentas;
+    }
+
+    private Cache cacheSaldoTipo() {
+        return cacheManager.getCache(CacheConfig.CACHE_SALDO_TIPO);
+    }
+
+    private long limiteSaldo(TipoCuentaEnum tipoCuenta) {
+        return tipoCuenta == TipoCuentaEnum.AHORROS ? 0 : LIMITE_SOBREGIRO_CENTIMOS;
+    }
 
-        return numeroCuenta;
+    private String mensajeLimiteSaldo(TipoCuentaEnum tipoCuenta, String operacion) {
+        return tipoCuenta == TipoCuentaEnum.AHORROS
+                ? "No se puede realizar " + operacion + " que deje el saldo en negativo para cuentas de ahorro"
+                : "No se puede realizar un sobregiro mayor a -500 en cuentas corrientes";
     }
 
 }
@@ -0,0 +1,35 @@
+package com.nttdata.AccountMs.business;
+
+import com.nttdata.AccountMs.model.entity.Cuenta;
+import com.nttdata.AccountMs.model.entity.Secuencia;
+import com.nttdata.AccountMs.repository.CuentaRepository;
+import com.nttdata.AccountMs.repository.SecuenciaRepository;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+@Component
+public class InicializadorSecuenciaCuentas implements SmartInitializingSingleton {
+
+    @Autowired
+    SecuenciaRepository secuenciaRepository;
+
+    @Autowired
+    CuentaRepository cuentaRepository;
+
+    // Corre antes de que arranque el servidor web: ningún alta toma un id del generador por debajo de los ya asignados.
+    @Override
+    @Transactional
+    public void afterSingletonsInstantiated() {
+        long minimo = (long) cuentaRepository.findMaxId() + Cuenta.TAMANIO_ASIGNACION_ID + 1;
+
+        secuenciaRepository.findByNombreForUpdate(Cuenta.GENERADOR_ID)
+                .ifPresentOrElse(secuencia -> {
+                            if (secuencia.getSiguienteValor() < minimo) {
+                                secuencia.setSiguienteValor(minimo);
+                            }
+                        },
+                        () -> secuenciaRepository.save(new Secuencia(Cuenta.GENERADOR_ID, minimo)));
+    }
+}
@@ -0,0 +1,51 @@
+package com.nttdata.AccountMs.business;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.ResultSet;
+
+@Slf4j
+@Component
+public class MigracionSaldoCentimos implements SmartInitializingSingleton {
+
+    private static final String TABLA = "cuentas";
+    private static final String COLUMNA_LEGADA = "saldo";
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    // Corre al terminar de crear los singletons, antes de que arranque el servidor web: ninguna lectura ve saldo_centimos sin migrar.
+    @Override
+    @Transactional
+    public void afterSingletonsInstantiated() {
+        if (!existeColumnaLegada()) {
+            return;
+        }
+
+        int migradas = jdbcTemplate.update("UPDATE " + TABLA + " SET saldo_centimos = ROUND(" + COLUMNA_LEGADA + " * 100), "
+                + COLUMNA_LEGADA + " = NULL WHERE " + COLUMNA_LEGADA + " IS NOT NULL");
+        if (migradas > 0) {
+            log.info("Se migraron {} saldos a céntimos", migradas);
+        }
+    }
+
+    private boolean existeColumnaLegada() {
+        return Boolean.TRUE.equals(jdbcTemplate.execute((ConnectionCallback<Boolean>) conexion -> {
+            try (ResultSet columnas = conexion.getMetaData().getColumns(conexion.getCatalog(), null, null, null)) {
+                while (columnas.next()) {
+                    if (TABLA.equalsIgnoreCase(columnas.getString("TABLE_NAME"))
+                            && COLUMNA_LEGADA.equalsIgnoreCase(columnas.getString("COLUMN_NAME"))) {
+                        return true;
+                    }
+                }
+                return false;
+            }
+        }));
+    }
+}
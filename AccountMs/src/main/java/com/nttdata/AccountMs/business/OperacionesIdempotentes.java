@@ -0,0 +1,51 @@
+package com.nttdata.AccountMs.business;
+
+import com.nttdata.AccountMs.model.entity.OperacionAplicada;
+import com.nttdata.AccountMs.repository.OperacionAplicadaRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.function.Supplier;
+
+@Component
+public class OperacionesIdempotentes {
+
+    @Autowired
+    OperacionAplicadaRepository operacionAplicadaRepository;
+
+    @Value("${cuentas.idempotencia.retencion:48h}")
+    Duration retencion;
+
+    public <T> T ejecutar(String referencia, Supplier<T> resultadoPrevio, Supplier<T> accion) {
+        try {
+            return accion.get();
+        } catch (DataIntegrityViolationException e) {
+            if (referencia != null && !referencia.isBlank() && operacionAplicadaRepository.existsById(referencia)) {
+                return resultadoPrevio.get();
+            }
+            throw e;
+        }
+    }
+
+    public boolean registrar(String referencia, String operacion) {
+        if (referencia == null || referencia.isBlank()) {
+            return true;
+        }
+        if (operacionAplicadaRepository.existsById(referencia)) {
+            return false;
+        }
+        operacionAplicadaRepository.saveAndFlush(new OperacionAplicada(referencia, operacion, LocalDateTime.now()));
+        return true;
+    }
+
+    @Scheduled(initialDelayString = "${cuentas.idempotencia.purga.retraso-inicial-ms:60000}",
+            fixedDelayString = "${cuentas.idempotencia.purga.intervalo-ms:3600000}")
+    public void purgar() {
+        operacionAplicadaRepository.eliminarRegistradasAntesDe(LocalDateTime.now().minus(retencion));
+    }
+}
@@ -0,0 +1,75 @@
+package com.nttdata.AccountMs.business;
+
+import com.nttdata.AccountMs.exception.CustomExceptions;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+@Component
+public class ReintentoOptimista {
+
+    public static final String METRICA_CONFLICTOS = "cuentas.concurrencia.conflictos";
+    public static final String METRICA_REINTENTOS_AGOTADOS = "cuentas.concurrencia.reintentos.agotados";
+    public static final String ETIQUETA_CUENTA = "cuenta";
+    public static final String ETIQUETA_OPERACION = "operacion";
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    @Value("${cuentas.concurrencia.intentos-maximos:10}")
+    int intentosMaximos;
+
+    @Value("${cuentas.concurrencia.espera-base:5ms}")
+    Duration esperaBase;
+
+    @Value("${cuentas.concurrencia.espera-maxima:200ms}")
+    Duration esperaMaxima;
+
+    private TransactionTemplate transactionTemplate;
+
+    @PostConstruct
+    void inicializar() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    public <T> T ejecutar(String operacion, List<String> numerosCuenta, Supplier<T> accion) {
+        for (int intento = 1; ; intento++) {
+            try {
+                return transactionTemplate.execute(estado -> accion.get());
+            } catch (OptimisticLockingFailureException e) {
+                numerosCuenta.forEach(numeroCuenta -> meterRegistry.counter(METRICA_CONFLICTOS,
+                        ETIQUETA_CUENTA, numeroCuenta, ETIQUETA_OPERACION, operacion).increment());
+                if (intento >= intentosMaximos) {
+                    meterRegistry.counter(METRICA_REINTENTOS_AGOTADOS, ETIQUETA_OPERACION, operacion).increment();
+                    throw new CustomExceptions.ConflictException("La cuenta fue modificada por otra operación, intente nuevamente: "
+                            + String.join(", ", numerosCuenta));
+                }
+                esperar(intento);
+            }
+        }
+    }
+
+    private void esperar(int intento) {
+        long tope = Math.min(esperaMaxima.toNanos(), esperaBase.toNanos() << Math.min(intento - 1, 20));
+        try {
+            TimeUnit.NANOSECONDS.sleep(ThreadLocalRandom.current().nextLong(tope + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CustomExceptions.ConflictException("Se interrumpió el reintento de la operación sobre la cuenta");
+        }
+    }
+}
@@ -1,12 +1,23 @@
 package com.nttdata.AccountMs.clients;
 
+import com.nttdata.AccountMs.dto.ClienteIdsRequest;
+import com.nttdata.AccountMs.dto.ClienteIdsResponse;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
 
-@FeignClient(name = "CustomerMs")
+@FeignClient(name = "CustomerMs", fallbackFactory = CustomerFeignFallbackFactory.class)
 public interface CustomerFeignClient {
 
     @GetMapping("/clientes/{id}/exists")
     Boolean checkIfCustomerExists(@PathVariable("id") Integer id);
+
+    @GetMapping("/clientes/ids")
+    ClienteIdsResponse listCustomerIds(@RequestParam("desdeId") Integer desdeId, @RequestParam("limite") Integer limite);
+
+    @PostMapping("/clientes/existentes")
+    ClienteIdsResponse findExistingCustomerIds(@RequestBody ClienteIdsRequest clienteIdsRequest);
 }
@@ -0,0 +1,63 @@
+package com.nttdata.AccountMs.clients;
+
+import com.nttdata.AccountMs.dto.ClienteIdsRequest;
+import com.nttdata.AccountMs.dto.ClienteIdsResponse;
+import com.nttdata.AccountMs.exception.CustomExceptions;
+import feign.FeignException;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cloud.openfeign.FallbackFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeoutException;
+
+@Slf4j
+@Component
+public class CustomerFeignFallbackFactory implements FallbackFactory<CustomerFeignClient> {
+
+    private static final String SERVICIO = "CustomerMs";
+
+    @Override
+    public CustomerFeignClient create(Throwable causa) {
+        RuntimeException error = traducir(causa);
+        return new CustomerFeignClient() {
+            @Override
+            public Boolean checkIfCustomerExists(Integer id) {
+                throw error;
+            }
+
+            @Override
+            public ClienteIdsResponse listCustomerIds(Integer desdeId, Integer limite) {
+                throw error;
+            }
+
+            @Override
+            public ClienteIdsResponse findExistingCustomerIds(ClienteIdsRequest clienteIdsRequest) {
+                throw error;
+            }
+        };
+    }
+
+    static RuntimeException traducir(Throwable causa) {
+        while ((causa instanceof ExecutionException || causa instanceof CompletionException) && causa.getCause() != null) {
+            causa = causa.getCause();
+        }
+        if (causa instanceof FeignException.FeignClientException clienteException) {
+            return clienteException;
+        }
+        if (causa instanceof CallNotPermittedException) {
+            return new CustomExceptions.ServiceUnavailableException(SERVICIO + " no está disponible temporalmente");
+        }
+        if (causa instanceof BulkheadFullException) {
+            return new CustomExceptions.ServiceUnavailableException(SERVICIO + " alcanzó el límite de llamadas concurrentes");
+        }
+        if (causa instanceof TimeoutException) {
+            return new CustomExceptions.ServiceUnavailableException(SERVICIO + " no respondió a tiempo");
+        }
+        log.warn("Falló la llamada a {}: {}", SERVICIO, causa.toString());
+        return new CustomExceptions.ServiceUnavailableException("No se pudo comunicar con " + SERVICIO);
+    }
+}
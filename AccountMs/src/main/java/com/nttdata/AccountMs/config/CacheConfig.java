@@ -0,0 +1,32 @@
+package com.nttdata.AccountMs.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.cache.CacheProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableCaching
+@EnableConfigurationProperties(CacheProperties.class)
+public class CacheConfig {
+
+    public static final String CACHE_SALDO_TIPO = "saldoTipo";
+    public static final String CACHE_CLIENTES = "clientes";
+
+    @Bean
+    public CacheManager cacheManager(CacheProperties cacheProperties,
+                                     @Value("${clientes.cache.spec}") String especificacionClientes) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.setCacheNames(cacheProperties.getCacheNames());
+        cacheManager.setCacheSpecification(cacheProperties.getCaffeine().getSpec());
+        cacheManager.setAllowNullValues(false);
+        cacheManager.registerCustomCache(CACHE_CLIENTES, Caffeine.from(especificacionClientes).build());
+        return new TransactionAwareCacheManagerProxy(cacheManager);
+    }
+}
@@ -0,0 +1,30 @@
+package com.nttdata.AccountMs.config;
+
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.io.HttpClientConnectionManager;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.openfeign.CircuitBreakerNameResolver;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class FeignClientConfig {
+
+    public static final String POOL_FEIGN = "feign";
+
+    @Bean
+    public MeterBinder feignPoolMetrics(ObjectProvider<HttpClientConnectionManager> connectionManager) {
+        return registro -> {
+            if (connectionManager.getIfAvailable() instanceof PoolingHttpClientConnectionManager pool) {
+                new PoolingHttpClientConnectionManagerMetricsBinder(pool, POOL_FEIGN).bindTo(registro);
+            }
+        };
+    }
+
+    @Bean
+    public CircuitBreakerNameResolver circuitBreakerNameResolver() {
+        return (cliente, target, metodo) -> cliente + "_" + metodo.getName();
+    }
+}
@@ -0,0 +1,17 @@
+package com.nttdata.AccountMs.config;
+
+import com.nttdata.AccountMs.business.ReintentoOptimista;
+import io.micrometer.core.instrument.config.MeterFilter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class MetricasConfig {
+
+    @Bean
+    public MeterFilter limiteCuentasConflictos(@Value("${cuentas.concurrencia.metricas.maximo-cuentas:500}") int maximoCuentas) {
+        return MeterFilter.maximumAllowableTags(ReintentoOptimista.METRICA_CONFLICTOS, ReintentoOptimista.ETIQUETA_CUENTA,
+                maximoCuentas, MeterFilter.deny());
+    }
+}
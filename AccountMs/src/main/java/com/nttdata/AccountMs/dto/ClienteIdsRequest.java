@@ -0,0 +1,14 @@
+package com.nttdata.AccountMs.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ClienteIdsRequest {
+    private List<Integer> ids;
+}
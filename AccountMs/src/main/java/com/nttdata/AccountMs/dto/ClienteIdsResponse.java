@@ -0,0 +1,11 @@
+package com.nttdata.AccountMs.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class ClienteIdsResponse {
+    private List<Integer> ids;
+    private Integer siguienteDesdeId;
+}
@@ -0,0 +1,41 @@
+package com.nttdata.AccountMs.dto;
+
+import com.nttdata.AccountMs.exception.CustomExceptions;
+import com.nttdata.AccountMs.model.entity.Cuenta;
+import lombok.Data;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.regex.Pattern;
+
+@Data
+public class CursorCuentas {
+
+    private static final String SEPARADOR = "|";
+
+    private final String orden;
+    private final Integer id;
+    private final String numeroCuenta;
+
+    public static CursorCuentas of(String orden, Cuenta cuenta) {
+        return new CursorCuentas(orden, cuenta.getId(), cuenta.getNumeroCuenta());
+    }
+
+    public static CursorCuentas decodificar(String cursor) {
+        try {
+            String valor = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] partes = valor.split(Pattern.quote(SEPARADOR), 3);
+            if (partes.length != 3) {
+                throw new IllegalArgumentException(cursor);
+            }
+            return new CursorCuentas(partes[0], Integer.valueOf(partes[1]), partes[2]);
+        } catch (IllegalArgumentException e) {
+            throw new CustomExceptions.BadRequestException("El cursor de paginación no es válido");
+        }
+    }
+
+    public String codificar() {
+        String valor = orden + SEPARADOR + id + SEPARADOR + numeroCuenta;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(valor.getBytes(StandardCharsets.UTF_8));
+    }
+}
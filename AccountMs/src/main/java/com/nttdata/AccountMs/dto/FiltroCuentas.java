@@ -0,0 +1,12 @@
+package com.nttdata.AccountMs.dto;
+
+import com.nttdata.AccountMs.model.entity.TipoCuentaEnum;
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class FiltroCuentas {
+    private Integer clienteId;
+    private TipoCuentaEnum tipoCuenta;
+}
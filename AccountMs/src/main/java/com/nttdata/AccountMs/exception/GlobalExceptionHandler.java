@@ -26,4 +26,22 @@ public class GlobalExceptionHandler {
         errorResponse.setDetails(ex.getMessage());
         return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
     }
+
+    @ExceptionHandler(CustomExceptions.ConflictException.class)
+    public ResponseEntity<ErrorResponse> handleConflictException(CustomExceptions.ConflictException ex) {
+        ErrorResponse errorResponse = new ErrorResponse();
+        errorResponse.setCode(HttpStatus.CONFLICT.value());
+        errorResponse.setMessage("Conflicto de concurrencia");
+        errorResponse.setDetails(ex.getMessage());
+        return new ResponseEntity<>(errorResponse, HttpStatus.CONFLICT);
+    }
+
+    @ExceptionHandler(CustomExceptions.ServiceUnavailableException.class)
+    public ResponseEntity<ErrorResponse> handleServiceUnavailableException(CustomExceptions.ServiceUnavailableException ex) {
+        ErrorResponse errorResponse = new ErrorResponse();
+        errorResponse.setCode(HttpStatus.SERVICE_UNAVAILABLE.value());
+        errorResponse.setMessage("Servicio no disponible");
+        errorResponse.setDetails(ex.getMessage());
+        return new ResponseEntity<>(errorResponse, HttpStatus.SERVICE_UNAVAILABLE);
+    }
 }
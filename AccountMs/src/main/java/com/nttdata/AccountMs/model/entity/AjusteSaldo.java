@@ -0,0 +1,37 @@
+package com.nttdata.AccountMs.model.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@Entity
+@AllArgsConstructor
+@NoArgsConstructor
+@Table(name = "ajustes_saldo", indexes = {
+        @Index(name = "ix_ajustes_saldo_cuenta_fecha", columnList = "numeroCuenta, fecha")
+})
+public class AjusteSaldo {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 10)
+    private String numeroCuenta;
+
+    @Column(name = "monto_centimos", nullable = false)
+    private long montoCentimos;
+
+    @Column(nullable = false)
+    private Instant fecha;
+}
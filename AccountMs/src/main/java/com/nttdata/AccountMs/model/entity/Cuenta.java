@@ -2,21 +2,43 @@ package com.nttdata.AccountMs.model.entity;
 
 import jakarta.persistence.*;
 import lombok.Data;
+import org.hibernate.annotations.ColumnDefault;
 
 @Data
 @Entity
-@Table(name = "Cuentas")
+@Table(name = "Cuentas", indexes = {
+        @Index(name = "ux_cuentas_numero_cuenta", columnList = "numeroCuenta", unique = true),
+        @Index(name = "ix_cuentas_cliente_id", columnList = "clienteId, id"),
+        @Index(name = "ix_cuentas_tipo_cuenta", columnList = "tipoCuenta, id")
+})
 public class Cuenta {
 
+    public static final String GENERADOR_ID = "cuentas_id";
+    public static final int TAMANIO_ASIGNACION_ID = 100;
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = GENERADOR_ID)
+    @TableGenerator(name = GENERADOR_ID, table = "Secuencias", pkColumnName = "nombre",
+            valueColumnName = "siguiente_valor", pkColumnValue = GENERADOR_ID, allocationSize = TAMANIO_ASIGNACION_ID)
     private Integer id;
 
+    @Column(nullable = false, length = 10)
     private String numeroCuenta;
 
-    private Double saldo;
+    @ColumnDefault("0")
+    @Column(name = "saldo_centimos", nullable = false)
+    private long saldoCentimos;
+
+    @ColumnDefault("0")
+    @Column(name = "ajuste_centimos", nullable = false)
+    private long ajusteCentimos;
 
     private TipoCuentaEnum tipoCuenta;
 
     private Integer clienteId;
+
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private long version;
 }
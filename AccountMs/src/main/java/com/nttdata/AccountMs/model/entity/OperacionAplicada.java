@@ -0,0 +1,43 @@
+package com.nttdata.AccountMs.model.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Persistable;
+
+import java.time.LocalDateTime;
+
+@Data
+@Entity
+@AllArgsConstructor
+@NoArgsConstructor
+@Table(name = "operaciones_aplicadas", indexes = {
+        @Index(name = "ix_operaciones_aplicadas_registrada_en", columnList = "registradaEn")
+})
+public class OperacionAplicada implements Persistable<String> {
+
+    @Id
+    @Column(length = 64)
+    private String referencia;
+
+    @Column(nullable = false, length = 32)
+    private String operacion;
+
+    @Column(nullable = false)
+    private LocalDateTime registradaEn;
+
+    @Override
+    public String getId() {
+        return referencia;
+    }
+
+    @Override
+    public boolean isNew() {
+        return true;
+    }
+}
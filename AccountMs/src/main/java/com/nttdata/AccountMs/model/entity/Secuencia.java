@@ -0,0 +1,21 @@
+package com.nttdata.AccountMs.model.entity;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Entity
+@AllArgsConstructor
+@NoArgsConstructor
+@Table(name = "Secuencias")
+public class Secuencia {
+
+    @Id
+    private String nombre;
+
+    private Long siguienteValor;
+}
@@ -0,0 +1,12 @@
+package com.nttdata.AccountMs.repository;
+
+import com.nttdata.AccountMs.model.entity.AjusteSaldo;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.time.Instant;
+import java.util.List;
+
+public interface AjusteSaldoRepository extends JpaRepository<AjusteSaldo, Long> {
+
+    List<AjusteSaldo> findByNumeroCuentaAndFechaGreaterThanEqualOrderByFechaAscIdAsc(String numeroCuenta, Instant desde);
+}
@@ -1,12 +1,39 @@
 package com.nttdata.AccountMs.repository;
 
 import com.nttdata.AccountMs.model.entity.Cuenta;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
-public interface CuentaRepository extends JpaRepository<Cuenta, Integer> {
-    boolean existsByNumeroCuenta(String numeroCuenta);
+public interface CuentaRepository extends JpaRepository<Cuenta, Integer>, JpaSpecificationExecutor<Cuenta> {
     Optional<Cuenta> findByNumeroCuenta(String numeroCuenta);
+
+    List<Cuenta> findAllByNumeroCuentaIn(Collection<String> numerosCuenta);
+
+    List<Cuenta> findByNumeroCuentaGreaterThanAndNumeroCuentaLessThanEqualOrderByNumeroCuentaAsc(String desde, String hasta,
+                                                                                                Limit limite);
+
+    @Query("SELECT COALESCE(MAX(c.id), 0) FROM Cuenta c")
+    Integer findMaxId();
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM Cuenta c WHERE c.numeroCuenta IN :numerosCuenta ORDER BY c.numeroCuenta")
+    List<Cuenta> findAllByNumeroCuentaInForUpdate(@Param("numerosCuenta") Collection<String> numerosCuenta);
+
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("UPDATE Cuenta c SET c.saldoCentimos = c.saldoCentimos + :montoCentimos, c.version = c.version + 1 " +
+            "WHERE c.numeroCuenta = :numeroCuenta " +
+            "AND (:montoCentimos >= 0 " +
+            "OR (c.tipoCuenta = com.nttdata.AccountMs.model.entity.TipoCuentaEnum.AHORROS AND c.saldoCentimos + :montoCentimos >= 0) " +
+            "OR (c.tipoCuenta = com.nttdata.AccountMs.model.entity.TipoCuentaEnum.CORRIENTE AND c.saldoCentimos + :montoCentimos >= -50000))")
+    int aplicarMovimiento(@Param("numeroCuenta") String numeroCuenta, @Param("montoCentimos") long montoCentimos);
 }
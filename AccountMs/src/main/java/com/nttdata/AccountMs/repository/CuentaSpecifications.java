@@ -0,0 +1,28 @@
+package com.nttdata.AccountMs.repository;
+
+import com.nttdata.AccountMs.dto.FiltroCuentas;
+import com.nttdata.AccountMs.model.entity.Cuenta;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public final class CuentaSpecifications {
+
+    private CuentaSpecifications() {
+    }
+
+    public static Specification<Cuenta> conFiltro(FiltroCuentas filtro) {
+        return (root, query, criteriaBuilder) -> {
+            List<Predicate> predicados = new ArrayList<>();
+            if (filtro.getClienteId() != null) {
+                predicados.add(criteriaBuilder.equal(root.get("clienteId"), filtro.getClienteId()));
+            }
+            if (filtro.getTipoCuenta() != null) {
+                predicados.add(criteriaBuilder.equal(root.get("tipoCuenta"), filtro.getTipoCuenta()));
+            }
+            return criteriaBuilder.and(predicados.toArray(new Predicate[0]));
+        };
+    }
+}
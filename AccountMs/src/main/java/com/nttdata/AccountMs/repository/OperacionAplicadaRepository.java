@@ -0,0 +1,18 @@
+package com.nttdata.AccountMs.repository;
+
+import com.nttdata.AccountMs.model.entity.OperacionAplicada;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+public interface OperacionAplicadaRepository extends JpaRepository<OperacionAplicada, String> {
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM OperacionAplicada o WHERE o.registradaEn < :limite")
+    int eliminarRegistradasAntesDe(@Param("limite") LocalDateTime limite);
+}
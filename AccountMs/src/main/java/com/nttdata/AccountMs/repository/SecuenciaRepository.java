@@ -0,0 +1,17 @@
+package com.nttdata.AccountMs.repository;
+
+import com.nttdata.AccountMs.model.entity.Secuencia;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Optional;
+
+public interface SecuenciaRepository extends JpaRepository<Secuencia, String> {
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM Secuencia s WHERE s.nombre = :nombre")
+    Optional<Secuencia> findByNombreForUpdate(@Param("nombre") String nombre);
+}
@@ -0,0 +1,166 @@
+package com.nttdata.AccountMs.business;
+
+import com.nttdata.AccountMs.clients.CustomerFeignClient;
+import com.nttdata.AccountMs.config.CacheConfig;
+import com.nttdata.AccountMs.dto.ClienteIdsRequest;
+import com.nttdata.AccountMs.dto.ClienteIdsResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ClienteExistenciaCacheTest {
+
+    @Mock
+    private CustomerFeignClient customerFeignClient;
+
+    @Spy
+    private CacheManager cacheManager = new ConcurrentMapCacheManager(CacheConfig.CACHE_CLIENTES);
+
+    @InjectMocks
+    private ClienteExistenciaCache clienteExistenciaCache;
+
+    @BeforeEach
+    public void setUp() {
+        clienteExistenciaCache.capacidadBloom = 1000;
+        clienteExistenciaCache.probabilidadFalsoPositivo = 0.01;
+        clienteExistenciaCache.tamanioPagina = 2;
+        clienteExistenciaCache.margenIds = 0;
+    }
+
+    @Test
+    @DisplayName("Existe - Not warmed falls back to CustomerMs")
+    public void testExiste_SinCarga() {
+        when(customerFeignClient.checkIfCustomerExists(7)).thenReturn(true);
+
+        assertTrue(clienteExistenciaCache.existe(7));
+        assertTrue(clienteExistenciaCache.existe(7));
+
+        verify(customerFeignClient, times(1)).checkIfCustomerExists(7);
+    }
+
+    @Test
+    @DisplayName("Existe - Warmed filter rejects unknown ids locally")
+    public void testExiste_Cargado() {
+        when(customerFeignClient.listCustomerIds(0, 2)).thenReturn(pagina(List.of(1, 2), 2));
+        when(customerFeignClient.listCustomerIds(2, 2)).thenReturn(pagina(List.of(4), null));
+        when(customerFeignClient.checkIfCustomerExists(4)).thenReturn(true);
+
+        clienteExistenciaCache.recargar();
+
+        assertTrue(clienteExistenciaCache.existe(4));
+        assertTrue(clienteExistenciaCache.existe(4));
+        assertFalse(clienteExistenciaCache.existe(3));
+        verify(customerFeignClient, times(1)).checkIfCustomerExists(4);
+        verify(customerFeignClient, never()).checkIfCustomerExists(3);
+    }
+
+    @Test
+    @DisplayName("Recargar - Customer deleted during the load is not cached as existing")
+    public void testRecargar_BajaDuranteCarga() {
+        when(customerFeignClient.listCustomerIds(0, 2)).thenAnswer(invocation -> {
+            clienteExistenciaCache.invalidar(2);
+            return pagina(List.of(1, 2), null);
+        });
+        when(customerFeignClient.checkIfCustomerExists(2)).thenReturn(false);
+
+        clienteExistenciaCache.recargar();
+
+        assertFalse(clienteExistenciaCache.existe(2));
+        verify(customerFeignClient, times(1)).checkIfCustomerExists(2);
+    }
+
+    @Test
+    @DisplayName("Existe - Positive answer racing a delete is not cached")
+    public void testExiste_BajaDuranteConsulta() {
+        when(customerFeignClient.checkIfCustomerExists(5)).thenAnswer(invocation -> {
+            clienteExistenciaCache.invalidar(5);
+            return true;
+        }).thenReturn(false);
+
+        assertTrue(clienteExistenciaCache.existe(5));
+        assertFalse(clienteExistenciaCache.existe(5));
+        verify(customerFeignClient, times(2)).checkIfCustomerExists(5);
+    }
+
+    @Test
+    @DisplayName("Existe - Ids above the loaded range go to CustomerMs")
+    public void testExiste_IdPosteriorACarga() {
+        when(customerFeignClient.listCustomerIds(0, 2)).thenReturn(pagina(List.of(1), null));
+        when(customerFeignClient.checkIfCustomerExists(9)).thenReturn(false);
+
+        clienteExistenciaCache.recargar();
+
+        assertFalse(clienteExistenciaCache.existe(9));
+        verify(customerFeignClient, times(1)).checkIfCustomerExists(9);
+    }
+
+    @Test
+    @DisplayName("Invalidar - Deleted customer is checked again")
+    public void testInvalidar() {
+        when(customerFeignClient.listCustomerIds(0, 2)).thenReturn(pagina(List.of(1, 2), null));
+        when(customerFeignClient.checkIfCustomerExists(2)).thenReturn(true, false);
+
+        clienteExistenciaCache.recargar();
+        assertTrue(clienteExistenciaCache.existe(2));
+        clienteExistenciaCache.invalidar(2);
+
+        assertFalse(clienteExistenciaCache.existe(2));
+        verify(customerFeignClient, times(2)).checkIfCustomerExists(2);
+    }
+
+    @Test
+    @DisplayName("Existentes - Only unknown ids are sent to CustomerMs")
+    public void testExistentes_ConsultaAgrupada() {
+        when(customerFeignClient.listCustomerIds(0, 2)).thenReturn(pagina(List.of(1, 2, 4), null));
+        when(customerFeignClient.findExistingCustomerIds(any(ClienteIdsRequest.class))).thenReturn(pagina(List.of(1, 50), null));
+
+        clienteExistenciaCache.recargar();
+        clienteExistenciaCache.registrar(2);
+        Set<Integer> existentes = clienteExistenciaCache.existentes(Arrays.asList(1, 2, 3, 50, 51, 50, null));
+
+        assertEquals(Set.of(1, 2, 50), existentes);
+        verify(customerFeignClient, times(1)).findExistingCustomerIds(new ClienteIdsRequest(List.of(1, 50, 51)));
+        assertTrue(clienteExistenciaCache.existe(50));
+        verify(customerFeignClient, never()).checkIfCustomerExists(anyInt());
+    }
+
+    @Test
+    @DisplayName("Filtro Bloom - No false negatives")
+    public void testFiltroBloom() {
+        FiltroBloom filtro = new FiltroBloom(10000, 0.01);
+        for (int id = 1; id <= 10000; id++) {
+            filtro.agregar(id);
+        }
+
+        int falsosPositivos = 0;
+        for (int id = 1; id <= 10000; id++) {
+            assertTrue(filtro.puedeContener(id));
+            if (filtro.puedeContener(id + 10000)) {
+                falsosPositivos++;
+            }
+        }
+        assertTrue(falsosPositivos < 300);
+    }
+
+    private ClienteIdsResponse pagina(List<Integer> ids, Integer siguienteDesdeId) {
+        ClienteIdsResponse pagina = new ClienteIdsResponse();
+        pagina.setIds(ids);
+        pagina.setSiguienteDesdeId(siguienteDesdeId);
+        return pagina;
+    }
+}
@@ -0,0 +1,34 @@
+package com.nttdata.AccountMs.business;
+
+import com.nttdata.AccountMs.exception.CustomExceptions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DineroTest {
+
+    @Test
+    @DisplayName("To cents - Decimal amounts are converted exactly")
+    public void testACentimos() {
+        assertEquals(12_345L, Dinero.aCentimos(new BigDecimal("123.45")));
+        assertEquals(-1_050L, Dinero.aCentimos(new BigDecimal("-10.5")));
+        assertEquals(700L, Dinero.aCentimos(new BigDecimal("7.000")));
+    }
+
+    @Test
+    @DisplayName("To cents - Sub-cent and out of range amounts are rejected")
+    public void testACentimos_Invalido() {
+        assertThrows(CustomExceptions.BadRequestException.class, () -> Dinero.aCentimos(new BigDecimal("0.001")));
+        assertThrows(CustomExceptions.BadRequestException.class, () -> Dinero.aCentimos(new BigDecimal("1E17")));
+    }
+
+    @Test
+    @DisplayName("To decimal - Cents are rendered with two decimals")
+    public void testADecimal() {
+        assertEquals(new BigDecimal("123.45"), Dinero.aDecimal(12_345L));
+        assertEquals(new BigDecimal("-0.05"), Dinero.aDecimal(-5L));
+    }
+}
@@ -0,0 +1,98 @@
+package com.nttdata.AccountMs.business;
+
+import com.nttdata.AccountMs.model.entity.Secuencia;
+import com.nttdata.AccountMs.repository.SecuenciaRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class GeneradorNumeroCuentaTest {
+
+    @Mock
+    private SecuenciaRepository secuenciaRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private GeneradorNumeroCuenta generadorNumeroCuenta;
+
+    private Secuencia secuencia;
+
+    @BeforeEach
+    public void setUp() {
+        generadorNumeroCuenta.tamanioBloque = 3;
+        secuencia = new Secuencia(GeneradorNumeroCuenta.SECUENCIA_NUMERO_CUENTA, 100000000L);
+    }
+
+    @Test
+    @DisplayName("Siguiente numero - One reservation per block")
+    public void testSiguientesNumeros_ReservaPorBloque() {
+        when(secuenciaRepository.findByNombreForUpdate(GeneradorNumeroCuenta.SECUENCIA_NUMERO_CUENTA)).thenReturn(Optional.of(secuencia));
+
+        List<String> numeros = List.of(
+                generadorNumeroCuenta.siguienteNumero(),
+                generadorNumeroCuenta.siguienteNumero(),
+                generadorNumeroCuenta.siguienteNumero(),
+                generadorNumeroCuenta.siguienteNumero());
+
+        assertEquals(List.of("1000000008", "1000000016", "1000000024", "1000000032"), numeros);
+        assertEquals(100000006L, secuencia.getSiguienteValor());
+        verify(secuenciaRepository, times(2)).findByNombreForUpdate(GeneradorNumeroCuenta.SECUENCIA_NUMERO_CUENTA);
+    }
+
+    @Test
+    @DisplayName("Siguientes numeros - Large request reserves a single block")
+    public void testSiguientesNumeros_BloqueGrande() {
+        when(secuenciaRepository.findByNombreForUpdate(GeneradorNumeroCuenta.SECUENCIA_NUMERO_CUENTA)).thenReturn(Optional.of(secuencia));
+
+        List<String> numeros = generadorNumeroCuenta.siguientesNumeros(10);
+
+        assertEquals(10, new HashSet<>(numeros).size());
+        assertEquals(100000010L, secuencia.getSiguienteValor());
+        verify(secuenciaRepository, times(1)).findByNombreForUpdate(GeneradorNumeroCuenta.SECUENCIA_NUMERO_CUENTA);
+    }
+
+    @Test
+    @DisplayName("Siguiente numero - Sequence created on first use")
+    public void testSiguienteNumero_SecuenciaNueva() {
+        when(secuenciaRepository.findByNombreForUpdate(GeneradorNumeroCuenta.SECUENCIA_NUMERO_CUENTA))
+                .thenReturn(Optional.empty())
+                .thenReturn(Optional.of(secuencia));
+        when(secuenciaRepository.saveAndFlush(any(Secuencia.class))).thenThrow(new DataIntegrityViolationException("duplicado"));
+
+        assertEquals("1000000008", generadorNumeroCuenta.siguienteNumero());
+        verify(secuenciaRepository, times(1)).saveAndFlush(any(Secuencia.class));
+    }
+
+    @Test
+    @DisplayName("Siguiente numero - Range exhausted")
+    public void testSiguienteNumero_RangoAgotado() {
+        secuencia.setSiguienteValor(GeneradorNumeroCuenta.VALOR_MAXIMO);
+        generadorNumeroCuenta.tamanioBloque = 2;
+        when(secuenciaRepository.findByNombreForUpdate(GeneradorNumeroCuenta.SECUENCIA_NUMERO_CUENTA)).thenReturn(Optional.of(secuencia));
+
+        assertThrows(IllegalStateException.class, () -> generadorNumeroCuenta.siguienteNumero());
+    }
+
+    @Test
+    @DisplayName("Digito verificador - Luhn")
+    public void testConDigitoVerificador() {
+        assertEquals("79927398713", GeneradorNumeroCuenta.conDigitoVerificador(7992739871L));
+        assertEquals("1000000008", GeneradorNumeroCuenta.conDigitoVerificador(100000000L));
+    }
+}
@@ -0,0 +1,68 @@
+package com.nttdata.AccountMs.business;
+
+import com.nttdata.AccountMs.model.entity.Cuenta;
+import com.nttdata.AccountMs.model.entity.Secuencia;
+import com.nttdata.AccountMs.repository.CuentaRepository;
+import com.nttdata.AccountMs.repository.SecuenciaRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class InicializadorSecuenciaCuentasTest {
+
+    @Mock
+    private SecuenciaRepository secuenciaRepository;
+
+    @Mock
+    private CuentaRepository cuentaRepository;
+
+    @InjectMocks
+    private InicializadorSecuenciaCuentas inicializadorSecuenciaCuentas;
+
+    @Test
+    @DisplayName("Initialize - Sequence created above existing ids")
+    public void testInicializar_SecuenciaNueva() {
+        when(cuentaRepository.findMaxId()).thenReturn(250);
+        when(secuenciaRepository.findByNombreForUpdate(Cuenta.GENERADOR_ID)).thenReturn(Optional.empty());
+
+        inicializadorSecuenciaCuentas.afterSingletonsInstantiated();
+
+        verify(secuenciaRepository, times(1)).save(new Secuencia(Cuenta.GENERADOR_ID, 351L));
+    }
+
+    @Test
+    @DisplayName("Initialize - Sequence behind existing ids is moved forward")
+    public void testInicializar_SecuenciaAtrasada() {
+        Secuencia secuencia = new Secuencia(Cuenta.GENERADOR_ID, 1L);
+
+        when(cuentaRepository.findMaxId()).thenReturn(250);
+        when(secuenciaRepository.findByNombreForUpdate(Cuenta.GENERADOR_ID)).thenReturn(Optional.of(secuencia));
+
+        inicializadorSecuenciaCuentas.afterSingletonsInstantiated();
+
+        assertEquals(351L, secuencia.getSiguienteValor());
+    }
+
+    @Test
+    @DisplayName("Initialize - Sequence ahead of existing ids is kept")
+    public void testInicializar_SecuenciaAdelantada() {
+        Secuencia secuencia = new Secuencia(Cuenta.GENERADOR_ID, 1000L);
+
+        when(cuentaRepository.findMaxId()).thenReturn(250);
+        when(secuenciaRepository.findByNombreForUpdate(Cuenta.GENERADOR_ID)).thenReturn(Optional.of(secuencia));
+
+        inicializadorSecuenciaCuentas.afterSingletonsInstantiated();
+
+        assertEquals(1000L, secuencia.getSiguienteValor());
+        verify(secuenciaRepository, never()).save(any());
+    }
+}
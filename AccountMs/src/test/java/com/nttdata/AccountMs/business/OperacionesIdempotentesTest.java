@@ -0,0 +1,103 @@
+package com.nttdata.AccountMs.business;
+
+import com.nttdata.AccountMs.model.entity.OperacionAplicada;
+import com.nttdata.AccountMs.repository.OperacionAplicadaRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class OperacionesIdempotentesTest {
+
+    @Mock
+    private OperacionAplicadaRepository operacionAplicadaRepository;
+
+    private OperacionesIdempotentes operacionesIdempotentes;
+
+    @BeforeEach
+    public void setUp() {
+        operacionesIdempotentes = new OperacionesIdempotentes();
+        operacionesIdempotentes.operacionAplicadaRepository = operacionAplicadaRepository;
+        operacionesIdempotentes.retencion = Duration.ofHours(48);
+    }
+
+    @Test
+    @DisplayName("Registrar - New reference is inserted")
+    public void testRegistrar_ReferenciaNueva() {
+        when(operacionAplicadaRepository.existsById("ref-1")).thenReturn(false);
+
+        assertTrue(operacionesIdempotentes.registrar("ref-1", "movimiento"));
+
+        ArgumentCaptor<OperacionAplicada> captor = ArgumentCaptor.forClass(OperacionAplicada.class);
+        verify(operacionAplicadaRepository).saveAndFlush(captor.capture());
+        assertEquals("ref-1", captor.getValue().getReferencia());
+        assertEquals("movimiento", captor.getValue().getOperacion());
+        assertTrue(captor.getValue().isNew());
+    }
+
+    @Test
+    @DisplayName("Registrar - Already applied reference is not inserted again")
+    public void testRegistrar_ReferenciaAplicada() {
+        when(operacionAplicadaRepository.existsById("ref-1")).thenReturn(true);
+
+        assertFalse(operacionesIdempotentes.registrar("ref-1", "movimiento"));
+
+        verify(operacionAplicadaRepository, never()).saveAndFlush(any());
+    }
+
+    @Test
+    @DisplayName("Registrar - Requests without reference are always applied")
+    public void testRegistrar_SinReferencia() {
+        assertTrue(operacionesIdempotentes.registrar(null, "movimiento"));
+        assertTrue(operacionesIdempotentes.registrar(" ", "movimiento"));
+
+        verifyNoInteractions(operacionAplicadaRepository);
+    }
+
+    @Test
+    @DisplayName("Ejecutar - Concurrent duplicate returns the already applied result")
+    public void testEjecutar_DuplicadoConcurrente() {
+        when(operacionAplicadaRepository.existsById("ref-1")).thenReturn(true);
+
+        String resultado = operacionesIdempotentes.ejecutar("ref-1", () -> "previo", () -> {
+            throw new DataIntegrityViolationException("Duplicate entry 'ref-1'");
+        });
+
+        assertEquals("previo", resultado);
+    }
+
+    @Test
+    @DisplayName("Ejecutar - Integrity violation unrelated to the reference is propagated")
+    public void testEjecutar_OtraViolacion() {
+        when(operacionAplicadaRepository.existsById("ref-1")).thenReturn(false);
+
+        assertThrows(DataIntegrityViolationException.class,
+                () -> operacionesIdempotentes.ejecutar("ref-1", () -> "previo", () -> {
+                    throw new DataIntegrityViolationException("otra");
+                }));
+    }
+
+    @Test
+    @DisplayName("Purgar - Removes references older than the retention")
+    public void testPurgar() {
+        LocalDateTime antes = LocalDateTime.now().minusHours(48);
+
+        operacionesIdempotentes.purgar();
+
+        ArgumentCaptor<LocalDateTime> captor = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(operacionAplicadaRepository).eliminarRegistradasAntesDe(captor.capture());
+        assertFalse(captor.getValue().isBefore(antes));
+        assertTrue(captor.getValue().isBefore(LocalDateTime.now().minusHours(47)));
+    }
+}
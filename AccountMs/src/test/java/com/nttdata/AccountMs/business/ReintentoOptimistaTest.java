@@ -0,0 +1,98 @@
+package com.nttdata.AccountMs.business;
+
+import com.nttdata.AccountMs.exception.CustomExceptions;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ReintentoOptimistaTest {
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private ReintentoOptimista reintentoOptimista;
+
+    @BeforeEach
+    public void setUp() {
+        reintentoOptimista = new ReintentoOptimista();
+        reintentoOptimista.transactionManager = transactionManager;
+        reintentoOptimista.meterRegistry = meterRegistry;
+        reintentoOptimista.intentosMaximos = 3;
+        reintentoOptimista.esperaBase = Duration.ofMillis(1);
+        reintentoOptimista.esperaMaxima = Duration.ofMillis(5);
+        reintentoOptimista.inicializar();
+    }
+
+    @Test
+    @DisplayName("Ejecutar - Version conflict is retried in a new transaction")
+    public void testEjecutar_ReintentaConflicto() {
+        AtomicInteger intentos = new AtomicInteger();
+
+        String resultado = reintentoOptimista.ejecutar("transferencia", List.of("1234567890", "0987654321"), () -> {
+            if (intentos.incrementAndGet() == 1) {
+                throw new ObjectOptimisticLockingFailureException("Cuenta", 1);
+            }
+            return "aplicada";
+        });
+
+        assertEquals("aplicada", resultado);
+        assertEquals(2, intentos.get());
+        verify(transactionManager, times(2)).getTransaction(any());
+        assertEquals(1.0, meterRegistry.get(ReintentoOptimista.METRICA_CONFLICTOS)
+                .tags(ReintentoOptimista.ETIQUETA_CUENTA, "1234567890", ReintentoOptimista.ETIQUETA_OPERACION, "transferencia")
+                .counter().count());
+        assertEquals(1.0, meterRegistry.get(ReintentoOptimista.METRICA_CONFLICTOS)
+                .tags(ReintentoOptimista.ETIQUETA_CUENTA, "0987654321").counter().count());
+    }
+
+    @Test
+    @DisplayName("Ejecutar - Exhausted retries are reported as a conflict")
+    public void testEjecutar_ReintentosAgotados() {
+        AtomicInteger intentos = new AtomicInteger();
+
+        CustomExceptions.ConflictException exception = assertThrows(CustomExceptions.ConflictException.class,
+                () -> reintentoOptimista.ejecutar("actualizar-saldo", List.of("1234567890"), () -> {
+                    intentos.incrementAndGet();
+                    throw new ObjectOptimisticLockingFailureException("Cuenta", 1);
+                }));
+
+        assertEquals("La cuenta fue modificada por otra operación, intente nuevamente: 1234567890", exception.getMessage());
+        assertEquals(3, intentos.get());
+        assertEquals(3.0, meterRegistry.get(ReintentoOptimista.METRICA_CONFLICTOS)
+                .tags(ReintentoOptimista.ETIQUETA_CUENTA, "1234567890").counter().count());
+        assertEquals(1.0, meterRegistry.get(ReintentoOptimista.METRICA_REINTENTOS_AGOTADOS)
+                .tags(ReintentoOptimista.ETIQUETA_OPERACION, "actualizar-saldo").counter().count());
+    }
+
+    @Test
+    @DisplayName("Ejecutar - Business errors are not retried")
+    public void testEjecutar_ErrorDeNegocioSinReintento() {
+        AtomicInteger intentos = new AtomicInteger();
+
+        assertThrows(CustomExceptions.BadRequestException.class,
+                () -> reintentoOptimista.ejecutar("transferencia", List.of("1234567890"), () -> {
+                    intentos.incrementAndGet();
+                    throw new CustomExceptions.BadRequestException("Saldo insuficiente");
+                }));
+
+        assertEquals(1, intentos.get());
+        verify(transactionManager, times(1)).rollback(any());
+        assertNull(meterRegistry.find(ReintentoOptimista.METRICA_CONFLICTOS).counter());
+    }
+}
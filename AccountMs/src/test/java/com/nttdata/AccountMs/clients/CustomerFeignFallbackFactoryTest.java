@@ -0,0 +1,79 @@
+package com.nttdata.AccountMs.clients;
+
+import com.nttdata.AccountMs.dto.ClienteIdsRequest;
+import com.nttdata.AccountMs.exception.CustomExceptions;
+import feign.FeignException;
+import feign.Request;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CustomerFeignFallbackFactoryTest {
+
+    private final CustomerFeignFallbackFactory fallbackFactory = new CustomerFeignFallbackFactory();
+
+    @Test
+    @DisplayName("Fallback - Open circuit fails fast as service unavailable")
+    public void testCreate_CircuitoAbierto() {
+        CircuitBreaker circuitBreaker = CircuitBreaker.ofDefaults("CustomerMs_checkIfCustomerExists");
+        circuitBreaker.transitionToOpenState();
+        CustomerFeignClient fallback = fallbackFactory.create(
+                CallNotPermittedException.createCallNotPermittedException(circuitBreaker));
+
+        CustomExceptions.ServiceUnavailableException exception = assertThrows(
+                CustomExceptions.ServiceUnavailableException.class,
+                () -> fallback.checkIfCustomerExists(1));
+
+        assertEquals("CustomerMs no está disponible temporalmente", exception.getMessage());
+    }
+
+    @Test
+    @DisplayName("Fallback - Full bulkhead fails fast as service unavailable")
+    public void testCreate_BulkheadLleno() {
+        CustomerFeignClient fallback = fallbackFactory.create(
+                BulkheadFullException.createBulkheadFullException(Bulkhead.ofDefaults("CustomerMs_listCustomerIds")));
+
+        CustomExceptions.ServiceUnavailableException exception = assertThrows(
+                CustomExceptions.ServiceUnavailableException.class,
+                () -> fallback.listCustomerIds(0, 5000));
+
+        assertEquals("CustomerMs alcanzó el límite de llamadas concurrentes", exception.getMessage());
+    }
+
+    @Test
+    @DisplayName("Fallback - Time limiter timeout is reported as service unavailable")
+    public void testCreate_TiempoAgotado() {
+        CustomerFeignClient fallback = fallbackFactory.create(
+                new ExecutionException(new TimeoutException("TimeLimiter 'CustomerMs_findExistingCustomerIds'")));
+
+        CustomExceptions.ServiceUnavailableException exception = assertThrows(
+                CustomExceptions.ServiceUnavailableException.class,
+                () -> fallback.findExistingCustomerIds(new ClienteIdsRequest()));
+
+        assertEquals("CustomerMs no respondió a tiempo", exception.getMessage());
+    }
+
+    @Test
+    @DisplayName("Fallback - Client errors from CustomerMs are propagated unchanged")
+    public void testCreate_ErrorDeCliente() {
+        Request request = Request.create(Request.HttpMethod.GET, "/clientes/1/exists", Map.of(), null,
+                StandardCharsets.UTF_8, null);
+        FeignException.NotFound noEncontrado = new FeignException.NotFound("Not Found", request, null, Map.of());
+        CustomerFeignClient fallback = fallbackFactory.create(new ExecutionException(noEncontrado));
+
+        FeignException.NotFound exception = assertThrows(FeignException.NotFound.class,
+                () -> fallback.checkIfCustomerExists(1));
+
+        assertSame(noEncontrado, exception);
+    }
+}
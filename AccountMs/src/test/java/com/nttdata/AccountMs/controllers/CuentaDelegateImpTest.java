@@ -1,11 +1,23 @@
 package com.nttdata.AccountMs.controllers;
 
 import com.nttdata.AccountMs.CuentaDelegateImp;
+import com.nttdata.AccountMs.business.CuentaMapper;
 import com.nttdata.AccountMs.business.CuentaService;
+import com.nttdata.AccountMs.dto.FiltroCuentas;
+import com.nttdata.AccountMs.model.AjustesCuentaResponse;
+import com.nttdata.AccountMs.model.CuentaLoteRequest;
+import com.nttdata.AccountMs.model.CuentaLoteResponse;
+import com.nttdata.AccountMs.model.CuentaPage;
 import com.nttdata.AccountMs.model.CuentaRequest;
 import com.nttdata.AccountMs.model.CuentaResponse;
 import com.nttdata.AccountMs.model.InlineObject;
+import com.nttdata.AccountMs.model.MovimientoLoteRequest;
+import com.nttdata.AccountMs.model.MovimientoLoteResponse;
+import com.nttdata.AccountMs.model.MovimientoSaldoRequest;
 import com.nttdata.AccountMs.model.SaldoTipoResponse;
+import com.nttdata.AccountMs.model.TransferenciaRequest;
+import com.nttdata.AccountMs.model.TransferenciaResponse;
+import com.nttdata.AccountMs.model.entity.TipoCuentaEnum;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -14,6 +26,8 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.ResponseEntity;
 
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
 import java.util.Arrays;
 import java.util.List;
 
@@ -26,6 +40,9 @@ public class CuentaDelegateImpTest {
     @Mock
     private CuentaService cuentaService;
 
+    @Mock
+    private CuentaMapper cuentaMapper;
+
     @InjectMocks
     private CuentaDelegateImp cuentaDelegateImp;
 
@@ -39,25 +56,25 @@ public class CuentaDelegateImpTest {
     public void setUp() {
 
         cuentaRequest = new CuentaRequest();
-        cuentaRequest.setSaldo(1000.0);
+        cuentaRequest.setSaldo(new BigDecimal("1000.0"));
         cuentaRequest.setTipoCuenta(CuentaRequest.TipoCuentaEnum.AHORROS);
         cuentaRequest.setClienteId(1);
 
         cuentaResponse1 = new CuentaResponse();
         cuentaResponse1.setNumeroCuenta("1234567890");
-        cuentaResponse1.setSaldo(1000.0);
+        cuentaResponse1.setSaldo(new BigDecimal("1000.0"));
         cuentaResponse1.setTipoCuenta(CuentaResponse.TipoCuentaEnum.AHORROS);
 
         cuentaResponse2 = new CuentaResponse();
         cuentaResponse2.setNumeroCuenta("0987654321");
-        cuentaResponse2.setSaldo(2000.0);
+        cuentaResponse2.setSaldo(new BigDecimal("2000.0"));
         cuentaResponse2.setTipoCuenta(CuentaResponse.TipoCuentaEnum.CORRIENTE);
 
         inlineObject = new InlineObject();
-        inlineObject.setNuevoSaldo(1500.0);
+        inlineObject.setNuevoSaldo(new BigDecimal("1500.0"));
 
         saldoTipoResponse = new SaldoTipoResponse();
-        saldoTipoResponse.setSaldo(1000.0);
+        saldoTipoResponse.setSaldo(new BigDecimal("1000.0"));
         saldoTipoResponse.setTipoCuenta(SaldoTipoResponse.TipoCuentaEnum.AHORROS);
     }
 
@@ -77,6 +94,23 @@ public class CuentaDelegateImpTest {
         verify(cuentaService, times(1)).listAllAccounts();
     }
 
+    @Test
+    public void testListAccountsPaged_Success() {
+        FiltroCuentas filtro = FiltroCuentas.builder().clienteId(1).tipoCuenta(TipoCuentaEnum.AHORROS).build();
+        CuentaPage pagina = new CuentaPage();
+        pagina.setCuentas(List.of(cuentaResponse1));
+        pagina.setHayMas(true);
+        pagina.setSiguienteCursor("cursor");
+
+        when(cuentaMapper.getFiltroCuentas(1, "AHORROS")).thenReturn(filtro);
+        when(cuentaService.listAccountsPaged(filtro, null, null, null, null, 1)).thenReturn(pagina);
+
+        ResponseEntity<CuentaPage> response = cuentaDelegateImp.listAccountsPaged(1, "AHORROS", null, null, null, null, 1);
+
+        assertEquals(200, response.getStatusCodeValue());
+        assertEquals("cursor", response.getBody().getSiguienteCursor());
+    }
+
     @Test
     public void testCreateAccount_Success() {
         when(cuentaService.createAccount(cuentaRequest)).thenReturn(cuentaResponse1);
@@ -143,10 +177,98 @@ public class CuentaDelegateImpTest {
 
         assertNotNull(response);
         assertEquals(200, response.getStatusCodeValue());
-        assertEquals(1000.0, response.getBody().getSaldo());
+        assertEquals(new BigDecimal("1000.0"), response.getBody().getSaldo());
         assertEquals(SaldoTipoResponse.TipoCuentaEnum.AHORROS, response.getBody().getTipoCuenta());
 
         verify(cuentaService, times(1)).getAccountBalanceAndType(numeroCuenta);
     }
-}
 
+    @Test
+    public void testGetAccountAdjustments_Success() {
+        OffsetDateTime desde = OffsetDateTime.parse("2024-05-01T00:00:00Z");
+        OffsetDateTime hasta = OffsetDateTime.parse("2024-05-31T23:59:59Z");
+        AjustesCuentaResponse ajustes = new AjustesCuentaResponse();
+        ajustes.setAjusteInicial(new BigDecimal("1000.00"));
+
+        when(cuentaService.getAccountAdjustments("1234567890", desde, hasta)).thenReturn(ajustes);
+
+        ResponseEntity<AjustesCuentaResponse> response = cuentaDelegateImp.getAccountAdjustments("1234567890", desde, hasta);
+
+        assertEquals(200, response.getStatusCodeValue());
+        assertSame(ajustes, response.getBody());
+    }
+
+    @Test
+    public void testApplyBalanceMovement_Success() {
+        String numeroCuenta = "1234567890";
+        MovimientoSaldoRequest movimiento = new MovimientoSaldoRequest();
+        movimiento.setMonto(new BigDecimal("-100.0"));
+
+        when(cuentaService.applyBalanceMovement(numeroCuenta, movimiento, "ref-1")).thenReturn(saldoTipoResponse);
+
+        ResponseEntity<SaldoTipoResponse> response = cuentaDelegateImp.applyBalanceMovement(numeroCuenta, movimiento, "ref-1");
+
+        assertNotNull(response);
+        assertEquals(200, response.getStatusCodeValue());
+        assertEquals(new BigDecimal("1000.0"), response.getBody().getSaldo());
+
+        verify(cuentaService, times(1)).applyBalanceMovement(numeroCuenta, movimiento, "ref-1");
+    }
+
+    @Test
+    public void testTransferBetweenAccounts_Success() {
+        TransferenciaRequest transferencia = new TransferenciaRequest();
+        transferencia.setCuentaOrigen("1234567890");
+        transferencia.setCuentaDestino("0987654321");
+        transferencia.setMonto(new BigDecimal("100.0"));
+        TransferenciaResponse transferenciaResponse = new TransferenciaResponse();
+        transferenciaResponse.setSaldoOrigen(new BigDecimal("900.0"));
+        transferenciaResponse.setSaldoDestino(new BigDecimal("2100.0"));
+
+        when(cuentaService.transferBetweenAccounts(transferencia, "ref-1")).thenReturn(transferenciaResponse);
+
+        ResponseEntity<TransferenciaResponse> response = cuentaDelegateImp.transferBetweenAccounts(transferencia, "ref-1");
+
+        assertNotNull(response);
+        assertEquals(200, response.getStatusCodeValue());
+        assertEquals(new BigDecimal("900.0"), response.getBody().getSaldoOrigen());
+
+        verify(cuentaService, times(1)).transferBetweenAccounts(transferencia, "ref-1");
+    }
+
+    @Test
+    public void testUpdateCustomerExistence_Success() {
+        ResponseEntity<Void> response = cuentaDelegateImp.updateCustomerExistence(5, false);
+
+        assertEquals(204, response.getStatusCodeValue());
+        verify(cuentaService, times(1)).updateCustomerExistence(5, false);
+    }
+
+    @Test
+    public void testCreateAccountsBatch_Success() {
+        CuentaLoteRequest lote = new CuentaLoteRequest();
+        CuentaLoteResponse loteResponse = new CuentaLoteResponse();
+        loteResponse.setCreadas(2);
+
+        when(cuentaService.createAccountsBatch(lote)).thenReturn(loteResponse);
+
+        ResponseEntity<CuentaLoteResponse> response = cuentaDelegateImp.createAccountsBatch(lote);
+
+        assertEquals(200, response.getStatusCodeValue());
+        assertEquals(2, response.getBody().getCreadas());
+    }
+
+    @Test
+    public void testApplyMovementsBatch_Success() {
+        MovimientoLoteRequest lote = new MovimientoLoteRequest();
+        MovimientoLoteResponse loteResponse = new MovimientoLoteResponse();
+        loteResponse.setAplicados(3);
+
+        when(cuentaService.applyMovementsBatch(lote)).thenReturn(loteResponse);
+
+        ResponseEntity<MovimientoLoteResponse> response = cuentaDelegateImp.applyMovementsBatch(lote);
+
+        assertEquals(200, response.getStatusCodeValue());
+        assertEquals(3, response.getBody().getAplicados());
+    }
+}
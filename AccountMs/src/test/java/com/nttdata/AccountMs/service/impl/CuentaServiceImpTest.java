@@ -1,26 +1,60 @@
 package com.nttdata.AccountMs.service.impl;
 
+import com.nttdata.AccountMs.business.ClienteExistenciaCache;
 import com.nttdata.AccountMs.business.CuentaMapper;
+import com.nttdata.AccountMs.business.GeneradorNumeroCuenta;
+import com.nttdata.AccountMs.business.OperacionesIdempotentes;
+import com.nttdata.AccountMs.business.ReintentoOptimista;
 import com.nttdata.AccountMs.business.Impl.CuentaServiceImp;
-import com.nttdata.AccountMs.clients.CustomerFeignClient;
+import com.nttdata.AccountMs.config.CacheConfig;
+import com.nttdata.AccountMs.dto.CursorCuentas;
+import com.nttdata.AccountMs.dto.FiltroCuentas;
 import com.nttdata.AccountMs.exception.CustomExceptions;
+import com.nttdata.AccountMs.model.AjustesCuentaResponse;
+import com.nttdata.AccountMs.model.CuentaLoteRequest;
+import com.nttdata.AccountMs.model.CuentaLoteResponse;
+import com.nttdata.AccountMs.model.CuentaLoteResultado;
 import com.nttdata.AccountMs.model.CuentaRequest;
 import com.nttdata.AccountMs.model.CuentaResponse;
 import com.nttdata.AccountMs.model.InlineObject;
+import com.nttdata.AccountMs.model.MovimientoLoteItem;
+import com.nttdata.AccountMs.model.MovimientoLoteRequest;
+import com.nttdata.AccountMs.model.MovimientoSaldoRequest;
+import com.nttdata.AccountMs.model.SaldoConciliacionResponse;
 import com.nttdata.AccountMs.model.SaldoTipoResponse;
+import com.nttdata.AccountMs.model.TransferenciaRequest;
+import com.nttdata.AccountMs.model.TransferenciaResponse;
+import com.nttdata.AccountMs.model.entity.AjusteSaldo;
 import com.nttdata.AccountMs.model.entity.Cuenta;
 import com.nttdata.AccountMs.model.entity.TipoCuentaEnum;
+import com.nttdata.AccountMs.repository.AjusteSaldoRepository;
 import com.nttdata.AccountMs.repository.CuentaRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Supplier;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -34,7 +68,22 @@ public class CuentaServiceImpTest {
     private CuentaMapper cuentaMapper;
 
     @Mock
-    private CustomerFeignClient customerFeignClient;
+    private ClienteExistenciaCache clienteExistenciaCache;
+
+    @Mock
+    private GeneradorNumeroCuenta generadorNumeroCuenta;
+
+    @Mock
+    private ReintentoOptimista reintentoOptimista;
+
+    @Mock
+    private OperacionesIdempotentes operacionesIdempotentes;
+
+    @Mock
+    private AjusteSaldoRepository ajusteSaldoRepository;
+
+    @Spy
+    private CacheManager cacheManager = new ConcurrentMapCacheManager(CacheConfig.CACHE_SALDO_TIPO);
 
     @InjectMocks
     private CuentaServiceImp cuentaServiceImp;
@@ -45,21 +94,26 @@ public class CuentaServiceImpTest {
 
     @BeforeEach
     public void setUp() {
+        lenient().when(reintentoOptimista.ejecutar(anyString(), anyList(), any()))
+                .thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(2).get());
+        lenient().when(operacionesIdempotentes.ejecutar(any(), any(), any()))
+                .thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(2).get());
+        lenient().when(operacionesIdempotentes.registrar(any(), anyString())).thenReturn(true);
 
         cuenta = new Cuenta();
         cuenta.setNumeroCuenta("1234567890");
-        cuenta.setSaldo(1000.0);
+        cuenta.setSaldoCentimos(100_000L);
         cuenta.setTipoCuenta(TipoCuentaEnum.AHORROS);
         cuenta.setClienteId(1);
 
         cuentaRequest = new CuentaRequest();
-        cuentaRequest.setSaldo(1000.0);
+        cuentaRequest.setSaldo(new BigDecimal("1000.0"));
         cuentaRequest.setTipoCuenta(CuentaRequest.TipoCuentaEnum.AHORROS);
         cuentaRequest.setClienteId(1);
 
         cuentaResponse = new CuentaResponse();
         cuentaResponse.setNumeroCuenta("1234567890");
-        cuentaResponse.setSaldo(1000.0);
+        cuentaResponse.setSaldo(new BigDecimal("1000.0"));
         cuentaResponse.setTipoCuenta(CuentaResponse.TipoCuentaEnum.AHORROS);
     }
 
@@ -97,10 +151,60 @@ public class CuentaServiceImpTest {
         verify(cuentaRepository, times(1)).findAll();
     }
 
+    @Test
+    @DisplayName("List accounts paged - Returns cursor when more results exist")
+    public void testListAccountsPaged_ConSiguientePagina() {
+        cuenta.setId(7);
+        FiltroCuentas filtro = FiltroCuentas.builder().tipoCuenta(TipoCuentaEnum.AHORROS).build();
+
+        when(cuentaRepository.findBy(any(Specification.class), any()))
+                .thenReturn(Window.from(List.of(cuenta), ScrollPosition::offset, true));
+
+        cuentaServiceImp.listAccountsPaged(filtro, "NUMERO_CUENTA", null, null, null, 1);
+
+        ArgumentCaptor<String> cursor = ArgumentCaptor.forClass(String.class);
+        verify(cuentaMapper).getCuentaPageOfCuentas(eq(List.of(cuenta)), eq(true), cursor.capture());
+        CursorCuentas siguiente = CursorCuentas.decodificar(cursor.getValue());
+        assertEquals("NUMERO_CUENTA:ASC", siguiente.getOrden());
+        assertEquals(7, siguiente.getId());
+        assertEquals("1234567890", siguiente.getNumeroCuenta());
+    }
+
+    @Test
+    @DisplayName("List accounts paged - Last page has no cursor")
+    public void testListAccountsPaged_UltimaPagina() {
+        FiltroCuentas filtro = FiltroCuentas.builder().clienteId(1).build();
+
+        when(cuentaRepository.findBy(any(Specification.class), any()))
+                .thenReturn(Window.from(List.of(cuenta), ScrollPosition::offset, false));
+
+        cuentaServiceImp.listAccountsPaged(filtro, null, "DESC", 3, null, 10);
+
+        verify(cuentaMapper).getCuentaPageOfCuentas(List.of(cuenta), false, null);
+    }
+
+    @Test
+    @DisplayName("List accounts paged - Invalid parameters")
+    public void testListAccountsPaged_ParametrosInvalidos() {
+        FiltroCuentas filtro = FiltroCuentas.builder().build();
+        String cursor = new CursorCuentas("ID:ASC", 1, "1234567890").codificar();
+
+        assertThrows(CustomExceptions.BadRequestException.class,
+                () -> cuentaServiceImp.listAccountsPaged(filtro, null, null, null, null, 0));
+        assertThrows(CustomExceptions.BadRequestException.class,
+                () -> cuentaServiceImp.listAccountsPaged(filtro, null, null, -1, null, 10));
+        assertThrows(CustomExceptions.BadRequestException.class,
+                () -> cuentaServiceImp.listAccountsPaged(filtro, null, "ARRIBA", null, null, 10));
+        assertThrows(CustomExceptions.BadRequestException.class,
+                () -> cuentaServiceImp.listAccountsPaged(filtro, "NUMERO_CUENTA", null, null, cursor, 10));
+        verify(cuentaRepository, never()).findBy(any(Specification.class), any());
+    }
+
     @Test
     @DisplayName("Create account success")
     public void testCreateAccount_Success() {
-        when(customerFeignClient.checkIfCustomerExists(cuentaRequest.getClienteId())).thenReturn(true);
+        when(clienteExistenciaCache.existe(cuentaRequest.getClienteId())).thenReturn(true);
+        when(generadorNumeroCuenta.siguienteNumero()).thenReturn("1000000008");
         when(cuentaRepository.save(any(Cuenta.class))).thenReturn(cuenta);
         when(cuentaMapper.getCuentaResponseOfCuenta(cuenta)).thenReturn(cuentaResponse);
         when(cuentaMapper.mapToEntityTipoCuenta(cuentaRequest.getTipoCuenta())).thenReturn(TipoCuentaEnum.AHORROS);
@@ -109,17 +213,18 @@ public class CuentaServiceImpTest {
 
         assertNotNull(result);
         assertEquals("1234567890", result.getNumeroCuenta());
-        assertEquals(1000.0, result.getSaldo());
+        assertEquals(new BigDecimal("1000.0"), result.getSaldo());
 
-        verify(customerFeignClient, times(1)).checkIfCustomerExists(cuentaRequest.getClienteId());
-        verify(cuentaRepository, times(1)).save(any(Cuenta.class));
+        verify(clienteExistenciaCache, times(1)).existe(cuentaRequest.getClienteId());
+        verify(cuentaRepository, times(1)).save(argThat(nueva -> "1000000008".equals(nueva.getNumeroCuenta())
+                && nueva.getAjusteCentimos() == nueva.getSaldoCentimos()));
         verify(cuentaMapper, times(1)).getCuentaResponseOfCuenta(cuenta);
     }
 
     @Test
     @DisplayName("Create account - Customer not exists")
     public void testCreateAccount_CustomerNotExists() {
-        when(customerFeignClient.checkIfCustomerExists(cuentaRequest.getClienteId())).thenReturn(false);
+        when(clienteExistenciaCache.existe(cuentaRequest.getClienteId())).thenReturn(false);
 
         CustomExceptions.BadRequestException exception = assertThrows(
                 CustomExceptions.BadRequestException.class,
@@ -128,15 +233,15 @@ public class CuentaServiceImpTest {
 
         assertEquals("El cliente no existe.", exception.getMessage());
 
-        verify(customerFeignClient, times(1)).checkIfCustomerExists(cuentaRequest.getClienteId());
+        verify(clienteExistenciaCache, times(1)).existe(cuentaRequest.getClienteId());
         verify(cuentaRepository, never()).save(any(Cuenta.class));
     }
 
     @Test
     @DisplayName("Create account - Invalid initial balance")
     public void testCreateAccount_InvalidInitialBalance() {
-        when(customerFeignClient.checkIfCustomerExists(cuentaRequest.getClienteId())).thenReturn(true);
-        cuentaRequest.setSaldo(0.0);
+        when(clienteExistenciaCache.existe(cuentaRequest.getClienteId())).thenReturn(true);
+        cuentaRequest.setSaldo(new BigDecimal("0.0"));
 
         CustomExceptions.BadRequestException exception = assertThrows(
                 CustomExceptions.BadRequestException.class,
@@ -148,6 +253,71 @@ public class CuentaServiceImpTest {
         verify(cuentaRepository, never()).save(any(Cuenta.class));
     }
 
+    @Test
+    @DisplayName("Create accounts batch - Mixed results")
+    public void testCreateAccountsBatch_ResultadosMixtos() {
+        CuentaRequest sinCliente = new CuentaRequest();
+        sinCliente.setClienteId(99);
+        sinCliente.setSaldo(new BigDecimal("100.0"));
+        sinCliente.setTipoCuenta(CuentaRequest.TipoCuentaEnum.AHORROS);
+        CuentaLoteRequest lote = new CuentaLoteRequest();
+        lote.setCuentas(List.of(cuentaRequest, sinCliente, cuentaRequest));
+        CuentaLoteResultado rechazada = new CuentaLoteResultado();
+        CuentaLoteResultado creada = new CuentaLoteResultado();
+        CuentaLoteResponse loteResponse = new CuentaLoteResponse();
+
+        when(clienteExistenciaCache.existentes(List.of(1, 99, 1))).thenReturn(Set.of(1));
+        when(generadorNumeroCuenta.siguientesNumeros(2)).thenReturn(List.of("1000000008", "1000000016"));
+        when(cuentaMapper.mapToEntityTipoCuenta(CuentaRequest.TipoCuentaEnum.AHORROS)).thenReturn(TipoCuentaEnum.AHORROS);
+        when(cuentaMapper.getCuentaLoteResultadoRechazada(1, "El cliente no existe.")).thenReturn(rechazada);
+        when(cuentaMapper.getCuentaLoteResultadoCreada(anyInt(), any(Cuenta.class))).thenReturn(creada);
+        when(cuentaMapper.getCuentaLoteResponseOfResultados(List.of(creada, rechazada, creada))).thenReturn(loteResponse);
+
+        CuentaLoteResponse result = cuentaServiceImp.createAccountsBatch(lote);
+
+        assertSame(loteResponse, result);
+
+        ArgumentCaptor<Iterable<Cuenta>> guardadas = ArgumentCaptor.forClass(Iterable.class);
+        verify(cuentaRepository, times(1)).saveAll(guardadas.capture());
+        List<String> numeros = new ArrayList<>();
+        guardadas.getValue().forEach(cuentaGuardada -> numeros.add(cuentaGuardada.getNumeroCuenta()));
+        assertEquals(List.of("1000000008", "1000000016"), numeros);
+        verify(cuentaMapper).getCuentaLoteResultadoCreada(eq(0), any(Cuenta.class));
+        verify(cuentaMapper).getCuentaLoteResultadoCreada(eq(2), any(Cuenta.class));
+        verify(cuentaRepository, never()).save(any(Cuenta.class));
+    }
+
+    @Test
+    @DisplayName("Create accounts batch - Empty batch")
+    public void testCreateAccountsBatch_LoteVacio() {
+        CustomExceptions.BadRequestException exception = assertThrows(
+                CustomExceptions.BadRequestException.class,
+                () -> cuentaServiceImp.createAccountsBatch(new CuentaLoteRequest())
+        );
+
+        assertEquals("El lote debe contener entre 1 y 5000 cuentas.", exception.getMessage());
+        verify(clienteExistenciaCache, never()).existentes(anyCollection());
+    }
+
+    @Test
+    @DisplayName("Create accounts batch - Invalid items are rejected")
+    public void testCreateAccountsBatch_SolicitudInvalida() {
+        CuentaRequest sinSaldo = new CuentaRequest();
+        sinSaldo.setClienteId(1);
+        sinSaldo.setSaldo(new BigDecimal("0.0"));
+        sinSaldo.setTipoCuenta(CuentaRequest.TipoCuentaEnum.CORRIENTE);
+        CuentaLoteRequest lote = new CuentaLoteRequest();
+        lote.setCuentas(List.of(sinSaldo));
+
+        when(clienteExistenciaCache.existentes(List.of(1))).thenReturn(Set.of(1));
+        when(generadorNumeroCuenta.siguientesNumeros(0)).thenReturn(List.of());
+
+        cuentaServiceImp.createAccountsBatch(lote);
+
+        verify(cuentaMapper, times(1)).getCuentaLoteResultadoRechazada(0, "El saldo inicial debe ser mayor a 0.");
+        verify(cuentaMapper, never()).getCuentaLoteResultadoCreada(anyInt(), any(Cuenta.class));
+    }
+
     @Test
     @DisplayName("Get account by id success")
     public void testGetAccountById_Success() {
@@ -189,10 +359,13 @@ public class CuentaServiceImpTest {
 
         when(cuentaRepository.findById(id)).thenReturn(Optional.of(cuenta));
 
+        cacheManager.getCache(CacheConfig.CACHE_SALDO_TIPO).put("1234567890", new SaldoTipoResponse());
+
         cuentaServiceImp.deleteAccountById(id);
 
         verify(cuentaRepository, times(1)).findById(id);
         verify(cuentaRepository, times(1)).delete(cuenta);
+        assertNull(cacheManager.getCache(CacheConfig.CACHE_SALDO_TIPO).get("1234567890"));
     }
 
     @Test
@@ -218,17 +391,109 @@ public class CuentaServiceImpTest {
     public void testUpdateAccountBalance_Success() {
         String numeroCuenta = "1234567890";
         InlineObject inlineObject = new InlineObject();
-        inlineObject.setNuevoSaldo(1500.0);
+        inlineObject.setNuevoSaldo(new BigDecimal("1500.0"));
 
         when(cuentaRepository.findByNumeroCuenta(numeroCuenta)).thenReturn(Optional.of(cuenta));
         when(cuentaRepository.save(any(Cuenta.class))).thenReturn(cuenta);
 
         cuentaServiceImp.updateAccountBalance(numeroCuenta, inlineObject);
 
-        assertEquals(1500.0, cuenta.getSaldo());
+        assertEquals(150_000L, cuenta.getSaldoCentimos());
+        assertEquals(50_000L, cuenta.getAjusteCentimos());
+
+        ArgumentCaptor<AjusteSaldo> ajuste = ArgumentCaptor.forClass(AjusteSaldo.class);
+        verify(ajusteSaldoRepository, times(1)).save(ajuste.capture());
+        assertEquals(numeroCuenta, ajuste.getValue().getNumeroCuenta());
+        assertEquals(50_000L, ajuste.getValue().getMontoCentimos());
+        assertNotNull(ajuste.getValue().getFecha());
 
         verify(cuentaRepository, times(1)).findByNumeroCuenta(numeroCuenta);
         verify(cuentaRepository, times(1)).save(cuenta);
+        verify(reintentoOptimista, times(1)).ejecutar(eq("actualizar-saldo"), eq(List.of(numeroCuenta)), any());
+    }
+
+    @Test
+    @DisplayName("Update account balance - Same balance records no adjustment")
+    public void testUpdateAccountBalance_SinCambio() {
+        InlineObject inlineObject = new InlineObject();
+        inlineObject.setNuevoSaldo(new BigDecimal("1000.0"));
+
+        when(cuentaRepository.findByNumeroCuenta("1234567890")).thenReturn(Optional.of(cuenta));
+        when(cuentaRepository.save(any(Cuenta.class))).thenReturn(cuenta);
+
+        cuentaServiceImp.updateAccountBalance("1234567890", inlineObject);
+
+        verify(ajusteSaldoRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Get account adjustments - Opening balance and earlier adjustments form the initial adjustment")
+    public void testGetAccountAdjustments_Success() {
+        OffsetDateTime desde = OffsetDateTime.parse("2024-05-01T00:00:00Z");
+        OffsetDateTime hasta = OffsetDateTime.parse("2024-05-31T23:59:59Z");
+        AjusteSaldo delPeriodo = new AjusteSaldo(1L, "1234567890", 50_000L, Instant.parse("2024-05-10T12:00:00Z"));
+        AjusteSaldo posterior = new AjusteSaldo(2L, "1234567890", -20_000L, Instant.parse("2024-06-02T09:00:00Z"));
+        cuenta.setAjusteCentimos(130_000L);
+        AjustesCuentaResponse ajustesCuentaResponse = new AjustesCuentaResponse();
+
+        when(cuentaRepository.findByNumeroCuenta("1234567890")).thenReturn(Optional.of(cuenta));
+        when(ajusteSaldoRepository.findByNumeroCuentaAndFechaGreaterThanEqualOrderByFechaAscIdAsc("1234567890", desde.toInstant()))
+                .thenReturn(List.of(delPeriodo, posterior));
+        when(cuentaMapper.getAjustesCuentaResponse("1234567890", 100_000L, List.of(delPeriodo)))
+                .thenReturn(ajustesCuentaResponse);
+
+        AjustesCuentaResponse result = cuentaServiceImp.getAccountAdjustments("1234567890", desde, hasta);
+
+        assertSame(ajustesCuentaResponse, result);
+    }
+
+    @Test
+    @DisplayName("Get account adjustments - Account not found")
+    public void testGetAccountAdjustments_NotFound() {
+        OffsetDateTime desde = OffsetDateTime.parse("2024-05-01T00:00:00Z");
+        when(cuentaRepository.findByNumeroCuenta("1234567890")).thenReturn(Optional.empty());
+
+        assertThrows(
+                CustomExceptions.ResourceNotFoundException.class,
+                () -> cuentaServiceImp.getAccountAdjustments("1234567890", desde, desde.plusDays(1))
+        );
+    }
+
+    @Test
+    @DisplayName("Get account adjustments - Start after end")
+    public void testGetAccountAdjustments_RangoInvalido() {
+        OffsetDateTime desde = OffsetDateTime.parse("2024-05-01T00:00:00Z");
+
+        assertThrows(
+                CustomExceptions.BadRequestException.class,
+                () -> cuentaServiceImp.getAccountAdjustments("1234567890", desde, desde.minusDays(1))
+        );
+        verifyNoInteractions(ajusteSaldoRepository);
+    }
+
+    @Test
+    @DisplayName("List balances in range success")
+    public void testListBalancesInRange_Success() {
+        SaldoConciliacionResponse saldo = new SaldoConciliacionResponse();
+        when(cuentaRepository.findByNumeroCuentaGreaterThanAndNumeroCuentaLessThanEqualOrderByNumeroCuentaAsc(
+                "0999999999", "1000999999", Limit.of(1000))).thenReturn(List.of(cuenta));
+        when(cuentaMapper.getSaldoConciliacionOfCuenta(cuenta)).thenReturn(saldo);
+
+        List<SaldoConciliacionResponse> result = cuentaServiceImp.listBalancesInRange("0999999999", "1000999999", null);
+
+        assertEquals(List.of(saldo), result);
+    }
+
+    @Test
+    @DisplayName("List balances in range - Limit out of bounds")
+    public void testListBalancesInRange_BadRequestException() {
+        CustomExceptions.BadRequestException exception = assertThrows(
+                CustomExceptions.BadRequestException.class,
+                () -> cuentaServiceImp.listBalancesInRange("0999999999", "1000999999", 5001)
+        );
+
+        assertEquals("El límite debe estar entre 1 y 5000.", exception.getMessage());
+        verifyNoInteractions(cuentaRepository);
     }
 
     @Test
@@ -236,7 +501,7 @@ public class CuentaServiceImpTest {
     public void testUpdateAccountBalance_AccountNotFound() {
         String numeroCuenta = "1234567890";
         InlineObject inlineObject = new InlineObject();
-        inlineObject.setNuevoSaldo(1500.0);
+        inlineObject.setNuevoSaldo(new BigDecimal("1500.0"));
 
         when(cuentaRepository.findByNumeroCuenta(numeroCuenta)).thenReturn(Optional.empty());
 
@@ -256,7 +521,7 @@ public class CuentaServiceImpTest {
     public void testGetAccountBalanceAndType_Success() {
         String numeroCuenta = "1234567890";
         SaldoTipoResponse saldoTipoResponse = new SaldoTipoResponse();
-        saldoTipoResponse.setSaldo(1000.0);
+        saldoTipoResponse.setSaldo(new BigDecimal("1000.0"));
         saldoTipoResponse.setTipoCuenta(SaldoTipoResponse.TipoCuentaEnum.AHORROS);
 
         when(cuentaRepository.findByNumeroCuenta(numeroCuenta)).thenReturn(Optional.of(cuenta));
@@ -265,7 +530,7 @@ public class CuentaServiceImpTest {
         SaldoTipoResponse result = cuentaServiceImp.getAccountBalanceAndType(numeroCuenta);
         
         assertNotNull(result);
-        assertEquals(1000.0, result.getSaldo());
+        assertEquals(new BigDecimal("1000.0"), result.getSaldo());
         assertEquals(SaldoTipoResponse.TipoCuentaEnum.AHORROS, result.getTipoCuenta());
 
         verify(cuentaRepository, times(1)).findByNumeroCuenta(numeroCuenta);
@@ -290,4 +555,370 @@ public class CuentaServiceImpTest {
         verify(cuentaMapper, never()).getSaldoOfCuenta(any(Cuenta.class));
     }
 
+    @Test
+    @DisplayName("Apply balance movement success")
+    public void testApplyBalanceMovement_Success() {
+        String numeroCuenta = "1234567890";
+        MovimientoSaldoRequest movimiento = new MovimientoSaldoRequest();
+        movimiento.setMonto(new BigDecimal("-200.0"));
+        SaldoTipoResponse saldoTipoResponse = new SaldoTipoResponse();
+        saldoTipoResponse.setSaldo(new BigDecimal("800.0"));
+        saldoTipoResponse.setTipoCuenta(SaldoTipoResponse.TipoCuentaEnum.AHORROS);
+
+        when(cuentaRepository.aplicarMovimiento(numeroCuenta, -20_000L)).thenReturn(1);
+        when(cuentaRepository.findByNumeroCuenta(numeroCuenta)).thenReturn(Optional.of(cuenta));
+        when(cuentaMapper.getSaldoOfCuenta(cuenta)).thenReturn(saldoTipoResponse);
+
+        SaldoTipoResponse result = cuentaServiceImp.applyBalanceMovement(numeroCuenta, movimiento, null);
+
+        assertNotNull(result);
+        assertEquals(new BigDecimal("800.0"), result.getSaldo());
+
+        verify(cuentaRepository, times(1)).aplicarMovimiento(numeroCuenta, -20_000L);
+        verify(cuentaRepository, never()).save(any(Cuenta.class));
+    }
+
+    @Test
+    @DisplayName("Apply balance movement - Already applied reference returns balance without reapplying")
+    public void testApplyBalanceMovement_ReferenciaYaAplicada() {
+        String numeroCuenta = "1234567890";
+        MovimientoSaldoRequest movimiento = new MovimientoSaldoRequest();
+        movimiento.setMonto(new BigDecimal("-200.0"));
+        SaldoTipoResponse saldoTipoResponse = new SaldoTipoResponse();
+        saldoTipoResponse.setSaldo(new BigDecimal("800.0"));
+
+        when(operacionesIdempotentes.registrar("ref-1", "movimiento")).thenReturn(false);
+        when(cuentaRepository.findByNumeroCuenta(numeroCuenta)).thenReturn(Optional.of(cuenta));
+        when(cuentaMapper.getSaldoOfCuenta(cuenta)).thenReturn(saldoTipoResponse);
+
+        SaldoTipoResponse result = cuentaServiceImp.applyBalanceMovement(numeroCuenta, movimiento, "ref-1");
+
+        assertSame(saldoTipoResponse, result);
+        verify(cuentaRepository, never()).aplicarMovimiento(anyString(), anyLong());
+        verify(reintentoOptimista, times(1)).ejecutar(eq("movimiento"), eq(List.of(numeroCuenta)), any());
+    }
+
+    @Test
+    @DisplayName("Apply balance movement - Ahorros below zero")
+    public void testApplyBalanceMovement_BadRequest_Ahorros() {
+        String numeroCuenta = "1234567890";
+        MovimientoSaldoRequest movimiento = new MovimientoSaldoRequest();
+        movimiento.setMonto(new BigDecimal("-2000.0"));
+
+        when(cuentaRepository.aplicarMovimiento(numeroCuenta, -200_000L)).thenReturn(0);
+        when(cuentaRepository.findByNumeroCuenta(numeroCuenta)).thenReturn(Optional.of(cuenta));
+
+        CustomExceptions.BadRequestException exception = assertThrows(
+                CustomExceptions.BadRequestException.class,
+                () -> cuentaServiceImp.applyBalanceMovement(numeroCuenta, movimiento, null)
+        );
+
+        assertEquals("No se puede realizar un retiro que deje el saldo en negativo para cuentas de ahorro", exception.getMessage());
+        verify(cuentaMapper, never()).getSaldoOfCuenta(any(Cuenta.class));
+    }
+
+    @Test
+    @DisplayName("Apply balance movement - Corriente overdraft limit")
+    public void testApplyBalanceMovement_BadRequest_Corriente() {
+        String numeroCuenta = "1234567890";
+        cuenta.setTipoCuenta(TipoCuentaEnum.CORRIENTE);
+        MovimientoSaldoRequest movimiento = new MovimientoSaldoRequest();
+        movimiento.setMonto(new BigDecimal("-1600.0"));
+
+        when(cuentaRepository.aplicarMovimiento(numeroCuenta, -160_000L)).thenReturn(0);
+        when(cuentaRepository.findByNumeroCuenta(numeroCuenta)).thenReturn(Optional.of(cuenta));
+
+        CustomExceptions.BadRequestException exception = assertThrows(
+                CustomExceptions.BadRequestException.class,
+                () -> cuentaServiceImp.applyBalanceMovement(numeroCuenta, movimiento, null)
+        );
+
+        assertEquals("No se puede realizar un sobregiro mayor a -500 en cuentas corrientes", exception.getMessage());
+    }
+
+    @Test
+    @DisplayName("Apply balance movement - Not found")
+    public void testApplyBalanceMovement_NotFound() {
+        String numeroCuenta = "1234567890";
+        MovimientoSaldoRequest movimiento = new MovimientoSaldoRequest();
+        movimiento.setMonto(new BigDecimal("100.0"));
+
+        when(cuentaRepository.aplicarMovimiento(numeroCuenta, 10_000L)).thenReturn(0);
+        when(cuentaRepository.findByNumeroCuenta(numeroCuenta)).thenReturn(Optional.empty());
+
+        CustomExceptions.ResourceNotFoundException exception = assertThrows(
+                CustomExceptions.ResourceNotFoundException.class,
+                () -> cuentaServiceImp.applyBalanceMovement(numeroCuenta, movimiento, null)
+        );
+
+        assertEquals("Cuenta no encontrada", exception.getMessage());
+    }
+
+    @Test
+    @DisplayName("Apply balance movement - Zero amount")
+    public void testApplyBalanceMovement_ZeroAmount() {
+        MovimientoSaldoRequest movimiento = new MovimientoSaldoRequest();
+        movimiento.setMonto(new BigDecimal("0.0"));
+
+        assertThrows(
+                CustomExceptions.BadRequestException.class,
+                () -> cuentaServiceImp.applyBalanceMovement("1234567890", movimiento, null)
+        );
+
+        verify(cuentaRepository, never()).aplicarMovimiento(anyString(), anyLong());
+    }
+
+    @Test
+    @DisplayName("Apply balance movement - More than two decimals")
+    public void testApplyBalanceMovement_PrecisionInvalida() {
+        MovimientoSaldoRequest movimiento = new MovimientoSaldoRequest();
+        movimiento.setMonto(new BigDecimal("10.005"));
+
+        CustomExceptions.BadRequestException exception = assertThrows(
+                CustomExceptions.BadRequestException.class,
+                () -> cuentaServiceImp.applyBalanceMovement("1234567890", movimiento, null)
+        );
+
+        assertEquals("El monto debe tener como máximo 2 decimales.", exception.getMessage());
+        verify(cuentaRepository, never()).aplicarMovimiento(anyString(), anyLong());
+    }
+
+    @Test
+    @DisplayName("Update customer existence - Created")
+    public void testUpdateCustomerExistence_Registrado() {
+        cuentaServiceImp.updateCustomerExistence(5, true);
+
+        verify(clienteExistenciaCache, times(1)).registrar(5);
+        verify(clienteExistenciaCache, never()).invalidar(anyInt());
+    }
+
+    @Test
+    @DisplayName("Update customer existence - Deleted")
+    public void testUpdateCustomerExistence_Eliminado() {
+        cuentaServiceImp.updateCustomerExistence(5, false);
+
+        verify(clienteExistenciaCache, times(1)).invalidar(5);
+        verify(clienteExistenciaCache, never()).registrar(anyInt());
+    }
+
+    @Test
+    @DisplayName("Apply movements batch - Mixed results")
+    public void testApplyMovementsBatch_ResultadosMixtos() {
+        Cuenta destino = new Cuenta();
+        destino.setNumeroCuenta("0987654321");
+        destino.setSaldoCentimos(0L);
+        destino.setTipoCuenta(TipoCuentaEnum.CORRIENTE);
+
+        MovimientoLoteRequest lote = new MovimientoLoteRequest();
+        lote.setMovimientos(Arrays.asList(
+                crearMovimientoLote("1234567890", null, new BigDecimal("200.0")),
+                crearMovimientoLote("1234567890", null, new BigDecimal("-1500.0")),
+                crearMovimientoLote("1234567890", "0987654321", new BigDecimal("300.0")),
+                crearMovimientoLote("9999999999", null, new BigDecimal("10.0")),
+                crearMovimientoLote("0987654321", "0987654321", new BigDecimal("5.0")),
+                null
+        ));
+
+        when(cuentaRepository.findAllByNumeroCuentaInForUpdate(List.of("0987654321", "1234567890", "9999999999")))
+                .thenReturn(List.of(destino, cuenta));
+
+        cuentaServiceImp.applyMovementsBatch(lote);
+
+        assertEquals(90_000L, cuenta.getSaldoCentimos());
+        assertEquals(30_000L, destino.getSaldoCentimos());
+        verify(cuentaMapper).getMovimientoLoteResultadoAplicado(0, cuenta, null);
+        verify(cuentaMapper).getMovimientoLoteResultadoRechazado(1,
+                "No se puede realizar un retiro que deje el saldo en negativo para cuentas de ahorro");
+        verify(cuentaMapper).getMovimientoLoteResultadoAplicado(2, cuenta, destino);
+        verify(cuentaMapper).getMovimientoLoteResultadoRechazado(3, "Cuenta no encontrada: 9999999999");
+        verify(cuentaMapper).getMovimientoLoteResultadoRechazado(4, "La cuenta de origen y la de destino deben ser distintas.");
+        verify(cuentaMapper).getMovimientoLoteResultadoRechazado(5, "Los campos 'cuentaOrigen' y 'monto' son obligatorios.");
+        verify(cuentaRepository, times(1)).findAllByNumeroCuentaInForUpdate(anyCollection());
+        verify(cuentaRepository, never()).aplicarMovimiento(anyString(), anyLong());
+        assertNotNull(cacheManager.getCache(CacheConfig.CACHE_SALDO_TIPO).get("0987654321"));
+        assertNotNull(cacheManager.getCache(CacheConfig.CACHE_SALDO_TIPO).get("1234567890"));
+    }
+
+    @Test
+    @DisplayName("Apply movements batch - Empty batch")
+    public void testApplyMovementsBatch_LoteVacio() {
+        CustomExceptions.BadRequestException exception = assertThrows(
+                CustomExceptions.BadRequestException.class,
+                () -> cuentaServiceImp.applyMovementsBatch(new MovimientoLoteRequest())
+        );
+
+        assertEquals("El lote debe contener entre 1 y 5000 movimientos.", exception.getMessage());
+        verifyNoInteractions(cuentaRepository);
+    }
+
+    @Test
+    @DisplayName("Transfer between accounts success")
+    public void testTransferBetweenAccounts_Success() {
+        Cuenta destino = new Cuenta();
+        destino.setNumeroCuenta("0987654321");
+        destino.setSaldoCentimos(50_000L);
+        destino.setTipoCuenta(TipoCuentaEnum.AHORROS);
+        TransferenciaRequest transferencia = new TransferenciaRequest();
+        transferencia.setCuentaOrigen("1234567890");
+        transferencia.setCuentaDestino("0987654321");
+        transferencia.setMonto(new BigDecimal("300.0"));
+        TransferenciaResponse transferenciaResponse = new TransferenciaResponse();
+        SaldoTipoResponse saldoOrigen = new SaldoTipoResponse();
+        SaldoTipoResponse saldoDestino = new SaldoTipoResponse();
+
+        when(cuentaRepository.findAllByNumeroCuentaIn(List.of("0987654321", "1234567890")))
+                .thenReturn(List.of(destino, cuenta));
+        when(cuentaMapper.getTransferenciaResponseOfCuentas(cuenta, destino)).thenReturn(transferenciaResponse);
+        when(cuentaMapper.getSaldoOfCuenta(cuenta)).thenReturn(saldoOrigen);
+        when(cuentaMapper.getSaldoOfCuenta(destino)).thenReturn(saldoDestino);
+
+        TransferenciaResponse result = cuentaServiceImp.transferBetweenAccounts(transferencia, null);
+
+        assertSame(transferenciaResponse, result);
+        assertEquals(70_000L, cuenta.getSaldoCentimos());
+        assertEquals(80_000L, destino.getSaldoCentimos());
+
+        Cache cache = cacheManager.getCache(CacheConfig.CACHE_SALDO_TIPO);
+        assertSame(saldoOrigen, cache.get("1234567890", SaldoTipoResponse.class));
+        assertSame(saldoDestino, cache.get("0987654321", SaldoTipoResponse.class));
+
+        verify(cuentaRepository, times(1)).findAllByNumeroCuentaIn(List.of("0987654321", "1234567890"));
+        verify(cuentaRepository, never()).findAllByNumeroCuentaInForUpdate(anyCollection());
+        verify(reintentoOptimista, times(1)).ejecutar(eq("transferencia"), eq(List.of("1234567890", "0987654321")), any());
+    }
+
+    @Test
+    @DisplayName("Transfer between accounts - Already applied reference does not move balances again")
+    public void testTransferBetweenAccounts_ReferenciaYaAplicada() {
+        Cuenta destino = new Cuenta();
+        destino.setNumeroCuenta("0987654321");
+        destino.setSaldoCentimos(50_000L);
+        destino.setTipoCuenta(TipoCuentaEnum.AHORROS);
+        TransferenciaRequest transferencia = new TransferenciaRequest();
+        transferencia.setCuentaOrigen("1234567890");
+        transferencia.setCuentaDestino("0987654321");
+        transferencia.setMonto(new BigDecimal("300.0"));
+        TransferenciaResponse transferenciaResponse = new TransferenciaResponse();
+
+        when(operacionesIdempotentes.registrar("ref-1", "transferencia")).thenReturn(false);
+        when(cuentaRepository.findAllByNumeroCuentaIn(List.of("0987654321", "1234567890")))
+                .thenReturn(List.of(destino, cuenta));
+        when(cuentaMapper.getTransferenciaResponseOfCuentas(cuenta, destino)).thenReturn(transferenciaResponse);
+
+        TransferenciaResponse result = cuentaServiceImp.transferBetweenAccounts(transferencia, "ref-1");
+
+        assertSame(transferenciaResponse, result);
+        assertEquals(100_000L, cuenta.getSaldoCentimos());
+        assertEquals(50_000L, destino.getSaldoCentimos());
+        assertNull(cacheManager.getCache(CacheConfig.CACHE_SALDO_TIPO).get("1234567890"));
+    }
+
+    @Test
+    @DisplayName("Transfer between accounts - Cents add up exactly")
+    public void testTransferBetweenAccounts_CentimosExactos() {
+        cuenta.setSaldoCentimos(30L);
+        Cuenta destino = new Cuenta();
+        destino.setNumeroCuenta("0987654321");
+        destino.setSaldoCentimos(0L);
+        destino.setTipoCuenta(TipoCuentaEnum.AHORROS);
+        TransferenciaRequest transferencia = new TransferenciaRequest();
+        transferencia.setCuentaOrigen("1234567890");
+        transferencia.setCuentaDestino("0987654321");
+        transferencia.setMonto(new BigDecimal("0.1"));
+
+        when(cuentaRepository.findAllByNumeroCuentaIn(List.of("0987654321", "1234567890")))
+                .thenReturn(List.of(destino, cuenta));
+
+        for (int i = 0; i < 3; i++) {
+            cuentaServiceImp.transferBetweenAccounts(transferencia, null);
+        }
+
+        assertEquals(0L, cuenta.getSaldoCentimos());
+        assertEquals(30L, destino.getSaldoCentimos());
+    }
+
+    @Test
+    @DisplayName("Transfer between accounts - Ahorros below zero")
+    public void testTransferBetweenAccounts_BadRequest_Ahorros() {
+        Cuenta destino = new Cuenta();
+        destino.setNumeroCuenta("0987654321");
+        destino.setSaldoCentimos(50_000L);
+        TransferenciaRequest transferencia = new TransferenciaRequest();
+        transferencia.setCuentaOrigen("1234567890");
+        transferencia.setCuentaDestino("0987654321");
+        transferencia.setMonto(new BigDecimal("1500.0"));
+
+        when(cuentaRepository.findAllByNumeroCuentaIn(List.of("0987654321", "1234567890")))
+                .thenReturn(List.of(destino, cuenta));
+
+        CustomExceptions.BadRequestException exception = assertThrows(
+                CustomExceptions.BadRequestException.class,
+                () -> cuentaServiceImp.transferBetweenAccounts(transferencia, null)
+        );
+
+        assertEquals("No se puede realizar una transferencia que deje el saldo en negativo para cuentas de ahorro", exception.getMessage());
+        assertEquals(100_000L, cuenta.getSaldoCentimos());
+        assertEquals(50_000L, destino.getSaldoCentimos());
+    }
+
+    @Test
+    @DisplayName("Transfer between accounts - Destination not found")
+    public void testTransferBetweenAccounts_NotFound() {
+        TransferenciaRequest transferencia = new TransferenciaRequest();
+        transferencia.setCuentaOrigen("1234567890");
+        transferencia.setCuentaDestino("0987654321");
+        transferencia.setMonto(new BigDecimal("100.0"));
+
+        when(cuentaRepository.findAllByNumeroCuentaIn(List.of("0987654321", "1234567890"))).thenReturn(List.of(cuenta));
+
+        CustomExceptions.ResourceNotFoundException exception = assertThrows(
+                CustomExceptions.ResourceNotFoundException.class,
+                () -> cuentaServiceImp.transferBetweenAccounts(transferencia, null)
+        );
+
+        assertEquals("Cuenta no encontrada: 0987654321", exception.getMessage());
+        assertEquals(100_000L, cuenta.getSaldoCentimos());
+    }
+
+    @Test
+    @DisplayName("Transfer between accounts - Same account")
+    public void testTransferBetweenAccounts_SameAccount() {
+        TransferenciaRequest transferencia = new TransferenciaRequest();
+        transferencia.setCuentaOrigen("1234567890");
+        transferencia.setCuentaDestino("1234567890");
+        transferencia.setMonto(new BigDecimal("100.0"));
+
+        assertThrows(
+                CustomExceptions.BadRequestException.class,
+                () -> cuentaServiceImp.transferBetweenAccounts(transferencia, null)
+        );
+
+        verify(cuentaRepository, never()).findAllByNumeroCuentaIn(anyCollection());
+    }
+
+    @Test
+    @DisplayName("Transfer between accounts - Retries exhausted")
+    public void testTransferBetweenAccounts_Conflicto() {
+        TransferenciaRequest transferencia = new TransferenciaRequest();
+        transferencia.setCuentaOrigen("1234567890");
+        transferencia.setCuentaDestino("0987654321");
+        transferencia.setMonto(new BigDecimal("100.0"));
+
+        when(reintentoOptimista.ejecutar(eq("transferencia"), anyList(), any()))
+                .thenThrow(new CustomExceptions.ConflictException("La cuenta fue modificada por otra operación"));
+
+        assertThrows(
+                CustomExceptions.ConflictException.class,
+                () -> cuentaServiceImp.transferBetweenAccounts(transferencia, null)
+        );
+    }
+
+
+    private MovimientoLoteItem crearMovimientoLote(String cuentaOrigen, String cuentaDestino, BigDecimal monto) {
+        MovimientoLoteItem movimiento = new MovimientoLoteItem();
+        movimiento.setCuentaOrigen(cuentaOrigen);
+        movimiento.setCuentaDestino(cuentaDestino);
+        movimiento.setMonto(monto);
+        return movimiento;
+    }
 }
@@ -1,15 +1,28 @@
 package com.nttdata.CustomerMs;
 
 import com.nttdata.CustomerMs.api.ClientesApiDelegate;
+import com.nttdata.CustomerMs.business.ClienteMapper;
 import com.nttdata.CustomerMs.business.ClienteService;
+import com.nttdata.CustomerMs.dto.FiltroClientes;
+import com.nttdata.CustomerMs.model.ClienteIdsRequest;
+import com.nttdata.CustomerMs.model.ClienteIdsResponse;
+import com.nttdata.CustomerMs.model.ClientePage;
 import com.nttdata.CustomerMs.model.ClienteRequest;
 import com.nttdata.CustomerMs.model.ClienteResponse;
+import com.nttdata.CustomerMs.model.ImportacionClientesResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.NativeWebRequest;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.util.List;
+import java.util.Optional;
 
 @Service
 public class ClienteDelegateImp implements ClientesApiDelegate {
@@ -17,17 +30,44 @@ public class ClienteDelegateImp implements ClientesApiDelegate {
     @Autowired
     ClienteService clienteService;
 
+    @Autowired
+    ClienteMapper clienteMapper;
+
+    @Autowired
+    NativeWebRequest request;
+
+    @Override
+    public Optional<NativeWebRequest> getRequest() {
+        return Optional.of(request);
+    }
+
     @Override
     public ResponseEntity<List<ClienteResponse>> listAllCustomers() {
         List<ClienteResponse> customers = clienteService.listAllCustomers();
         return ResponseEntity.ok(customers);
     }
 
+    @Override
+    public ResponseEntity<ClientePage> listCustomersPaged(String dniPrefijo, String ordenarPor, String direccion,
+                                                          Integer pagina, String cursor, Integer tamanio) {
+        FiltroClientes filtro = clienteMapper.getFiltroClientes(dniPrefijo);
+        return ResponseEntity.ok(clienteService.listCustomersPaged(filtro, ordenarPor, direccion, pagina, cursor, tamanio));
+    }
+
     @Override
     public ResponseEntity<ClienteResponse> createCustomer(ClienteRequest clienteRequest) {
         return ResponseEntity.ok(clienteService.createCustomer(clienteRequest));
     }
 
+    @Override
+    public ResponseEntity<ImportacionClientesResponse> importCustomers(Resource body, String formato) {
+        try (InputStream contenido = body.getInputStream()) {
+            return ResponseEntity.ok(clienteService.importCustomers(contenido, request.getHeader(HttpHeaders.CONTENT_TYPE), formato));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
     @Override
     public ResponseEntity<ClienteResponse> getCustomerById(Integer id) {
         return ResponseEntity.ok(clienteService.getCustomerById(id));
@@ -49,4 +89,14 @@ public class ClienteDelegateImp implements ClientesApiDelegate {
     public ResponseEntity<Boolean> checkIfCustomerExists(Integer clienteId) {
         return ResponseEntity.ok(clienteService.checkIfCustomerExists(clienteId));
     }
+
+    @Override
+    public ResponseEntity<ClienteIdsResponse> listCustomerIds(Integer desdeId, Integer limite) {
+        return ResponseEntity.ok(clienteService.listCustomerIds(desdeId, limite));
+    }
+
+    @Override
+    public ResponseEntity<ClienteIdsResponse> findExistingCustomerIds(ClienteIdsRequest clienteIdsRequest) {
+        return ResponseEntity.ok(clienteService.findExistingCustomerIds(clienteIdsRequest));
+    }
 }
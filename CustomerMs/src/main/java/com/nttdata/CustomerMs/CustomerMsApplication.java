@@ -3,9 +3,11 @@ package com.nttdata.CustomerMs;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.cloud.openfeign.EnableFeignClients;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
 @EnableFeignClients
+@EnableScheduling
 public class CustomerMsApplication {
 	public static void main(String[] args) {
 		SpringApplication.run(CustomerMsApplication.class, args);
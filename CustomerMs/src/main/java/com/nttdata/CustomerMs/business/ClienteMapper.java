@@ -1,10 +1,17 @@
 package com.nttdata.CustomerMs.business;
 
+import com.nttdata.CustomerMs.dto.FiltroClientes;
+import com.nttdata.CustomerMs.model.ClienteIdsResponse;
+import com.nttdata.CustomerMs.model.ClientePage;
 import com.nttdata.CustomerMs.model.ClienteRequest;
 import com.nttdata.CustomerMs.model.ClienteResponse;
+import com.nttdata.CustomerMs.model.ImportacionClientesResponse;
 import com.nttdata.CustomerMs.model.entity.Cliente;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
+import java.util.stream.Collectors;
+
 @Component
 public class ClienteMapper {
     public Cliente getClienteOfClienteRequest(ClienteRequest request){
@@ -27,4 +34,39 @@ public class ClienteMapper {
 
         return response;
     }
+
+    public ClienteIdsResponse getClienteIdsResponseOfIds(List<Integer> ids, Integer siguienteDesdeId) {
+        ClienteIdsResponse response = new ClienteIdsResponse();
+        response.setIds(ids);
+        response.setSiguienteDesdeId(siguienteDesdeId);
+
+        return response;
+    }
+
+    public ClientePage getClientePageOfClientes(List<Cliente> clientes, boolean hayMas, String siguienteCursor) {
+        ClientePage response = new ClientePage();
+        response.setClientes(clientes.stream()
+                .map(this::getClienteResponseOfCliente)
+                .collect(Collectors.toList()));
+        response.setHayMas(hayMas);
+        response.setSiguienteCursor(siguienteCursor);
+
+        return response;
+    }
+
+    public FiltroClientes getFiltroClientes(String dniPrefijo) {
+        return FiltroClientes.builder()
+                .dniPrefijo(dniPrefijo)
+                .build();
+    }
+
+    public ImportacionClientesResponse getImportacionClientesResponseOfResumen(ResumenImportacion resumen) {
+        ImportacionClientesResponse response = new ImportacionClientesResponse();
+        response.setProcesadas(resumen.getProcesadas());
+        response.setAceptadas(resumen.getAceptadas());
+        response.setRechazadas(resumen.getRechazadas());
+        response.setErrores(resumen.getErrores());
+
+        return response;
+    }
 }
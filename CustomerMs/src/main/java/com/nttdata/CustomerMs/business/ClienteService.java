@@ -1,15 +1,26 @@
 package com.nttdata.CustomerMs.business;
 
+import com.nttdata.CustomerMs.dto.FiltroClientes;
+import com.nttdata.CustomerMs.model.ClienteIdsRequest;
+import com.nttdata.CustomerMs.model.ClienteIdsResponse;
+import com.nttdata.CustomerMs.model.ClientePage;
 import com.nttdata.CustomerMs.model.ClienteRequest;
 import com.nttdata.CustomerMs.model.ClienteResponse;
+import com.nttdata.CustomerMs.model.ImportacionClientesResponse;
 
+import java.io.InputStream;
 import java.util.List;
 
 public interface ClienteService {
     List<ClienteResponse> listAllCustomers();
+    ClientePage listCustomersPaged(FiltroClientes filtro, String ordenarPor, String direccion,
+                                   Integer pagina, String cursor, Integer tamanio);
     ClienteResponse createCustomer(ClienteRequest clienteRequest);
+    ImportacionClientesResponse importCustomers(InputStream contenido, String tipoContenido, String formato);
     ClienteResponse getCustomerById(Integer id);
     void updateCustomerById(Integer id, ClienteRequest clienteRequest);
     void deleteCustomerById(Integer id);
     Boolean checkIfCustomerExists(Integer id);
+    ClienteIdsResponse listCustomerIds(Integer desdeId, Integer limite);
+    ClienteIdsResponse findExistingCustomerIds(ClienteIdsRequest clienteIdsRequest);
 }
@@ -2,16 +2,52 @@ package com.nttdata.CustomerMs.business.Imp;
 
 import com.nttdata.CustomerMs.business.ClienteMapper;
 import com.nttdata.CustomerMs.business.ClienteService;
+import com.nttdata.CustomerMs.business.NotificadorExistenciaCuentas;
+import com.nttdata.CustomerMs.business.ResumenImportacion;
+import com.nttdata.CustomerMs.dto.CursorClientes;
+import com.nttdata.CustomerMs.dto.FiltroClientes;
 import com.nttdata.CustomerMs.exception.CustomExceptions;
+import com.nttdata.CustomerMs.model.ClienteIdsRequest;
+import com.nttdata.CustomerMs.model.ClienteIdsResponse;
+import com.nttdata.CustomerMs.model.ClientePage;
 import com.nttdata.CustomerMs.model.ClienteRequest;
 import com.nttdata.CustomerMs.model.ClienteResponse;
+import com.nttdata.CustomerMs.model.ImportacionClientesResponse;
 import com.nttdata.CustomerMs.model.entity.Cliente;
 import com.nttdata.CustomerMs.repository.ClienteRepository;
+import com.nttdata.CustomerMs.repository.ClienteSpecifications;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -23,6 +59,34 @@ public class ClienteServiceImp implements ClienteService {
     @Autowired
     ClienteMapper clienteMapper;
 
+    @Autowired
+    NotificadorExistenciaCuentas notificadorExistenciaCuentas;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    @Value("${clientes.importacion.tamanio-lote:500}")
+    int tamanioLoteImportacion;
+
+    private static final String FORMATO_CSV = "CSV";
+    private static final String FORMATO_NDJSON = "NDJSON";
+    private static final MediaType TIPO_CSV = MediaType.valueOf("text/csv");
+    private static final List<String> COLUMNAS_CSV = List.of("nombre", "apellido", "dni", "email");
+    private static final int MAXIMO_ERRORES_IMPORTACION = 100;
+    private static final String INSERTAR_CLIENTE = "INSERT INTO clientes (nombre, apellido, dni, email) VALUES (?, ?, ?, ?)";
+    private static final int LIMITE_IDS_POR_DEFECTO = 1000;
+    private static final int LIMITE_IDS_MAXIMO = 10000;
+    private static final int TAMANIO_PAGINA_POR_DEFECTO = 50;
+    private static final int TAMANIO_PAGINA_MAXIMO = 500;
+    private static final String CAMPO_ID = "id";
+    private static final Map<String, String> CAMPOS_ORDEN = Map.of("ID", CAMPO_ID, "DNI", "dni");
+
     @Override
     public List<ClienteResponse> listAllCustomers() {
         return Optional.of(clienteRepository.findAll().stream()
@@ -32,6 +96,50 @@ public class ClienteServiceImp implements ClienteService {
                 .orElseThrow(() -> new CustomExceptions.ResourceNotFoundException("No se encontraron clientes"));
     }
 
+    @Override
+    public ClientePage listCustomersPaged(FiltroClientes filtro, String ordenarPor, String direccion,
+                                          Integer pagina, String cursor, Integer tamanio) {
+        int tamanioPagina = Optional.ofNullable(tamanio).orElse(TAMANIO_PAGINA_POR_DEFECTO);
+        if (tamanioPagina < 1 || tamanioPagina > TAMANIO_PAGINA_MAXIMO) {
+            throw new CustomExceptions.BadRequestException("El tamaño de página debe estar entre 1 y " + TAMANIO_PAGINA_MAXIMO);
+        }
+        if (pagina != null && pagina < 0) {
+            throw new CustomExceptions.BadRequestException("El número de página no puede ser negativo");
+        }
+
+        String criterio = Optional.ofNullable(ordenarPor).orElse("ID").toUpperCase();
+        String campo = Optional.ofNullable(CAMPOS_ORDEN.get(criterio))
+                .orElseThrow(() -> new CustomExceptions.BadRequestException("El orden debe ser ID o DNI"));
+        Sort.Direction sentido = Sort.Direction.fromOptionalString(Optional.ofNullable(direccion).orElse("ASC"))
+                .orElseThrow(() -> new CustomExceptions.BadRequestException("La dirección debe ser ASC o DESC"));
+        String orden = criterio + ":" + sentido;
+
+        ScrollPosition posicion;
+        if (cursor != null && !cursor.isBlank()) {
+            if (pagina != null) {
+                throw new CustomExceptions.BadRequestException("No se puede combinar pagina y cursor");
+            }
+            posicion = getPosicionOfCursor(CursorClientes.decodificar(cursor), orden, campo);
+        } else if (pagina != null && pagina > 0) {
+            posicion = ScrollPosition.offset((long) pagina * tamanioPagina - 1);
+        } else {
+            posicion = ScrollPosition.keyset();
+        }
+
+        Sort sort = CAMPO_ID.equals(campo)
+                ? Sort.by(sentido, CAMPO_ID)
+                : Sort.by(sentido, campo).and(Sort.by(sentido, CAMPO_ID));
+        Window<Cliente> ventana = clienteRepository.findBy(ClienteSpecifications.conFiltro(filtro),
+                consulta -> consulta.sortBy(sort).limit(tamanioPagina).scroll(posicion));
+
+        List<Cliente> clientes = ventana.getContent();
+        String siguienteCursor = ventana.hasNext()
+                ? CursorClientes.of(orden, clientes.get(clientes.size() - 1)).codificar()
+                : null;
+
+        return clienteMapper.getClientePageOfClientes(clientes, ventana.hasNext(), siguienteCursor);
+    }
+
     @Override
     public ClienteResponse createCustomer(ClienteRequest clienteRequest) {
         validarCamposObligatorios(clienteRequest);
@@ -40,12 +148,76 @@ public class ClienteServiceImp implements ClienteService {
             throw new CustomExceptions.DniAlreadyExistsException("El cliente con DNI " + clienteRequest.getDni() + " ya existe");
         }
 
-        return clienteMapper.getClienteResponseOfCliente(
-                clienteRepository.save(clienteMapper.getClienteOfClienteRequest(clienteRequest))
-        );
+        Cliente cliente;
+        try {
+            cliente = clienteRepository.save(clienteMapper.getClienteOfClienteRequest(clienteRequest));
+        } catch (DataIntegrityViolationException e) {
+            throw new CustomExceptions.DniAlreadyExistsException("El cliente con DNI " + clienteRequest.getDni() + " ya existe");
+        }
+        notificadorExistenciaCuentas.notificar(cliente.getId(), true);
+
+        return clienteMapper.getClienteResponseOfCliente(cliente);
     }
 
 
+    @Override
+    public ImportacionClientesResponse importCustomers(InputStream contenido, String tipoContenido, String formato) {
+        String formatoImportacion = getFormatoImportacion(tipoContenido, formato);
+
+        ResumenImportacion resumen = new ResumenImportacion(MAXIMO_ERRORES_IMPORTACION);
+        // Solo se recuerdan los DNI del lote en curso: los de lotes anteriores ya están insertados y los rechaza
+        // la consulta de DNI existentes o el índice único.
+        Set<String> dnisLote = new HashSet<>(tamanioLoteImportacion);
+        List<FilaImportacion> lote = new ArrayList<>(tamanioLoteImportacion);
+
+        try (BufferedReader lector = new BufferedReader(new InputStreamReader(contenido, StandardCharsets.UTF_8))) {
+            int numeroLinea = 0;
+            Map<String, Integer> columnas = null;
+            if (FORMATO_CSV.equals(formatoImportacion)) {
+                columnas = leerCabeceraCsv(lector.readLine());
+                numeroLinea++;
+            }
+
+            String linea;
+            while ((linea = lector.readLine()) != null) {
+                numeroLinea++;
+                if (linea.isBlank()) {
+                    continue;
+                }
+                resumen.procesada();
+
+                ClienteRequest clienteRequest;
+                try {
+                    clienteRequest = columnas != null ? leerFilaCsv(linea, columnas) : objectMapper.readValue(linea, ClienteRequest.class);
+                    validarCamposObligatorios(clienteRequest);
+                } catch (JsonProcessingException e) {
+                    resumen.rechazada(numeroLinea, null, "La línea no es un JSON válido");
+                    continue;
+                } catch (CustomExceptions.BadRequestException e) {
+                    resumen.rechazada(numeroLinea, null, e.getMessage());
+                    continue;
+                }
+
+                if (!dnisLote.add(clienteRequest.getDni())) {
+                    resumen.rechazada(numeroLinea, clienteRequest.getDni(), "DNI duplicado dentro del archivo");
+                    continue;
+                }
+
+                lote.add(new FilaImportacion(numeroLinea, clienteRequest));
+                if (lote.size() >= tamanioLoteImportacion) {
+                    insertarLote(lote, resumen);
+                    lote.clear();
+                    dnisLote.clear();
+                }
+            }
+            insertarLote(lote, resumen);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        return clienteMapper.getImportacionClientesResponseOfResumen(resumen);
+    }
+
     @Override
     public ClienteResponse getCustomerById(Integer id) {
         return clienteRepository.findById(id)
@@ -56,7 +228,10 @@ public class ClienteServiceImp implements ClienteService {
     @Override
     public void deleteCustomerById(Integer id) {
         clienteRepository.findById(id)
-                .ifPresentOrElse(clienteRepository::delete,
+                .ifPresentOrElse(cliente -> {
+                            clienteRepository.delete(cliente);
+                            notificadorExistenciaCuentas.notificar(id, false);
+                        },
                         () -> { throw new CustomExceptions.ResourceNotFoundException("Cliente no encontrado con ID: " + id); });
     }
 
@@ -65,6 +240,30 @@ public class ClienteServiceImp implements ClienteService {
         return clienteRepository.existsById(clienteId);
     }
 
+    @Override
+    public ClienteIdsResponse listCustomerIds(Integer desdeId, Integer limite) {
+        int tamanio = Optional.ofNullable(limite).orElse(LIMITE_IDS_POR_DEFECTO);
+        if (tamanio < 1 || tamanio > LIMITE_IDS_MAXIMO) {
+            throw new CustomExceptions.BadRequestException("El límite debe estar entre 1 y " + LIMITE_IDS_MAXIMO);
+        }
+
+        List<Integer> ids = clienteRepository.findIdsDesde(Optional.ofNullable(desdeId).orElse(0), PageRequest.of(0, tamanio));
+        Integer siguienteDesdeId = ids.size() == tamanio ? ids.get(ids.size() - 1) : null;
+
+        return clienteMapper.getClienteIdsResponseOfIds(ids, siguienteDesdeId);
+    }
+
+    @Override
+    public ClienteIdsResponse findExistingCustomerIds(ClienteIdsRequest clienteIdsRequest) {
+        List<Integer> ids = Optional.ofNullable(clienteIdsRequest.getIds()).orElse(List.of());
+        if (ids.size() > LIMITE_IDS_MAXIMO) {
+            throw new CustomExceptions.BadRequestException("No se pueden consultar más de " + LIMITE_IDS_MAXIMO + " clientes a la vez");
+        }
+
+        List<Integer> existentes = ids.isEmpty() ? List.of() : clienteRepository.findIdsExistentes(new HashSet<>(ids));
+        return clienteMapper.getClienteIdsResponseOfIds(existentes, null);
+    }
+
     @Override
     public void updateCustomerById(Integer id, ClienteRequest clienteRequest) {
         clienteRepository.findById(id)
@@ -79,6 +278,136 @@ public class ClienteServiceImp implements ClienteService {
                 .orElseThrow(() -> new CustomExceptions.ResourceNotFoundException("Cliente no encontrado con ID: " + id));
     }
 
+    private void insertarLote(List<FilaImportacion> lote, ResumenImportacion resumen) {
+        if (lote.isEmpty()) {
+            return;
+        }
+
+        Set<String> existentes = new HashSet<>(clienteRepository.findDnisExistentes(lote.stream()
+                .map(fila -> fila.cliente().getDni())
+                .collect(Collectors.toList())));
+
+        List<FilaImportacion> nuevas = new ArrayList<>(lote.size());
+        lote.forEach(fila -> {
+            if (existentes.contains(fila.cliente().getDni())) {
+                resumen.rechazada(fila.linea(), fila.cliente().getDni(), "El cliente con DNI " + fila.cliente().getDni() + " ya existe");
+            } else {
+                nuevas.add(fila);
+            }
+        });
+
+        try {
+            transactionTemplate.executeWithoutResult(status ->
+                    jdbcTemplate.batchUpdate(INSERTAR_CLIENTE, nuevas, nuevas.size(), this::asignarParametros));
+            resumen.aceptadas(nuevas.size());
+        } catch (DataIntegrityViolationException e) {
+            nuevas.forEach(fila -> insertarFila(fila, resumen));
+        }
+    }
+
+    private void insertarFila(FilaImportacion fila, ResumenImportacion resumen) {
+        try {
+            jdbcTemplate.update(INSERTAR_CLIENTE, ps -> asignarParametros(ps, fila));
+            resumen.aceptadas(1);
+        } catch (DuplicateKeyException e) {
+            resumen.rechazada(fila.linea(), fila.cliente().getDni(), "El cliente con DNI " + fila.cliente().getDni() + " ya existe");
+        } catch (DataIntegrityViolationException e) {
+            resumen.rechazada(fila.linea(), fila.cliente().getDni(), "Los datos del cliente no son válidos");
+        }
+    }
+
+    private void asignarParametros(PreparedStatement ps, FilaImportacion fila) throws SQLException {
+        ps.setString(1, fila.cliente().getNombre());
+        ps.setString(2, fila.cliente().getApellido());
+        ps.setString(3, fila.cliente().getDni());
+        ps.setString(4, fila.cliente().getEmail());
+    }
+
+    // El parámetro formato, si llega, prevalece sobre el Content-Type.
+    private String getFormatoImportacion(String tipoContenido, String formato) {
+        if (formato != null) {
+            String formatoImportacion = formato.toUpperCase();
+            if (!FORMATO_CSV.equals(formatoImportacion) && !FORMATO_NDJSON.equals(formatoImportacion)) {
+                throw new CustomExceptions.BadRequestException("El formato debe ser CSV o NDJSON");
+            }
+            return formatoImportacion;
+        }
+        if (tipoContenido == null) {
+            return FORMATO_CSV;
+        }
+
+        MediaType tipo;
+        try {
+            tipo = MediaType.parseMediaType(tipoContenido);
+        } catch (InvalidMediaTypeException e) {
+            throw new CustomExceptions.BadRequestException("El Content-Type no es válido");
+        }
+        if (TIPO_CSV.includes(tipo)) {
+            return FORMATO_CSV;
+        }
+        if (MediaType.APPLICATION_NDJSON.includes(tipo)) {
+            return FORMATO_NDJSON;
+        }
+        throw new CustomExceptions.BadRequestException("El formato debe ser CSV o NDJSON");
+    }
+
+    private Map<String, Integer> leerCabeceraCsv(String cabecera) {
+        if (cabecera == null) {
+            throw new CustomExceptions.BadRequestException("El archivo CSV está vacío");
+        }
+
+        Map<String, Integer> columnas = new HashMap<>();
+        List<String> nombres = separarCamposCsv(cabecera);
+        for (int i = 0; i < nombres.size(); i++) {
+            columnas.put(nombres.get(i).trim().toLowerCase(), i);
+        }
+
+        if (!columnas.keySet().containsAll(COLUMNAS_CSV)) {
+            throw new CustomExceptions.BadRequestException("La cabecera del CSV debe contener las columnas " + String.join(",", COLUMNAS_CSV));
+        }
+        return columnas;
+    }
+
+    private ClienteRequest leerFilaCsv(String linea, Map<String, Integer> columnas) {
+        List<String> campos = separarCamposCsv(linea);
+        Function<String, String> campo = nombre -> {
+            int indice = columnas.get(nombre);
+            return indice < campos.size() ? campos.get(indice).trim() : null;
+        };
+
+        ClienteRequest clienteRequest = new ClienteRequest();
+        clienteRequest.setNombre(campo.apply("nombre"));
+        clienteRequest.setApellido(campo.apply("apellido"));
+        clienteRequest.setDni(campo.apply("dni"));
+        clienteRequest.setEmail(campo.apply("email"));
+        return clienteRequest;
+    }
+
+    private List<String> separarCamposCsv(String linea) {
+        List<String> campos = new ArrayList<>();
+        StringBuilder actual = new StringBuilder();
+        boolean entreComillas = false;
+
+        for (int i = 0; i < linea.length(); i++) {
+            char caracter = linea.charAt(i);
+            if (caracter == '"') {
+                if (entreComillas && i + 1 < linea.length() && linea.charAt(i + 1) == '"') {
+                    actual.append('"');
+                    i++;
+                } else {
+                    entreComillas = !entreComillas;
+                }
+            } else if (caracter == ',' && !entreComillas) {
+                campos.add(actual.toString());
+                actual.setLength(0);
+            } else {
+                actual.append(caracter);
+            }
+        }
+        campos.add(actual.toString());
+        return campos;
+    }
+
     private void validarCamposObligatorios(ClienteRequest clienteRequest) {
         if (clienteRequest.getNombre() == null || clienteRequest.getNombre().trim().isEmpty()) {
             throw new CustomExceptions.BadRequestException("El campo 'nombre' es obligatorio y no puede estar vacío.");
@@ -90,5 +419,19 @@ public class ClienteServiceImp implements ClienteService {
             throw new CustomExceptions.BadRequestException("El campo 'dni' es obligatorio y no puede estar vacío.");
         }
     }
-}
 
+    private ScrollPosition getPosicionOfCursor(CursorClientes cursor, String orden, String campo) {
+        if (!orden.equals(cursor.getOrden())) {
+            throw new CustomExceptions.BadRequestException("El cursor no corresponde al orden solicitado");
+        }
+        Map<String, Object> claves = new HashMap<>();
+        claves.put(CAMPO_ID, cursor.getId());
+        if (!CAMPO_ID.equals(campo)) {
+            claves.put(campo, cursor.getDni());
+        }
+        return ScrollPosition.forward(claves);
+    }
+
+    private record FilaImportacion(int linea, ClienteRequest cliente) {
+    }
+}
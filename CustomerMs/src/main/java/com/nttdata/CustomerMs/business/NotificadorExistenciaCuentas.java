@@ -0,0 +1,79 @@
+package com.nttdata.CustomerMs.business;
+
+import com.nttdata.CustomerMs.clients.CuentaFeignClient;
+import feign.FeignException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.discovery.DiscoveryClient;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Cada instancia de AccountMs tiene su propia caché de existencia, así que el aviso se envía a todas las registradas.
+@Slf4j
+@Component
+public class NotificadorExistenciaCuentas {
+
+    @Autowired
+    CuentaFeignClient cuentaFeignClient;
+
+    @Autowired
+    DiscoveryClient discoveryClient;
+
+    @Value("${clientes.notificacion.servicio:AccountMs}")
+    String servicio;
+
+    // Igual a la vida de las entradas positivas en AccountMs: pasado ese tiempo el aviso ya no cambia nada.
+    @Value("${clientes.notificacion.vigencia:30s}")
+    Duration vigencia;
+
+    final Map<Destino, Aviso> pendientes = new ConcurrentHashMap<>();
+
+    public void notificar(Integer clienteId, boolean existe) {
+        Aviso aviso = new Aviso(existe, Instant.now().plus(vigencia));
+        for (ServiceInstance instancia : discoveryClient.getInstances(servicio)) {
+            Destino destino = new Destino(instancia.getUri(), clienteId);
+            if (!enviar(destino, aviso)) {
+                pendientes.put(destino, aviso);
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${clientes.notificacion.intervalo-reintento-ms:5000}")
+    public void reintentar() {
+        pendientes.forEach((destino, aviso) -> {
+            if (!Instant.now().isBefore(aviso.vigenteHasta())) {
+                if (pendientes.remove(destino, aviso)) {
+                    log.error("Se descarta el aviso de existencia del cliente {} a {} tras agotar su vigencia",
+                            destino.clienteId(), destino.instancia());
+                }
+            } else if (enviar(destino, aviso)) {
+                pendientes.remove(destino, aviso);
+            }
+        });
+    }
+
+    private boolean enviar(Destino destino, Aviso aviso) {
+        try {
+            cuentaFeignClient.updateCustomerExistence(destino.instancia(), destino.clienteId(), aviso.existe());
+            return true;
+        } catch (FeignException e) {
+            log.warn("No se pudo notificar a {} la existencia del cliente {}; se reintentará: {}",
+                    destino.instancia(), destino.clienteId(), e.getMessage());
+            return false;
+        }
+    }
+
+    record Destino(URI instancia, Integer clienteId) {
+    }
+
+    record Aviso(boolean existe, Instant vigenteHasta) {
+    }
+}
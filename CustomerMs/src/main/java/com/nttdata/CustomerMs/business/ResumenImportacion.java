@@ -0,0 +1,40 @@
+package com.nttdata.CustomerMs.business;
+
+import com.nttdata.CustomerMs.model.ImportacionClienteError;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+public class ResumenImportacion {
+
+    private final int maximoErrores;
+    private final List<ImportacionClienteError> errores = new ArrayList<>();
+    private int procesadas;
+    private int aceptadas;
+    private int rechazadas;
+
+    public ResumenImportacion(int maximoErrores) {
+        this.maximoErrores = maximoErrores;
+    }
+
+    public void procesada() {
+        procesadas++;
+    }
+
+    public void aceptadas(int cantidad) {
+        aceptadas += cantidad;
+    }
+
+    public void rechazada(int linea, String dni, String motivo) {
+        rechazadas++;
+        if (errores.size() < maximoErrores) {
+            ImportacionClienteError error = new ImportacionClienteError();
+            error.setLinea(linea);
+            error.setDni(dni);
+            error.setMotivo(motivo);
+            errores.add(error);
+        }
+    }
+}
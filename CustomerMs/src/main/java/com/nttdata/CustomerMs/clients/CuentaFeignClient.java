@@ -0,0 +1,17 @@
+package com.nttdata.CustomerMs.clients;
+
+import org.springframework.cloud.openfeign.FeignClient;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+
+import java.net.URI;
+
+// La url fija desactiva el balanceo: cada llamada va a la instancia que indica el parámetro URI.
+@FeignClient(name = "AccountMs", url = "http://AccountMs")
+public interface CuentaFeignClient {
+
+    @PutMapping("/cuentas/clientes/{clienteId}/existencia")
+    void updateCustomerExistence(URI instancia, @PathVariable("clienteId") Integer clienteId,
+                                 @RequestParam("existe") Boolean existe);
+}
@@ -0,0 +1,44 @@
+package com.nttdata.CustomerMs.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageConverter;
+
+import java.io.IOException;
+
+@Configuration
+public class ImportacionClientesConfig {
+
+    // El ResourceHttpMessageConverter por defecto copia el archivo entero a memoria antes de llamar al delegate;
+    // este se registra delante y entrega el cuerpo de la importación como flujo.
+    @Bean
+    public HttpMessageConverter<Resource> importacionClientesConverter() {
+        return new AbstractHttpMessageConverter<>(MediaType.valueOf("text/csv"), MediaType.APPLICATION_NDJSON) {
+            @Override
+            protected boolean supports(Class<?> clazz) {
+                return Resource.class == clazz;
+            }
+
+            @Override
+            public boolean canWrite(Class<?> clazz, MediaType mediaType) {
+                return false;
+            }
+
+            @Override
+            protected Resource readInternal(Class<? extends Resource> clazz, HttpInputMessage inputMessage) throws IOException {
+                return new InputStreamResource(inputMessage.getBody());
+            }
+
+            @Override
+            protected void writeInternal(Resource resource, HttpOutputMessage outputMessage) {
+                throw new UnsupportedOperationException();
+            }
+        };
+    }
+}
@@ -0,0 +1,41 @@
+package com.nttdata.CustomerMs.dto;
+
+import com.nttdata.CustomerMs.exception.CustomExceptions;
+import com.nttdata.CustomerMs.model.entity.Cliente;
+import lombok.Data;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.regex.Pattern;
+
+@Data
+public class CursorClientes {
+
+    private static final String SEPARADOR = "|";
+
+    private final String orden;
+    private final Integer id;
+    private final String dni;
+
+    public static CursorClientes of(String orden, Cliente cliente) {
+        return new CursorClientes(orden, cliente.getId(), cliente.getDni());
+    }
+
+    public static CursorClientes decodificar(String cursor) {
+        try {
+            String valor = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] partes = valor.split(Pattern.quote(SEPARADOR), 3);
+            if (partes.length != 3) {
+                throw new IllegalArgumentException(cursor);
+            }
+            return new CursorClientes(partes[0], Integer.valueOf(partes[1]), partes[2]);
+        } catch (IllegalArgumentException e) {
+            throw new CustomExceptions.BadRequestException("El cursor de paginación no es válido");
+        }
+    }
+
+    public String codificar() {
+        String valor = orden + SEPARADOR + id + SEPARADOR + dni;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(valor.getBytes(StandardCharsets.UTF_8));
+    }
+}
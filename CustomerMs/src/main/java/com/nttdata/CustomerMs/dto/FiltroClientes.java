@@ -0,0 +1,10 @@
+package com.nttdata.CustomerMs.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class FiltroClientes {
+    private String dniPrefijo;
+}
@@ -13,7 +13,9 @@ import javax.validation.constraints.Size;
 @Entity
 @AllArgsConstructor
 @NoArgsConstructor
-@Table(name = "Clientes")
+@Table(name = "Clientes", indexes = {
+        @Index(name = "ux_clientes_dni", columnList = "dni", unique = true)
+})
 public class Cliente {
 
     @Id
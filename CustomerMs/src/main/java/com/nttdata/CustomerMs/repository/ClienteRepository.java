@@ -1,8 +1,24 @@
 package com.nttdata.CustomerMs.repository;
 
 import com.nttdata.CustomerMs.model.entity.Cliente;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
-public interface ClienteRepository extends JpaRepository<Cliente, Integer> {
+import java.util.Collection;
+import java.util.List;
+
+public interface ClienteRepository extends JpaRepository<Cliente, Integer>, JpaSpecificationExecutor<Cliente> {
     boolean existsByDni(String dni);
+
+    @Query("SELECT c.id FROM Cliente c WHERE c.id > :desdeId ORDER BY c.id")
+    List<Integer> findIdsDesde(@Param("desdeId") Integer desdeId, Pageable pageable);
+
+    @Query("SELECT c.id FROM Cliente c WHERE c.id IN :ids")
+    List<Integer> findIdsExistentes(@Param("ids") Collection<Integer> ids);
+
+    @Query("SELECT c.dni FROM Cliente c WHERE c.dni IN :dnis")
+    List<String> findDnisExistentes(@Param("dnis") Collection<String> dnis);
 }
@@ -0,0 +1,33 @@
+package com.nttdata.CustomerMs.repository;
+
+import com.nttdata.CustomerMs.dto.FiltroClientes;
+import com.nttdata.CustomerMs.model.entity.Cliente;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public final class ClienteSpecifications {
+
+    private static final char ESCAPE = '\\';
+
+    private ClienteSpecifications() {
+    }
+
+    public static Specification<Cliente> conFiltro(FiltroClientes filtro) {
+        return (root, query, criteriaBuilder) -> {
+            List<Predicate> predicados = new ArrayList<>();
+            if (filtro.getDniPrefijo() != null && !filtro.getDniPrefijo().isEmpty()) {
+                predicados.add(criteriaBuilder.like(root.get("dni"), escaparLike(filtro.getDniPrefijo()) + "%", ESCAPE));
+            }
+            return criteriaBuilder.and(predicados.toArray(new Predicate[0]));
+        };
+    }
+
+    private static String escaparLike(String valor) {
+        return valor.replace(String.valueOf(ESCAPE), "" + ESCAPE + ESCAPE)
+                .replace("%", ESCAPE + "%")
+                .replace("_", ESCAPE + "_");
+    }
+}
@@ -1,9 +1,14 @@
 package com.nttdata.CustomerMs.controllers;
 
 import com.nttdata.CustomerMs.ClienteDelegateImp;
+import com.nttdata.CustomerMs.business.ClienteMapper;
 import com.nttdata.CustomerMs.business.ClienteService;
+import com.nttdata.CustomerMs.dto.FiltroClientes;
+import com.nttdata.CustomerMs.model.ClienteIdsResponse;
+import com.nttdata.CustomerMs.model.ClientePage;
 import com.nttdata.CustomerMs.model.ClienteRequest;
 import com.nttdata.CustomerMs.model.ClienteResponse;
+import com.nttdata.CustomerMs.model.ImportacionClientesResponse;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -11,8 +16,13 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.NativeWebRequest;
 
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
 import java.util.Arrays;
 import java.util.List;
 
@@ -24,6 +34,12 @@ public class ClienteDelegateImpTest {
     @Mock
     private ClienteService clienteService;
 
+    @Mock
+    private ClienteMapper clienteMapper;
+
+    @Mock
+    private NativeWebRequest request;
+
     @InjectMocks
     private ClienteDelegateImp clienteDelegateImp;
 
@@ -39,6 +55,22 @@ public class ClienteDelegateImpTest {
         clienteRequest = crearClienteRequest("Justin", "Najarro", "12345678", "justin@gmail.com");
     }
 
+    @Test
+    @DisplayName("Import customers - Streams the body and passes the Content-Type")
+    public void testImportCustomers_Success() {
+        InputStream contenido = new ByteArrayInputStream(new byte[0]);
+        ImportacionClientesResponse resumen = new ImportacionClientesResponse();
+        resumen.setAceptadas(3);
+
+        when(request.getHeader(HttpHeaders.CONTENT_TYPE)).thenReturn("application/x-ndjson");
+        when(clienteService.importCustomers(contenido, "application/x-ndjson", null)).thenReturn(resumen);
+
+        ResponseEntity<ImportacionClientesResponse> response = clienteDelegateImp.importCustomers(new InputStreamResource(contenido), null);
+
+        assertEquals(200, response.getStatusCodeValue());
+        assertEquals(3, response.getBody().getAceptadas());
+    }
+
     @Test
     @DisplayName("List all customers")
     public void testListAllCustomers_Success() {
@@ -129,6 +161,37 @@ public class ClienteDelegateImpTest {
         verify(clienteService, times(1)).checkIfCustomerExists(Id);
     }
 
+    @Test
+    @DisplayName("List customer ids success")
+    public void testListCustomerIds_Success() {
+        ClienteIdsResponse ids = new ClienteIdsResponse();
+        ids.setIds(List.of(1, 2));
+
+        when(clienteService.listCustomerIds(0, 2)).thenReturn(ids);
+
+        ResponseEntity<ClienteIdsResponse> response = clienteDelegateImp.listCustomerIds(0, 2);
+
+        assertEquals(200, response.getStatusCodeValue());
+        assertEquals(List.of(1, 2), response.getBody().getIds());
+    }
+
+    @Test
+    @DisplayName("List customers paged")
+    public void testListCustomersPaged_Success() {
+        FiltroClientes filtro = FiltroClientes.builder().dniPrefijo("123").build();
+        ClientePage pagina = new ClientePage();
+        pagina.setClientes(List.of(clienteResponse1));
+        pagina.setHayMas(false);
+
+        when(clienteMapper.getFiltroClientes("123")).thenReturn(filtro);
+        when(clienteService.listCustomersPaged(filtro, "DNI", "ASC", null, null, 20)).thenReturn(pagina);
+
+        ResponseEntity<ClientePage> response = clienteDelegateImp.listCustomersPaged("123", "DNI", "ASC", null, null, 20);
+
+        assertEquals(200, response.getStatusCodeValue());
+        assertEquals(1, response.getBody().getClientes().size());
+    }
+
     private ClienteResponse crearClienteResponse(Integer id, String nombre, String apellido, String dni, String email) {
         ClienteResponse clienteResponse = new ClienteResponse();
         clienteResponse.setId(id);
@@ -0,0 +1,95 @@
+package com.nttdata.CustomerMs.services;
+
+import com.nttdata.CustomerMs.business.NotificadorExistenciaCuentas;
+import com.nttdata.CustomerMs.clients.CuentaFeignClient;
+import feign.FeignException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.discovery.DiscoveryClient;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class NotificadorExistenciaCuentasTest {
+
+    @Mock
+    private CuentaFeignClient cuentaFeignClient;
+
+    @Mock
+    private DiscoveryClient discoveryClient;
+
+    @InjectMocks
+    private NotificadorExistenciaCuentas notificadorExistenciaCuentas;
+
+    private final ServiceInstance primera = new DefaultServiceInstance("AccountMs-1", "AccountMs", "10.0.0.1", 8090, false);
+    private final ServiceInstance segunda = new DefaultServiceInstance("AccountMs-2", "AccountMs", "10.0.0.2", 8090, false);
+
+    @BeforeEach
+    public void setUp() {
+        ReflectionTestUtils.setField(notificadorExistenciaCuentas, "servicio", "AccountMs");
+        ReflectionTestUtils.setField(notificadorExistenciaCuentas, "vigencia", Duration.ofSeconds(30));
+    }
+
+    @Test
+    @DisplayName("Notificar - Every registered AccountMs instance is notified")
+    public void testNotificar_TodasLasInstancias() {
+        when(discoveryClient.getInstances("AccountMs")).thenReturn(List.of(primera, segunda));
+
+        notificadorExistenciaCuentas.notificar(7, false);
+
+        verify(cuentaFeignClient, times(1)).updateCustomerExistence(URI.create("http://10.0.0.1:8090"), 7, false);
+        verify(cuentaFeignClient, times(1)).updateCustomerExistence(URI.create("http://10.0.0.2:8090"), 7, false);
+        assertTrue(pendientes().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Reintentar - Failed notification is sent again to the same instance")
+    public void testReintentar_AvisoFallido() {
+        URI segundaUri = URI.create("http://10.0.0.2:8090");
+        when(discoveryClient.getInstances("AccountMs")).thenReturn(List.of(primera, segunda));
+        lenient().doThrow(FeignException.ServiceUnavailable.class).doNothing()
+                .when(cuentaFeignClient).updateCustomerExistence(segundaUri, 7, false);
+
+        notificadorExistenciaCuentas.notificar(7, false);
+        assertEquals(1, pendientes().size());
+
+        notificadorExistenciaCuentas.reintentar();
+
+        verify(cuentaFeignClient, times(2)).updateCustomerExistence(segundaUri, 7, false);
+        verify(cuentaFeignClient, times(1)).updateCustomerExistence(URI.create("http://10.0.0.1:8090"), 7, false);
+        assertTrue(pendientes().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Reintentar - Notification older than the AccountMs cache entry is discarded")
+    public void testReintentar_VigenciaAgotada() {
+        ReflectionTestUtils.setField(notificadorExistenciaCuentas, "vigencia", Duration.ZERO);
+        when(discoveryClient.getInstances("AccountMs")).thenReturn(List.of(primera));
+        doThrow(FeignException.ServiceUnavailable.class)
+                .when(cuentaFeignClient).updateCustomerExistence(URI.create("http://10.0.0.1:8090"), 7, false);
+
+        notificadorExistenciaCuentas.notificar(7, false);
+        notificadorExistenciaCuentas.reintentar();
+
+        verify(cuentaFeignClient, times(1)).updateCustomerExistence(URI.create("http://10.0.0.1:8090"), 7, false);
+        assertTrue(pendientes().isEmpty());
+    }
+
+    private Map<?, ?> pendientes() {
+        return (Map<?, ?>) ReflectionTestUtils.getField(notificadorExistenciaCuentas, "pendientes");
+    }
+}
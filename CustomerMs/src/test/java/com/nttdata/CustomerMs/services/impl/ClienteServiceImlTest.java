@@ -1,23 +1,50 @@
 package com.nttdata.CustomerMs.services.impl;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.nttdata.CustomerMs.business.ClienteMapper;
+import com.nttdata.CustomerMs.business.NotificadorExistenciaCuentas;
+import com.nttdata.CustomerMs.business.ResumenImportacion;
+import com.nttdata.CustomerMs.dto.CursorClientes;
+import com.nttdata.CustomerMs.dto.FiltroClientes;
 import com.nttdata.CustomerMs.business.Imp.ClienteServiceImp;
 import com.nttdata.CustomerMs.exception.CustomExceptions;
+import com.nttdata.CustomerMs.model.ClienteIdsRequest;
+import com.nttdata.CustomerMs.model.ClienteIdsResponse;
 import com.nttdata.CustomerMs.model.ClienteRequest;
 import com.nttdata.CustomerMs.model.ClienteResponse;
+import com.nttdata.CustomerMs.model.ImportacionClienteError;
 import com.nttdata.CustomerMs.model.entity.Cliente;
 import com.nttdata.CustomerMs.repository.ClienteRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.jdbc.core.PreparedStatementSetter;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -31,6 +58,18 @@ public class ClienteServiceImlTest {
     @Mock
     private ClienteMapper clienteMapper;
 
+    @Mock
+    private NotificadorExistenciaCuentas notificadorExistenciaCuentas;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+
     @InjectMocks
     private ClienteServiceImp clienteServiceImp;
 
@@ -88,6 +127,66 @@ public class ClienteServiceImlTest {
         verifyNoMoreInteractions(clienteMapper);
     }
 
+    @Test
+    @DisplayName("List customers paged - Returns cursor when more results exist")
+    public void testListCustomersPaged_ConSiguientePagina() {
+        FiltroClientes filtro = FiltroClientes.builder().dniPrefijo("12").build();
+
+        when(clienteRepository.findBy(any(Specification.class), any()))
+                .thenReturn(Window.from(List.of(cliente1, cliente2), ScrollPosition::offset, true));
+
+        clienteServiceImp.listCustomersPaged(filtro, "dni", "desc", null, null, 2);
+
+        ArgumentCaptor<String> cursor = ArgumentCaptor.forClass(String.class);
+        verify(clienteMapper).getClientePageOfClientes(eq(List.of(cliente1, cliente2)), eq(true), cursor.capture());
+        CursorClientes siguiente = CursorClientes.decodificar(cursor.getValue());
+        assertEquals("DNI:DESC", siguiente.getOrden());
+        assertEquals(cliente2.getId(), siguiente.getId());
+        assertEquals(cliente2.getDni(), siguiente.getDni());
+    }
+
+    @Test
+    @DisplayName("List customers paged - Last page has no cursor")
+    public void testListCustomersPaged_UltimaPagina() {
+        String cursor = new CursorClientes("ID:ASC", 1, "12345678").codificar();
+
+        when(clienteRepository.findBy(any(Specification.class), any()))
+                .thenReturn(Window.from(List.of(cliente2), ScrollPosition::offset, false));
+
+        clienteServiceImp.listCustomersPaged(FiltroClientes.builder().build(), null, null, null, cursor, 50);
+
+        verify(clienteMapper).getClientePageOfClientes(List.of(cliente2), false, null);
+    }
+
+    @Test
+    @DisplayName("List customers paged - Cursor from a different order")
+    public void testListCustomersPaged_CursorDeOtroOrden() {
+        String cursor = new CursorClientes("ID:ASC", 1, "12345678").codificar();
+
+        CustomExceptions.BadRequestException exception = assertThrows(
+                CustomExceptions.BadRequestException.class,
+                () -> clienteServiceImp.listCustomersPaged(FiltroClientes.builder().build(), "DNI", "ASC", null, cursor, 50)
+        );
+
+        assertEquals("El cursor no corresponde al orden solicitado", exception.getMessage());
+        verify(clienteRepository, never()).findBy(any(Specification.class), any());
+    }
+
+    @Test
+    @DisplayName("List customers paged - Invalid parameters")
+    public void testListCustomersPaged_ParametrosInvalidos() {
+        FiltroClientes filtro = FiltroClientes.builder().build();
+
+        assertThrows(CustomExceptions.BadRequestException.class,
+                () -> clienteServiceImp.listCustomersPaged(filtro, null, null, null, null, 501));
+        assertThrows(CustomExceptions.BadRequestException.class,
+                () -> clienteServiceImp.listCustomersPaged(filtro, "EMAIL", null, null, null, 10));
+        assertThrows(CustomExceptions.BadRequestException.class,
+                () -> clienteServiceImp.listCustomersPaged(filtro, null, null, 1, "abc", 10));
+        assertThrows(CustomExceptions.BadRequestException.class,
+                () -> clienteServiceImp.listCustomersPaged(filtro, null, null, null, "no-es-un-cursor", 10));
+    }
+
     @Test
     @DisplayName("Create customer success")
     public void testCreateCustomer_Success() {
@@ -109,6 +208,7 @@ public class ClienteServiceImlTest {
         verify(clienteMapper, times(1)).getClienteOfClienteRequest(clienteRequest);
         verify(clienteRepository, times(1)).save(cliente);
         verify(clienteMapper, times(1)).getClienteResponseOfCliente(savedCliente);
+        verify(notificadorExistenciaCuentas, times(1)).notificar(1, true);
     }
 
     @Test
@@ -179,6 +279,127 @@ public class ClienteServiceImlTest {
         verifyNoMoreInteractions(clienteMapper);
     }
 
+    @Test
+    @DisplayName("Create customer - Dni inserted concurrently")
+    public void testCreateCustomer_DniConcurrente() {
+        Cliente cliente = crearCliente(null, "Justin", "Najarro", "12345678", "justin@gmail.com");
+
+        when(clienteRepository.existsByDni("12345678")).thenReturn(false);
+        when(clienteMapper.getClienteOfClienteRequest(clienteRequest)).thenReturn(cliente);
+        when(clienteRepository.save(cliente)).thenThrow(new DataIntegrityViolationException("ux_clientes_dni"));
+
+        assertThrows(CustomExceptions.DniAlreadyExistsException.class, () -> clienteServiceImp.createCustomer(clienteRequest));
+        verify(notificadorExistenciaCuentas, never()).notificar(any(), anyBoolean());
+    }
+
+    @Test
+    @DisplayName("Import customers - CSV with duplicates and invalid rows")
+    public void testImportCustomers_Csv() {
+        ReflectionTestUtils.setField(clienteServiceImp, "tamanioLoteImportacion", 3);
+        ejecutarTransacciones();
+        String csv = "dni,nombre,apellido,email\n"
+                + "11111111,Ana,Diaz,ana@mail.com\n"
+                + "22222222,\"Luis, Jr\",Rojas,luis@mail.com\n"
+                + "\n"
+                + "11111111,Otra,Ana,otra@mail.com\n"
+                + "33333333,,Sin Nombre,\n"
+                + "44444444,Eva,Paz,eva@mail.com\n";
+
+        when(clienteRepository.findDnisExistentes(List.of("11111111", "22222222", "44444444"))).thenReturn(List.of("44444444"));
+
+        clienteServiceImp.importCustomers(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)), "text/csv; charset=UTF-8", null);
+
+        ResumenImportacion resumen = capturarResumen();
+        assertEquals(5, resumen.getProcesadas());
+        assertEquals(2, resumen.getAceptadas());
+        assertEquals(3, resumen.getRechazadas());
+        assertEquals(List.of(5, 6, 7), resumen.getErrores().stream().map(ImportacionClienteError::getLinea).toList());
+        assertEquals("DNI duplicado dentro del archivo", resumen.getErrores().get(0).getMotivo());
+        assertEquals("El cliente con DNI 44444444 ya existe", resumen.getErrores().get(2).getMotivo());
+
+        ArgumentCaptor<Collection<?>> filas = ArgumentCaptor.forClass(Collection.class);
+        verify(jdbcTemplate, times(1)).batchUpdate(anyString(), filas.capture(), eq(2), any(ParameterizedPreparedStatementSetter.class));
+        assertEquals(2, filas.getValue().size());
+    }
+
+    @Test
+    @DisplayName("Import customers - Duplicate DNI in a later batch is rejected as existing")
+    public void testImportCustomers_DuplicadoEnOtroLote() {
+        ReflectionTestUtils.setField(clienteServiceImp, "tamanioLoteImportacion", 1);
+        ejecutarTransacciones();
+        String ndjson = "{\"nombre\":\"Ana\",\"apellido\":\"Diaz\",\"dni\":\"11111111\"}\n"
+                + "{\"nombre\":\"Otra\",\"apellido\":\"Ana\",\"dni\":\"11111111\"}\n";
+
+        when(clienteRepository.findDnisExistentes(List.of("11111111"))).thenReturn(List.of(), List.of("11111111"));
+
+        clienteServiceImp.importCustomers(new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8)), "application/x-ndjson", null);
+
+        ResumenImportacion resumen = capturarResumen();
+        assertEquals(1, resumen.getAceptadas());
+        assertEquals(1, resumen.getRechazadas());
+        assertEquals(2, resumen.getErrores().get(0).getLinea());
+        assertEquals("El cliente con DNI 11111111 ya existe", resumen.getErrores().get(0).getMotivo());
+    }
+
+    @Test
+    @DisplayName("Import customers - NDJSON batch conflict falls back to single inserts")
+    public void testImportCustomers_NdjsonConflicto() {
+        ReflectionTestUtils.setField(clienteServiceImp, "tamanioLoteImportacion", 10);
+        ejecutarTransacciones();
+        String ndjson = "{\"nombre\":\"Ana\",\"apellido\":\"Diaz\",\"dni\":\"11111111\"}\n"
+                + "no es json\n"
+                + "{\"nombre\":\"Eva\",\"apellido\":\"Paz\",\"dni\":\"22222222\"}\n";
+
+        when(clienteRepository.findDnisExistentes(List.of("11111111", "22222222"))).thenReturn(List.of());
+        when(jdbcTemplate.batchUpdate(anyString(), anyCollection(), anyInt(), any(ParameterizedPreparedStatementSetter.class)))
+                .thenThrow(new DuplicateKeyException("ux_clientes_dni"));
+        when(jdbcTemplate.update(anyString(), any(PreparedStatementSetter.class)))
+                .thenReturn(1)
+                .thenThrow(new DuplicateKeyException("ux_clientes_dni"));
+
+        clienteServiceImp.importCustomers(new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8)), "text/csv", "ndjson");
+
+        ResumenImportacion resumen = capturarResumen();
+        assertEquals(3, resumen.getProcesadas());
+        assertEquals(1, resumen.getAceptadas());
+        assertEquals(2, resumen.getRechazadas());
+        assertEquals("La línea no es un JSON válido", resumen.getErrores().get(0).getMotivo());
+        assertEquals("22222222", resumen.getErrores().get(1).getDni());
+    }
+
+    @Test
+    @DisplayName("Import customers - Invalid CSV header")
+    public void testImportCustomers_CabeceraInvalida() {
+        CustomExceptions.BadRequestException exception = assertThrows(
+                CustomExceptions.BadRequestException.class,
+                () -> clienteServiceImp.importCustomers(new ByteArrayInputStream("nombre,dni\n".getBytes(StandardCharsets.UTF_8)), "text/csv", null)
+        );
+
+        assertEquals("La cabecera del CSV debe contener las columnas nombre,apellido,dni,email", exception.getMessage());
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    @DisplayName("Import customers - Unknown format")
+    public void testImportCustomers_FormatoInvalido() {
+        assertThrows(
+                CustomExceptions.BadRequestException.class,
+                () -> clienteServiceImp.importCustomers(new ByteArrayInputStream(new byte[0]), "text/csv", "XML")
+        );
+    }
+
+    @Test
+    @DisplayName("Import customers - Unsupported Content-Type without format")
+    public void testImportCustomers_TipoContenidoInvalido() {
+        CustomExceptions.BadRequestException exception = assertThrows(
+                CustomExceptions.BadRequestException.class,
+                () -> clienteServiceImp.importCustomers(new ByteArrayInputStream(new byte[0]), "application/xml", null)
+        );
+
+        assertEquals("El formato debe ser CSV o NDJSON", exception.getMessage());
+        verifyNoInteractions(jdbcTemplate);
+    }
+
     @Test
     @DisplayName("Delete customer by id success")
     public void testDeleteCustomerById_Success() {
@@ -190,6 +411,62 @@ public class ClienteServiceImlTest {
 
         verify(clienteRepository, times(1)).findById(id);
         verify(clienteRepository, times(1)).delete(cliente1);
+        verify(notificadorExistenciaCuentas, times(1)).notificar(id, false);
+    }
+
+    @Test
+    @DisplayName("List customer ids - Full page")
+    public void testListCustomerIds_PaginaCompleta() {
+        ClienteIdsResponse response = new ClienteIdsResponse();
+
+        when(clienteRepository.findIdsDesde(10, PageRequest.of(0, 2))).thenReturn(List.of(11, 12));
+        when(clienteMapper.getClienteIdsResponseOfIds(List.of(11, 12), 12)).thenReturn(response);
+
+        assertSame(response, clienteServiceImp.listCustomerIds(10, 2));
+    }
+
+    @Test
+    @DisplayName("List customer ids - Last page")
+    public void testListCustomerIds_UltimaPagina() {
+        when(clienteRepository.findIdsDesde(0, PageRequest.of(0, 1000))).thenReturn(List.of(1));
+
+        clienteServiceImp.listCustomerIds(null, null);
+
+        verify(clienteMapper, times(1)).getClienteIdsResponseOfIds(List.of(1), null);
+    }
+
+    @Test
+    @DisplayName("Find existing customer ids success")
+    public void testFindExistingCustomerIds_Success() {
+        ClienteIdsRequest request = new ClienteIdsRequest();
+        request.setIds(List.of(1, 2, 2, 99));
+
+        when(clienteRepository.findIdsExistentes(Set.of(1, 2, 99))).thenReturn(List.of(1, 2));
+
+        clienteServiceImp.findExistingCustomerIds(request);
+
+        verify(clienteMapper, times(1)).getClienteIdsResponseOfIds(List.of(1, 2), null);
+    }
+
+    @Test
+    @DisplayName("Find existing customer ids - Empty request")
+    public void testFindExistingCustomerIds_Vacio() {
+        clienteServiceImp.findExistingCustomerIds(new ClienteIdsRequest());
+
+        verify(clienteRepository, never()).findIdsExistentes(any());
+        verify(clienteMapper, times(1)).getClienteIdsResponseOfIds(List.of(), null);
+    }
+
+    @Test
+    @DisplayName("List customer ids - Invalid limit")
+    public void testListCustomerIds_LimiteInvalido() {
+        CustomExceptions.BadRequestException exception = assertThrows(
+                CustomExceptions.BadRequestException.class,
+                () -> clienteServiceImp.listCustomerIds(0, 10001)
+        );
+
+        assertEquals("El límite debe estar entre 1 y 10000", exception.getMessage());
+        verify(clienteRepository, never()).findIdsDesde(anyInt(), any());
     }
 
     @Test
@@ -207,7 +484,7 @@ public class ClienteServiceImlTest {
         assertEquals("Cliente no encontrado con ID: 1", exception.getMessage());
 
         verify(clienteRepository, times(1)).findById(id);
-        verify(clienteRepository, never()).delete(any());
+        verify(clienteRepository, never()).delete(any(Cliente.class));
     }
 
     @Test
@@ -249,6 +526,19 @@ public class ClienteServiceImlTest {
         return cliente;
     }
 
+    private void ejecutarTransacciones() {
+        doAnswer(invocation -> {
+            invocation.<Consumer<TransactionStatus>>getArgument(0).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+    }
+
+    private ResumenImportacion capturarResumen() {
+        ArgumentCaptor<ResumenImportacion> resumen = ArgumentCaptor.forClass(ResumenImportacion.class);
+        verify(clienteMapper).getImportacionClientesResponseOfResumen(resumen.capture());
+        return resumen.getValue();
+    }
+
     private ClienteRequest crearClienteRequest(String nombre, String apellido, String dni, String email) {
         ClienteRequest clienteRequest = new ClienteRequest();
         clienteRequest.setNombre(nombre);
@@ -1,21 +1,43 @@
 package com.nttdata.TransaccionMs;
 
 import com.nttdata.TransaccionMs.api.TransaccionesApiDelegate;
+import com.nttdata.TransaccionMs.business.Dinero;
+import com.nttdata.TransaccionMs.business.TransaccionMapper;
 import com.nttdata.TransaccionMs.business.TransaccionService;
+import com.nttdata.TransaccionMs.dto.EstadoCuenta;
+import com.nttdata.TransaccionMs.dto.FiltroHistorial;
+import com.nttdata.TransaccionMs.model.SaldoLibroMayorResponse;
+import com.nttdata.TransaccionMs.model.TotalesCuentaResponse;
+import com.nttdata.TransaccionMs.model.TransactionLoteRequest;
+import com.nttdata.TransaccionMs.model.TransactionLoteResponse;
+import com.nttdata.TransaccionMs.model.TransactionPage;
 import com.nttdata.TransaccionMs.model.TransactionRequest;
 import com.nttdata.TransaccionMs.model.TransactionResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 
+import java.io.InputStream;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
 import java.util.List;
 
 @Service
 public class TransaccionDelegateImp implements TransaccionesApiDelegate {
 
+    private static final String ENCABEZADO_SALDO_INICIAL = "X-Saldo-Inicial";
+
     @Autowired
     private TransaccionService transaccionService;
 
+    @Autowired
+    private TransaccionMapper transaccionMapper;
+
     @Override
     public ResponseEntity<List<TransactionResponse>> consultarHistorialTransacciones() {
         List<TransactionResponse> historial = transaccionService.consultarHistorialTransacciones();
@@ -23,20 +45,79 @@ public class TransaccionDelegateImp implements TransaccionesApiDelegate {
     }
 
     @Override
-    public ResponseEntity<TransactionResponse> registrarDeposito(TransactionRequest transactionRequest) {
-        TransactionResponse response = transaccionService.registrarDeposito(transactionRequest);
+    public ResponseEntity<TransactionPage> consultarHistorialPaginado(String cuentaOrigen, String cuentaDestino, String tipo,
+                                                                      OffsetDateTime desde, OffsetDateTime hasta,
+                                                                      String cursor, Integer tamanio) {
+        FiltroHistorial filtro = transaccionMapper.getFiltroHistorial(cuentaOrigen, cuentaDestino, tipo, desde, hasta);
+        TransactionPage pagina = transaccionService.consultarHistorialPaginado(filtro, cursor, tamanio);
+        return ResponseEntity.ok(pagina);
+    }
+
+    @Override
+    public ResponseEntity<Resource> exportarHistorialTransacciones(String cuentaOrigen, String cuentaDestino, String tipo,
+                                                                   OffsetDateTime desde, OffsetDateTime hasta, Boolean gzip) {
+        FiltroHistorial filtro = transaccionMapper.getFiltroHistorial(cuentaOrigen, cuentaDestino, tipo, desde, hasta);
+        boolean comprimir = Boolean.TRUE.equals(gzip);
+        InputStream exportacion = transaccionService.exportarHistorialTransacciones(filtro, comprimir);
+
+        return ResponseEntity.ok()
+                .contentType(comprimir ? MediaType.parseMediaType("application/gzip") : MediaType.APPLICATION_NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename(comprimir ? "historial.ndjson.gz" : "historial.ndjson")
+                        .build()
+                        .toString())
+                .body(new InputStreamResource(exportacion));
+    }
+
+    @Override
+    public ResponseEntity<Resource> exportarEstadoCuenta(String numeroCuenta, OffsetDateTime desde, OffsetDateTime hasta,
+                                                         Boolean gzip) {
+        boolean comprimir = Boolean.TRUE.equals(gzip);
+        EstadoCuenta estadoCuenta = transaccionService.exportarEstadoCuenta(numeroCuenta, desde, hasta, comprimir);
+
+        return ResponseEntity.ok()
+                .contentType(comprimir ? MediaType.parseMediaType("application/gzip") : MediaType.APPLICATION_NDJSON)
+                .header(ENCABEZADO_SALDO_INICIAL, Dinero.aDecimal(estadoCuenta.getSaldoInicialCentimos()).toPlainString())
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename(comprimir ? "estado-" + numeroCuenta + ".ndjson.gz" : "estado-" + numeroCuenta + ".ndjson")
+                        .build()
+                        .toString())
+                .body(new InputStreamResource(estadoCuenta.getMovimientos()));
+    }
+
+    @Override
+    public ResponseEntity<TransactionResponse> registrarDeposito(TransactionRequest transactionRequest, String idempotencyKey) {
+        TransactionResponse response = transaccionService.registrarDeposito(transactionRequest, idempotencyKey);
+        return ResponseEntity.ok(response);
+    }
+
+    @Override
+    public ResponseEntity<TransactionResponse> registrarRetiro(TransactionRequest transactionRequest, String idempotencyKey) {
+        TransactionResponse response = transaccionService.registrarRetiro(transactionRequest, idempotencyKey);
+        return ResponseEntity.ok(response);
+    }
+
+    @Override
+    public ResponseEntity<TransactionResponse> registrarTransferencia(TransactionRequest transactionRequest, String idempotencyKey) {
+        TransactionResponse response = transaccionService.registrarTransferencia(transactionRequest, idempotencyKey);
+        return ResponseEntity.ok(response);
+    }
+
+    @Override
+    public ResponseEntity<TransactionLoteResponse> registrarLoteTransacciones(TransactionLoteRequest transactionLoteRequest) {
+        TransactionLoteResponse response = transaccionService.registrarLoteTransacciones(transactionLoteRequest);
         return ResponseEntity.ok(response);
     }
 
     @Override
-    public ResponseEntity<TransactionResponse> registrarRetiro(TransactionRequest transactionRequest) {
-        TransactionResponse response = transaccionService.registrarRetiro(transactionRequest);
+    public ResponseEntity<SaldoLibroMayorResponse> consultarSaldoLibroMayor(String numeroCuenta, OffsetDateTime fecha) {
+        SaldoLibroMayorResponse response = transaccionService.consultarSaldoLibroMayor(numeroCuenta, fecha);
         return ResponseEntity.ok(response);
     }
 
     @Override
-    public ResponseEntity<TransactionResponse> registrarTransferencia(TransactionRequest transactionRequest) {
-        TransactionResponse response = transaccionService.registrarTransferencia(transactionRequest);
+    public ResponseEntity<TotalesCuentaResponse> consultarTotalesCuenta(String numeroCuenta, LocalDate desde, LocalDate hasta) {
+        TotalesCuentaResponse response = transaccionService.consultarTotalesCuenta(numeroCuenta, desde, hasta);
         return ResponseEntity.ok(response);
     }
 }
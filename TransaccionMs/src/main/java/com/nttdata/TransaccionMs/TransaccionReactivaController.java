@@ -0,0 +1,37 @@
+package com.nttdata.TransaccionMs;
+
+import com.nttdata.TransaccionMs.business.TransaccionServiceReactivo;
+import com.nttdata.TransaccionMs.model.TransactionRequest;
+import com.nttdata.TransaccionMs.model.TransactionResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+
+@RestController
+@RequestMapping(value = "/transacciones/reactivo", consumes = MediaType.APPLICATION_JSON_VALUE,
+        produces = MediaType.APPLICATION_JSON_VALUE)
+public class TransaccionReactivaController {
+
+    @Autowired
+    TransaccionServiceReactivo transaccionServiceReactivo;
+
+    @PostMapping("/deposito")
+    public Mono<ResponseEntity<TransactionResponse>> registrarDeposito(@RequestBody TransactionRequest transactionRequest) {
+        return transaccionServiceReactivo.registrarDeposito(transactionRequest).map(ResponseEntity::ok);
+    }
+
+    @PostMapping("/retiro")
+    public Mono<ResponseEntity<TransactionResponse>> registrarRetiro(@RequestBody TransactionRequest transactionRequest) {
+        return transaccionServiceReactivo.registrarRetiro(transactionRequest).map(ResponseEntity::ok);
+    }
+
+    @PostMapping("/transferencia")
+    public Mono<ResponseEntity<TransactionResponse>> registrarTransferencia(@RequestBody TransactionRequest transactionRequest) {
+        return transaccionServiceReactivo.registrarTransferencia(transactionRequest).map(ResponseEntity::ok);
+    }
+}
@@ -0,0 +1,287 @@
+package com.nttdata.TransaccionMs.business;
+
+import com.nttdata.TransaccionMs.clients.ConsultaCuentaCubierta;
+import com.nttdata.TransaccionMs.dto.MovimientoNetoCuenta;
+import com.nttdata.TransaccionMs.dto.SaldoConciliacion;
+import com.nttdata.TransaccionMs.model.entity.Conciliacion;
+import com.nttdata.TransaccionMs.model.entity.CorteSaldo;
+import com.nttdata.TransaccionMs.model.entity.Discrepancia;
+import com.nttdata.TransaccionMs.model.entity.EstadoConciliacionEnum;
+import com.nttdata.TransaccionMs.repository.AsientoRepository;
+import com.nttdata.TransaccionMs.repository.ConciliacionRepository;
+import com.nttdata.TransaccionMs.repository.CorteSaldoRepository;
+import com.nttdata.TransaccionMs.repository.DiscrepanciaRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+@Slf4j
+@Component
+public class ConciliacionSaldos {
+
+    private static final String FORMATO_NUMERO_CUENTA = "%010d";
+    private static final int LONGITUD_NUMERO_CUENTA = 10;
+    private static final String CUENTA_MINIMA = "!";
+    private static final String CUENTA_MAXIMA = "zzzzzzzzzz";
+
+    @Autowired
+    AsientoRepository asientoRepository;
+
+    @Autowired
+    CorteSaldoRepository corteSaldoRepository;
+
+    @Autowired
+    ConciliacionRepository conciliacionRepository;
+
+    @Autowired
+    DiscrepanciaRepository discrepanciaRepository;
+
+    @Autowired
+    ConsultaCuentaCubierta consultaCuentaCubierta;
+
+    @Autowired
+    LibroMayor libroMayor;
+
+    @Value("${transacciones.conciliacion.hilos:8}")
+    int hilos;
+
+    @Value("${transacciones.conciliacion.numero-minimo:1000000000}")
+    long numeroMinimo;
+
+    @Value("${transacciones.conciliacion.numero-maximo:9999999999}")
+    long numeroMaximo;
+
+    @Value("${transacciones.conciliacion.amplitud-particion:1000000}")
+    long amplitudParticion;
+
+    @Value("${transacciones.conciliacion.tamanio-lote:1000}")
+    int tamanioLote;
+
+    @Value("${transacciones.conciliacion.concesion:15m}")
+    Duration concesion;
+
+    @Scheduled(cron = "${transacciones.conciliacion.cron:0 0 2 * * *}")
+    public void conciliarProgramado() {
+        conciliar(LocalDate.now().toString());
+    }
+
+    public Optional<Conciliacion> conciliar(String id) {
+        LocalDateTime inicio = LocalDateTime.now();
+        Conciliacion conciliacion = new Conciliacion(id, EstadoConciliacionEnum.EN_PROCESO, inicio, null, 0, 0, 0,
+                UUID.randomUUID().toString(), inicio.plus(concesion));
+        if (!reservar(conciliacion)) {
+            return Optional.empty();
+        }
+
+        LocalDateTime corte = corteSaldoRepository.findFirstByOrderByHastaDesc().map(CorteSaldo::getHasta).orElse(null);
+        AtomicInteger contadorHilos = new AtomicInteger();
+        ExecutorService ejecutor = Executors.newFixedThreadPool(hilos,
+                tarea -> new Thread(tarea, "conciliacion-" + contadorHilos.incrementAndGet()));
+        try {
+            List<Future<ResultadoParticion>> particiones = new ArrayList<>();
+            // Los números fuera del rango numérico (cuentas heredadas con formato hexadecimal u otro) van en dos particiones de cierre.
+            particiones.add(ejecutor.submit(() -> conciliarParticion(id, CUENTA_MINIMA, formatear(numeroMinimo - 1), corte)));
+            for (long inicioParticion = numeroMinimo; inicioParticion <= numeroMaximo; inicioParticion += amplitudParticion) {
+                String desde = formatear(inicioParticion - 1);
+                String hasta = formatear(Math.min(inicioParticion + amplitudParticion - 1, numeroMaximo));
+                particiones.add(ejecutor.submit(() -> conciliarParticion(id, desde, hasta, corte)));
+            }
+            particiones.add(ejecutor.submit(() -> conciliarParticion(id, formatear(numeroMaximo), CUENTA_MAXIMA, corte)));
+
+            for (Future<ResultadoParticion> particion : particiones) {
+                Optional<ResultadoParticion> resultado = esperar(particion, conciliacion);
+                if (resultado.isEmpty()) {
+                    log.warn("La conciliación {} fue retomada por otra instancia; se abandona esta ejecución", id);
+                    return Optional.empty();
+                }
+                conciliacion.setCuentasRevisadas(conciliacion.getCuentasRevisadas() + resultado.get().revisadas());
+                conciliacion.setDiscrepancias(conciliacion.getDiscrepancias() + resultado.get().discrepancias());
+                if (resultado.get().fallida()) {
+                    conciliacion.setParticionesFallidas(conciliacion.getParticionesFallidas() + 1);
+                }
+            }
+            conciliacion.setEstado(conciliacion.getParticionesFallidas() == 0
+                    ? EstadoConciliacionEnum.COMPLETADA : EstadoConciliacionEnum.INCOMPLETA);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            conciliacion.setEstado(EstadoConciliacionEnum.INCOMPLETA);
+        } catch (ExecutionException e) {
+            log.error("Falló la conciliación {}", id, e.getCause());
+            conciliacion.setEstado(EstadoConciliacionEnum.INCOMPLETA);
+        } finally {
+            ejecutor.shutdownNow();
+        }
+
+        conciliacion.setFin(LocalDateTime.now());
+        if (!conciliacionRepository.cerrar(conciliacion)) {
+            log.warn("La conciliación {} fue retomada por otra instancia; se descarta el resultado de esta ejecución", id);
+            return Optional.empty();
+        }
+
+        log.info("Conciliación {} {}: {} cuentas revisadas, {} discrepancias, {} particiones fallidas", id,
+                conciliacion.getEstado(), conciliacion.getCuentasRevisadas(), conciliacion.getDiscrepancias(),
+                conciliacion.getParticionesFallidas());
+        return Optional.of(conciliacion);
+    }
+
+    // Una ejecución que dejó de renovar su concesión (instancia caída) se retoma desde cero el mismo día.
+    private boolean reservar(Conciliacion conciliacion) {
+        try {
+            conciliacionRepository.insert(conciliacion);
+            return true;
+        } catch (DuplicateKeyException e) {
+            if (!conciliacionRepository.retomarVencida(conciliacion)) {
+                log.info("La conciliación {} ya fue iniciada por otra instancia", conciliacion.getId());
+                return false;
+            }
+            log.warn("Se retoma la conciliación {}: la ejecución anterior dejó vencer su concesión", conciliacion.getId());
+            discrepanciaRepository.deleteByConciliacionId(conciliacion.getId());
+            return true;
+        }
+    }
+
+    private Optional<ResultadoParticion> esperar(Future<ResultadoParticion> particion, Conciliacion conciliacion)
+            throws InterruptedException, ExecutionException {
+        while (true) {
+            if (!renovarConcesion(conciliacion)) {
+                return Optional.empty();
+            }
+            try {
+                return Optional.of(particion.get(concesion.toMillis() / 3, TimeUnit.MILLISECONDS));
+            } catch (TimeoutException e) {
+                log.debug("La conciliación {} sigue esperando una partición", conciliacion.getId());
+            }
+        }
+    }
+
+    private boolean renovarConcesion(Conciliacion conciliacion) {
+        LocalDateTime ahora = LocalDateTime.now();
+        if (ahora.isBefore(conciliacion.getVigenteHasta().minus(concesion.multipliedBy(2).dividedBy(3)))) {
+            return true;
+        }
+        conciliacion.setVigenteHasta(ahora.plus(concesion));
+        return conciliacionRepository.renovar(conciliacion);
+    }
+
+    ResultadoParticion conciliarParticion(String conciliacionId, String desde, String hasta, LocalDateTime corte) {
+        long revisadas = 0;
+        List<Discrepancia> candidatas = new ArrayList<>();
+        try (Stream<MovimientoNetoCuenta> saldosLibro = asientoRepository.calcularSaldosPorCuenta(desde, hasta, corte)) {
+            Iterator<MovimientoNetoCuenta> libro = saldosLibro.iterator();
+            MovimientoNetoCuenta actual = siguiente(libro);
+
+            String despuesDe = desde;
+            List<SaldoConciliacion> pagina;
+            do {
+                pagina = consultaCuentaCubierta.listBalancesInRange(despuesDe, hasta, tamanioLote);
+                for (SaldoConciliacion saldo : pagina) {
+                    while (actual != null && actual.getCuenta().compareTo(saldo.getNumeroCuenta()) < 0) {
+                        agregarSiDescuadra(candidatas, conciliacionId, actual.getCuenta(), null, actual.getMontoCentimos());
+                        actual = siguiente(libro);
+                    }
+
+                    long saldoLibro = 0;
+                    if (actual != null && actual.getCuenta().equals(saldo.getNumeroCuenta())) {
+                        saldoLibro = actual.getMontoCentimos();
+                        actual = siguiente(libro);
+                    }
+                    agregarSiDescuadra(candidatas, conciliacionId, saldo.getNumeroCuenta(), saldo, saldoLibro);
+                    revisadas++;
+                    despuesDe = saldo.getNumeroCuenta();
+                }
+            } while (pagina.size() == tamanioLote);
+
+            while (actual != null) {
+                agregarSiDescuadra(candidatas, conciliacionId, actual.getCuenta(), null, actual.getMontoCentimos());
+                actual = siguiente(libro);
+            }
+
+            List<Discrepancia> confirmadas = confirmar(candidatas);
+            if (!confirmadas.isEmpty()) {
+                discrepanciaRepository.insert(confirmadas);
+            }
+            return new ResultadoParticion(revisadas, confirmadas.size(), false);
+        } catch (RuntimeException e) {
+            log.warn("No se pudo conciliar la partición ({}, {}]: {}", desde, hasta, e.getMessage());
+            return new ResultadoParticion(revisadas, 0, true);
+        }
+    }
+
+    // Las operaciones en curso durante la pasada se vuelven a leer de ambos lados antes de reportarlas.
+    private List<Discrepancia> confirmar(List<Discrepancia> candidatas) {
+        List<Discrepancia> confirmadas = new ArrayList<>();
+        for (Discrepancia candidata : candidatas) {
+            String cuenta = candidata.getCuenta();
+            SaldoConciliacion saldo = consultaCuentaCubierta.listBalancesInRange(anteriorA(cuenta), cuenta, limiteConfirmacion(cuenta)).stream()
+                    .filter(actual -> cuenta.equals(actual.getNumeroCuenta()))
+                    .findFirst()
+                    .orElse(null);
+            agregarSiDescuadra(confirmadas, candidata.getConciliacionId(), cuenta, saldo,
+                    libroMayor.saldoAl(cuenta, LocalDateTime.now()));
+        }
+        return confirmadas;
+    }
+
+    // Para un número no numérico basta su prefijo: el rango solo contiene las cuentas que difieren en el último carácter.
+    private static String anteriorA(String cuenta) {
+        if (esNumerica(cuenta)) {
+            return formatear(Long.parseLong(cuenta) - 1);
+        }
+        return cuenta.length() > 1 ? cuenta.substring(0, cuenta.length() - 1) : CUENTA_MINIMA;
+    }
+
+    private int limiteConfirmacion(String cuenta) {
+        return esNumerica(cuenta) ? 1 : tamanioLote;
+    }
+
+    private static boolean esNumerica(String cuenta) {
+        return cuenta.length() == LONGITUD_NUMERO_CUENTA && cuenta.chars().allMatch(caracter -> caracter >= '0' && caracter <= '9');
+    }
+
+    private static String formatear(long numero) {
+        return String.format(FORMATO_NUMERO_CUENTA, numero);
+    }
+
+    private static void agregarSiDescuadra(List<Discrepancia> discrepancias, String conciliacionId, String cuenta,
+                                           SaldoConciliacion saldo, long saldoLibro) {
+        Long saldoCuenta = saldo == null ? null : Dinero.aCentimos(saldo.getSaldo());
+        long ajustes = saldo == null ? 0 : Dinero.aCentimos(saldo.getAjustes());
+        long diferencia = (saldoCuenta == null ? 0 : saldoCuenta) - ajustes - saldoLibro;
+        if (diferencia != 0) {
+            discrepancias.add(new Discrepancia(null, conciliacionId, cuenta, saldoCuenta, ajustes, saldoLibro, diferencia));
+        }
+    }
+
+    private static MovimientoNetoCuenta siguiente(Iterator<MovimientoNetoCuenta> libro) {
+        while (libro.hasNext()) {
+            MovimientoNetoCuenta movimiento = libro.next();
+            if (!LibroMayor.CUENTA_CAJA.equals(movimiento.getCuenta())) {
+                return movimiento;
+            }
+        }
+        return null;
+    }
+
+    record ResultadoParticion(long revisadas, long discrepancias, boolean fallida) {
+    }
+}
@@ -0,0 +1,185 @@
+package com.nttdata.TransaccionMs.business;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.nttdata.TransaccionMs.model.entity.Transaccion;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+@Slf4j
+public class DiarioTransacciones implements Closeable {
+
+    private static final String PREFIJO_SEGMENTO = "diario-";
+    private static final String EXTENSION_SEGMENTO = ".ndjson";
+
+    private final Path directorio;
+    private final ObjectWriter escritor;
+    private final ObjectReader lector;
+    private final long tamanioMaximoSegmento;
+    private final boolean sincronizar;
+    private final Map<Long, Integer> pendientesPorSegmento = new HashMap<>();
+    private final ReentrantLock candado = new ReentrantLock();
+    private long segmentoActual;
+    private FileChannel canal;
+
+    public DiarioTransacciones(Path directorio, ObjectMapper objectMapper, long tamanioMaximoSegmento, boolean sincronizar) {
+        this.directorio = directorio;
+        this.escritor = objectMapper.writerFor(Transaccion.class);
+        this.lector = objectMapper.readerFor(Transaccion.class);
+        this.tamanioMaximoSegmento = tamanioMaximoSegmento;
+        this.sincronizar = sincronizar;
+    }
+
+    public List<Entrada> abrir() throws IOException {
+        candado.lock();
+        try {
+            Files.createDirectories(directorio);
+
+            List<Entrada> recuperadas = new ArrayList<>();
+            for (long segmento : segmentosExistentes()) {
+                int cantidad = leerSegmento(segmento, recuperadas);
+                if (cantidad == 0) {
+                    Files.deleteIfExists(rutaSegmento(segmento));
+                } else {
+                    pendientesPorSegmento.put(segmento, cantidad);
+                }
+                segmentoActual = Math.max(segmentoActual, segmento + 1);
+            }
+
+            abrirSegmentoActual();
+            return recuperadas;
+        } finally {
+            candado.unlock();
+        }
+    }
+
+    public long registrar(List<Transaccion> transacciones) throws IOException {
+        candado.lock();
+        try {
+            if (canal.size() >= tamanioMaximoSegmento) {
+                rotar();
+            }
+
+            ByteArrayOutputStream contenido = new ByteArrayOutputStream();
+            for (Transaccion transaccion : transacciones) {
+                escritor.writeValue(contenido, transaccion);
+                contenido.write('\n');
+            }
+
+            ByteBuffer bytes = ByteBuffer.wrap(contenido.toByteArray());
+            while (bytes.hasRemaining()) {
+                canal.write(bytes);
+            }
+            if (sincronizar) {
+                canal.force(false);
+            }
+
+            pendientesPorSegmento.merge(segmentoActual, transacciones.size(), Integer::sum);
+            return segmentoActual;
+        } finally {
+            candado.unlock();
+        }
+    }
+
+    public void confirmar(Map<Long, Integer> confirmadasPorSegmento) throws IOException {
+        candado.lock();
+        try {
+            for (Map.Entry<Long, Integer> confirmadas : confirmadasPorSegmento.entrySet()) {
+                long segmento = confirmadas.getKey();
+                Integer restantes = pendientesPorSegmento.computeIfPresent(segmento,
+                        (clave, pendientes) -> pendientes > confirmadas.getValue() ? pendientes - confirmadas.getValue() : null);
+                if (restantes == null && segmento != segmentoActual) {
+                    Files.deleteIfExists(rutaSegmento(segmento));
+                }
+            }
+        } finally {
+            candado.unlock();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        candado.lock();
+        try {
+            if (canal == null) {
+                return;
+            }
+            canal.close();
+            canal = null;
+            if (!pendientesPorSegmento.containsKey(segmentoActual)) {
+                Files.deleteIfExists(rutaSegmento(segmentoActual));
+            }
+        } finally {
+            candado.unlock();
+        }
+    }
+
+    private void rotar() throws IOException {
+        canal.close();
+        if (!pendientesPorSegmento.containsKey(segmentoActual)) {
+            Files.deleteIfExists(rutaSegmento(segmentoActual));
+        }
+        segmentoActual++;
+        abrirSegmentoActual();
+    }
+
+    private void abrirSegmentoActual() throws IOException {
+        canal = FileChannel.open(rutaSegmento(segmentoActual),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    private int leerSegmento(long segmento, List<Entrada> recuperadas) throws IOException {
+        int cantidad = 0;
+        try (BufferedReader lectura = Files.newBufferedReader(rutaSegmento(segmento), StandardCharsets.UTF_8)) {
+            String linea;
+            while ((linea = lectura.readLine()) != null) {
+                if (linea.isBlank()) {
+                    continue;
+                }
+                try {
+                    recuperadas.add(new Entrada(lector.readValue(linea), segmento));
+                    cantidad++;
+                } catch (JsonProcessingException e) {
+                    log.warn("Se descarta una línea incompleta del segmento {} del diario de transacciones", segmento);
+                }
+            }
+        }
+        return cantidad;
+    }
+
+    private List<Long> segmentosExistentes() throws IOException {
+        try (Stream<Path> archivos = Files.list(directorio)) {
+            return archivos.map(archivo -> archivo.getFileName().toString())
+                    .filter(nombre -> nombre.startsWith(PREFIJO_SEGMENTO) && nombre.endsWith(EXTENSION_SEGMENTO))
+                    .map(nombre -> nombre.substring(PREFIJO_SEGMENTO.length(), nombre.length() - EXTENSION_SEGMENTO.length()))
+                    .map(Long::parseLong)
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private Path rutaSegmento(long segmento) {
+        return directorio.resolve(PREFIJO_SEGMENTO + segmento + EXTENSION_SEGMENTO);
+    }
+
+    public record Entrada(Transaccion transaccion, long segmento) {
+    }
+}
@@ -0,0 +1,30 @@
+package com.nttdata.TransaccionMs.business;
+
+import com.nttdata.TransaccionMs.exception.CustomExceptions;
+
+import java.math.BigDecimal;
+
+public final class Dinero {
+
+    public static final int DECIMALES = 2;
+    public static final String MENSAJE_PRECISION = "El monto debe tener como máximo " + DECIMALES + " decimales";
+
+    private Dinero() {
+    }
+
+    public static boolean esExacto(BigDecimal monto) {
+        return monto.stripTrailingZeros().scale() <= DECIMALES
+                && monto.movePointRight(DECIMALES).toBigInteger().bitLength() < Long.SIZE;
+    }
+
+    public static long aCentimos(BigDecimal monto) {
+        if (!esExacto(monto)) {
+            throw new CustomExceptions.BadRequestException(MENSAJE_PRECISION);
+        }
+        return monto.movePointRight(DECIMALES).longValue();
+    }
+
+    public static BigDecimal aDecimal(long centimos) {
+        return BigDecimal.valueOf(centimos, DECIMALES);
+    }
+}
@@ -0,0 +1,250 @@
+package com.nttdata.TransaccionMs.business.Impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nttdata.TransaccionMs.business.DiarioTransacciones;
+import com.nttdata.TransaccionMs.business.LibroMayor;
+import com.nttdata.TransaccionMs.business.PersistenciaTransacciones;
+import com.nttdata.TransaccionMs.exception.CustomExceptions;
+import com.nttdata.TransaccionMs.model.entity.Transaccion;
+import com.nttdata.TransaccionMs.repository.TransaccionRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "transacciones.persistencia.modo", havingValue = "diferida")
+public class PersistenciaDiferidaImp implements PersistenciaTransacciones {
+
+    @Autowired
+    TransaccionRepository transaccionRepository;
+
+    @Autowired
+    LibroMayor libroMayor;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    @Value("${transacciones.persistencia.capacidad:10000}")
+    int capacidad;
+
+    @Value("${transacciones.persistencia.tamanio-lote:500}")
+    int tamanioLote;
+
+    @Value("${transacciones.persistencia.intervalo:200ms}")
+    Duration intervalo;
+
+    @Value("${transacciones.persistencia.espera-encolado:500ms}")
+    Duration esperaEncolado;
+
+    @Value("${transacciones.persistencia.espera-reintento:1s}")
+    Duration esperaReintento;
+
+    @Value("${transacciones.persistencia.tiempo-cierre:30s}")
+    Duration tiempoCierre;
+
+    @Value("${transacciones.persistencia.diario.directorio:diario-transacciones}")
+    Path directorioDiario;
+
+    @Value("${transacciones.persistencia.diario.tamanio-segmento:64MB}")
+    DataSize tamanioSegmento;
+
+    @Value("${transacciones.persistencia.diario.sincronizar:true}")
+    boolean sincronizarDiario;
+
+    private final Map<String, Transaccion> pendientes = new ConcurrentHashMap<>();
+    private BlockingQueue<DiarioTransacciones.Entrada> buffer;
+    private DiarioTransacciones diario;
+    private Thread escritor;
+    private volatile boolean activo;
+
+    @PostConstruct
+    void iniciar() throws IOException, InterruptedException {
+        buffer = new ArrayBlockingQueue<>(capacidad);
+        diario = new DiarioTransacciones(directorioDiario, objectMapper, tamanioSegmento.toBytes(), sincronizarDiario);
+        List<DiarioTransacciones.Entrada> recuperadas = diario.abrir();
+
+        activo = true;
+        escritor = new Thread(this::vaciarBuffer, "transacciones-escritor");
+        escritor.setDaemon(true);
+        escritor.start();
+
+        if (!recuperadas.isEmpty()) {
+            log.info("Se recuperaron {} transacciones pendientes del diario", recuperadas.size());
+            for (DiarioTransacciones.Entrada entrada : recuperadas) {
+                pendientes.put(entrada.transaccion().getId(), entrada.transaccion());
+                buffer.put(entrada);
+            }
+        }
+    }
+
+    @PreDestroy
+    void detener() throws IOException, InterruptedException {
+        activo = false;
+        escritor.join(tiempoCierre.toMillis());
+        if (!buffer.isEmpty()) {
+            log.warn("Quedan {} transacciones sin escribir; se recuperarán del diario al reiniciar", buffer.size());
+        }
+        diario.close();
+    }
+
+    @Override
+    public Transaccion guardar(Transaccion transaccion) {
+        return guardarTodas(List.of(transaccion)).get(0);
+    }
+
+    @Override
+    public List<Transaccion> guardarTodas(List<Transaccion> transacciones) {
+        if (!activo) {
+            throw new IllegalStateException("La persistencia de transacciones está detenida");
+        }
+
+        transacciones.stream()
+                .filter(transaccion -> transaccion.getId() == null)
+                .forEach(transaccion -> transaccion.setId(new ObjectId().toHexString()));
+
+        long segmento;
+        try {
+            segmento = diario.registrar(transacciones);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        encolar(transacciones.stream().map(transaccion -> new DiarioTransacciones.Entrada(transaccion, segmento)).toList());
+        return transacciones;
+    }
+
+    @Override
+    public Optional<Transaccion> buscar(String id) {
+        return Optional.ofNullable(pendientes.get(id))
+                .or(() -> transaccionRepository.findById(id));
+    }
+
+    // Con el buffer lleno, lo que no entra tras la espera se escribe en el hilo de la solicitud en vez de bloquearlo sin límite.
+    private void encolar(List<DiarioTransacciones.Entrada> entradas) {
+        List<DiarioTransacciones.Entrada> rechazadas = new ArrayList<>();
+        for (DiarioTransacciones.Entrada entrada : entradas) {
+            pendientes.put(entrada.transaccion().getId(), entrada.transaccion());
+            if (!rechazadas.isEmpty() || !ofrecer(entrada)) {
+                rechazadas.add(entrada);
+            }
+        }
+        if (!rechazadas.isEmpty()) {
+            escribirDirecto(rechazadas);
+        }
+    }
+
+    private boolean ofrecer(DiarioTransacciones.Entrada entrada) {
+        try {
+            return buffer.offer(entrada, esperaEncolado.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void escribirDirecto(List<DiarioTransacciones.Entrada> lote) {
+        log.warn("El buffer de transacciones está lleno; se escriben {} transacciones directamente", lote.size());
+        List<Transaccion> transacciones = lote.stream().map(DiarioTransacciones.Entrada::transaccion).toList();
+        if (!insertar(transacciones)) {
+            // Siguen en el diario y se recuperan al reiniciar.
+            throw new CustomExceptions.ServiceUnavailableException("No se pudo registrar la transacción; intente nuevamente");
+        }
+        confirmar(lote, transacciones);
+    }
+
+    private void vaciarBuffer() {
+        List<DiarioTransacciones.Entrada> lote = new ArrayList<>(tamanioLote);
+        while (activo || !buffer.isEmpty()) {
+            try {
+                tomarLote(lote);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (!lote.isEmpty()) {
+                escribir(lote);
+                lote.clear();
+            }
+        }
+    }
+
+    private void tomarLote(List<DiarioTransacciones.Entrada> lote) throws InterruptedException {
+        DiarioTransacciones.Entrada primera = buffer.poll(intervalo.toMillis(), TimeUnit.MILLISECONDS);
+        if (primera == null) {
+            return;
+        }
+        lote.add(primera);
+
+        long limite = System.nanoTime() + intervalo.toNanos();
+        while (lote.size() < tamanioLote) {
+            if (buffer.drainTo(lote, tamanioLote - lote.size()) > 0) {
+                continue;
+            }
+            long restante = limite - System.nanoTime();
+            DiarioTransacciones.Entrada siguiente = restante > 0 ? buffer.poll(restante, TimeUnit.NANOSECONDS) : null;
+            if (siguiente == null) {
+                return;
+            }
+            lote.add(siguiente);
+        }
+    }
+
+    private void escribir(List<DiarioTransacciones.Entrada> lote) {
+        List<Transaccion> transacciones = lote.stream().map(DiarioTransacciones.Entrada::transaccion).toList();
+        while (!insertar(transacciones)) {
+            if (!activo) {
+                return;
+            }
+            try {
+                Thread.sleep(esperaReintento.toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+
+        confirmar(lote, transacciones);
+    }
+
+    private void confirmar(List<DiarioTransacciones.Entrada> lote, List<Transaccion> transacciones) {
+        transacciones.forEach(transaccion -> pendientes.remove(transaccion.getId()));
+        try {
+            diario.confirmar(lote.stream().collect(
+                    Collectors.groupingBy(DiarioTransacciones.Entrada::segmento, Collectors.summingInt(entrada -> 1))));
+        } catch (IOException e) {
+            log.warn("No se pudo depurar el diario de transacciones: {}", e.getMessage());
+        }
+    }
+
+    private boolean insertar(List<Transaccion> transacciones) {
+        try {
+            transaccionRepository.insertarLote(transacciones);
+            libroMayor.registrar(transacciones);
+            return true;
+        } catch (RuntimeException e) {
+            log.warn("No se pudo escribir un lote de {} transacciones: {}", transacciones.size(), e.getMessage());
+            return false;
+        }
+    }
+}
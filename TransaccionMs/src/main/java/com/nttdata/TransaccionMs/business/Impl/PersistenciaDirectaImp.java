@@ -0,0 +1,43 @@
+package com.nttdata.TransaccionMs.business.Impl;
+
+import com.nttdata.TransaccionMs.business.LibroMayor;
+import com.nttdata.TransaccionMs.business.PersistenciaTransacciones;
+import com.nttdata.TransaccionMs.model.entity.Transaccion;
+import com.nttdata.TransaccionMs.repository.TransaccionRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Optional;
+
+@Component
+@ConditionalOnProperty(name = "transacciones.persistencia.modo", havingValue = "directa", matchIfMissing = true)
+public class PersistenciaDirectaImp implements PersistenciaTransacciones {
+
+    @Autowired
+    private TransaccionRepository transaccionRepository;
+
+    @Autowired
+    private LibroMayor libroMayor;
+
+    // Sin transacción de Mongo entre ambas escrituras: LibroMayor registra los asientos faltantes antes del siguiente corte.
+    @Override
+    public Transaccion guardar(Transaccion transaccion) {
+        Transaccion guardada = transaccionRepository.save(transaccion);
+        libroMayor.registrar(List.of(guardada));
+        return guardada;
+    }
+
+    @Override
+    public List<Transaccion> guardarTodas(List<Transaccion> transacciones) {
+        List<Transaccion> insertadas = transaccionRepository.insert(transacciones);
+        libroMayor.registrar(insertadas);
+        return insertadas;
+    }
+
+    @Override
+    public Optional<Transaccion> buscar(String id) {
+        return transaccionRepository.findById(id);
+    }
+}
@@ -1,121 +1,394 @@
 package com.nttdata.TransaccionMs.business.Impl;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nttdata.TransaccionMs.business.Dinero;
+import com.nttdata.TransaccionMs.business.LibroMayor;
+import com.nttdata.TransaccionMs.business.NdjsonInputStream;
+import com.nttdata.TransaccionMs.business.PersistenciaTransacciones;
+import com.nttdata.TransaccionMs.business.RegistroIdempotencia;
+import com.nttdata.TransaccionMs.business.ResumenesDiarios;
 import com.nttdata.TransaccionMs.business.TransaccionMapper;
 import com.nttdata.TransaccionMs.business.TransaccionService;
+import com.nttdata.TransaccionMs.business.ValidacionTransacciones;
+import com.nttdata.TransaccionMs.clients.ConsultaCuentaCubierta;
 import com.nttdata.TransaccionMs.clients.CuentaFeignClient;
-import com.nttdata.TransaccionMs.dto.SaldoResponse;
-import com.nttdata.TransaccionMs.dto.SaldoUpdateRequest;
+import com.nttdata.TransaccionMs.dto.AjusteSaldo;
+import com.nttdata.TransaccionMs.dto.AjustesCuenta;
+import com.nttdata.TransaccionMs.dto.CursorHistorial;
+import com.nttdata.TransaccionMs.dto.EstadoCuenta;
+import com.nttdata.TransaccionMs.dto.FiltroHistorial;
+import com.nttdata.TransaccionMs.dto.MovimientoLoteItem;
+import com.nttdata.TransaccionMs.dto.MovimientoLoteRequest;
+import com.nttdata.TransaccionMs.dto.MovimientoLoteResultado;
+import com.nttdata.TransaccionMs.dto.MovimientoSaldoRequest;
+import com.nttdata.TransaccionMs.dto.TransferenciaRequest;
 import com.nttdata.TransaccionMs.exception.CustomExceptions;
+import com.nttdata.TransaccionMs.model.MovimientoEstadoCuentaResponse;
+import com.nttdata.TransaccionMs.model.SaldoLibroMayorResponse;
+import com.nttdata.TransaccionMs.model.TotalesCuentaResponse;
+import com.nttdata.TransaccionMs.model.TransactionLoteRequest;
+import com.nttdata.TransaccionMs.model.TransactionLoteResponse;
+import com.nttdata.TransaccionMs.model.TransactionLoteResultado;
+import com.nttdata.TransaccionMs.model.TransactionPage;
 import com.nttdata.TransaccionMs.model.TransactionRequest;
 import com.nttdata.TransaccionMs.model.TransactionResponse;
+import com.nttdata.TransaccionMs.model.entity.Asiento;
 import com.nttdata.TransaccionMs.model.entity.Transaccion;
+import com.nttdata.TransaccionMs.repository.AsientoRepository;
 import com.nttdata.TransaccionMs.repository.TransaccionRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Optional;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 @Service
 public class TransaccionServiceImp implements TransaccionService {
 
+    private static final int TAMANIO_PAGINA_POR_DEFECTO = 50;
+    private static final int TAMANIO_PAGINA_MAXIMO = 500;
+    private static final String OPERACION_DEPOSITO = "DEPOSITO";
+    private static final String OPERACION_RETIRO = "RETIRO";
+    private static final String OPERACION_TRANSFERENCIA = "TRANSFERENCIA";
+    private static final int TAMANIO_MAXIMO_LOTE = 5000;
+
     @Autowired
     private TransaccionRepository transaccionRepository;
 
+    @Autowired
+    private AsientoRepository asientoRepository;
+
     @Autowired
     private CuentaFeignClient cuentaFeignClient;
 
+    @Autowired
+    private ConsultaCuentaCubierta consultaCuentaCubierta;
+
     @Autowired
     private TransaccionMapper transaccionMapper;
 
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private RegistroIdempotencia registroIdempotencia;
+
+    @Autowired
+    private PersistenciaTransacciones persistenciaTransacciones;
+
+    @Autowired
+    private LibroMayor libroMayor;
+
+    @Autowired
+    private ResumenesDiarios resumenesDiarios;
+
+    @Value("${transacciones.exportacion.tamanio-lote:1000}")
+    private int tamanioLoteExportacion;
+
     @Override
     public List<TransactionResponse> consultarHistorialTransacciones() {
-        return transaccionRepository.findAll()
+        // Sin paginación en el contrato: se acota a la primera página máxima del recorrido por cursor.
+        return transaccionRepository.buscarPagina(FiltroHistorial.builder().build(), null, TAMANIO_PAGINA_MAXIMO)
                 .stream()
                 .map(transaccionMapper::getTransaccionResponseOfTransaccion)
                 .collect(Collectors.toList());
     }
 
     @Override
-    public TransactionResponse registrarDeposito(TransactionRequest transactionRequest) {
+    public TransactionPage consultarHistorialPaginado(FiltroHistorial filtro, String cursor, Integer tamanio) {
+        int tamanioPagina = Optional.ofNullable(tamanio).orElse(TAMANIO_PAGINA_POR_DEFECTO);
 
-        return Optional.ofNullable(cuentaFeignClient.getAccountBalanceAndType(transactionRequest.getCuentaOrigen()))
-                .map(saldo -> {
+        if (tamanioPagina < 1 || tamanioPagina > TAMANIO_PAGINA_MAXIMO) {
+            throw new CustomExceptions.BadRequestException("El tamaño de página debe estar entre 1 y " + TAMANIO_PAGINA_MAXIMO);
+        }
 
-                    SaldoUpdateRequest saldoUpdateRequest = new SaldoUpdateRequest();
-                    saldoUpdateRequest.setNuevoSaldo(saldo.getSaldo() + transactionRequest.getMonto());
-                    cuentaFeignClient.updateAccountBalance(transactionRequest.getCuentaOrigen(), saldoUpdateRequest);
+        CursorHistorial cursorHistorial = Optional.ofNullable(cursor)
+                .filter(valor -> !valor.isBlank())
+                .map(CursorHistorial::decodificar)
+                .orElse(null);
 
-                    Transaccion transaccion = transaccionMapper.getTransaccionOfTransaccionRequest(transactionRequest);
-                    transaccion.setFecha(LocalDateTime.now());
-                    transaccionRepository.save(transaccion);
+        List<Transaccion> transacciones = transaccionRepository.buscarPagina(filtro, cursorHistorial, tamanioPagina + 1);
 
-                    return transaccionMapper.getTransaccionResponseOfTransaccion(transaccion);
-                })
-                .orElseThrow(() -> new CustomExceptions.ResourceNotFoundException("Cuenta no encontrada"));
+        String siguienteCursor = null;
+        if (transacciones.size() > tamanioPagina) {
+            transacciones = transacciones.subList(0, tamanioPagina);
+            siguienteCursor = CursorHistorial.of(transacciones.get(tamanioPagina - 1)).codificar();
+        }
+
+        return transaccionMapper.getTransactionPageOfTransacciones(transacciones, siguienteCursor);
     }
 
     @Override
-    public TransactionResponse registrarRetiro(TransactionRequest transactionRequest) {
+    public InputStream exportarHistorialTransacciones(FiltroHistorial filtro, boolean comprimir) {
+        Stream<Transaccion> transacciones = transaccionRepository.recorrerHistorial(filtro, tamanioLoteExportacion);
+        try {
+            return new NdjsonInputStream<>(transacciones, transaccionMapper::getTransaccionResponseOfTransaccion,
+                    objectMapper.writerFor(TransactionResponse.class), comprimir);
+        } catch (IOException e) {
+            transacciones.close();
+            throw new UncheckedIOException(e);
+        }
+    }
 
-        return Optional.ofNullable(cuentaFeignClient.getAccountBalanceAndType(transactionRequest.getCuentaOrigen()))
-                .map(saldo -> {
+    @Override
+    public TransactionResponse registrarDeposito(TransactionRequest transactionRequest, String claveIdempotencia) {
+        long monto = ValidacionTransacciones.validarMonto(transactionRequest);
 
-                    if (saldo.getTipoCuenta().equals("AHORROS") && (saldo.getSaldo() - transactionRequest.getMonto()) < 0) {
-                        throw new CustomExceptions.BadRequestException("No se puede realizar un retiro que deje el saldo en negativo para cuentas de ahorro");
-                    }
+        return registroIdempotencia.ejecutar(claveIdempotencia, OPERACION_DEPOSITO, transactionRequest, referencia ->
+                Optional.ofNullable(cuentaFeignClient.applyBalanceMovement(transactionRequest.getCuentaOrigen(),
+                                crearMovimiento(monto), referencia))
+                        .map(saldo -> guardarTransaccion(transactionRequest, referencia))
+                        .orElseThrow(() -> new CustomExceptions.ResourceNotFoundException("Cuenta no encontrada")));
+    }
 
-                    if (saldo.getTipoCuenta().equals("CORRIENTE") && (saldo.getSaldo() - transactionRequest.getMonto()) < -500) {
-                        throw new CustomExceptions.BadRequestException("No se puede realizar un sobregiro mayor a -500 en cuentas corrientes");
-                    }
+    @Override
+    public TransactionResponse registrarRetiro(TransactionRequest transactionRequest, String claveIdempotencia) {
+        long monto = ValidacionTransacciones.validarMonto(transactionRequest);
 
-                    SaldoUpdateRequest saldoUpdateRequest = new SaldoUpdateRequest();
-                    saldoUpdateRequest.setNuevoSaldo(saldo.getSaldo() - transactionRequest.getMonto());
-                    cuentaFeignClient.updateAccountBalance(transactionRequest.getCuentaOrigen(), saldoUpdateRequest);
+        return registroIdempotencia.ejecutar(claveIdempotencia, OPERACION_RETIRO, transactionRequest, referencia ->
+                Optional.ofNullable(cuentaFeignClient.applyBalanceMovement(transactionRequest.getCuentaOrigen(),
+                                crearMovimiento(-monto), referencia))
+                        .map(saldo -> guardarTransaccion(transactionRequest, referencia))
+                        .orElseThrow(() -> new CustomExceptions.ResourceNotFoundException("Cuenta no encontrada")));
+    }
 
-                    Transaccion transaccion = transaccionMapper.getTransaccionOfTransaccionRequest(transactionRequest);
-                    transaccion.setFecha(LocalDateTime.now());
-                    transaccionRepository.save(transaccion);
+    @Override
+    public TransactionResponse registrarTransferencia(TransactionRequest transactionRequest, String claveIdempotencia) {
+        long monto = ValidacionTransacciones.validarMonto(transactionRequest);
+        ValidacionTransacciones.validarDestino(transactionRequest);
 
-                    return transaccionMapper.getTransaccionResponseOfTransaccion(transaccion);
-                })
-                .orElseThrow(() -> new CustomExceptions.ResourceNotFoundException("Cuenta no encontrada"));
+        return registroIdempotencia.ejecutar(claveIdempotencia, OPERACION_TRANSFERENCIA, transactionRequest, referencia ->
+                Optional.ofNullable(cuentaFeignClient.transferBetweenAccounts(crearTransferencia(transactionRequest, monto),
+                                referencia))
+                        .map(saldos -> guardarTransaccion(transactionRequest, referencia))
+                        .orElseThrow(() -> new CustomExceptions.ResourceNotFoundException("Cuenta no encontrada")));
     }
 
     @Override
-    public TransactionResponse registrarTransferencia(TransactionRequest transactionRequest) {
+    public TransactionLoteResponse registrarLoteTransacciones(TransactionLoteRequest transactionLoteRequest) {
+        List<TransactionRequest> operaciones = Optional.ofNullable(transactionLoteRequest.getOperaciones()).orElse(List.of());
 
-        return Optional.ofNullable(cuentaFeignClient.getAccountBalanceAndType(transactionRequest.getCuentaOrigen()))
-                .map(saldoOrigen -> {
+        if (operaciones.isEmpty() || operaciones.size() > TAMANIO_MAXIMO_LOTE) {
+            throw new CustomExceptions.BadRequestException("El lote debe contener entre 1 y " + TAMANIO_MAXIMO_LOTE + " operaciones");
+        }
 
-                    if (saldoOrigen.getTipoCuenta().equals("AHORROS") && (saldoOrigen.getSaldo() - transactionRequest.getMonto()) < 0) {
-                        throw new CustomExceptions.BadRequestException("No se puede realizar una transferencia que deje el saldo en negativo para cuentas de ahorro");
-                    }
+        TransactionLoteResultado[] resultados = new TransactionLoteResultado[operaciones.size()];
+        List<Integer> indicesValidos = new ArrayList<>();
+        List<MovimientoLoteItem> movimientos = new ArrayList<>();
+        for (int indice = 0; indice < operaciones.size(); indice++) {
+            String error = validarOperacionLote(operaciones.get(indice));
+            if (error != null) {
+                resultados[indice] = transaccionMapper.getTransactionLoteResultadoRechazada(indice, error);
+            } else {
+                indicesValidos.add(indice);
+                movimientos.add(transaccionMapper.getMovimientoLoteItemOfTransaccionRequest(operaciones.get(indice)));
+            }
+        }
 
-                    if (saldoOrigen.getTipoCuenta().equals("CORRIENTE") && (saldoOrigen.getSaldo() - transactionRequest.getMonto()) < -500) {
-                        throw new CustomExceptions.BadRequestException("No se puede realizar un sobregiro mayor a -500 en cuentas corrientes");
-                    }
+        if (!movimientos.isEmpty()) {
+            List<MovimientoLoteResultado> aplicados = cuentaFeignClient.applyMovementsBatch(new MovimientoLoteRequest(movimientos))
+                    .getResultados();
 
-                    SaldoResponse saldoDestino = cuentaFeignClient.getAccountBalanceAndType(transactionRequest.getCuentaDestino());
+            LocalDateTime fecha = LocalDateTime.now();
+            Map<Integer, Transaccion> transacciones = new LinkedHashMap<>();
+            for (MovimientoLoteResultado aplicado : aplicados) {
+                int indice = indicesValidos.get(aplicado.getIndice());
+                if (Boolean.TRUE.equals(aplicado.getAplicado())) {
+                    Transaccion transaccion = transaccionMapper.getTransaccionOfTransaccionRequest(operaciones.get(indice));
+                    transaccion.setFecha(fecha);
+                    transacciones.put(indice, transaccion);
+                } else {
+                    resultados[indice] = transaccionMapper.getTransactionLoteResultadoRechazada(indice, aplicado.getError());
+                }
+            }
 
-                    SaldoUpdateRequest saldoUpdateRequestOrigen = new SaldoUpdateRequest();
-                    saldoUpdateRequestOrigen.setNuevoSaldo(saldoOrigen.getSaldo() - transactionRequest.getMonto());
-                    cuentaFeignClient.updateAccountBalance(transactionRequest.getCuentaOrigen(), saldoUpdateRequestOrigen);
+            if (!transacciones.isEmpty()) {
+                persistenciaTransacciones.guardarTodas(new ArrayList<>(transacciones.values()));
+            }
+            transacciones.forEach((indice, transaccion) ->
+                    resultados[indice] = transaccionMapper.getTransactionLoteResultadoAplicada(indice, transaccion));
+        }
 
-                    SaldoUpdateRequest saldoUpdateRequestDestino = new SaldoUpdateRequest();
-                    saldoUpdateRequestDestino.setNuevoSaldo(saldoDestino.getSaldo() + transactionRequest.getMonto());
-                    cuentaFeignClient.updateAccountBalance(transactionRequest.getCuentaDestino(), saldoUpdateRequestDestino);
+        return transaccionMapper.getTransactionLoteResponseOfResultados(Arrays.asList(resultados));
+    }
 
-                    Transaccion transaccion = transaccionMapper.getTransaccionOfTransaccionRequest(transactionRequest);
-                    transaccion.setFecha(LocalDateTime.now());
-                    transaccionRepository.save(transaccion);
+    @Override
+    public SaldoLibroMayorResponse consultarSaldoLibroMayor(String numeroCuenta, OffsetDateTime fecha) {
+        if (numeroCuenta == null || numeroCuenta.isBlank()) {
+            throw new CustomExceptions.BadRequestException("El número de cuenta es obligatorio");
+        }
 
-                    return transaccionMapper.getTransaccionResponseOfTransaccion(transaccion);
-                })
+        OffsetDateTime fechaCorte = Optional.ofNullable(fecha).orElseGet(() -> OffsetDateTime.now(ZoneOffset.UTC));
+        AjustesCuenta ajustes = consultarAjustes(numeroCuenta, fechaCorte, fechaCorte);
+        long saldo = libroMayor.saldoAl(numeroCuenta, transaccionMapper.mapToEntityFecha(fechaCorte))
+                + Dinero.aCentimos(ajustes.getAjusteInicial())
+                + ajustesDe(ajustes).stream().mapToLong(ajuste -> Dinero.aCentimos(ajuste.getMonto())).sum();
+        return transaccionMapper.getSaldoLibroMayorResponse(numeroCuenta, saldo, fechaCorte);
+    }
+
+    @Override
+    public TotalesCuentaResponse consultarTotalesCuenta(String numeroCuenta, LocalDate desde, LocalDate hasta) {
+        if (numeroCuenta == null || numeroCuenta.isBlank()) {
+            throw new CustomExceptions.BadRequestException("El número de cuenta es obligatorio");
+        }
+
+        LocalDate hastaDia = Optional.ofNullable(hasta).orElseGet(LocalDate::now);
+        LocalDate desdeDia = Optional.ofNullable(desde).orElseGet(() -> hastaDia.withDayOfMonth(1));
+        if (desdeDia.isAfter(hastaDia)) {
+            throw new CustomExceptions.BadRequestException("La fecha inicial no puede ser posterior a la fecha final");
+        }
+
+        return transaccionMapper.getTotalesCuentaResponse(numeroCuenta, desdeDia, hastaDia,
+                resumenesDiarios.totales(numeroCuenta, desdeDia, hastaDia));
+    }
+
+    @Override
+    public EstadoCuenta exportarEstadoCuenta(String numeroCuenta, OffsetDateTime desde, OffsetDateTime hasta, boolean comprimir) {
+        if (numeroCuenta == null || numeroCuenta.isBlank()) {
+            throw new CustomExceptions.BadRequestException("El número de cuenta es obligatorio");
+        }
+
+        OffsetDateTime hastaFecha = Optional.ofNullable(hasta).orElseGet(() -> OffsetDateTime.now(ZoneOffset.UTC));
+        OffsetDateTime desdeFecha = Optional.ofNullable(desde).orElseGet(() -> hastaFecha.withDayOfMonth(1).truncatedTo(ChronoUnit.DAYS));
+        if (!desdeFecha.isBefore(hastaFecha)) {
+            throw new CustomExceptions.BadRequestException("La fecha inicial debe ser anterior a la fecha final");
+        }
+
+        LocalDateTime inicio = transaccionMapper.mapToEntityFecha(desdeFecha);
+        AjustesCuenta ajustes = consultarAjustes(numeroCuenta, desdeFecha, hastaFecha);
+        long saldoInicial = libroMayor.saldoAntesDe(numeroCuenta, inicio) + Dinero.aCentimos(ajustes.getAjusteInicial());
+        List<AjusteSaldo> ajustesDelRango = ajustesDe(ajustes).stream()
+                .filter(ajuste -> ajuste.getFecha().isBefore(hastaFecha))
+                .toList();
+        Stream<MovimientoEstadoCuentaResponse> movimientos = intercalarAjustes(asientoRepository.recorrerMovimientos(
+                numeroCuenta, inicio, transaccionMapper.mapToEntityFecha(hastaFecha), tamanioLoteExportacion),
+                ajustesDelRango, saldoInicial);
+        try {
+            return new EstadoCuenta(saldoInicial, new NdjsonInputStream<>(movimientos, Function.identity(),
+                    objectMapper.writerFor(MovimientoEstadoCuentaResponse.class), comprimir));
+        } catch (IOException e) {
+            movimientos.close();
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // AccountMs registra el saldo inicial y los ajustes manuales de saldo fuera del libro mayor: se suman al saldo y
+    // los ajustes del rango se intercalan por fecha con los asientos para que el saldo corrido cuadre con la cuenta.
+    private Stream<MovimientoEstadoCuentaResponse> intercalarAjustes(Stream<Asiento> asientos, List<AjusteSaldo> ajustes,
+                                                                     long saldoInicial) {
+        Iterator<Asiento> pendientes = asientos.iterator();
+        Iterator<AjusteSaldo> ajustesPendientes = ajustes.iterator();
+        Iterator<MovimientoEstadoCuentaResponse> intercalados = new Iterator<>() {
+            private long saldo = saldoInicial;
+            private Asiento asiento;
+            private AjusteSaldo ajuste;
+
+            @Override
+            public boolean hasNext() {
+                return asiento != null || ajuste != null || pendientes.hasNext() || ajustesPendientes.hasNext();
+            }
+
+            @Override
+            public MovimientoEstadoCuentaResponse next() {
+                if (asiento == null && pendientes.hasNext()) {
+                    asiento = pendientes.next();
+                }
+                if (ajuste == null && ajustesPendientes.hasNext()) {
+                    ajuste = ajustesPendientes.next();
+                }
+                if (ajuste != null && (asiento == null
+                        || transaccionMapper.mapToEntityFecha(ajuste.getFecha()).isBefore(asiento.getFecha()))) {
+                    AjusteSaldo siguiente = ajuste;
+                    ajuste = null;
+                    saldo += Dinero.aCentimos(siguiente.getMonto());
+                    return transaccionMapper.getMovimientoEstadoCuentaResponse(siguiente, saldo);
+                }
+                if (asiento == null) {
+                    throw new NoSuchElementException();
+                }
+                Asiento siguiente = asiento;
+                asiento = null;
+                saldo += siguiente.getMontoCentimos();
+                return transaccionMapper.getMovimientoEstadoCuentaResponse(siguiente, saldo);
+            }
+        };
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(intercalados, Spliterator.ORDERED), false)
+                .onClose(asientos::close);
+    }
+
+    private AjustesCuenta consultarAjustes(String numeroCuenta, OffsetDateTime desde, OffsetDateTime hasta) {
+        return Optional.ofNullable(consultaCuentaCubierta.getAccountAdjustments(numeroCuenta,
+                        desde.withOffsetSameInstant(ZoneOffset.UTC).toString(), hasta.withOffsetSameInstant(ZoneOffset.UTC).toString()))
                 .orElseThrow(() -> new CustomExceptions.ResourceNotFoundException("Cuenta no encontrada"));
     }
+
+    private static List<AjusteSaldo> ajustesDe(AjustesCuenta ajustes) {
+        return Optional.ofNullable(ajustes.getAjustes()).orElse(List.of());
+    }
+
+    private String validarOperacionLote(TransactionRequest transactionRequest) {
+        if (transactionRequest == null || transactionRequest.getTipo() == null) {
+            return "El tipo de la transacción es obligatorio";
+        }
+        if (transactionRequest.getCuentaOrigen() == null || transactionRequest.getCuentaOrigen().isBlank()) {
+            return "La cuenta de origen es obligatoria";
+        }
+        if (transactionRequest.getMonto() == null || transactionRequest.getMonto().signum() <= 0) {
+            return "El monto de la transacción debe ser mayor a 0";
+        }
+        if (!Dinero.esExacto(transactionRequest.getMonto())) {
+            return Dinero.MENSAJE_PRECISION;
+        }
+        if (transactionRequest.getTipo() == TransactionRequest.TipoEnum.TRANSFERENCIA
+                && (transactionRequest.getCuentaDestino() == null || transactionRequest.getCuentaDestino().isBlank())) {
+            return "La cuenta de destino es obligatoria para una transferencia";
+        }
+        return null;
+    }
+
+    private Transaccion guardarTransaccion(TransactionRequest transactionRequest, String referencia) {
+        Transaccion transaccion = transaccionMapper.getTransaccionOfTransaccionRequest(transactionRequest);
+        if (referencia != null) {
+            transaccion.setId(RegistroIdempotencia.transaccionIdDe(referencia));
+        }
+        transaccion.setFecha(LocalDateTime.now());
+        return persistenciaTransacciones.guardar(transaccion);
+    }
+
+    private MovimientoSaldoRequest crearMovimiento(long montoCentimos) {
+        MovimientoSaldoRequest movimientoSaldoRequest = new MovimientoSaldoRequest();
+        movimientoSaldoRequest.setMonto(Dinero.aDecimal(montoCentimos));
+        return movimientoSaldoRequest;
+    }
+
+    private TransferenciaRequest crearTransferencia(TransactionRequest transactionRequest, long montoCentimos) {
+        TransferenciaRequest transferenciaRequest = new TransferenciaRequest();
+        transferenciaRequest.setCuentaOrigen(transactionRequest.getCuentaOrigen());
+        transferenciaRequest.setCuentaDestino(transactionRequest.getCuentaDestino());
+        transferenciaRequest.setMonto(Dinero.aDecimal(montoCentimos));
+        return transferenciaRequest;
+    }
 }
 
 
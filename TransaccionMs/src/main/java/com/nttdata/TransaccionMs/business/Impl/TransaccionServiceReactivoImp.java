@@ -0,0 +1,103 @@
+package com.nttdata.TransaccionMs.business.Impl;
+
+import com.nttdata.TransaccionMs.business.Dinero;
+import com.nttdata.TransaccionMs.business.LibroMayor;
+import com.nttdata.TransaccionMs.business.TransaccionMapper;
+import com.nttdata.TransaccionMs.business.TransaccionServiceReactivo;
+import com.nttdata.TransaccionMs.business.ValidacionTransacciones;
+import com.nttdata.TransaccionMs.clients.CuentaWebClient;
+import com.nttdata.TransaccionMs.dto.MovimientoSaldoRequest;
+import com.nttdata.TransaccionMs.dto.TransferenciaRequest;
+import com.nttdata.TransaccionMs.exception.CustomExceptions;
+import com.nttdata.TransaccionMs.model.TransactionRequest;
+import com.nttdata.TransaccionMs.model.TransactionResponse;
+import com.nttdata.TransaccionMs.model.entity.Asiento;
+import com.nttdata.TransaccionMs.model.entity.Transaccion;
+import com.nttdata.TransaccionMs.repository.AsientoReactivoRepository;
+import com.nttdata.TransaccionMs.repository.ResumenDiarioReactivoRepository;
+import com.nttdata.TransaccionMs.repository.TransaccionReactivaRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Service
+public class TransaccionServiceReactivoImp implements TransaccionServiceReactivo {
+
+    @Autowired
+    private TransaccionReactivaRepository transaccionReactivaRepository;
+
+    @Autowired
+    private AsientoReactivoRepository asientoReactivoRepository;
+
+    @Autowired
+    private ResumenDiarioReactivoRepository resumenDiarioReactivoRepository;
+
+    @Autowired
+    private CuentaWebClient cuentaWebClient;
+
+    @Autowired
+    private TransaccionMapper transaccionMapper;
+
+    @Override
+    public Mono<TransactionResponse> registrarDeposito(TransactionRequest transactionRequest) {
+        return Mono.defer(() -> {
+                    long monto = ValidacionTransacciones.validarMonto(transactionRequest);
+                    return cuentaWebClient.applyBalanceMovement(transactionRequest.getCuentaOrigen(),
+                            crearMovimiento(monto));
+                })
+                .switchIfEmpty(Mono.error(() -> new CustomExceptions.ResourceNotFoundException("Cuenta no encontrada")))
+                .flatMap(saldo -> guardarTransaccion(transactionRequest));
+    }
+
+    @Override
+    public Mono<TransactionResponse> registrarRetiro(TransactionRequest transactionRequest) {
+        return Mono.defer(() -> {
+                    long monto = ValidacionTransacciones.validarMonto(transactionRequest);
+                    return cuentaWebClient.applyBalanceMovement(transactionRequest.getCuentaOrigen(),
+                            crearMovimiento(-monto));
+                })
+                .switchIfEmpty(Mono.error(() -> new CustomExceptions.ResourceNotFoundException("Cuenta no encontrada")))
+                .flatMap(saldo -> guardarTransaccion(transactionRequest));
+    }
+
+    @Override
+    public Mono<TransactionResponse> registrarTransferencia(TransactionRequest transactionRequest) {
+        return Mono.defer(() -> {
+                    long monto = ValidacionTransacciones.validarMonto(transactionRequest);
+                    ValidacionTransacciones.validarDestino(transactionRequest);
+                    return cuentaWebClient.transferBetweenAccounts(crearTransferencia(transactionRequest, monto));
+                })
+                .switchIfEmpty(Mono.error(() -> new CustomExceptions.ResourceNotFoundException("Cuenta no encontrada")))
+                .flatMap(saldos -> guardarTransaccion(transactionRequest));
+    }
+
+    private Mono<TransactionResponse> guardarTransaccion(TransactionRequest transactionRequest) {
+        Transaccion transaccion = transaccionMapper.getTransaccionOfTransaccionRequest(transactionRequest);
+        transaccion.setFecha(LocalDateTime.now());
+        return transaccionReactivaRepository.save(transaccion)
+                .flatMap(guardada -> {
+                    List<Asiento> asientos = LibroMayor.asientosDe(guardada);
+                    return asientoReactivoRepository.saveAll(asientos)
+                            .then(resumenDiarioReactivoRepository.acumular(LibroMayor.deClientes(asientos)))
+                            .thenReturn(guardada);
+                })
+                .map(transaccionMapper::getTransaccionResponseOfTransaccion);
+    }
+
+    private MovimientoSaldoRequest crearMovimiento(long montoCentimos) {
+        MovimientoSaldoRequest movimientoSaldoRequest = new MovimientoSaldoRequest();
+        movimientoSaldoRequest.setMonto(Dinero.aDecimal(montoCentimos));
+        return movimientoSaldoRequest;
+    }
+
+    private TransferenciaRequest crearTransferencia(TransactionRequest transactionRequest, long montoCentimos) {
+        TransferenciaRequest transferenciaRequest = new TransferenciaRequest();
+        transferenciaRequest.setCuentaOrigen(transactionRequest.getCuentaOrigen());
+        transferenciaRequest.setCuentaDestino(transactionRequest.getCuentaDestino());
+        transferenciaRequest.setMonto(Dinero.aDecimal(montoCentimos));
+        return transferenciaRequest;
+    }
+}
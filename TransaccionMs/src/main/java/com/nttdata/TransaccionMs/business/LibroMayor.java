@@ -0,0 +1,276 @@
+package com.nttdata.TransaccionMs.business;
+
+import com.nttdata.TransaccionMs.dto.FiltroHistorial;
+import com.nttdata.TransaccionMs.dto.MovimientoNetoCuenta;
+import com.nttdata.TransaccionMs.model.entity.Asiento;
+import com.nttdata.TransaccionMs.model.entity.Concesion;
+import com.nttdata.TransaccionMs.model.entity.CorteSaldo;
+import com.nttdata.TransaccionMs.model.entity.Transaccion;
+import com.nttdata.TransaccionMs.repository.AsientoRepository;
+import com.nttdata.TransaccionMs.repository.ConcesionRepository;
+import com.nttdata.TransaccionMs.repository.CorteSaldoRepository;
+import com.nttdata.TransaccionMs.repository.ResumenDiarioRepository;
+import com.nttdata.TransaccionMs.repository.TransaccionRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+@Slf4j
+@Component
+public class LibroMayor {
+
+    public static final String CUENTA_CAJA = "CAJA";
+    private static final String CONCESION_CORTES = "cortes-saldo";
+
+    @Autowired
+    AsientoRepository asientoRepository;
+
+    @Autowired
+    CorteSaldoRepository corteSaldoRepository;
+
+    @Autowired
+    ResumenDiarioRepository resumenDiarioRepository;
+
+    @Autowired
+    TransaccionRepository transaccionRepository;
+
+    @Autowired
+    ConcesionRepository concesionRepository;
+
+    @Value("${transacciones.libro-mayor.cortes.margen:5m}")
+    Duration margen;
+
+    @Value("${transacciones.libro-mayor.cortes.tamanio-lote:1000}")
+    int tamanioLote;
+
+    @Value("${transacciones.libro-mayor.cortes.concesion:15m}")
+    Duration concesion;
+
+    public static List<Asiento> asientosDe(Transaccion transaccion) {
+        long monto = transaccion.getMontoCentimos();
+        return switch (transaccion.getTipo()) {
+            case DEPOSITO -> List.of(
+                    crearAsiento(transaccion, 0, transaccion.getCuentaOrigen(), monto),
+                    crearAsiento(transaccion, 1, CUENTA_CAJA, -monto));
+            case RETIRO -> List.of(
+                    crearAsiento(transaccion, 0, transaccion.getCuentaOrigen(), -monto),
+                    crearAsiento(transaccion, 1, CUENTA_CAJA, monto));
+            case TRANSFERENCIA -> List.of(
+                    crearAsiento(transaccion, 0, transaccion.getCuentaOrigen(), -monto),
+                    crearAsiento(transaccion, 1, transaccion.getCuentaDestino(), monto));
+        };
+    }
+
+    public static List<Asiento> deClientes(List<Asiento> asientos) {
+        return asientos.stream()
+                .filter(asiento -> !CUENTA_CAJA.equals(asiento.getCuenta()))
+                .toList();
+    }
+
+    public void registrar(List<Transaccion> transacciones) {
+        List<Asiento> nuevos = asientoRepository.insertarLote(transacciones.stream()
+                .flatMap(transaccion -> asientosDe(transaccion).stream())
+                .toList());
+        resumenDiarioRepository.acumular(deClientes(nuevos));
+
+        // La escritura diferida y la reparación registran asientos con fecha anterior a cortes ya generados.
+        LocalDateTime limite = LocalDateTime.now().minus(margen);
+        invalidarCortes(nuevos.stream()
+                .filter(asiento -> !asiento.getFecha().isAfter(limite))
+                .toList());
+    }
+
+    public long saldoAl(String cuenta, LocalDateTime fecha) {
+        return corteSaldoRepository.findFirstByCuentaAndHastaLessThanEqualOrderByHastaDesc(cuenta, fecha)
+                .map(corte -> corte.getSaldoCentimos() + asientoRepository.sumarMovimientos(cuenta, corte.getHasta(), fecha))
+                .orElseGet(() -> asientoRepository.sumarMovimientos(cuenta, null, fecha));
+    }
+
+    // Mongo guarda las fechas con precisión de milisegundos: el último instante anterior a la fecha es un milisegundo antes.
+    public long saldoAntesDe(String cuenta, LocalDateTime fecha) {
+        return saldoAl(cuenta, fecha.truncatedTo(ChronoUnit.MILLIS).minus(1, ChronoUnit.MILLIS));
+    }
+
+    @Scheduled(initialDelayString = "${transacciones.libro-mayor.cortes.retraso-inicial-ms:60000}",
+            fixedDelayString = "${transacciones.libro-mayor.cortes.intervalo-ms:3600000}")
+    public void generarCortes() {
+        // Una sola instancia genera e invalida cortes a la vez; la concesión vence sola si la instancia cae.
+        LocalDateTime ahora = LocalDateTime.now();
+        Concesion concesionCortes = new Concesion(CONCESION_CORTES, UUID.randomUUID().toString(), ahora.plus(concesion));
+        if (!concesionRepository.adquirir(concesionCortes, ahora)) {
+            log.info("Otra instancia está generando los cortes de saldo");
+            return;
+        }
+
+        try {
+            cortar(concesionCortes);
+        } catch (ConcesionPerdida e) {
+            log.warn("Otra instancia tomó la generación de cortes de saldo; se abandona esta ejecución");
+        } finally {
+            concesionRepository.liberar(concesionCortes);
+        }
+    }
+
+    private void cortar(Concesion concesionCortes) {
+        LocalDateTime hasta = LocalDateTime.now().minus(margen);
+        LocalDateTime corteAnterior = corteSaldoRepository.findFirstByOrderByHastaDesc()
+                .map(CorteSaldo::getHasta)
+                .orElse(null);
+        if (corteAnterior != null && !hasta.isAfter(corteAnterior)) {
+            return;
+        }
+
+        repararAsientos(corteAnterior, hasta, concesionCortes);
+        renovarConcesion(concesionCortes);
+        int cortes = corteAnterior == null ? 0 : recalcularCortesTardios(corteAnterior, hasta);
+        try (Stream<MovimientoNetoCuenta> movimientos = asientoRepository.sumarMovimientosPorCuenta(corteAnterior, hasta)) {
+            Iterator<MovimientoNetoCuenta> iterador = movimientos.iterator();
+            List<MovimientoNetoCuenta> lote = new ArrayList<>(tamanioLote);
+            while (iterador.hasNext()) {
+                lote.add(iterador.next());
+                if (lote.size() == tamanioLote || !iterador.hasNext()) {
+                    renovarConcesion(concesionCortes);
+                    cortes += cortarLote(lote, corteAnterior, hasta);
+                    lote.clear();
+                }
+            }
+        }
+        // Un asiento registrado mientras se sumaban los movimientos puede haber quedado fuera de los cortes recién creados.
+        renovarConcesion(concesionCortes);
+        invalidarCortes(asientoRepository.buscarRegistradosDesde(hasta, hasta));
+
+        if (cortes > 0) {
+            log.info("Se generaron {} cortes de saldo al {}", cortes, hasta);
+        }
+    }
+
+    // Una transacción guardada sin sus asientos (caída entre ambas escrituras) se asienta antes de cortar su ventana.
+    private void repararAsientos(LocalDateTime corteAnterior, LocalDateTime hasta, Concesion concesionCortes) {
+        FiltroHistorial ventana = FiltroHistorial.builder().desde(corteAnterior).hasta(hasta).build();
+        int reparadas = 0;
+        try (Stream<Transaccion> transacciones = transaccionRepository.recorrerHistorial(ventana, tamanioLote)) {
+            Iterator<Transaccion> iterador = transacciones.iterator();
+            List<Transaccion> lote = new ArrayList<>(tamanioLote);
+            while (iterador.hasNext()) {
+                lote.add(iterador.next());
+                if (lote.size() == tamanioLote || !iterador.hasNext()) {
+                    renovarConcesion(concesionCortes);
+                    reparadas += repararLote(lote);
+                    lote.clear();
+                }
+            }
+        }
+
+        if (reparadas > 0) {
+            log.warn("Se registraron los asientos faltantes de {} transacciones", reparadas);
+        }
+    }
+
+    private int repararLote(List<Transaccion> lote) {
+        Map<String, List<String>> esperados = lote.stream()
+                .collect(Collectors.toMap(Transaccion::getId,
+                        transaccion -> asientosDe(transaccion).stream().map(Asiento::getId).toList()));
+        Set<String> existentes = asientoRepository.buscarIdsExistentes(esperados.values().stream()
+                .flatMap(List::stream)
+                .toList());
+
+        List<Transaccion> incompletas = lote.stream()
+                .filter(transaccion -> !existentes.containsAll(esperados.get(transaccion.getId())))
+                .toList();
+        if (!incompletas.isEmpty()) {
+            registrar(incompletas);
+        }
+        return incompletas.size();
+    }
+
+    // Los cortes invalidados por asientos tardíos desde la ejecución anterior se recalculan desde el corte que sobrevive.
+    private int recalcularCortesTardios(LocalDateTime corteAnterior, LocalDateTime hasta) {
+        List<Asiento> tardios = asientoRepository.buscarRegistradosDesde(corteAnterior, corteAnterior);
+        if (tardios.isEmpty()) {
+            return 0;
+        }
+        invalidarCortes(tardios);
+
+        List<CorteSaldo> cortes = tardios.stream()
+                .map(Asiento::getCuenta)
+                .distinct()
+                .map(cuenta -> new CorteSaldo(null, cuenta, saldoAl(cuenta, hasta), hasta))
+                .toList();
+        corteSaldoRepository.insertarLote(cortes);
+        return cortes.size();
+    }
+
+    private void invalidarCortes(List<Asiento> asientos) {
+        Map<String, LocalDateTime> desde = asientos.stream()
+                .collect(Collectors.toMap(Asiento::getCuenta, Asiento::getFecha,
+                        (primera, segunda) -> primera.isBefore(segunda) ? primera : segunda));
+        if (desde.isEmpty()) {
+            return;
+        }
+
+        long invalidados = corteSaldoRepository.invalidarDesde(desde);
+        if (invalidados > 0) {
+            log.info("Se invalidaron {} cortes de saldo por {} asientos tardíos", invalidados, asientos.size());
+        }
+    }
+
+    private int cortarLote(List<MovimientoNetoCuenta> lote, LocalDateTime corteAnterior, LocalDateTime hasta) {
+        Map<String, CorteSaldo> anteriores = corteAnterior == null ? Map.of()
+                : corteSaldoRepository.buscarUltimosCortes(lote.stream().map(MovimientoNetoCuenta::getCuenta).toList(), corteAnterior)
+                .stream()
+                .collect(Collectors.toMap(CorteSaldo::getCuenta, Function.identity()));
+
+        List<CorteSaldo> cortes = lote.stream()
+                .map(movimiento -> new CorteSaldo(null, movimiento.getCuenta(),
+                        saldoHasta(movimiento, anteriores.get(movimiento.getCuenta()), corteAnterior, hasta), hasta))
+                .toList();
+        corteSaldoRepository.insertarLote(cortes);
+        return cortes.size();
+    }
+
+    private long saldoHasta(MovimientoNetoCuenta movimiento, CorteSaldo anterior, LocalDateTime corteAnterior,
+                            LocalDateTime hasta) {
+        if (corteAnterior == null) {
+            return movimiento.getMontoCentimos();
+        }
+        // Una cuenta sin corte en la última ejecución (cuenta nueva o ejecución interrumpida) se recalcula desde su propio corte.
+        if (anterior == null || anterior.getHasta().isBefore(corteAnterior)) {
+            return saldoAl(movimiento.getCuenta(), hasta);
+        }
+        return anterior.getSaldoCentimos() + movimiento.getMontoCentimos();
+    }
+
+    private void renovarConcesion(Concesion concesionCortes) {
+        LocalDateTime ahora = LocalDateTime.now();
+        if (ahora.isBefore(concesionCortes.getVigenteHasta().minus(concesion.multipliedBy(2).dividedBy(3)))) {
+            return;
+        }
+        concesionCortes.setVigenteHasta(ahora.plus(concesion));
+        if (!concesionRepository.renovar(concesionCortes)) {
+            throw new ConcesionPerdida();
+        }
+    }
+
+    private static Asiento crearAsiento(Transaccion transaccion, int indice, String cuenta, long montoCentimos) {
+        return new Asiento(transaccion.getId() + "-" + indice, transaccion.getId(), cuenta, montoCentimos,
+                transaccion.getTipo(), transaccion.getFecha(), LocalDateTime.now());
+    }
+
+    private static class ConcesionPerdida extends RuntimeException {
+    }
+}
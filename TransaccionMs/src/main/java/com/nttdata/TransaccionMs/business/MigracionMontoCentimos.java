@@ -0,0 +1,39 @@
+package com.nttdata.TransaccionMs.business;
+
+import com.nttdata.TransaccionMs.model.entity.Transaccion;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.AggregationUpdate;
+import org.springframework.data.mongodb.core.aggregation.ArithmeticOperators;
+import org.springframework.data.mongodb.core.aggregation.ConvertOperators;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+public class MigracionMontoCentimos implements SmartInitializingSingleton {
+
+    private static final String CAMPO_LEGADO = "monto";
+    private static final String CAMPO_CENTIMOS = "montoCentimos";
+
+    @Autowired
+    MongoTemplate mongoTemplate;
+
+    // Corre al terminar de crear los singletons, antes de que arranque el servidor web: ninguna lectura ve montoCentimos sin migrar.
+    @Override
+    public void afterSingletonsInstantiated() {
+        AggregationUpdate conversion = AggregationUpdate.update()
+                .set(CAMPO_CENTIMOS).toValue(ConvertOperators.ToLong.toLong(ArithmeticOperators.Round.roundValueOf(
+                        ArithmeticOperators.Multiply.valueOf(CAMPO_LEGADO).multiplyBy(100))))
+                .unset(CAMPO_LEGADO);
+
+        long migradas = mongoTemplate.updateMulti(Query.query(Criteria.where(CAMPO_LEGADO).exists(true)),
+                conversion, Transaccion.class).getModifiedCount();
+        if (migradas > 0) {
+            log.info("Se migraron {} montos de transacciones a céntimos", migradas);
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.nttdata.TransaccionMs.business;
+
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+public class NdjsonInputStream<T> extends InputStream {
+
+    private static final int TAMANIO_BLOQUE = 8 * 1024;
+
+    private final Stream<T> origen;
+    private final Iterator<T> elementos;
+    private final Function<T, ?> conversor;
+    private final ObjectWriter writer;
+    private final ByteArrayOutputStream bloque = new ByteArrayOutputStream(TAMANIO_BLOQUE);
+    private final OutputStream salida;
+
+    private byte[] pendiente = new byte[0];
+    private int posicion;
+    private boolean finalizado;
+
+    public NdjsonInputStream(Stream<T> origen, Function<T, ?> conversor, ObjectWriter writer, boolean comprimir) throws IOException {
+        this.origen = origen;
+        this.elementos = origen.iterator();
+        this.conversor = conversor;
+        this.writer = writer;
+        this.salida = comprimir ? new GZIPOutputStream(bloque, TAMANIO_BLOQUE) : bloque;
+    }
+
+    @Override
+    public int read() throws IOException {
+        return rellenar() ? pendiente[posicion++] & 0xff : -1;
+    }
+
+    @Override
+    public int read(byte[] destino, int desde, int longitud) throws IOException {
+        if (longitud == 0) {
+            return 0;
+        }
+        if (!rellenar()) {
+            return -1;
+        }
+        int leidos = Math.min(longitud, pendiente.length - posicion);
+        System.arraycopy(pendiente, posicion, destino, desde, leidos);
+        posicion += leidos;
+        return leidos;
+    }
+
+    @Override
+    public void close() {
+        origen.close();
+    }
+
+    private boolean rellenar() throws IOException {
+        while (posicion >= pendiente.length) {
+            if (finalizado) {
+                return false;
+            }
+            while (bloque.size() < TAMANIO_BLOQUE && elementos.hasNext()) {
+                salida.write(writer.writeValueAsBytes(conversor.apply(elementos.next())));
+                salida.write('\n');
+            }
+            if (!elementos.hasNext()) {
+                salida.close();
+                finalizado = true;
+            }
+            pendiente = bloque.toByteArray();
+            posicion = 0;
+            bloque.reset();
+        }
+        return true;
+    }
+}
@@ -0,0 +1,12 @@
+package com.nttdata.TransaccionMs.business;
+
+import com.nttdata.TransaccionMs.model.entity.Transaccion;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface PersistenciaTransacciones {
+    Transaccion guardar(Transaccion transaccion);
+    List<Transaccion> guardarTodas(List<Transaccion> transacciones);
+    Optional<Transaccion> buscar(String id);
+}
@@ -0,0 +1,186 @@
+package com.nttdata.TransaccionMs.business;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.nttdata.TransaccionMs.exception.CustomExceptions;
+import com.nttdata.TransaccionMs.model.TransactionRequest;
+import com.nttdata.TransaccionMs.model.TransactionResponse;
+import com.nttdata.TransaccionMs.model.entity.EstadoSolicitudEnum;
+import com.nttdata.TransaccionMs.model.entity.SolicitudIdempotente;
+import com.nttdata.TransaccionMs.model.entity.Transaccion;
+import com.nttdata.TransaccionMs.repository.SolicitudIdempotenteRepository;
+import feign.FeignException;
+import jakarta.annotation.PostConstruct;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.UUID;
+import java.util.function.Function;
+
+@Component
+public class RegistroIdempotencia {
+
+    private static final int LONGITUD_MAXIMA_CLAVE = 128;
+
+    @Autowired
+    SolicitudIdempotenteRepository solicitudIdempotenteRepository;
+
+    @Autowired
+    PersistenciaTransacciones persistenciaTransacciones;
+
+    @Autowired
+    TransaccionMapper transaccionMapper;
+
+    @Value("${transacciones.idempotencia.retencion:24h}")
+    Duration retencion;
+
+    @Value("${transacciones.idempotencia.tiempo-proceso:60s}")
+    Duration tiempoProceso;
+
+    @Value("${transacciones.idempotencia.cache.maximo:100000}")
+    long maximoCache;
+
+    @Value("${transacciones.idempotencia.cache.expiracion:10m}")
+    Duration expiracionCache;
+
+    private Cache<String, ResultadoIdempotente> resultados;
+
+    @PostConstruct
+    void inicializar() {
+        resultados = Caffeine.newBuilder()
+                .maximumSize(maximoCache)
+                .expireAfterWrite(expiracionCache)
+                .build();
+    }
+
+    public TransactionResponse ejecutar(String clave, String operacion, TransactionRequest solicitud,
+                                        Function<String, Transaccion> registro) {
+        if (clave == null || clave.isBlank()) {
+            return transaccionMapper.getTransaccionResponseOfTransaccion(registro.apply(null));
+        }
+        if (clave.length() > LONGITUD_MAXIMA_CLAVE) {
+            throw new CustomExceptions.BadRequestException("La clave de idempotencia no puede superar los "
+                    + LONGITUD_MAXIMA_CLAVE + " caracteres");
+        }
+
+        String huella = calcularHuella(operacion, solicitud);
+        ResultadoIdempotente previo = resultados.getIfPresent(clave);
+        if (previo != null) {
+            return previo.respuestaPara(huella);
+        }
+
+        Instant ahora = Instant.now();
+        SolicitudIdempotente reserva = new SolicitudIdempotente(clave, huella, EstadoSolicitudEnum.EN_PROCESO,
+                UUID.randomUUID().toString(), null, ahora.plus(tiempoProceso), ahora.plus(retencion));
+        while (!reservar(reserva)) {
+            SolicitudIdempotente existente = solicitudIdempotenteRepository.findById(clave).orElse(null);
+            if (existente == null) {
+                continue;
+            }
+            if (!existente.getHuella().equals(huella)) {
+                throw new CustomExceptions.ConflictException("La clave de idempotencia ya fue usada con otra solicitud");
+            }
+            if (existente.getEstado() == EstadoSolicitudEnum.COMPLETADA) {
+                return reproducir(clave, huella, existente);
+            }
+            if (retomar(existente)) {
+                reserva = existente;
+                break;
+            }
+        }
+
+        Transaccion transaccion;
+        try {
+            transaccion = registro.apply(reserva.getReferencia());
+        } catch (CustomExceptions.BadRequestException | CustomExceptions.ResourceNotFoundException
+                 | CustomExceptions.ConflictException | FeignException.FeignClientException e) {
+            solicitudIdempotenteRepository.deleteById(clave);
+            throw e;
+        } catch (RuntimeException e) {
+            reserva.setEstado(EstadoSolicitudEnum.DESCONOCIDO);
+            solicitudIdempotenteRepository.save(reserva);
+            throw e;
+        }
+
+        reserva.setEstado(EstadoSolicitudEnum.COMPLETADA);
+        reserva.setTransaccionId(transaccion.getId());
+        reserva.setExpiraEn(Instant.now().plus(retencion));
+        solicitudIdempotenteRepository.save(reserva);
+
+        TransactionResponse respuesta = transaccionMapper.getTransaccionResponseOfTransaccion(transaccion);
+        resultados.put(clave, new ResultadoIdempotente(huella, respuesta));
+        return respuesta;
+    }
+
+    // La transacción, y con ella sus asientos, toma un id derivado de la referencia: un reintento sobrescribe en vez de duplicar.
+    public static String transaccionIdDe(String referencia) {
+        return new ObjectId(Arrays.copyOf(resumir(referencia), 12)).toHexString();
+    }
+
+    private boolean reservar(SolicitudIdempotente reserva) {
+        try {
+            solicitudIdempotenteRepository.insert(reserva);
+            return true;
+        } catch (DuplicateKeyException e) {
+            return false;
+        }
+    }
+
+    private boolean retomar(SolicitudIdempotente existente) {
+        Instant ahora = Instant.now();
+        if (existente.getEstado() == EstadoSolicitudEnum.EN_PROCESO && existente.getLimiteProceso().isAfter(ahora)) {
+            throw new CustomExceptions.ConflictException("La solicitud original con esta clave de idempotencia aún está en proceso");
+        }
+
+        Instant limiteProceso = ahora.plus(tiempoProceso);
+        if (!solicitudIdempotenteRepository.retomar(existente, limiteProceso)) {
+            return false;
+        }
+        existente.setEstado(EstadoSolicitudEnum.EN_PROCESO);
+        existente.setLimiteProceso(limiteProceso);
+        return true;
+    }
+
+    private TransactionResponse reproducir(String clave, String huella, SolicitudIdempotente existente) {
+        TransactionResponse respuesta = persistenciaTransacciones.buscar(existente.getTransaccionId())
+                .map(transaccionMapper::getTransaccionResponseOfTransaccion)
+                .orElseThrow(() -> new CustomExceptions.ResourceNotFoundException("Transacción no encontrada"));
+        resultados.put(clave, new ResultadoIdempotente(huella, respuesta));
+        return respuesta;
+    }
+
+    private String calcularHuella(String operacion, TransactionRequest solicitud) {
+        String contenido = String.join("|", operacion, String.valueOf(solicitud.getTipo()),
+                String.valueOf(solicitud.getCuentaOrigen()), String.valueOf(solicitud.getCuentaDestino()),
+                solicitud.getMonto() == null ? null : solicitud.getMonto().stripTrailingZeros().toPlainString());
+        return HexFormat.of().formatHex(resumir(contenido));
+    }
+
+    private static byte[] resumir(String contenido) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(contenido.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private record ResultadoIdempotente(String huella, TransactionResponse respuesta) {
+
+        TransactionResponse respuestaPara(String huellaSolicitud) {
+            if (!huella.equals(huellaSolicitud)) {
+                throw new CustomExceptions.ConflictException("La clave de idempotencia ya fue usada con otra solicitud");
+            }
+            return respuesta;
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.nttdata.TransaccionMs.business;
+
+import com.nttdata.TransaccionMs.dto.TotalAsientos;
+import com.nttdata.TransaccionMs.model.entity.ResumenDiario;
+import com.nttdata.TransaccionMs.model.entity.TipoTransaccionEnum;
+import com.nttdata.TransaccionMs.model.entity.TotalTipoTransaccion;
+import com.nttdata.TransaccionMs.repository.AsientoRepository;
+import com.nttdata.TransaccionMs.repository.ResumenDiarioRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+@Slf4j
+@Component
+public class ResumenesDiarios {
+
+    @Autowired
+    ResumenDiarioRepository resumenDiarioRepository;
+
+    @Autowired
+    AsientoRepository asientoRepository;
+
+    @Value("${transacciones.resumenes.tamanio-lote:1000}")
+    int tamanioLote;
+
+    public Map<TipoTransaccionEnum, TotalTipoTransaccion> totales(String cuenta, LocalDate desde, LocalDate hasta) {
+        Map<TipoTransaccionEnum, TotalTipoTransaccion> totales = new EnumMap<>(TipoTransaccionEnum.class);
+        LocalDate hoy = LocalDate.now();
+
+        LocalDate finResumenes = hasta.isBefore(hoy) ? hasta.plusDays(1) : hoy;
+        if (desde.isBefore(finResumenes)) {
+            resumenDiarioRepository.buscarPorCuentaYDias(cuenta, desde, finResumenes)
+                    .forEach(resumen -> resumen.getTotales()
+                            .forEach((tipo, total) -> acumular(totales, TipoTransaccionEnum.valueOf(tipo), total)));
+        }
+
+        // El día en curso se lee de los asientos: su resumen se recalcula recién al cerrar el día.
+        if (!hasta.isBefore(hoy)) {
+            LocalDate inicioCola = desde.isAfter(hoy) ? desde : hoy;
+            asientoRepository.sumarPorTipo(cuenta, inicioCola.atStartOfDay(), hasta.plusDays(1).atStartOfDay())
+                    .forEach(total -> acumular(totales, total.getTipo(), new TotalTipoTransaccion(total.getCantidad(),
+                            total.getCreditoCentimos(), total.getDebitoCentimos())));
+        }
+
+        return totales;
+    }
+
+    @Scheduled(cron = "${transacciones.resumenes.cron:0 30 0 * * *}")
+    public void recalcularDiaAnterior() {
+        recalcular(LocalDate.now().minusDays(1));
+    }
+
+    public void recalcular(LocalDate dia) {
+        int recalculados = 0;
+        try (Stream<TotalAsientos> totales = asientoRepository.sumarPorCuentaYTipo(dia.atStartOfDay(),
+                dia.plusDays(1).atStartOfDay(), LibroMayor.CUENTA_CAJA)) {
+            Iterator<TotalAsientos> iterador = totales.iterator();
+            List<ResumenDiario> lote = new ArrayList<>(tamanioLote);
+            ResumenDiario actual = null;
+            while (iterador.hasNext()) {
+                TotalAsientos total = iterador.next();
+                if (actual == null || !actual.getCuenta().equals(total.getCuenta())) {
+                    if (lote.size() == tamanioLote) {
+                        resumenDiarioRepository.reemplazarLote(lote);
+                        recalculados += lote.size();
+                        lote = new ArrayList<>(tamanioLote);
+                    }
+                    actual = new ResumenDiario(ResumenDiario.idDe(total.getCuenta(), dia), total.getCuenta(), dia, new HashMap<>());
+                    lote.add(actual);
+                }
+                actual.getTotales().put(total.getTipo().name(), new TotalTipoTransaccion(total.getCantidad(),
+                        total.getCreditoCentimos(), total.getDebitoCentimos()));
+            }
+            resumenDiarioRepository.reemplazarLote(lote);
+            recalculados += lote.size();
+        }
+
+        log.info("Se recalcularon {} resúmenes diarios del {}", recalculados, dia);
+    }
+
+    private static void acumular(Map<TipoTransaccionEnum, TotalTipoTransaccion> totales, TipoTransaccionEnum tipo,
+                                 TotalTipoTransaccion total) {
+        TotalTipoTransaccion acumulado = totales.computeIfAbsent(tipo, clave -> new TotalTipoTransaccion());
+        acumulado.setCantidad(acumulado.getCantidad() + total.getCantidad());
+        acumulado.setCreditoCentimos(acumulado.getCreditoCentimos() + total.getCreditoCentimos());
+        acumulado.setDebitoCentimos(acumulado.getDebitoCentimos() + total.getDebitoCentimos());
+    }
+}
@@ -1,13 +1,30 @@
 package com.nttdata.TransaccionMs.business;
 
+import com.nttdata.TransaccionMs.dto.AjusteSaldo;
+import com.nttdata.TransaccionMs.dto.FiltroHistorial;
+import com.nttdata.TransaccionMs.dto.MovimientoLoteItem;
+import com.nttdata.TransaccionMs.model.MovimientoEstadoCuentaResponse;
+import com.nttdata.TransaccionMs.model.SaldoLibroMayorResponse;
+import com.nttdata.TransaccionMs.model.TotalTipoResponse;
+import com.nttdata.TransaccionMs.model.TotalesCuentaResponse;
+import com.nttdata.TransaccionMs.model.TransactionLoteResponse;
+import com.nttdata.TransaccionMs.model.TransactionLoteResultado;
+import com.nttdata.TransaccionMs.model.TransactionPage;
 import com.nttdata.TransaccionMs.model.TransactionRequest;
 import com.nttdata.TransaccionMs.model.TransactionResponse;
+import com.nttdata.TransaccionMs.model.entity.Asiento;
 import com.nttdata.TransaccionMs.model.entity.TipoTransaccionEnum;
+import com.nttdata.TransaccionMs.model.entity.TotalTipoTransaccion;
 import com.nttdata.TransaccionMs.model.entity.Transaccion;
 import org.springframework.stereotype.Component;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.OffsetDateTime;
 import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 @Component
 public class TransaccionMapper {
@@ -15,7 +32,7 @@ public class TransaccionMapper {
     public Transaccion getTransaccionOfTransaccionRequest(TransactionRequest request){
         Transaccion entity = new Transaccion();
         entity.setTipo(mapToEntityTipoTransaccion(request.getTipo()));
-        entity.setMonto(request.getMonto());
+        entity.setMontoCentimos(Dinero.aCentimos(request.getMonto()));
         entity.setCuentaOrigen(request.getCuentaOrigen());
         entity.setCuentaDestino(request.getCuentaDestino());
 
@@ -29,7 +46,7 @@ public class TransaccionMapper {
     public TransactionResponse getTransaccionResponseOfTransaccion(Transaccion entity) {
         TransactionResponse transactionResponse = new TransactionResponse();
         transactionResponse.setTipo(mapToResponseTipoTransaccion(entity.getTipo()));
-        transactionResponse.setMonto(entity.getMonto());
+        transactionResponse.setMonto(Dinero.aDecimal(entity.getMontoCentimos()));
         OffsetDateTime offsetDateTime = entity.getFecha().atOffset(ZoneOffset.UTC);
         transactionResponse.setFecha(offsetDateTime);
         transactionResponse.setCuentaOrigen(entity.getCuentaOrigen());
@@ -41,4 +58,117 @@ public class TransaccionMapper {
     public TransactionResponse.TipoEnum mapToResponseTipoTransaccion(TipoTransaccionEnum tipoTransaccionEntity) {
         return TransactionResponse.TipoEnum.valueOf(tipoTransaccionEntity.name());
     }
+
+    public TransactionPage getTransactionPageOfTransacciones(List<Transaccion> transacciones, String siguienteCursor) {
+        TransactionPage transactionPage = new TransactionPage();
+        transactionPage.setTransacciones(transacciones.stream()
+                .map(this::getTransaccionResponseOfTransaccion)
+                .collect(Collectors.toList()));
+        transactionPage.setSiguienteCursor(siguienteCursor);
+        return transactionPage;
+    }
+
+    public FiltroHistorial getFiltroHistorial(String cuentaOrigen, String cuentaDestino, String tipo,
+                                              OffsetDateTime desde, OffsetDateTime hasta) {
+        return FiltroHistorial.builder()
+                .cuentaOrigen(cuentaOrigen)
+                .cuentaDestino(cuentaDestino)
+                .tipo(mapToEntityTipoTransaccion(tipo))
+                .desde(mapToEntityFecha(desde))
+                .hasta(mapToEntityFecha(hasta))
+                .build();
+    }
+
+    public TipoTransaccionEnum mapToEntityTipoTransaccion(String tipo) {
+        return tipo == null ? null : TipoTransaccionEnum.valueOf(tipo);
+    }
+
+    public LocalDateTime mapToEntityFecha(OffsetDateTime fecha) {
+        return fecha == null ? null : fecha.withOffsetSameInstant(ZoneOffset.UTC).toLocalDateTime();
+    }
+
+    public MovimientoLoteItem getMovimientoLoteItemOfTransaccionRequest(TransactionRequest request) {
+        return switch (request.getTipo()) {
+            case DEPOSITO -> new MovimientoLoteItem(request.getCuentaOrigen(), null, request.getMonto());
+            case RETIRO -> new MovimientoLoteItem(request.getCuentaOrigen(), null, request.getMonto().negate());
+            case TRANSFERENCIA -> new MovimientoLoteItem(request.getCuentaOrigen(), request.getCuentaDestino(), request.getMonto());
+        };
+    }
+
+    public TransactionLoteResultado getTransactionLoteResultadoAplicada(int indice, Transaccion entity) {
+        TransactionLoteResultado resultado = new TransactionLoteResultado();
+        resultado.setIndice(indice);
+        resultado.setEstado(TransactionLoteResultado.EstadoEnum.APLICADA);
+        resultado.setTransaccion(getTransaccionResponseOfTransaccion(entity));
+        return resultado;
+    }
+
+    public TransactionLoteResultado getTransactionLoteResultadoRechazada(int indice, String error) {
+        TransactionLoteResultado resultado = new TransactionLoteResultado();
+        resultado.setIndice(indice);
+        resultado.setEstado(TransactionLoteResultado.EstadoEnum.RECHAZADA);
+        resultado.setError(error);
+        return resultado;
+    }
+
+    public TransactionLoteResponse getTransactionLoteResponseOfResultados(List<TransactionLoteResultado> resultados) {
+        TransactionLoteResponse response = new TransactionLoteResponse();
+        response.setResultados(resultados);
+        response.setAplicadas((int) resultados.stream()
+                .filter(resultado -> resultado.getEstado() == TransactionLoteResultado.EstadoEnum.APLICADA)
+                .count());
+        response.setRechazadas(resultados.size() - response.getAplicadas());
+        return response;
+    }
+
+    public SaldoLibroMayorResponse getSaldoLibroMayorResponse(String numeroCuenta, long saldoCentimos, OffsetDateTime fecha) {
+        SaldoLibroMayorResponse response = new SaldoLibroMayorResponse();
+        response.setNumeroCuenta(numeroCuenta);
+        response.setSaldo(Dinero.aDecimal(saldoCentimos));
+        response.setFecha(fecha);
+        return response;
+    }
+
+    public MovimientoEstadoCuentaResponse getMovimientoEstadoCuentaResponse(Asiento asiento, long saldoCentimos) {
+        MovimientoEstadoCuentaResponse response = new MovimientoEstadoCuentaResponse();
+        response.setTransaccionId(asiento.getTransaccionId());
+        response.setTipo(MovimientoEstadoCuentaResponse.TipoEnum.fromValue(asiento.getTipo().name()));
+        response.setFecha(asiento.getFecha().atOffset(ZoneOffset.UTC));
+        response.setMonto(Dinero.aDecimal(asiento.getMontoCentimos()));
+        response.setSaldo(Dinero.aDecimal(saldoCentimos));
+        return response;
+    }
+
+    public MovimientoEstadoCuentaResponse getMovimientoEstadoCuentaResponse(AjusteSaldo ajuste, long saldoCentimos) {
+        MovimientoEstadoCuentaResponse response = new MovimientoEstadoCuentaResponse();
+        response.setTipo(MovimientoEstadoCuentaResponse.TipoEnum.AJUSTE);
+        response.setFecha(ajuste.getFecha().withOffsetSameInstant(ZoneOffset.UTC));
+        response.setMonto(Dinero.aDecimal(Dinero.aCentimos(ajuste.getMonto())));
+        response.setSaldo(Dinero.aDecimal(saldoCentimos));
+        return response;
+    }
+
+    public TotalesCuentaResponse getTotalesCuentaResponse(String numeroCuenta, LocalDate desde, LocalDate hasta,
+                                                          Map<TipoTransaccionEnum, TotalTipoTransaccion> totales) {
+        TotalesCuentaResponse response = new TotalesCuentaResponse();
+        response.setNumeroCuenta(numeroCuenta);
+        response.setDesde(desde);
+        response.setHasta(hasta);
+        response.setTotales(totales.entrySet().stream()
+                .map(total -> getTotalTipoResponse(total.getKey(), total.getValue()))
+                .collect(Collectors.toList()));
+        response.setNeto(Dinero.aDecimal(totales.values().stream()
+                .mapToLong(total -> total.getCreditoCentimos() - total.getDebitoCentimos())
+                .sum()));
+        return response;
+    }
+
+    private TotalTipoResponse getTotalTipoResponse(TipoTransaccionEnum tipo, TotalTipoTransaccion total) {
+        TotalTipoResponse response = new TotalTipoResponse();
+        response.setTipo(TotalTipoResponse.TipoEnum.fromValue(tipo.name()));
+        response.setCantidad(total.getCantidad());
+        response.setCreditos(Dinero.aDecimal(total.getCreditoCentimos()));
+        response.setDebitos(Dinero.aDecimal(total.getDebitoCentimos()));
+        return response;
+    }
 }
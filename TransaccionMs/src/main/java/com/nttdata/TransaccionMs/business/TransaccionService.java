@@ -1,14 +1,32 @@
 package com.nttdata.TransaccionMs.business;
 
+import com.nttdata.TransaccionMs.dto.EstadoCuenta;
+import com.nttdata.TransaccionMs.dto.FiltroHistorial;
+import com.nttdata.TransaccionMs.model.SaldoLibroMayorResponse;
+import com.nttdata.TransaccionMs.model.TotalesCuentaResponse;
+import com.nttdata.TransaccionMs.model.TransactionLoteRequest;
+import com.nttdata.TransaccionMs.model.TransactionLoteResponse;
+import com.nttdata.TransaccionMs.model.TransactionPage;
 import com.nttdata.TransaccionMs.model.TransactionRequest;
 import com.nttdata.TransaccionMs.model.TransactionResponse;
 
+import java.io.InputStream;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
 import java.util.List;
 
 public interface TransaccionService {
     List<TransactionResponse> consultarHistorialTransacciones();
-    TransactionResponse registrarDeposito(TransactionRequest transactionRequest);
-    TransactionResponse registrarRetiro(TransactionRequest transactionRequest);
-    TransactionResponse registrarTransferencia(TransactionRequest transactionRequest);
+    TransactionPage consultarHistorialPaginado(FiltroHistorial filtro, String cursor, Integer tamanio);
+    InputStream exportarHistorialTransacciones(FiltroHistorial filtro, boolean comprimir);
+    TransactionResponse registrarDeposito(TransactionRequest transactionRequest, String claveIdempotencia);
+    TransactionResponse registrarRetiro(TransactionRequest transactionRequest, String claveIdempotencia);
+    TransactionResponse registrarTransferencia(TransactionRequest transactionRequest, String claveIdempotencia);
+    TransactionLoteResponse registrarLoteTransacciones(TransactionLoteRequest transactionLoteRequest);
+    SaldoLibroMayorResponse consultarSaldoLibroMayor(String numeroCuenta, OffsetDateTime fecha);
+
+    TotalesCuentaResponse consultarTotalesCuenta(String numeroCuenta, LocalDate desde, LocalDate hasta);
+
+    EstadoCuenta exportarEstadoCuenta(String numeroCuenta, OffsetDateTime desde, OffsetDateTime hasta, boolean comprimir);
 
 }
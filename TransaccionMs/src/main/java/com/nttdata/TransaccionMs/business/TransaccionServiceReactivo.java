@@ -0,0 +1,11 @@
+package com.nttdata.TransaccionMs.business;
+
+import com.nttdata.TransaccionMs.model.TransactionRequest;
+import com.nttdata.TransaccionMs.model.TransactionResponse;
+import reactor.core.publisher.Mono;
+
+public interface TransaccionServiceReactivo {
+    Mono<TransactionResponse> registrarDeposito(TransactionRequest transactionRequest);
+    Mono<TransactionResponse> registrarRetiro(TransactionRequest transactionRequest);
+    Mono<TransactionResponse> registrarTransferencia(TransactionRequest transactionRequest);
+}
@@ -0,0 +1,23 @@
+package com.nttdata.TransaccionMs.business;
+
+import com.nttdata.TransaccionMs.exception.CustomExceptions;
+import com.nttdata.TransaccionMs.model.TransactionRequest;
+
+public final class ValidacionTransacciones {
+
+    private ValidacionTransacciones() {
+    }
+
+    public static long validarMonto(TransactionRequest transactionRequest) {
+        if (transactionRequest.getMonto() == null || transactionRequest.getMonto().signum() <= 0) {
+            throw new CustomExceptions.BadRequestException("El monto de la transacción debe ser mayor a 0");
+        }
+        return Dinero.aCentimos(transactionRequest.getMonto());
+    }
+
+    public static void validarDestino(TransactionRequest transactionRequest) {
+        if (transactionRequest.getCuentaDestino() == null || transactionRequest.getCuentaDestino().isBlank()) {
+            throw new CustomExceptions.BadRequestException("La cuenta de destino es obligatoria para una transferencia");
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.nttdata.TransaccionMs.clients;
+
+import com.nttdata.TransaccionMs.dto.AjustesCuenta;
+import com.nttdata.TransaccionMs.dto.SaldoConciliacion;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.reactor.circuitbreaker.operator.CircuitBreakerOperator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.discovery.DiscoveryClient;
+import org.springframework.stereotype.Component;
+import reactor.core.Exceptions;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+// Lecturas idempotentes de AccountMs con cobertura: si la primera instancia tarda más que el percentil, se repite en otra.
+@Component
+public class ConsultaCuentaCubierta {
+
+    @Autowired
+    CuentaFeignClient cuentaFeignClient;
+
+    @Autowired
+    CuentaWebClient cuentaWebClient;
+
+    @Autowired
+    DiscoveryClient discoveryClient;
+
+    @Autowired
+    CircuitBreakerRegistry circuitBreakerRegistry;
+
+    @Value("${transacciones.cobertura.habilitada:false}")
+    boolean habilitada;
+
+    @Value("${transacciones.cobertura.servicio:AccountMs}")
+    String servicio;
+
+    @Value("${transacciones.cobertura.ventana:1000}")
+    int ventana;
+
+    @Value("${transacciones.cobertura.percentil:0.95}")
+    double percentil;
+
+    @Value("${transacciones.cobertura.retardo-inicial:100ms}")
+    Duration retardoInicial;
+
+    @Value("${transacciones.cobertura.retardo-minimo:10ms}")
+    Duration retardoMinimo;
+
+    @Value("${transacciones.cobertura.presupuesto:0.05}")
+    double presupuesto;
+
+    @Value("${transacciones.cobertura.rafaga-maxima:20}")
+    int rafagaMaxima;
+
+    @Value("${transacciones.cobertura.tiempo-maximo:10s}")
+    Duration tiempoMaximo;
+
+    final Map<String, PoliticaCobertura> politicas = new ConcurrentHashMap<>();
+
+    public AjustesCuenta getAccountAdjustments(String numeroCuenta, String desde, String hasta) {
+        return cubrir("AccountMs_getAccountAdjustments",
+                () -> cuentaFeignClient.getAccountAdjustments(numeroCuenta, desde, hasta),
+                instancia -> cuentaWebClient.getAccountAdjustments(instancia, numeroCuenta, desde, hasta));
+    }
+
+    public List<SaldoConciliacion> listBalancesInRange(String desde, String hasta, int limite) {
+        return cubrir("AccountMs_listBalancesInRange",
+                () -> cuentaFeignClient.listBalancesInRange(desde, hasta, limite),
+                instancia -> cuentaWebClient.listBalancesInRange(instancia, desde, hasta, limite));
+    }
+
+    // Cada operación lleva su propia ventana de latencias y su propio presupuesto; el circuito es el mismo del cliente Feign.
+    private <T> T cubrir(String operacion, Supplier<T> lecturaFeign, Function<ServiceInstance, Mono<T>> lecturaDirecta) {
+        List<ServiceInstance> instancias = habilitada ? discoveryClient.getInstances(servicio) : List.of();
+        if (instancias.size() < 2) {
+            return lecturaFeign.get();
+        }
+
+        PoliticaCobertura politica = politicas.computeIfAbsent(operacion, clave ->
+                new PoliticaCobertura(ventana, percentil, retardoInicial, retardoMinimo, presupuesto, rafagaMaxima));
+        int primera = ThreadLocalRandom.current().nextInt(instancias.size());
+        int segunda = (primera + 1 + ThreadLocalRandom.current().nextInt(instancias.size() - 1)) % instancias.size();
+        politica.registrarSolicitud();
+
+        Mono<T> principal = medir(politica, lecturaDirecta, instancias.get(primera));
+        Mono<T> cobertura = Mono.delay(politica.retardo())
+                .flatMap(espera -> politica.autorizarCobertura()
+                        ? medir(politica, lecturaDirecta, instancias.get(segunda))
+                        : Mono.never());
+
+        try {
+            return Mono.firstWithSignal(principal, cobertura)
+                    .timeout(tiempoMaximo)
+                    .transformDeferred(CircuitBreakerOperator.of(circuitBreakerRegistry.circuitBreaker(operacion)))
+                    .block();
+        } catch (RuntimeException e) {
+            throw CuentaFeignFallbackFactory.traducir(Exceptions.unwrap(e));
+        }
+    }
+
+    private <T> Mono<T> medir(PoliticaCobertura politica, Function<ServiceInstance, Mono<T>> lecturaDirecta,
+                              ServiceInstance instancia) {
+        return Mono.defer(() -> {
+            long inicio = System.nanoTime();
+            return lecturaDirecta.apply(instancia)
+                    .doOnNext(respuesta -> politica.registrarLatencia(System.nanoTime() - inicio));
+        });
+    }
+}
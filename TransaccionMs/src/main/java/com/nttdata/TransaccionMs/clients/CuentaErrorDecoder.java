@@ -0,0 +1,44 @@
+package com.nttdata.TransaccionMs.clients;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nttdata.TransaccionMs.dto.CuentaErrorResponse;
+import com.nttdata.TransaccionMs.exception.CustomExceptions;
+import feign.Response;
+import feign.codec.ErrorDecoder;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Optional;
+
+public class CuentaErrorDecoder implements ErrorDecoder {
+
+    private final ErrorDecoder defaultDecoder = new ErrorDecoder.Default();
+
+    private final ObjectMapper objectMapper;
+
+    public CuentaErrorDecoder(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public Exception decode(String methodKey, Response response) {
+        return switch (response.status()) {
+            case 400 -> new CustomExceptions.BadRequestException(leerDetalle(response, "Solicitud inválida"));
+            case 404 -> new CustomExceptions.ResourceNotFoundException(leerDetalle(response, "Cuenta no encontrada"));
+            case 409 -> new CustomExceptions.ConflictException(leerDetalle(response, "La cuenta fue modificada por otra operación"));
+            default -> defaultDecoder.decode(methodKey, response);
+        };
+    }
+
+    private String leerDetalle(Response response, String mensajePorDefecto) {
+        if (response.body() == null) {
+            return mensajePorDefecto;
+        }
+        try (InputStream body = response.body().asInputStream()) {
+            return Optional.ofNullable(objectMapper.readValue(body, CuentaErrorResponse.class).getDetails())
+                    .orElse(mensajePorDefecto);
+        } catch (IOException e) {
+            return mensajePorDefecto;
+        }
+    }
+}
@@ -1,19 +1,44 @@
 package com.nttdata.TransaccionMs.clients;
 
+import com.nttdata.TransaccionMs.dto.AjustesCuenta;
+import com.nttdata.TransaccionMs.dto.MovimientoLoteRequest;
+import com.nttdata.TransaccionMs.dto.MovimientoLoteResponse;
+import com.nttdata.TransaccionMs.dto.MovimientoSaldoRequest;
+import com.nttdata.TransaccionMs.dto.SaldoConciliacion;
 import com.nttdata.TransaccionMs.dto.SaldoResponse;
-import com.nttdata.TransaccionMs.dto.SaldoUpdateRequest;
+import com.nttdata.TransaccionMs.dto.TransferenciaRequest;
+import com.nttdata.TransaccionMs.dto.TransferenciaResponse;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
-import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
 
-@FeignClient(name = "AccountMs")
+import java.util.List;
+
+@FeignClient(name = "AccountMs", configuration = CuentaFeignConfig.class, fallbackFactory = CuentaFeignFallbackFactory.class)
 public interface CuentaFeignClient {
-    @GetMapping("/cuentas/numero/{numeroCuenta}/saldo-tipo")
-    SaldoResponse getAccountBalanceAndType(@PathVariable("numeroCuenta") String numeroCuenta);
+    String ENCABEZADO_REFERENCIA = "Idempotency-Key";
+
+    @GetMapping("/cuentas/numero/{numeroCuenta}/ajustes")
+    AjustesCuenta getAccountAdjustments(@PathVariable("numeroCuenta") String numeroCuenta,
+                                        @RequestParam("desde") String desde, @RequestParam("hasta") String hasta);
+
+    @PostMapping("/cuentas/numero/{numeroCuenta}/movimientos")
+    SaldoResponse applyBalanceMovement(@PathVariable("numeroCuenta") String numeroCuenta,
+                                       @RequestBody MovimientoSaldoRequest movimientoSaldoRequest,
+                                       @RequestHeader(value = ENCABEZADO_REFERENCIA, required = false) String referencia);
+
+    @PostMapping("/cuentas/movimientos/lote")
+    MovimientoLoteResponse applyMovementsBatch(@RequestBody MovimientoLoteRequest movimientoLoteRequest);
+
+    @PostMapping("/cuentas/transferencias")
+    TransferenciaResponse transferBetweenAccounts(@RequestBody TransferenciaRequest transferenciaRequest,
+                                                  @RequestHeader(value = ENCABEZADO_REFERENCIA, required = false) String referencia);
 
-    @PutMapping("/cuentas/numero/{numeroCuenta}/actualizar-saldo")
-    void updateAccountBalance(@PathVariable("numeroCuenta") String numeroCuenta,
-                              @RequestBody SaldoUpdateRequest saldoUpdateRequest);
+    @GetMapping("/cuentas/saldos")
+    List<SaldoConciliacion> listBalancesInRange(@RequestParam("desde") String desde, @RequestParam("hasta") String hasta,
+                                                @RequestParam("limite") int limite);
 }
@@ -0,0 +1,13 @@
+package com.nttdata.TransaccionMs.clients;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import feign.codec.ErrorDecoder;
+import org.springframework.context.annotation.Bean;
+
+public class CuentaFeignConfig {
+
+    @Bean
+    public ErrorDecoder cuentaErrorDecoder(ObjectMapper objectMapper) {
+        return new CuentaErrorDecoder(objectMapper);
+    }
+}
@@ -0,0 +1,90 @@
+package com.nttdata.TransaccionMs.clients;
+
+import com.nttdata.TransaccionMs.dto.AjustesCuenta;
+import com.nttdata.TransaccionMs.dto.MovimientoLoteRequest;
+import com.nttdata.TransaccionMs.dto.MovimientoLoteResponse;
+import com.nttdata.TransaccionMs.dto.MovimientoSaldoRequest;
+import com.nttdata.TransaccionMs.dto.SaldoConciliacion;
+import com.nttdata.TransaccionMs.dto.SaldoResponse;
+import com.nttdata.TransaccionMs.dto.TransferenciaRequest;
+import com.nttdata.TransaccionMs.dto.TransferenciaResponse;
+import com.nttdata.TransaccionMs.exception.CustomExceptions;
+import feign.FeignException;
+import feign.RetryableException;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.netty.handler.timeout.ReadTimeoutException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cloud.openfeign.FallbackFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+
+import java.net.SocketTimeoutException;
+import java.util.List;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeoutException;
+
+@Slf4j
+@Component
+public class CuentaFeignFallbackFactory implements FallbackFactory<CuentaFeignClient> {
+
+    private static final String SERVICIO = "AccountMs";
+
+    @Override
+    public CuentaFeignClient create(Throwable causa) {
+        RuntimeException error = traducir(causa);
+        return new CuentaFeignClient() {
+            @Override
+            public AjustesCuenta getAccountAdjustments(String numeroCuenta, String desde, String hasta) {
+                throw error;
+            }
+
+            @Override
+            public SaldoResponse applyBalanceMovement(String numeroCuenta, MovimientoSaldoRequest movimientoSaldoRequest,
+                                                      String referencia) {
+                throw error;
+            }
+
+            @Override
+            public MovimientoLoteResponse applyMovementsBatch(MovimientoLoteRequest movimientoLoteRequest) {
+                throw error;
+            }
+
+            @Override
+            public TransferenciaResponse transferBetweenAccounts(TransferenciaRequest transferenciaRequest, String referencia) {
+                throw error;
+            }
+
+            @Override
+            public List<SaldoConciliacion> listBalancesInRange(String desde, String hasta, int limite) {
+                throw error;
+            }
+        };
+    }
+
+    static RuntimeException traducir(Throwable causa) {
+        while ((causa instanceof ExecutionException || causa instanceof CompletionException) && causa.getCause() != null) {
+            causa = causa.getCause();
+        }
+        if (causa instanceof CustomExceptions.BadRequestException
+                || causa instanceof CustomExceptions.ResourceNotFoundException
+                || causa instanceof CustomExceptions.ConflictException
+                || causa instanceof FeignException.FeignClientException) {
+            return (RuntimeException) causa;
+        }
+        if (causa instanceof CallNotPermittedException) {
+            return new CustomExceptions.ServiceUnavailableException(SERVICIO + " no está disponible temporalmente");
+        }
+        if (causa instanceof BulkheadFullException) {
+            return new CustomExceptions.ServiceUnavailableException(SERVICIO + " alcanzó el límite de llamadas concurrentes");
+        }
+        if (causa instanceof TimeoutException
+                || causa instanceof RetryableException && causa.getCause() instanceof SocketTimeoutException
+                || causa instanceof WebClientRequestException && causa.getCause() instanceof ReadTimeoutException) {
+            return new CustomExceptions.ServiceUnavailableException(SERVICIO + " no respondió a tiempo");
+        }
+        log.warn("Falló la llamada a {}: {}", SERVICIO, causa.toString());
+        return new CustomExceptions.ServiceUnavailableException("No se pudo comunicar con " + SERVICIO);
+    }
+}
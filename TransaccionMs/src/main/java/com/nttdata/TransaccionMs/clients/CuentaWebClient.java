@@ -0,0 +1,146 @@
+package com.nttdata.TransaccionMs.clients;
+
+import com.nttdata.TransaccionMs.dto.AjustesCuenta;
+import com.nttdata.TransaccionMs.dto.CuentaErrorResponse;
+import com.nttdata.TransaccionMs.dto.MovimientoSaldoRequest;
+import com.nttdata.TransaccionMs.dto.SaldoConciliacion;
+import com.nttdata.TransaccionMs.dto.SaldoResponse;
+import com.nttdata.TransaccionMs.dto.TransferenciaRequest;
+import com.nttdata.TransaccionMs.dto.TransferenciaResponse;
+import com.nttdata.TransaccionMs.exception.CustomExceptions;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.reactor.circuitbreaker.operator.CircuitBreakerOperator;
+import io.netty.channel.ChannelOption;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.reactive.ReactorLoadBalancerExchangeFilterFunction;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+@Component
+public class CuentaWebClient {
+
+    @Autowired
+    WebClient.Builder webClientBuilder;
+
+    @Autowired
+    ReactorLoadBalancerExchangeFilterFunction balanceadorCarga;
+
+    @Autowired
+    CircuitBreakerRegistry circuitBreakerRegistry;
+
+    @Value("${transacciones.reactivo.url-cuentas:http://AccountMs}")
+    String urlCuentas;
+
+    @Value("${spring.cloud.openfeign.client.config.AccountMs.connect-timeout:1000}")
+    int tiempoConexion;
+
+    @Value("${spring.cloud.openfeign.client.config.AccountMs.read-timeout:10000}")
+    long tiempoLectura;
+
+    WebClient webClient;
+
+    WebClient webClientDirecto;
+
+    @PostConstruct
+    void inicializar() {
+        HttpClient httpClient = HttpClient.create()
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, tiempoConexion)
+                .responseTimeout(Duration.ofMillis(tiempoLectura));
+        webClient = webClientBuilder.clone()
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .baseUrl(urlCuentas)
+                .filter(balanceadorCarga)
+                .build();
+        webClientDirecto = webClientBuilder.clone()
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .build();
+    }
+
+    // Lecturas dirigidas a una instancia concreta: la cobertura no debe pasar por el balanceador y caer en la misma instancia lenta.
+    public Mono<AjustesCuenta> getAccountAdjustments(ServiceInstance instancia, String numeroCuenta, String desde, String hasta) {
+        return webClientDirecto.get()
+                .uri(UriComponentsBuilder.fromUri(instancia.getUri())
+                        .path("/cuentas/numero/{numeroCuenta}/ajustes")
+                        .query("desde={desde}&hasta={hasta}")
+                        .encode()
+                        .buildAndExpand(Map.of("numeroCuenta", numeroCuenta, "desde", desde, "hasta", hasta))
+                        .toUri())
+                .retrieve()
+                .onStatus(HttpStatusCode::isError, this::decodificarError)
+                .bodyToMono(AjustesCuenta.class);
+    }
+
+    public Mono<List<SaldoConciliacion>> listBalancesInRange(ServiceInstance instancia, String desde, String hasta, int limite) {
+        return webClientDirecto.get()
+                .uri(UriComponentsBuilder.fromUri(instancia.getUri())
+                        .path("/cuentas/saldos")
+                        .query("desde={desde}&hasta={hasta}&limite={limite}")
+                        .encode()
+                        .buildAndExpand(Map.of("desde", desde, "hasta", hasta, "limite", limite))
+                        .toUri())
+                .retrieve()
+                .onStatus(HttpStatusCode::isError, this::decodificarError)
+                .bodyToFlux(SaldoConciliacion.class)
+                .collectList();
+    }
+
+    public Mono<SaldoResponse> applyBalanceMovement(String numeroCuenta, MovimientoSaldoRequest movimientoSaldoRequest) {
+        return webClient.post()
+                .uri("/cuentas/numero/{numeroCuenta}/movimientos", numeroCuenta)
+                .bodyValue(movimientoSaldoRequest)
+                .retrieve()
+                .onStatus(HttpStatusCode::isError, this::decodificarError)
+                .bodyToMono(SaldoResponse.class)
+                .transform(llamada -> protegida("AccountMs_applyBalanceMovement", llamada));
+    }
+
+    public Mono<TransferenciaResponse> transferBetweenAccounts(TransferenciaRequest transferenciaRequest) {
+        return webClient.post()
+                .uri("/cuentas/transferencias")
+                .bodyValue(transferenciaRequest)
+                .retrieve()
+                .onStatus(HttpStatusCode::isError, this::decodificarError)
+                .bodyToMono(TransferenciaResponse.class)
+                .transform(llamada -> protegida("AccountMs_transferBetweenAccounts", llamada));
+    }
+
+    // Mismo circuito y misma traducción de fallas de transporte que el cliente Feign de cada operación.
+    private <T> Mono<T> protegida(String circuito, Mono<T> llamada) {
+        return llamada
+                .transformDeferred(CircuitBreakerOperator.of(circuitBreakerRegistry.circuitBreaker(circuito)))
+                .onErrorMap(error -> error instanceof WebClientRequestException || error instanceof CallNotPermittedException,
+                        CuentaFeignFallbackFactory::traducir);
+    }
+
+    // Misma traducción de estados que CuentaErrorDecoder en el cliente Feign.
+    private Mono<Throwable> decodificarError(ClientResponse response) {
+        return switch (response.statusCode().value()) {
+            case 400 -> leerDetalle(response, "Solicitud inválida").map(CustomExceptions.BadRequestException::new);
+            case 404 -> leerDetalle(response, "Cuenta no encontrada").map(CustomExceptions.ResourceNotFoundException::new);
+            case 409 -> leerDetalle(response, "La cuenta fue modificada por otra operación").map(CustomExceptions.ConflictException::new);
+            default -> response.createException().cast(Throwable.class);
+        };
+    }
+
+    private Mono<String> leerDetalle(ClientResponse response, String mensajePorDefecto) {
+        return response.bodyToMono(CuentaErrorResponse.class)
+                .mapNotNull(CuentaErrorResponse::getDetails)
+                .onErrorResume(e -> Mono.empty())
+                .defaultIfEmpty(mensajePorDefecto);
+    }
+}
@@ -0,0 +1,70 @@
+package com.nttdata.TransaccionMs.clients;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+public class PoliticaCobertura {
+
+    private static final long MILESIMAS_POR_FICHA = 1000;
+    private static final int MUESTRAS_MINIMAS = 20;
+
+    private final AtomicLongArray latencias;
+    private final AtomicLong registradas = new AtomicLong();
+    private final AtomicLong fichas = new AtomicLong();
+    private final double percentil;
+    private final long retardoMinimo;
+    private final long incrementoPorSolicitud;
+    private final long maximoFichas;
+    private final int intervaloRecalculo;
+    private volatile long retardo;
+
+    public PoliticaCobertura(int ventana, double percentil, Duration retardoInicial, Duration retardoMinimo,
+                             double presupuesto, int rafagaMaxima) {
+        this.latencias = new AtomicLongArray(ventana);
+        this.percentil = percentil;
+        this.retardoMinimo = retardoMinimo.toNanos();
+        this.retardo = Math.max(retardoInicial.toNanos(), this.retardoMinimo);
+        this.incrementoPorSolicitud = Math.round(presupuesto * MILESIMAS_POR_FICHA);
+        this.maximoFichas = rafagaMaxima * MILESIMAS_POR_FICHA;
+        this.intervaloRecalculo = Math.max(1, ventana / 10);
+    }
+
+    public Duration retardo() {
+        return Duration.ofNanos(retardo);
+    }
+
+    public void registrarSolicitud() {
+        fichas.updateAndGet(actuales -> Math.min(maximoFichas, actuales + incrementoPorSolicitud));
+    }
+
+    public boolean autorizarCobertura() {
+        long actuales;
+        do {
+            actuales = fichas.get();
+            if (actuales < MILESIMAS_POR_FICHA) {
+                return false;
+            }
+        } while (!fichas.compareAndSet(actuales, actuales - MILESIMAS_POR_FICHA));
+        return true;
+    }
+
+    public void registrarLatencia(long nanos) {
+        long indice = registradas.getAndIncrement();
+        latencias.set((int) (indice % latencias.length()), nanos);
+        if ((indice + 1) % intervaloRecalculo == 0 && indice + 1 >= MUESTRAS_MINIMAS) {
+            recalcular((int) Math.min(indice + 1, latencias.length()));
+        }
+    }
+
+    private void recalcular(int muestras) {
+        long[] ordenadas = new long[muestras];
+        for (int i = 0; i < muestras; i++) {
+            ordenadas[i] = latencias.get(i);
+        }
+        Arrays.sort(ordenadas);
+        int posicion = (int) Math.ceil(percentil * muestras) - 1;
+        retardo = Math.max(retardoMinimo, ordenadas[Math.max(0, posicion)]);
+    }
+}
@@ -0,0 +1,16 @@
+package com.nttdata.TransaccionMs.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class AjusteSaldo {
+    private BigDecimal monto;
+    private OffsetDateTime fecha;
+}
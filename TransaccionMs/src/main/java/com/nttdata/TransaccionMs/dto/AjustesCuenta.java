@@ -0,0 +1,13 @@
+package com.nttdata.TransaccionMs.dto;
+
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Data
+public class AjustesCuenta {
+    private String numeroCuenta;
+    private BigDecimal ajusteInicial;
+    private List<AjusteSaldo> ajustes;
+}
@@ -0,0 +1,10 @@
+package com.nttdata.TransaccionMs.dto;
+
+import lombok.Data;
+
+@Data
+public class CuentaErrorResponse {
+    private Integer code;
+    private String message;
+    private String details;
+}
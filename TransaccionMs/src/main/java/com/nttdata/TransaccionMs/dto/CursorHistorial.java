@@ -0,0 +1,43 @@
+package com.nttdata.TransaccionMs.dto;
+
+import com.nttdata.TransaccionMs.exception.CustomExceptions;
+import com.nttdata.TransaccionMs.model.entity.Transaccion;
+import lombok.Data;
+import org.bson.types.ObjectId;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+@Data
+public class CursorHistorial {
+
+    private static final String SEPARADOR = "|";
+
+    private final LocalDateTime fecha;
+    private final String id;
+
+    public static CursorHistorial of(Transaccion transaccion) {
+        return new CursorHistorial(transaccion.getFecha(), transaccion.getId());
+    }
+
+    public static CursorHistorial decodificar(String cursor) {
+        try {
+            String valor = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separador = valor.indexOf(SEPARADOR);
+            String id = valor.substring(separador + 1);
+            if (separador < 0 || !ObjectId.isValid(id)) {
+                throw new IllegalArgumentException(cursor);
+            }
+            return new CursorHistorial(LocalDateTime.parse(valor.substring(0, separador)), id);
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new CustomExceptions.BadRequestException("El cursor de paginación no es válido");
+        }
+    }
+
+    public String codificar() {
+        String valor = fecha + SEPARADOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(valor.getBytes(StandardCharsets.UTF_8));
+    }
+}
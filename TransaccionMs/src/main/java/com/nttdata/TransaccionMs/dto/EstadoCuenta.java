@@ -0,0 +1,13 @@
+package com.nttdata.TransaccionMs.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.io.InputStream;
+
+@Data
+@AllArgsConstructor
+public class EstadoCuenta {
+    private long saldoInicialCentimos;
+    private InputStream movimientos;
+}
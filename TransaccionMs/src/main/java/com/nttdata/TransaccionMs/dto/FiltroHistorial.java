@@ -0,0 +1,17 @@
+package com.nttdata.TransaccionMs.dto;
+
+import com.nttdata.TransaccionMs.model.entity.TipoTransaccionEnum;
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+public class FiltroHistorial {
+    private String cuentaOrigen;
+    private String cuentaDestino;
+    private TipoTransaccionEnum tipo;
+    private LocalDateTime desde;
+    private LocalDateTime hasta;
+}
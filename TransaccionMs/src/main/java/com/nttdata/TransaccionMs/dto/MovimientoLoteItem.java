@@ -0,0 +1,16 @@
+package com.nttdata.TransaccionMs.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class MovimientoLoteItem {
+    private String cuentaOrigen;
+    private String cuentaDestino;
+    private BigDecimal monto;
+}
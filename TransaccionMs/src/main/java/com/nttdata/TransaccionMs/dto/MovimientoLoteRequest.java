@@ -0,0 +1,14 @@
+package com.nttdata.TransaccionMs.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class MovimientoLoteRequest {
+    private List<MovimientoLoteItem> movimientos;
+}
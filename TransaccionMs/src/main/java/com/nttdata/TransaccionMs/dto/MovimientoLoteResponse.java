@@ -0,0 +1,12 @@
+package com.nttdata.TransaccionMs.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class MovimientoLoteResponse {
+    private Integer aplicados;
+    private Integer rechazados;
+    private List<MovimientoLoteResultado> resultados;
+}
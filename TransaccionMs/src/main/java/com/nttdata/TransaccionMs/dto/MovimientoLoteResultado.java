@@ -0,0 +1,14 @@
+package com.nttdata.TransaccionMs.dto;
+
+import lombok.Data;
+
+import java.math.BigDecimal;
+
+@Data
+public class MovimientoLoteResultado {
+    private Integer indice;
+    private Boolean aplicado;
+    private BigDecimal saldoOrigen;
+    private BigDecimal saldoDestino;
+    private String error;
+}
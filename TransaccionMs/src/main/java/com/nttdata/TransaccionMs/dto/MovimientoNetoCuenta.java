@@ -0,0 +1,13 @@
+package com.nttdata.TransaccionMs.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class MovimientoNetoCuenta {
+    private String cuenta;
+    private long montoCentimos;
+}
@@ -0,0 +1,10 @@
+package com.nttdata.TransaccionMs.dto;
+
+import lombok.Data;
+
+import java.math.BigDecimal;
+
+@Data
+public class MovimientoSaldoRequest {
+    private BigDecimal monto;
+}
@@ -0,0 +1,12 @@
+package com.nttdata.TransaccionMs.dto;
+
+import lombok.Data;
+
+import java.math.BigDecimal;
+
+@Data
+public class SaldoConciliacion {
+    private String numeroCuenta;
+    private BigDecimal saldo;
+    private BigDecimal ajustes;
+}
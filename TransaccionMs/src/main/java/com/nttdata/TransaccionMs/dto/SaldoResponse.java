@@ -2,8 +2,10 @@ package com.nttdata.TransaccionMs.dto;
 
 import lombok.Data;
 
+import java.math.BigDecimal;
+
 @Data
 public class SaldoResponse {
-    private Double saldo;
+    private BigDecimal saldo;
     private String tipoCuenta;
 }
@@ -1,8 +0,0 @@
-package com.nttdata.TransaccionMs.dto;
-
-import lombok.Data;
-
-@Data
-public class SaldoUpdateRequest {
-    private Double nuevoSaldo;
-}
@@ -0,0 +1,17 @@
+package com.nttdata.TransaccionMs.dto;
+
+import com.nttdata.TransaccionMs.model.entity.TipoTransaccionEnum;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class TotalAsientos {
+    private String cuenta;
+    private TipoTransaccionEnum tipo;
+    private long cantidad;
+    private long creditoCentimos;
+    private long debitoCentimos;
+}
@@ -0,0 +1,12 @@
+package com.nttdata.TransaccionMs.dto;
+
+import lombok.Data;
+
+import java.math.BigDecimal;
+
+@Data
+public class TransferenciaRequest {
+    private String cuentaOrigen;
+    private String cuentaDestino;
+    private BigDecimal monto;
+}
@@ -0,0 +1,11 @@
+package com.nttdata.TransaccionMs.dto;
+
+import lombok.Data;
+
+import java.math.BigDecimal;
+
+@Data
+public class TransferenciaResponse {
+    private BigDecimal saldoOrigen;
+    private BigDecimal saldoDestino;
+}
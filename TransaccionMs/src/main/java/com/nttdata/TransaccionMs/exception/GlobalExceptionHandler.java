@@ -23,5 +23,20 @@ public class GlobalExceptionHandler {
         errorResponse.setMensaje("Solicitud inválida");
         return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
     }
-}
 
+    @ExceptionHandler(CustomExceptions.ConflictException.class)
+    public ResponseEntity<ErrorResponse> handleConflictException(CustomExceptions.ConflictException ex) {
+        ErrorResponse errorResponse = new ErrorResponse();
+        errorResponse.setCodigo(HttpStatus.CONFLICT.value());
+        errorResponse.setMensaje(ex.getMessage());
+        return new ResponseEntity<>(errorResponse, HttpStatus.CONFLICT);
+    }
+
+    @ExceptionHandler(CustomExceptions.ServiceUnavailableException.class)
+    public ResponseEntity<ErrorResponse> handleServiceUnavailableException(CustomExceptions.ServiceUnavailableException ex) {
+        ErrorResponse errorResponse = new ErrorResponse();
+        errorResponse.setCodigo(HttpStatus.SERVICE_UNAVAILABLE.value());
+        errorResponse.setMensaje(ex.getMessage());
+        return new ResponseEntity<>(errorResponse, HttpStatus.SERVICE_UNAVAILABLE);
+    }
+}
@@ -0,0 +1,34 @@
+package com.nttdata.TransaccionMs.model.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Document(collection = "asientos")
+@CompoundIndexes({
+        @CompoundIndex(name = "cuenta_fecha", def = "{'cuenta': 1, 'fecha': 1}"),
+        @CompoundIndex(name = "registradoEn_fecha", def = "{'registradoEn': 1, 'fecha': 1}")
+})
+public class Asiento {
+
+    @Id
+    private String id;
+    private String transaccionId;
+    private String cuenta;
+    private long montoCentimos;
+    private TipoTransaccionEnum tipo;
+
+    @Indexed
+    private LocalDateTime fecha;
+    private LocalDateTime registradoEn;
+}
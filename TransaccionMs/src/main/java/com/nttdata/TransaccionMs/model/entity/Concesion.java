@@ -0,0 +1,21 @@
+package com.nttdata.TransaccionMs.model.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Document(collection = "concesiones")
+public class Concesion {
+
+    @Id
+    private String id;
+    private String ejecucion;
+    private LocalDateTime vigenteHasta;
+}
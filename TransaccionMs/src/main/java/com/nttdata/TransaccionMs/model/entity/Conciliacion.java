@@ -0,0 +1,27 @@
+package com.nttdata.TransaccionMs.model.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Document(collection = "conciliaciones")
+public class Conciliacion {
+
+    @Id
+    private String id;
+    private EstadoConciliacionEnum estado;
+    private LocalDateTime inicio;
+    private LocalDateTime fin;
+    private long cuentasRevisadas;
+    private long discrepancias;
+    private int particionesFallidas;
+    private String ejecucion;
+    private LocalDateTime vigenteHasta;
+}
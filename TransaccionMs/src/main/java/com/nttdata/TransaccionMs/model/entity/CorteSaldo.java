@@ -0,0 +1,27 @@
+package com.nttdata.TransaccionMs.model.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Document(collection = "cortes_saldo")
+@CompoundIndex(name = "cuenta_hasta", def = "{'cuenta': 1, 'hasta': -1}", unique = true)
+public class CorteSaldo {
+
+    @Id
+    private String id;
+    private String cuenta;
+    private long saldoCentimos;
+
+    @Indexed
+    private LocalDateTime hasta;
+}
@@ -0,0 +1,26 @@
+package com.nttdata.TransaccionMs.model.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Document(collection = "discrepancias")
+public class Discrepancia {
+
+    @Id
+    private String id;
+
+    @Indexed
+    private String conciliacionId;
+    private String cuenta;
+    private Long saldoCuentaCentimos;
+    private long ajustesCentimos;
+    private long saldoLibroCentimos;
+    private long diferenciaCentimos;
+}
@@ -0,0 +1,7 @@
+package com.nttdata.TransaccionMs.model.entity;
+
+public enum EstadoConciliacionEnum {
+    EN_PROCESO,
+    COMPLETADA,
+    INCOMPLETA
+}
@@ -0,0 +1,7 @@
+package com.nttdata.TransaccionMs.model.entity;
+
+public enum EstadoSolicitudEnum {
+    EN_PROCESO,
+    DESCONOCIDO,
+    COMPLETADA
+}
@@ -0,0 +1,29 @@
+package com.nttdata.TransaccionMs.model.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Document(collection = "resumenes_diarios")
+@CompoundIndex(name = "cuenta_dia", def = "{'cuenta': 1, 'dia': 1}", unique = true)
+public class ResumenDiario {
+
+    @Id
+    private String id;
+    private String cuenta;
+    private LocalDate dia;
+    private Map<String, TotalTipoTransaccion> totales;
+
+    public static String idDe(String cuenta, LocalDate dia) {
+        return cuenta + ":" + dia;
+    }
+}
@@ -0,0 +1,28 @@
+package com.nttdata.TransaccionMs.model.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Document(collection = "solicitudes_idempotentes")
+public class SolicitudIdempotente {
+
+    @Id
+    private String clave;
+    private String huella;
+    private EstadoSolicitudEnum estado;
+    private String referencia;
+    private String transaccionId;
+    private Instant limiteProceso;
+
+    @Indexed(name = "expiraEn_ttl", expireAfterSeconds = 0)
+    private Instant expiraEn;
+}
@@ -0,0 +1,14 @@
+package com.nttdata.TransaccionMs.model.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class TotalTipoTransaccion {
+    private long cantidad;
+    private long creditoCentimos;
+    private long debitoCentimos;
+}
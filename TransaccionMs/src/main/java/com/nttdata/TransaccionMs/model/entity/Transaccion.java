@@ -1,18 +1,36 @@
 package com.nttdata.TransaccionMs.model.entity;
 
+import com.fasterxml.jackson.annotation.JsonSetter;
 import lombok.Data;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
 import org.springframework.data.mongodb.core.mapping.Document;
 
+import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.time.LocalDateTime;
 
 @Data
 @Document(collection = "transaccion")
+@CompoundIndexes({
+        @CompoundIndex(name = "fecha_id", def = "{'fecha': -1, '_id': -1}"),
+        @CompoundIndex(name = "cuentaOrigen_fecha_id", def = "{'cuentaOrigen': 1, 'fecha': -1, '_id': -1}"),
+        @CompoundIndex(name = "cuentaDestino_fecha_id", def = "{'cuentaDestino': 1, 'fecha': -1, '_id': -1}"),
+        @CompoundIndex(name = "tipo_fecha_id", def = "{'tipo': 1, 'fecha': -1, '_id': -1}")
+})
 public class Transaccion {
 
+    @Id
+    private String id;
     private TipoTransaccionEnum tipo;
-    private Double monto;
+    private long montoCentimos;
     private LocalDateTime fecha;
     private String cuentaOrigen;
     private String cuentaDestino;
+
+    @JsonSetter("monto")
+    void setMontoLegado(BigDecimal monto) {
+        this.montoCentimos = monto.movePointRight(2).setScale(0, RoundingMode.HALF_EVEN).longValueExact();
+    }
 }
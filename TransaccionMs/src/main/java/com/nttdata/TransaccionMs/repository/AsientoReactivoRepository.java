@@ -0,0 +1,8 @@
+package com.nttdata.TransaccionMs.repository;
+
+import com.nttdata.TransaccionMs.model.entity.Asiento;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+
+public interface AsientoReactivoRepository extends ReactiveMongoRepository<Asiento, String> {
+
+}
@@ -0,0 +1,23 @@
+package com.nttdata.TransaccionMs.repository;
+
+import com.nttdata.TransaccionMs.dto.MovimientoNetoCuenta;
+import com.nttdata.TransaccionMs.dto.TotalAsientos;
+import com.nttdata.TransaccionMs.model.entity.Asiento;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+public interface AsientoRepositoryCustom {
+    List<Asiento> insertarLote(List<Asiento> asientos);
+    Set<String> buscarIdsExistentes(Collection<String> ids);
+    List<Asiento> buscarRegistradosDesde(LocalDateTime registradoDesde, LocalDateTime fechaHasta);
+    long sumarMovimientos(String cuenta, LocalDateTime desde, LocalDateTime hasta);
+    Stream<MovimientoNetoCuenta> sumarMovimientosPorCuenta(LocalDateTime desde, LocalDateTime hasta);
+    Stream<MovimientoNetoCuenta> calcularSaldosPorCuenta(String cuentaDesde, String cuentaHasta, LocalDateTime corte);
+    List<TotalAsientos> sumarPorTipo(String cuenta, LocalDateTime desde, LocalDateTime hasta);
+    Stream<TotalAsientos> sumarPorCuentaYTipo(LocalDateTime desde, LocalDateTime hasta, String cuentaExcluida);
+    Stream<Asiento> recorrerMovimientos(String cuenta, LocalDateTime desde, LocalDateTime hasta, int tamanioLote);
+}
@@ -0,0 +1,182 @@
+package com.nttdata.TransaccionMs.repository;
+
+import com.mongodb.bulk.BulkWriteError;
+import com.nttdata.TransaccionMs.dto.MovimientoNetoCuenta;
+import com.nttdata.TransaccionMs.dto.TotalAsientos;
+import com.nttdata.TransaccionMs.model.entity.Asiento;
+import com.nttdata.TransaccionMs.model.entity.CorteSaldo;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOperation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOptions;
+import org.springframework.data.mongodb.core.aggregation.AggregationPipeline;
+import org.springframework.data.mongodb.core.aggregation.ArithmeticOperators;
+import org.springframework.data.mongodb.core.aggregation.ConditionalOperators;
+import org.springframework.data.mongodb.core.aggregation.GroupOperation;
+import org.springframework.data.mongodb.core.aggregation.UnionWithOperation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+public class AsientoRepositoryCustomImpl implements AsientoRepositoryCustom {
+
+    private static final int CODIGO_CLAVE_DUPLICADA = 11000;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Override
+    public List<Asiento> insertarLote(List<Asiento> asientos) {
+        if (asientos.isEmpty()) {
+            return asientos;
+        }
+        try {
+            mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Asiento.class)
+                    .insert(asientos)
+                    .execute();
+            return asientos;
+        } catch (BulkOperationException e) {
+            boolean soloDuplicados = e.getErrors().stream()
+                    .allMatch(error -> error.getCode() == CODIGO_CLAVE_DUPLICADA);
+            if (!soloDuplicados) {
+                throw e;
+            }
+            Set<Integer> duplicados = e.getErrors().stream().map(BulkWriteError::getIndex).collect(Collectors.toSet());
+            List<Asiento> insertados = new ArrayList<>();
+            for (int indice = 0; indice < asientos.size(); indice++) {
+                if (!duplicados.contains(indice)) {
+                    insertados.add(asientos.get(indice));
+                }
+            }
+            return insertados;
+        }
+    }
+
+    @Override
+    public Set<String> buscarIdsExistentes(Collection<String> ids) {
+        Query query = Query.query(Criteria.where("_id").in(ids));
+        query.fields().include("_id");
+
+        return mongoTemplate.find(query, Asiento.class).stream()
+                .map(Asiento::getId)
+                .collect(Collectors.toSet());
+    }
+
+    @Override
+    public List<Asiento> buscarRegistradosDesde(LocalDateTime registradoDesde, LocalDateTime fechaHasta) {
+        Query query = Query.query(Criteria.where("registradoEn").gte(registradoDesde).and("fecha").lte(fechaHasta))
+                .withHint("registradoEn_fecha");
+
+        return mongoTemplate.find(query, Asiento.class);
+    }
+
+    @Override
+    public long sumarMovimientos(String cuenta, LocalDateTime desde, LocalDateTime hasta) {
+        Aggregation agregacion = Aggregation.newAggregation(
+                Aggregation.match(Criteria.where("cuenta").is(cuenta).andOperator(criterioDeVentana(desde, hasta))),
+                Aggregation.group("cuenta").sum("montoCentimos").as("montoCentimos"),
+                Aggregation.project("montoCentimos").and("cuenta").previousOperation());
+
+        return Optional.ofNullable(mongoTemplate.aggregate(agregacion, Asiento.class, MovimientoNetoCuenta.class)
+                        .getUniqueMappedResult())
+                .map(MovimientoNetoCuenta::getMontoCentimos)
+                .orElse(0L);
+    }
+
+    @Override
+    public Stream<MovimientoNetoCuenta> sumarMovimientosPorCuenta(LocalDateTime desde, LocalDateTime hasta) {
+        Aggregation agregacion = Aggregation.newAggregation(
+                        Aggregation.match(criterioDeVentana(desde, hasta)),
+                        Aggregation.group("cuenta").sum("montoCentimos").as("montoCentimos"),
+                        Aggregation.project("montoCentimos").and("cuenta").previousOperation())
+                .withOptions(AggregationOptions.builder().allowDiskUse(true).build());
+
+        return mongoTemplate.aggregateStream(agregacion, Asiento.class, MovimientoNetoCuenta.class);
+    }
+
+    @Override
+    public Stream<MovimientoNetoCuenta> calcularSaldosPorCuenta(String cuentaDesde, String cuentaHasta, LocalDateTime corte) {
+        Criteria rango = Criteria.where("cuenta").gt(cuentaDesde).lte(cuentaHasta);
+
+        List<AggregationOperation> etapas = new ArrayList<>();
+        etapas.add(Aggregation.match(corte == null ? rango
+                : new Criteria().andOperator(rango, Criteria.where("fecha").gt(corte))));
+        etapas.add(Aggregation.project("cuenta", "montoCentimos").andExclude("_id"));
+        if (corte != null) {
+            etapas.add(UnionWithOperation.unionWith("cortes_saldo")
+                    .mapFieldsTo(CorteSaldo.class)
+                    .pipeline(AggregationPipeline.of(
+                            Aggregation.match(Criteria.where("cuenta").gt(cuentaDesde).lte(cuentaHasta).and("hasta").lte(corte)),
+                            Aggregation.sort(Sort.by(Sort.Direction.ASC, "cuenta").and(Sort.by(Sort.Direction.DESC, "hasta"))),
+                            Aggregation.group("cuenta").first("saldoCentimos").as("montoCentimos"),
+                            Aggregation.project("montoCentimos").and("cuenta").previousOperation())));
+        }
+        etapas.add(Aggregation.group("cuenta").sum("montoCentimos").as("montoCentimos"));
+        etapas.add(Aggregation.sort(Sort.Direction.ASC, "_id"));
+        etapas.add(Aggregation.project("montoCentimos").and("cuenta").previousOperation());
+
+        Aggregation agregacion = Aggregation.newAggregation(etapas)
+                .withOptions(AggregationOptions.builder().allowDiskUse(true).build());
+        return mongoTemplate.aggregateStream(agregacion, Asiento.class, MovimientoNetoCuenta.class);
+    }
+
+    @Override
+    public List<TotalAsientos> sumarPorTipo(String cuenta, LocalDateTime desde, LocalDateTime hasta) {
+        Aggregation agregacion = Aggregation.newAggregation(
+                Aggregation.match(Criteria.where("cuenta").is(cuenta).and("fecha").gte(desde).lt(hasta)),
+                agruparTotales("cuenta", "tipo"),
+                Aggregation.project("cantidad", "creditoCentimos", "debitoCentimos").andInclude("cuenta", "tipo"));
+
+        return mongoTemplate.aggregate(agregacion, Asiento.class, TotalAsientos.class).getMappedResults();
+    }
+
+    @Override
+    public Stream<TotalAsientos> sumarPorCuentaYTipo(LocalDateTime desde, LocalDateTime hasta, String cuentaExcluida) {
+        Aggregation agregacion = Aggregation.newAggregation(
+                        Aggregation.match(Criteria.where("fecha").gte(desde).lt(hasta).and("cuenta").ne(cuentaExcluida)),
+                        agruparTotales("cuenta", "tipo"),
+                        Aggregation.sort(Sort.Direction.ASC, "_id.cuenta"),
+                        Aggregation.project("cantidad", "creditoCentimos", "debitoCentimos").andInclude("cuenta", "tipo"))
+                .withOptions(AggregationOptions.builder().allowDiskUse(true).build());
+
+        return mongoTemplate.aggregateStream(agregacion, Asiento.class, TotalAsientos.class);
+    }
+
+    @Override
+    public Stream<Asiento> recorrerMovimientos(String cuenta, LocalDateTime desde, LocalDateTime hasta, int tamanioLote) {
+        Query query = Query.query(Criteria.where("cuenta").is(cuenta).and("fecha").gte(desde).lt(hasta))
+                .with(Sort.by(Sort.Direction.ASC, "fecha"))
+                .withHint("cuenta_fecha")
+                .cursorBatchSize(tamanioLote);
+
+        return mongoTemplate.stream(query, Asiento.class);
+    }
+
+    private static GroupOperation agruparTotales(String... campos) {
+        return Aggregation.group(campos)
+                .count().as("cantidad")
+                .sum(ConditionalOperators.when(Criteria.where("montoCentimos").gt(0))
+                        .thenValueOf("montoCentimos")
+                        .otherwise(0)).as("creditoCentimos")
+                .sum(ConditionalOperators.when(Criteria.where("montoCentimos").lt(0))
+                        .thenValueOf(ArithmeticOperators.valueOf("montoCentimos").multiplyBy(-1))
+                        .otherwise(0)).as("debitoCentimos");
+    }
+
+    private static Criteria criterioDeVentana(LocalDateTime desde, LocalDateTime hasta) {
+        Criteria criterio = Criteria.where("fecha").lte(hasta);
+        return desde != null ? criterio.gt(desde) : criterio;
+    }
+}
@@ -0,0 +1,8 @@
+package com.nttdata.TransaccionMs.repository;
+
+import com.nttdata.TransaccionMs.model.entity.Concesion;
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+public interface ConcesionRepository extends MongoRepository<Concesion, String>, ConcesionRepositoryCustom {
+
+}
@@ -0,0 +1,11 @@
+package com.nttdata.TransaccionMs.repository;
+
+import com.nttdata.TransaccionMs.model.entity.Concesion;
+
+import java.time.LocalDateTime;
+
+public interface ConcesionRepositoryCustom {
+    boolean adquirir(Concesion concesion, LocalDateTime ahora);
+    boolean renovar(Concesion concesion);
+    void liberar(Concesion concesion);
+}
@@ -0,0 +1,50 @@
+package com.nttdata.TransaccionMs.repository;
+
+import com.nttdata.TransaccionMs.model.entity.Concesion;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.LocalDateTime;
+
+public class ConcesionRepositoryCustomImpl implements ConcesionRepositoryCustom {
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    // Con la concesión vigente en manos de otra ejecución el upsert intenta insertar el mismo _id y falla por clave duplicada.
+    @Override
+    public boolean adquirir(Concesion concesion, LocalDateTime ahora) {
+        Query query = Query.query(Criteria.where("_id").is(concesion.getId())
+                .orOperator(Criteria.where("vigenteHasta").lt(ahora),
+                        Criteria.where("ejecucion").is(concesion.getEjecucion())));
+        Update update = new Update()
+                .set("ejecucion", concesion.getEjecucion())
+                .set("vigenteHasta", concesion.getVigenteHasta());
+
+        try {
+            mongoTemplate.upsert(query, update, Concesion.class);
+            return true;
+        } catch (DuplicateKeyException e) {
+            return false;
+        }
+    }
+
+    @Override
+    public boolean renovar(Concesion concesion) {
+        Query query = Query.query(Criteria.where("_id").is(concesion.getId())
+                .and("ejecucion").is(concesion.getEjecucion()));
+        Update update = new Update().set("vigenteHasta", concesion.getVigenteHasta());
+
+        return mongoTemplate.updateFirst(query, update, Concesion.class).getModifiedCount() == 1;
+    }
+
+    @Override
+    public void liberar(Concesion concesion) {
+        mongoTemplate.remove(Query.query(Criteria.where("_id").is(concesion.getId())
+                .and("ejecucion").is(concesion.getEjecucion())), Concesion.class);
+    }
+}
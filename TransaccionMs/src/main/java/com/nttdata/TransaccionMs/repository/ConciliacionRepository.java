@@ -0,0 +1,8 @@
+package com.nttdata.TransaccionMs.repository;
+
+import com.nttdata.TransaccionMs.model.entity.Conciliacion;
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+public interface ConciliacionRepository extends MongoRepository<Conciliacion, String>, ConciliacionRepositoryCustom {
+
+}
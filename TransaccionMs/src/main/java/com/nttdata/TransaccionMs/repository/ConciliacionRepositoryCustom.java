@@ -0,0 +1,9 @@
+package com.nttdata.TransaccionMs.repository;
+
+import com.nttdata.TransaccionMs.model.entity.Conciliacion;
+
+public interface ConciliacionRepositoryCustom {
+    boolean retomarVencida(Conciliacion conciliacion);
+    boolean renovar(Conciliacion conciliacion);
+    boolean cerrar(Conciliacion conciliacion);
+}
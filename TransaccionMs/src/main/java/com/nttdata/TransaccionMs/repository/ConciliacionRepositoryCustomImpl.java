@@ -0,0 +1,57 @@
+package com.nttdata.TransaccionMs.repository;
+
+import com.nttdata.TransaccionMs.model.entity.Conciliacion;
+import com.nttdata.TransaccionMs.model.entity.EstadoConciliacionEnum;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+public class ConciliacionRepositoryCustomImpl implements ConciliacionRepositoryCustom {
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Override
+    public boolean retomarVencida(Conciliacion conciliacion) {
+        Query query = Query.query(Criteria.where("_id").is(conciliacion.getId())
+                .and("estado").is(EstadoConciliacionEnum.EN_PROCESO)
+                .orOperator(Criteria.where("vigenteHasta").lt(conciliacion.getInicio()),
+                        Criteria.where("vigenteHasta").exists(false)));
+        Update update = new Update()
+                .set("inicio", conciliacion.getInicio())
+                .unset("fin")
+                .set("cuentasRevisadas", 0)
+                .set("discrepancias", 0)
+                .set("particionesFallidas", 0)
+                .set("ejecucion", conciliacion.getEjecucion())
+                .set("vigenteHasta", conciliacion.getVigenteHasta());
+
+        return mongoTemplate.updateFirst(query, update, Conciliacion.class).getModifiedCount() == 1;
+    }
+
+    @Override
+    public boolean renovar(Conciliacion conciliacion) {
+        Query query = Query.query(Criteria.where("_id").is(conciliacion.getId())
+                .and("ejecucion").is(conciliacion.getEjecucion())
+                .and("estado").is(EstadoConciliacionEnum.EN_PROCESO));
+        Update update = new Update().set("vigenteHasta", conciliacion.getVigenteHasta());
+
+        return mongoTemplate.updateFirst(query, update, Conciliacion.class).getModifiedCount() == 1;
+    }
+
+    @Override
+    public boolean cerrar(Conciliacion conciliacion) {
+        Query query = Query.query(Criteria.where("_id").is(conciliacion.getId())
+                .and("ejecucion").is(conciliacion.getEjecucion()));
+        Update update = new Update()
+                .set("estado", conciliacion.getEstado())
+                .set("fin", conciliacion.getFin())
+                .set("cuentasRevisadas", conciliacion.getCuentasRevisadas())
+                .set("discrepancias", conciliacion.getDiscrepancias())
+                .set("particionesFallidas", conciliacion.getParticionesFallidas());
+
+        return mongoTemplate.updateFirst(query, update, Conciliacion.class).getModifiedCount() == 1;
+    }
+}
@@ -0,0 +1,12 @@
+package com.nttdata.TransaccionMs.repository;
+
+import com.nttdata.TransaccionMs.model.entity.CorteSaldo;
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+public interface CorteSaldoRepository extends MongoRepository<CorteSaldo, String>, CorteSaldoRepositoryCustom {
+    Optional<CorteSaldo> findFirstByCuentaAndHastaLessThanEqualOrderByHastaDesc(String cuenta, LocalDateTime hasta);
+    Optional<CorteSaldo> findFirstByOrderByHastaDesc();
+}
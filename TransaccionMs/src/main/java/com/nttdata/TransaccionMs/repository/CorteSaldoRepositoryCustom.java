@@ -0,0 +1,14 @@
+package com.nttdata.TransaccionMs.repository;
+
+import com.nttdata.TransaccionMs.model.entity.CorteSaldo;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+public interface CorteSaldoRepositoryCustom {
+    List<CorteSaldo> buscarUltimosCortes(Collection<String> cuentas, LocalDateTime hasta);
+    void insertarLote(List<CorteSaldo> cortes);
+    long invalidarDesde(Map<String, LocalDateTime> fechasPorCuenta);
+}
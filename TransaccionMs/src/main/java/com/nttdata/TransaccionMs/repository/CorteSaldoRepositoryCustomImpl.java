@@ -0,0 +1,64 @@
+package com.nttdata.TransaccionMs.repository;
+
+import com.nttdata.TransaccionMs.model.entity.CorteSaldo;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+public class CorteSaldoRepositoryCustomImpl implements CorteSaldoRepositoryCustom {
+
+    private static final int CODIGO_CLAVE_DUPLICADA = 11000;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Override
+    public List<CorteSaldo> buscarUltimosCortes(Collection<String> cuentas, LocalDateTime hasta) {
+        Aggregation agregacion = Aggregation.newAggregation(
+                Aggregation.match(Criteria.where("cuenta").in(cuentas).and("hasta").lte(hasta)),
+                Aggregation.sort(Sort.by(Sort.Direction.ASC, "cuenta").and(Sort.by(Sort.Direction.DESC, "hasta"))),
+                Aggregation.group("cuenta").first(Aggregation.ROOT).as("corte"),
+                Aggregation.replaceRoot("corte"));
+
+        return mongoTemplate.aggregate(agregacion, CorteSaldo.class, CorteSaldo.class).getMappedResults();
+    }
+
+    @Override
+    public void insertarLote(List<CorteSaldo> cortes) {
+        if (cortes.isEmpty()) {
+            return;
+        }
+        try {
+            mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, CorteSaldo.class)
+                    .insert(cortes)
+                    .execute();
+        } catch (BulkOperationException e) {
+            boolean soloDuplicados = e.getErrors().stream()
+                    .allMatch(error -> error.getCode() == CODIGO_CLAVE_DUPLICADA);
+            if (!soloDuplicados) {
+                throw e;
+            }
+        }
+    }
+
+    @Override
+    public long invalidarDesde(Map<String, LocalDateTime> fechasPorCuenta) {
+        if (fechasPorCuenta.isEmpty()) {
+            return 0;
+        }
+        BulkOperations operaciones = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, CorteSaldo.class);
+        fechasPorCuenta.forEach((cuenta, fecha) ->
+                operaciones.remove(Query.query(Criteria.where("cuenta").is(cuenta).and("hasta").gte(fecha))));
+        return operaciones.execute().getDeletedCount();
+    }
+}
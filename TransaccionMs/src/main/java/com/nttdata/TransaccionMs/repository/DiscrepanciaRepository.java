@@ -0,0 +1,8 @@
+package com.nttdata.TransaccionMs.repository;
+
+import com.nttdata.TransaccionMs.model.entity.Discrepancia;
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+public interface DiscrepanciaRepository extends MongoRepository<Discrepancia, String> {
+    void deleteByConciliacionId(String conciliacionId);
+}
@@ -0,0 +1,9 @@
+package com.nttdata.TransaccionMs.repository;
+
+import com.nttdata.TransaccionMs.model.entity.ResumenDiario;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+
+public interface ResumenDiarioReactivoRepository extends ReactiveMongoRepository<ResumenDiario, String>,
+        ResumenDiarioReactivoRepositoryCustom {
+
+}
@@ -0,0 +1,10 @@
+package com.nttdata.TransaccionMs.repository;
+
+import com.nttdata.TransaccionMs.model.entity.Asiento;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+public interface ResumenDiarioReactivoRepositoryCustom {
+    Mono<Void> acumular(List<Asiento> asientos);
+}
@@ -0,0 +1,24 @@
+package com.nttdata.TransaccionMs.repository;
+
+import com.nttdata.TransaccionMs.model.entity.Asiento;
+import com.nttdata.TransaccionMs.model.entity.ResumenDiario;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+public class ResumenDiarioReactivoRepositoryCustomImpl implements ResumenDiarioReactivoRepositoryCustom {
+
+    @Autowired
+    private ReactiveMongoTemplate reactiveMongoTemplate;
+
+    @Override
+    public Mono<Void> acumular(List<Asiento> asientos) {
+        return Flux.fromIterable(ResumenDiarioRepositoryCustomImpl.incrementosPorResumen(asientos).entrySet())
+                .flatMap(incremento -> reactiveMongoTemplate.upsert(ResumenDiarioRepositoryCustomImpl.porId(incremento.getKey()),
+                        incremento.getValue(), ResumenDiario.class))
+                .then();
+    }
+}
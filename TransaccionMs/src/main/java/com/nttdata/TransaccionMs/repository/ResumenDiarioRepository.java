@@ -0,0 +1,14 @@
+package com.nttdata.TransaccionMs.repository;
+
+import com.nttdata.TransaccionMs.model.entity.ResumenDiario;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface ResumenDiarioRepository extends MongoRepository<ResumenDiario, String>, ResumenDiarioRepositoryCustom {
+
+    @Query(value = "{ 'cuenta': ?0, 'dia': { '$gte': ?1, '$lt': ?2 } }", sort = "{ 'dia': 1 }")
+    List<ResumenDiario> buscarPorCuentaYDias(String cuenta, LocalDate desde, LocalDate hasta);
+}
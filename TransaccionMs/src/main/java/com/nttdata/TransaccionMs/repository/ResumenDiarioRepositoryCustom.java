@@ -0,0 +1,11 @@
+package com.nttdata.TransaccionMs.repository;
+
+import com.nttdata.TransaccionMs.model.entity.Asiento;
+import com.nttdata.TransaccionMs.model.entity.ResumenDiario;
+
+import java.util.List;
+
+public interface ResumenDiarioRepositoryCustom {
+    void acumular(List<Asiento> asientos);
+    void reemplazarLote(List<ResumenDiario> resumenes);
+}
@@ -0,0 +1,74 @@
+package com.nttdata.TransaccionMs.repository;
+
+import com.nttdata.TransaccionMs.model.entity.Asiento;
+import com.nttdata.TransaccionMs.model.entity.ResumenDiario;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndReplaceOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+public class ResumenDiarioRepositoryCustomImpl implements ResumenDiarioRepositoryCustom {
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Override
+    public void acumular(List<Asiento> asientos) {
+        Map<String, Update> incrementos = incrementosPorResumen(asientos);
+        if (incrementos.isEmpty()) {
+            return;
+        }
+
+        BulkOperations operaciones = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, ResumenDiario.class);
+        incrementos.forEach((id, incremento) -> operaciones.upsert(porId(id), incremento));
+        operaciones.execute();
+    }
+
+    @Override
+    public void reemplazarLote(List<ResumenDiario> resumenes) {
+        if (resumenes.isEmpty()) {
+            return;
+        }
+
+        BulkOperations operaciones = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, ResumenDiario.class);
+        resumenes.forEach(resumen -> operaciones.replaceOne(porId(resumen.getId()), resumen,
+                FindAndReplaceOptions.options().upsert()));
+        operaciones.execute();
+    }
+
+    static Map<String, Update> incrementosPorResumen(List<Asiento> asientos) {
+        Map<String, Update> incrementos = new LinkedHashMap<>();
+        Map<String, Map<String, Long>> acumulados = new LinkedHashMap<>();
+        for (Asiento asiento : asientos) {
+            LocalDate dia = asiento.getFecha().toLocalDate();
+            String id = ResumenDiario.idDe(asiento.getCuenta(), dia);
+            incrementos.computeIfAbsent(id, clave -> new Update()
+                    .setOnInsert("cuenta", asiento.getCuenta())
+                    .setOnInsert("dia", dia));
+
+            Map<String, Long> campos = acumulados.computeIfAbsent(id, clave -> new LinkedHashMap<>());
+            String prefijo = "totales." + asiento.getTipo().name() + ".";
+            campos.merge(prefijo + "cantidad", 1L, Long::sum);
+            if (asiento.getMontoCentimos() >= 0) {
+                campos.merge(prefijo + "creditoCentimos", asiento.getMontoCentimos(), Long::sum);
+            } else {
+                campos.merge(prefijo + "debitoCentimos", -asiento.getMontoCentimos(), Long::sum);
+            }
+        }
+
+        acumulados.forEach((id, campos) -> campos.forEach(incrementos.get(id)::inc));
+        return incrementos;
+    }
+
+    static Query porId(String id) {
+        return Query.query(Criteria.where("_id").is(id));
+    }
+}
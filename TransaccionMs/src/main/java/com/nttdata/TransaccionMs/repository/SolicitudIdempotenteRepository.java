@@ -0,0 +1,9 @@
+package com.nttdata.TransaccionMs.repository;
+
+import com.nttdata.TransaccionMs.model.entity.SolicitudIdempotente;
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+public interface SolicitudIdempotenteRepository extends MongoRepository<SolicitudIdempotente, String>,
+        SolicitudIdempotenteRepositoryCustom {
+
+}
@@ -0,0 +1,9 @@
+package com.nttdata.TransaccionMs.repository;
+
+import com.nttdata.TransaccionMs.model.entity.SolicitudIdempotente;
+
+import java.time.Instant;
+
+public interface SolicitudIdempotenteRepositoryCustom {
+    boolean retomar(SolicitudIdempotente solicitud, Instant limiteProceso);
+}
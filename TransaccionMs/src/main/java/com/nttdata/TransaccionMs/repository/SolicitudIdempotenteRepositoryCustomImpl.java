@@ -0,0 +1,29 @@
+package com.nttdata.TransaccionMs.repository;
+
+import com.nttdata.TransaccionMs.model.entity.EstadoSolicitudEnum;
+import com.nttdata.TransaccionMs.model.entity.SolicitudIdempotente;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.Instant;
+
+public class SolicitudIdempotenteRepositoryCustomImpl implements SolicitudIdempotenteRepositoryCustom {
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Override
+    public boolean retomar(SolicitudIdempotente solicitud, Instant limiteProceso) {
+        Query query = Query.query(Criteria.where("_id").is(solicitud.getClave())
+                .and("estado").is(solicitud.getEstado())
+                .and("limiteProceso").is(solicitud.getLimiteProceso()));
+        Update update = new Update()
+                .set("estado", EstadoSolicitudEnum.EN_PROCESO)
+                .set("limiteProceso", limiteProceso);
+
+        return mongoTemplate.updateFirst(query, update, SolicitudIdempotente.class).getModifiedCount() == 1;
+    }
+}
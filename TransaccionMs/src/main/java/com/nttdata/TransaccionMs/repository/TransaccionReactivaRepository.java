@@ -0,0 +1,8 @@
+package com.nttdata.TransaccionMs.repository;
+
+import com.nttdata.TransaccionMs.model.entity.Transaccion;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+
+public interface TransaccionReactivaRepository extends ReactiveMongoRepository<Transaccion, String> {
+
+}
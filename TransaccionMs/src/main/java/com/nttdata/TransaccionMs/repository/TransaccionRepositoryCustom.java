@@ -0,0 +1,14 @@
+package com.nttdata.TransaccionMs.repository;
+
+import com.nttdata.TransaccionMs.dto.CursorHistorial;
+import com.nttdata.TransaccionMs.dto.FiltroHistorial;
+import com.nttdata.TransaccionMs.model.entity.Transaccion;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+public interface TransaccionRepositoryCustom {
+    List<Transaccion> buscarPagina(FiltroHistorial filtro, CursorHistorial cursor, int limite);
+    Stream<Transaccion> recorrerHistorial(FiltroHistorial filtro, int tamanioLote);
+    void insertarLote(List<Transaccion> transacciones);
+}
@@ -0,0 +1,96 @@
+package com.nttdata.TransaccionMs.repository;
+
+import com.nttdata.TransaccionMs.dto.CursorHistorial;
+import com.nttdata.TransaccionMs.dto.FiltroHistorial;
+import com.nttdata.TransaccionMs.model.entity.Transaccion;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+public class TransaccionRepositoryCustomImpl implements TransaccionRepositoryCustom {
+
+    private static final int CODIGO_CLAVE_DUPLICADA = 11000;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Override
+    public List<Transaccion> buscarPagina(FiltroHistorial filtro, CursorHistorial cursor, int limite) {
+        List<Criteria> condiciones = criteriosDeFiltro(filtro);
+
+        if (cursor != null) {
+            condiciones.add(new Criteria().orOperator(
+                    Criteria.where("fecha").lt(cursor.getFecha()),
+                    Criteria.where("fecha").is(cursor.getFecha()).and("id").lt(new ObjectId(cursor.getId()))));
+        }
+
+        Query query = new Query()
+                .with(Sort.by(Sort.Direction.DESC, "fecha", "id"))
+                .limit(limite);
+        if (!condiciones.isEmpty()) {
+            query.addCriteria(new Criteria().andOperator(condiciones));
+        }
+
+        return mongoTemplate.find(query, Transaccion.class);
+    }
+
+    @Override
+    public Stream<Transaccion> recorrerHistorial(FiltroHistorial filtro, int tamanioLote) {
+        List<Criteria> condiciones = criteriosDeFiltro(filtro);
+
+        Query query = new Query()
+                .with(Sort.by(Sort.Direction.ASC, "fecha", "id"))
+                .cursorBatchSize(tamanioLote);
+        if (!condiciones.isEmpty()) {
+            query.addCriteria(new Criteria().andOperator(condiciones));
+        }
+
+        return mongoTemplate.stream(query, Transaccion.class);
+    }
+
+    @Override
+    public void insertarLote(List<Transaccion> transacciones) {
+        try {
+            mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Transaccion.class)
+                    .insert(transacciones)
+                    .execute();
+        } catch (BulkOperationException e) {
+            boolean soloDuplicados = e.getErrors().stream()
+                    .allMatch(error -> error.getCode() == CODIGO_CLAVE_DUPLICADA);
+            if (!soloDuplicados) {
+                throw e;
+            }
+        }
+    }
+
+    static List<Criteria> criteriosDeFiltro(FiltroHistorial filtro) {
+        List<Criteria> condiciones = new ArrayList<>();
+
+        if (filtro.getCuentaOrigen() != null) {
+            condiciones.add(Criteria.where("cuentaOrigen").is(filtro.getCuentaOrigen()));
+        }
+        if (filtro.getCuentaDestino() != null) {
+            condiciones.add(Criteria.where("cuentaDestino").is(filtro.getCuentaDestino()));
+        }
+        if (filtro.getTipo() != null) {
+            condiciones.add(Criteria.where("tipo").is(filtro.getTipo()));
+        }
+        if (filtro.getDesde() != null) {
+            condiciones.add(Criteria.where("fecha").gte(filtro.getDesde()));
+        }
+        if (filtro.getHasta() != null) {
+            condiciones.add(Criteria.where("fecha").lt(filtro.getHasta()));
+        }
+
+        return condiciones;
+    }
+}
@@ -0,0 +1,221 @@
+package com.nttdata.TransaccionMs.business;
+
+import com.nttdata.TransaccionMs.clients.ConsultaCuentaCubierta;
+import com.nttdata.TransaccionMs.dto.MovimientoNetoCuenta;
+import com.nttdata.TransaccionMs.dto.SaldoConciliacion;
+import com.nttdata.TransaccionMs.exception.CustomExceptions;
+import com.nttdata.TransaccionMs.model.entity.Conciliacion;
+import com.nttdata.TransaccionMs.model.entity.CorteSaldo;
+import com.nttdata.TransaccionMs.model.entity.Discrepancia;
+import com.nttdata.TransaccionMs.model.entity.EstadoConciliacionEnum;
+import com.nttdata.TransaccionMs.repository.AsientoRepository;
+import com.nttdata.TransaccionMs.repository.ConciliacionRepository;
+import com.nttdata.TransaccionMs.repository.CorteSaldoRepository;
+import com.nttdata.TransaccionMs.repository.DiscrepanciaRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DuplicateKeyException;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ConciliacionSaldosTest {
+
+    private static final LocalDateTime CORTE = LocalDateTime.of(2024, 5, 10, 0, 0);
+
+    @Mock
+    private AsientoRepository asientoRepository;
+
+    @Mock
+    private CorteSaldoRepository corteSaldoRepository;
+
+    @Mock
+    private ConciliacionRepository conciliacionRepository;
+
+    @Mock
+    private DiscrepanciaRepository discrepanciaRepository;
+
+    @Mock
+    private ConsultaCuentaCubierta consultaCuentaCubierta;
+
+    @Mock
+    private LibroMayor libroMayor;
+
+    @InjectMocks
+    private ConciliacionSaldos conciliacionSaldos;
+
+    @BeforeEach
+    public void setUp() {
+        conciliacionSaldos.hilos = 2;
+        conciliacionSaldos.numeroMinimo = 1_000_000_000L;
+        conciliacionSaldos.numeroMaximo = 1_000_001_999L;
+        conciliacionSaldos.amplitudParticion = 1_000;
+        conciliacionSaldos.tamanioLote = 2;
+        conciliacionSaldos.concesion = Duration.ofMinutes(15);
+        lenient().when(conciliacionRepository.cerrar(any(Conciliacion.class))).thenReturn(true);
+    }
+
+    @Test
+    @DisplayName("Conciliar - Partitions the account range and reports confirmed discrepancies")
+    public void testConciliar_ReportaDiscrepancias() {
+        when(corteSaldoRepository.findFirstByOrderByHastaDesc())
+                .thenReturn(Optional.of(new CorteSaldo("c0", "1000000001", 0L, CORTE)));
+        sinOtrasCuentas(CORTE);
+        when(asientoRepository.calcularSaldosPorCuenta("0999999999", "1000000999", CORTE))
+                .thenReturn(Stream.of(new MovimientoNetoCuenta("1000000001", 5_000L),
+                        new MovimientoNetoCuenta("1000000019", 2_000L),
+                        new MovimientoNetoCuenta("1000000027", 300L)));
+        when(asientoRepository.calcularSaldosPorCuenta("1000000999", "1000001999", CORTE)).thenReturn(Stream.empty());
+        when(consultaCuentaCubierta.listBalancesInRange("0999999999", "1000000999", 2))
+                .thenReturn(List.of(crearSaldo("1000000001", "150.00", "100.00"), crearSaldo("1000000019", "25.00", "0.00")));
+        when(consultaCuentaCubierta.listBalancesInRange("1000000019", "1000000999", 2))
+                .thenReturn(List.of(crearSaldo("1000000035", "10.00", "10.00")));
+        when(consultaCuentaCubierta.listBalancesInRange("1000000999", "1000001999", 2)).thenReturn(List.of());
+        when(consultaCuentaCubierta.listBalancesInRange("1000000018", "1000000019", 1))
+                .thenReturn(List.of(crearSaldo("1000000019", "25.00", "0.00")));
+        when(consultaCuentaCubierta.listBalancesInRange("1000000026", "1000000027", 1)).thenReturn(List.of());
+        when(libroMayor.saldoAl(eq("1000000019"), any(LocalDateTime.class))).thenReturn(2_000L);
+        when(libroMayor.saldoAl(eq("1000000027"), any(LocalDateTime.class))).thenReturn(300L);
+
+        Conciliacion conciliacion = conciliacionSaldos.conciliar("2024-05-11").orElseThrow();
+
+        assertEquals(EstadoConciliacionEnum.COMPLETADA, conciliacion.getEstado());
+        assertEquals(3, conciliacion.getCuentasRevisadas());
+        assertEquals(2, conciliacion.getDiscrepancias());
+        assertNotNull(conciliacion.getFin());
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Discrepancia>> reportadas = ArgumentCaptor.forClass(List.class);
+        verify(discrepanciaRepository).insert(reportadas.capture());
+        List<Discrepancia> discrepancias = reportadas.getValue();
+        assertEquals(List.of("1000000019", "1000000027"), discrepancias.stream().map(Discrepancia::getCuenta).toList());
+        assertEquals(500L, discrepancias.get(0).getDiferenciaCentimos());
+        assertNull(discrepancias.get(1).getSaldoCuentaCentimos());
+        assertEquals(-300L, discrepancias.get(1).getDiferenciaCentimos());
+        verify(conciliacionRepository).cerrar(conciliacion);
+    }
+
+    @Test
+    @DisplayName("Conciliar - Drift that disappears on re-read is not reported")
+    public void testConciliar_DescartaOperacionesEnCurso() {
+        when(corteSaldoRepository.findFirstByOrderByHastaDesc()).thenReturn(Optional.empty());
+        sinOtrasCuentas(null);
+        when(asientoRepository.calcularSaldosPorCuenta("0999999999", "1000000999", null))
+                .thenReturn(Stream.of(new MovimientoNetoCuenta("1000000001", 5_000L)));
+        when(consultaCuentaCubierta.listBalancesInRange("0999999999", "1000000999", 2))
+                .thenReturn(List.of(crearSaldo("1000000001", "160.00", "100.00")));
+        when(consultaCuentaCubierta.listBalancesInRange("1000000000", "1000000001", 1))
+                .thenReturn(List.of(crearSaldo("1000000001", "160.00", "100.00")));
+        when(libroMayor.saldoAl(eq("1000000001"), any(LocalDateTime.class))).thenReturn(6_000L);
+
+        Conciliacion conciliacion = conciliacionSaldos.conciliar("2024-05-11").orElseThrow();
+
+        assertEquals(0, conciliacion.getDiscrepancias());
+        verify(discrepanciaRepository, never()).insert(anyList());
+    }
+
+    @Test
+    @DisplayName("Conciliar - A failed partition leaves the run incomplete")
+    public void testConciliar_ParticionFallida() {
+        when(corteSaldoRepository.findFirstByOrderByHastaDesc()).thenReturn(Optional.empty());
+        sinOtrasCuentas(null);
+        when(consultaCuentaCubierta.listBalancesInRange("0999999999", "1000000999", 2))
+                .thenThrow(new CustomExceptions.ServiceUnavailableException("AccountMs no está disponible temporalmente"));
+
+        Conciliacion conciliacion = conciliacionSaldos.conciliar("2024-05-11").orElseThrow();
+
+        assertEquals(EstadoConciliacionEnum.INCOMPLETA, conciliacion.getEstado());
+        assertEquals(1, conciliacion.getParticionesFallidas());
+    }
+
+    @Test
+    @DisplayName("Conciliar - Only one instance runs a given reconciliation")
+    public void testConciliar_YaIniciada() {
+        when(conciliacionRepository.insert(any(Conciliacion.class))).thenThrow(new DuplicateKeyException("duplicada"));
+
+        assertTrue(conciliacionSaldos.conciliar("2024-05-11").isEmpty());
+        verify(conciliacionRepository).retomarVencida(any(Conciliacion.class));
+        verifyNoInteractions(asientoRepository, consultaCuentaCubierta, discrepanciaRepository);
+    }
+
+    @Test
+    @DisplayName("Conciliar - Non-numeric legacy accounts are reconciled in the catch-all partitions")
+    public void testConciliar_CuentasNoNumericas() {
+        when(corteSaldoRepository.findFirstByOrderByHastaDesc()).thenReturn(Optional.empty());
+        sinOtrasCuentas(null);
+        when(asientoRepository.calcularSaldosPorCuenta("!", "0999999999", null))
+                .thenReturn(Stream.of(new MovimientoNetoCuenta("00ab12cd34", 1_000L)));
+        when(asientoRepository.calcularSaldosPorCuenta("1000001999", "zzzzzzzzzz", null))
+                .thenReturn(Stream.of(new MovimientoNetoCuenta("CAJA", -9_000L), new MovimientoNetoCuenta("a1b2c3d4e5", 8_000L)));
+        when(consultaCuentaCubierta.listBalancesInRange("!", "0999999999", 2))
+                .thenReturn(List.of(crearSaldo("00ab12cd34", "10.00", "0.00")));
+        when(consultaCuentaCubierta.listBalancesInRange("1000001999", "zzzzzzzzzz", 2))
+                .thenReturn(List.of(crearSaldo("a1b2c3d4e5", "90.00", "0.00")));
+        when(consultaCuentaCubierta.listBalancesInRange("a1b2c3d4e", "a1b2c3d4e5", 2))
+                .thenReturn(List.of(crearSaldo("a1b2c3d4e0", "1.00", "0.00"), crearSaldo("a1b2c3d4e5", "90.00", "0.00")));
+        when(libroMayor.saldoAl(eq("a1b2c3d4e5"), any(LocalDateTime.class))).thenReturn(8_000L);
+
+        Conciliacion conciliacion = conciliacionSaldos.conciliar("2024-05-11").orElseThrow();
+
+        assertEquals(EstadoConciliacionEnum.COMPLETADA, conciliacion.getEstado());
+        assertEquals(2, conciliacion.getCuentasRevisadas());
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Discrepancia>> reportadas = ArgumentCaptor.forClass(List.class);
+        verify(discrepanciaRepository).insert(reportadas.capture());
+        assertEquals(List.of("a1b2c3d4e5"), reportadas.getValue().stream().map(Discrepancia::getCuenta).toList());
+        assertEquals(1_000L, reportadas.getValue().get(0).getDiferenciaCentimos());
+    }
+
+    @Test
+    @DisplayName("Conciliar - A run whose lease expired is taken over and its partial results discarded")
+    public void testConciliar_RetomaEjecucionVencida() {
+        when(conciliacionRepository.insert(any(Conciliacion.class))).thenThrow(new DuplicateKeyException("duplicada"));
+        when(conciliacionRepository.retomarVencida(any(Conciliacion.class))).thenReturn(true);
+        when(corteSaldoRepository.findFirstByOrderByHastaDesc()).thenReturn(Optional.empty());
+
+        Conciliacion conciliacion = conciliacionSaldos.conciliar("2024-05-11").orElseThrow();
+
+        assertEquals(EstadoConciliacionEnum.COMPLETADA, conciliacion.getEstado());
+        verify(discrepanciaRepository).deleteByConciliacionId("2024-05-11");
+        verify(conciliacionRepository).cerrar(conciliacion);
+    }
+
+    @Test
+    @DisplayName("Conciliar - A run that lost its lease stops without saving its result")
+    public void testConciliar_ConcesionPerdida() {
+        conciliacionSaldos.concesion = Duration.ZERO;
+        when(corteSaldoRepository.findFirstByOrderByHastaDesc()).thenReturn(Optional.empty());
+        when(conciliacionRepository.renovar(any(Conciliacion.class))).thenReturn(false);
+
+        assertTrue(conciliacionSaldos.conciliar("2024-05-11").isEmpty());
+
+        verify(conciliacionRepository, never()).cerrar(any(Conciliacion.class));
+    }
+
+    private void sinOtrasCuentas(LocalDateTime corte) {
+        when(asientoRepository.calcularSaldosPorCuenta(anyString(), anyString(), eq(corte))).thenAnswer(invocation -> Stream.empty());
+        when(consultaCuentaCubierta.listBalancesInRange(anyString(), anyString(), anyInt())).thenReturn(List.of());
+    }
+
+    private SaldoConciliacion crearSaldo(String numeroCuenta, String saldo, String ajustes) {
+        SaldoConciliacion saldoConciliacion = new SaldoConciliacion();
+        saldoConciliacion.setNumeroCuenta(numeroCuenta);
+        saldoConciliacion.setSaldo(new BigDecimal(saldo));
+        saldoConciliacion.setAjustes(new BigDecimal(ajustes));
+        return saldoConciliacion;
+    }
+}
@@ -0,0 +1,317 @@
+package com.nttdata.TransaccionMs.business;
+
+import com.nttdata.TransaccionMs.dto.FiltroHistorial;
+import com.nttdata.TransaccionMs.dto.MovimientoNetoCuenta;
+import com.nttdata.TransaccionMs.model.entity.Asiento;
+import com.nttdata.TransaccionMs.model.entity.Concesion;
+import com.nttdata.TransaccionMs.model.entity.CorteSaldo;
+import com.nttdata.TransaccionMs.model.entity.TipoTransaccionEnum;
+import com.nttdata.TransaccionMs.model.entity.Transaccion;
+import com.nttdata.TransaccionMs.repository.AsientoRepository;
+import com.nttdata.TransaccionMs.repository.ConcesionRepository;
+import com.nttdata.TransaccionMs.repository.CorteSaldoRepository;
+import com.nttdata.TransaccionMs.repository.ResumenDiarioRepository;
+import com.nttdata.TransaccionMs.repository.TransaccionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class LibroMayorTest {
+
+    @Mock
+    private AsientoRepository asientoRepository;
+
+    @Mock
+    private CorteSaldoRepository corteSaldoRepository;
+
+    @Mock
+    private ResumenDiarioRepository resumenDiarioRepository;
+
+    @Mock
+    private TransaccionRepository transaccionRepository;
+
+    @Mock
+    private ConcesionRepository concesionRepository;
+
+    @InjectMocks
+    private LibroMayor libroMayor;
+
+    @BeforeEach
+    public void setUp() {
+        libroMayor.margen = Duration.ofMinutes(5);
+        libroMayor.tamanioLote = 2;
+        libroMayor.concesion = Duration.ofMinutes(15);
+        lenient().when(concesionRepository.adquirir(any(Concesion.class), any(LocalDateTime.class))).thenReturn(true);
+    }
+
+    @Test
+    @DisplayName("Asientos - Every transaction posts balanced entries")
+    public void testAsientosDe_Balanceados() {
+        List<Asiento> deposito = LibroMayor.asientosDe(crearTransaccion("t1", TipoTransaccionEnum.DEPOSITO, "111", null));
+        List<Asiento> retiro = LibroMayor.asientosDe(crearTransaccion("t2", TipoTransaccionEnum.RETIRO, "111", null));
+        List<Asiento> transferencia = LibroMayor.asientosDe(crearTransaccion("t3", TipoTransaccionEnum.TRANSFERENCIA, "111", "222"));
+
+        assertEquals(List.of("111", LibroMayor.CUENTA_CAJA), deposito.stream().map(Asiento::getCuenta).toList());
+        assertEquals(List.of(2_550L, -2_550L), deposito.stream().map(Asiento::getMontoCentimos).toList());
+        assertEquals(List.of(-2_550L, 2_550L), retiro.stream().map(Asiento::getMontoCentimos).toList());
+        assertEquals(List.of("111", "222"), transferencia.stream().map(Asiento::getCuenta).toList());
+        assertEquals(List.of("t3-0", "t3-1"), transferencia.stream().map(Asiento::getId).toList());
+        Stream.of(deposito, retiro, transferencia)
+                .forEach(asientos -> assertEquals(0L, asientos.stream().mapToLong(Asiento::getMontoCentimos).sum()));
+    }
+
+    @Test
+    @DisplayName("Registrar - Only newly inserted customer entries feed the daily rollups")
+    public void testRegistrar_AcumulaSoloAsientosNuevos() {
+        Transaccion deposito = crearTransaccion("t1", TipoTransaccionEnum.DEPOSITO, "111", null);
+        Transaccion transferencia = crearTransaccion("t2", TipoTransaccionEnum.TRANSFERENCIA, "111", "222");
+        List<Asiento> nuevos = LibroMayor.asientosDe(deposito);
+        when(asientoRepository.insertarLote(anyList())).thenReturn(nuevos);
+
+        libroMayor.registrar(List.of(deposito, transferencia));
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Asiento>> insertados = ArgumentCaptor.forClass(List.class);
+        verify(asientoRepository).insertarLote(insertados.capture());
+        assertEquals(4, insertados.getValue().size());
+        verify(resumenDiarioRepository).acumular(List.of(nuevos.get(0)));
+    }
+
+    @Test
+    @DisplayName("Registrar - A late entry invalidates the snapshots it falls under")
+    public void testRegistrar_InvalidaCortesPorAsientoTardio() {
+        Transaccion tardia = crearTransaccion("t1", TipoTransaccionEnum.TRANSFERENCIA, "111", "222");
+        Transaccion reciente = crearTransaccion("t2", TipoTransaccionEnum.DEPOSITO, "333", null);
+        reciente.setFecha(LocalDateTime.now());
+        when(asientoRepository.insertarLote(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        libroMayor.registrar(List.of(tardia, reciente));
+
+        verify(corteSaldoRepository).invalidarDesde(Map.of("111", tardia.getFecha(), "222", tardia.getFecha()));
+    }
+
+    @Test
+    @DisplayName("Registrar - Entries inside the safety margin leave snapshots untouched")
+    public void testRegistrar_SinAsientosTardios() {
+        Transaccion reciente = crearTransaccion("t1", TipoTransaccionEnum.DEPOSITO, "111", null);
+        reciente.setFecha(LocalDateTime.now());
+        when(asientoRepository.insertarLote(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        libroMayor.registrar(List.of(reciente));
+
+        verify(corteSaldoRepository, never()).invalidarDesde(anyMap());
+    }
+
+    @Test
+    @DisplayName("Saldo al - Adds entries after the latest snapshot")
+    public void testSaldoAl_CorteMasMovimientos() {
+        LocalDateTime fecha = LocalDateTime.of(2024, 5, 10, 12, 0);
+        LocalDateTime hastaCorte = LocalDateTime.of(2024, 5, 10, 0, 0);
+        when(corteSaldoRepository.findFirstByCuentaAndHastaLessThanEqualOrderByHastaDesc("111", fecha))
+                .thenReturn(Optional.of(new CorteSaldo("c1", "111", 50_000L, hastaCorte)));
+        when(asientoRepository.sumarMovimientos("111", hastaCorte, fecha)).thenReturn(-1_250L);
+
+        assertEquals(48_750L, libroMayor.saldoAl("111", fecha));
+    }
+
+    @Test
+    @DisplayName("Saldo al - Without snapshots sums every entry")
+    public void testSaldoAl_SinCorte() {
+        LocalDateTime fecha = LocalDateTime.of(2024, 5, 10, 12, 0);
+        when(corteSaldoRepository.findFirstByCuentaAndHastaLessThanEqualOrderByHastaDesc("111", fecha))
+                .thenReturn(Optional.empty());
+        when(asientoRepository.sumarMovimientos("111", null, fecha)).thenReturn(7_000L);
+
+        assertEquals(7_000L, libroMayor.saldoAl("111", fecha));
+    }
+
+    @Test
+    @DisplayName("Saldo antes de - Excludes entries posted at the given instant")
+    public void testSaldoAntesDe_ExcluyeInstante() {
+        LocalDateTime anterior = LocalDateTime.of(2024, 5, 9, 23, 59, 59, 999_000_000);
+        when(corteSaldoRepository.findFirstByCuentaAndHastaLessThanEqualOrderByHastaDesc("111", anterior))
+                .thenReturn(Optional.empty());
+        when(asientoRepository.sumarMovimientos("111", null, anterior)).thenReturn(7_000L);
+
+        assertEquals(7_000L, libroMayor.saldoAntesDe("111", LocalDateTime.of(2024, 5, 10, 0, 0, 0, 123)));
+    }
+
+    @Test
+    @DisplayName("Generar cortes - New snapshot is the previous one plus the net movement")
+    public void testGenerarCortes_AcumulaSobreCorteAnterior() {
+        LocalDateTime anterior = LocalDateTime.of(2024, 5, 10, 0, 0);
+        when(corteSaldoRepository.findFirstByOrderByHastaDesc())
+                .thenReturn(Optional.of(new CorteSaldo("c0", "111", 50_000L, anterior)));
+        when(transaccionRepository.recorrerHistorial(any(FiltroHistorial.class), eq(2))).thenReturn(Stream.empty());
+        when(asientoRepository.sumarMovimientosPorCuenta(eq(anterior), any(LocalDateTime.class)))
+                .thenReturn(Stream.of(new MovimientoNetoCuenta("111", 1_000L), new MovimientoNetoCuenta("222", -300L),
+                        new MovimientoNetoCuenta("333", 200L)));
+        when(corteSaldoRepository.buscarUltimosCortes(List.of("111", "222"), anterior))
+                .thenReturn(List.of(new CorteSaldo("c0", "111", 50_000L, anterior),
+                        new CorteSaldo("c1", "222", 900L, anterior)));
+        when(corteSaldoRepository.buscarUltimosCortes(List.of("333"), anterior)).thenReturn(List.of());
+        when(corteSaldoRepository.findFirstByCuentaAndHastaLessThanEqualOrderByHastaDesc(eq("333"), any(LocalDateTime.class)))
+                .thenReturn(Optional.empty());
+        when(asientoRepository.sumarMovimientos(eq("333"), isNull(), any(LocalDateTime.class))).thenReturn(450L);
+
+        libroMayor.generarCortes();
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<CorteSaldo>> lotes = ArgumentCaptor.forClass(List.class);
+        verify(corteSaldoRepository, times(2)).insertarLote(lotes.capture());
+        List<CorteSaldo> cortes = lotes.getAllValues().stream().flatMap(List::stream).toList();
+        assertEquals(List.of(51_000L, 600L, 450L), cortes.stream().map(CorteSaldo::getSaldoCentimos).toList());
+        assertEquals(1, cortes.stream().map(CorteSaldo::getHasta).distinct().count());
+        assertTrue(cortes.get(0).getHasta().isBefore(LocalDateTime.now().minusMinutes(4)));
+    }
+
+    @Test
+    @DisplayName("Generar cortes - Snapshots invalidated by late entries are recomputed")
+    public void testGenerarCortes_RecalculaCortesTardios() {
+        LocalDateTime anterior = LocalDateTime.of(2024, 5, 10, 0, 0);
+        LocalDateTime fechaTardia = LocalDateTime.of(2024, 5, 9, 18, 0);
+        when(corteSaldoRepository.findFirstByOrderByHastaDesc())
+                .thenReturn(Optional.of(new CorteSaldo("c0", "111", 50_000L, anterior)));
+        when(transaccionRepository.recorrerHistorial(any(FiltroHistorial.class), eq(2))).thenReturn(Stream.empty());
+        when(asientoRepository.buscarRegistradosDesde(anterior, anterior))
+                .thenReturn(List.of(new Asiento("t9-0", "t9", "111", 700L, TipoTransaccionEnum.DEPOSITO, fechaTardia,
+                        LocalDateTime.of(2024, 5, 10, 0, 30))));
+        when(asientoRepository.sumarMovimientosPorCuenta(eq(anterior), any(LocalDateTime.class))).thenReturn(Stream.empty());
+        when(corteSaldoRepository.findFirstByCuentaAndHastaLessThanEqualOrderByHastaDesc(eq("111"), any(LocalDateTime.class)))
+                .thenReturn(Optional.of(new CorteSaldo("c-1", "111", 40_000L, LocalDateTime.of(2024, 5, 9, 0, 0))));
+        when(asientoRepository.sumarMovimientos(eq("111"), eq(LocalDateTime.of(2024, 5, 9, 0, 0)), any(LocalDateTime.class)))
+                .thenReturn(10_700L);
+
+        libroMayor.generarCortes();
+
+        verify(corteSaldoRepository).invalidarDesde(Map.of("111", fechaTardia));
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<CorteSaldo>> lote = ArgumentCaptor.forClass(List.class);
+        verify(corteSaldoRepository).insertarLote(lote.capture());
+        assertEquals(1, lote.getValue().size());
+        assertEquals("111", lote.getValue().get(0).getCuenta());
+        assertEquals(50_700L, lote.getValue().get(0).getSaldoCentimos());
+    }
+
+    @Test
+    @DisplayName("Generar cortes - Entries registered during the run invalidate the new snapshots")
+    public void testGenerarCortes_InvalidaAsientosDuranteLaEjecucion() {
+        LocalDateTime anterior = LocalDateTime.of(2024, 5, 10, 0, 0);
+        LocalDateTime fechaTardia = LocalDateTime.now().minusMinutes(30);
+        Asiento tardio = new Asiento("t9-0", "t9", "111", 700L, TipoTransaccionEnum.DEPOSITO, fechaTardia, LocalDateTime.now());
+        when(corteSaldoRepository.findFirstByOrderByHastaDesc())
+                .thenReturn(Optional.of(new CorteSaldo("c0", "111", 50_000L, anterior)));
+        when(transaccionRepository.recorrerHistorial(any(FiltroHistorial.class), eq(2))).thenReturn(Stream.empty());
+        when(asientoRepository.buscarRegistradosDesde(any(LocalDateTime.class), any(LocalDateTime.class)))
+                .thenAnswer(invocation -> anterior.equals(invocation.getArgument(0)) ? List.of() : List.of(tardio));
+        when(asientoRepository.sumarMovimientosPorCuenta(eq(anterior), any(LocalDateTime.class)))
+                .thenReturn(Stream.of(new MovimientoNetoCuenta("111", 1_000L)));
+        when(corteSaldoRepository.buscarUltimosCortes(List.of("111"), anterior))
+                .thenReturn(List.of(new CorteSaldo("c0", "111", 50_000L, anterior)));
+
+        libroMayor.generarCortes();
+
+        InOrder orden = inOrder(corteSaldoRepository);
+        orden.verify(corteSaldoRepository).insertarLote(anyList());
+        orden.verify(corteSaldoRepository).invalidarDesde(Map.of("111", fechaTardia));
+    }
+
+    @Test
+    @DisplayName("Generar cortes - Transactions saved without their entries are posted before cutting")
+    public void testGenerarCortes_ReparaAsientosFaltantes() {
+        LocalDateTime anterior = LocalDateTime.of(2024, 5, 10, 0, 0);
+        Transaccion completa = crearTransaccion("t1", TipoTransaccionEnum.DEPOSITO, "111", null);
+        Transaccion incompleta = crearTransaccion("t2", TipoTransaccionEnum.TRANSFERENCIA, "111", "222");
+        when(corteSaldoRepository.findFirstByOrderByHastaDesc())
+                .thenReturn(Optional.of(new CorteSaldo("c0", "111", 50_000L, anterior)));
+        when(transaccionRepository.recorrerHistorial(any(FiltroHistorial.class), eq(2)))
+                .thenReturn(Stream.of(completa, incompleta));
+        when(asientoRepository.buscarIdsExistentes(List.of("t1-0", "t1-1", "t2-0", "t2-1")))
+                .thenReturn(Set.of("t1-0", "t1-1", "t2-0"));
+        when(asientoRepository.insertarLote(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(asientoRepository.sumarMovimientosPorCuenta(eq(anterior), any(LocalDateTime.class))).thenReturn(Stream.empty());
+
+        libroMayor.generarCortes();
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Asiento>> insertados = ArgumentCaptor.forClass(List.class);
+        verify(asientoRepository).insertarLote(insertados.capture());
+        assertEquals(List.of("t2-0", "t2-1"), insertados.getValue().stream().map(Asiento::getId).toList());
+        ArgumentCaptor<FiltroHistorial> ventana = ArgumentCaptor.forClass(FiltroHistorial.class);
+        verify(transaccionRepository).recorrerHistorial(ventana.capture(), eq(2));
+        assertEquals(anterior, ventana.getValue().getDesde());
+    }
+
+    @Test
+    @DisplayName("Generar cortes - Nothing to do inside the safety margin")
+    public void testGenerarCortes_DentroDelMargen() {
+        when(corteSaldoRepository.findFirstByOrderByHastaDesc())
+                .thenReturn(Optional.of(new CorteSaldo("c0", "111", 0L, LocalDateTime.now())));
+
+        libroMayor.generarCortes();
+
+        verifyNoInteractions(asientoRepository);
+        verify(corteSaldoRepository, never()).insertarLote(anyList());
+    }
+
+    @Test
+    @DisplayName("Generar cortes - Skipped while another instance holds the lease")
+    public void testGenerarCortes_ConcesionTomada() {
+        when(concesionRepository.adquirir(any(Concesion.class), any(LocalDateTime.class))).thenReturn(false);
+
+        libroMayor.generarCortes();
+
+        verifyNoInteractions(corteSaldoRepository, asientoRepository, transaccionRepository);
+        verify(concesionRepository, never()).liberar(any(Concesion.class));
+    }
+
+    @Test
+    @DisplayName("Generar cortes - Lost lease stops the run before writing snapshots")
+    public void testGenerarCortes_ConcesionPerdida() {
+        libroMayor.concesion = Duration.ZERO;
+        LocalDateTime anterior = LocalDateTime.of(2024, 5, 10, 0, 0);
+        when(corteSaldoRepository.findFirstByOrderByHastaDesc())
+                .thenReturn(Optional.of(new CorteSaldo("c0", "111", 50_000L, anterior)));
+        when(transaccionRepository.recorrerHistorial(any(FiltroHistorial.class), eq(2))).thenReturn(Stream.empty());
+        when(concesionRepository.renovar(any(Concesion.class))).thenReturn(false);
+
+        libroMayor.generarCortes();
+
+        verify(asientoRepository, never()).sumarMovimientosPorCuenta(any(), any());
+        verify(corteSaldoRepository, never()).insertarLote(anyList());
+        verify(corteSaldoRepository, never()).invalidarDesde(anyMap());
+        ArgumentCaptor<Concesion> concesion = ArgumentCaptor.forClass(Concesion.class);
+        verify(concesionRepository).adquirir(concesion.capture(), any(LocalDateTime.class));
+        verify(concesionRepository).liberar(concesion.getValue());
+        assertEquals("cortes-saldo", concesion.getValue().getId());
+    }
+
+    private Transaccion crearTransaccion(String id, TipoTransaccionEnum tipo, String origen, String destino) {
+        Transaccion transaccion = new Transaccion();
+        transaccion.setId(id);
+        transaccion.setTipo(tipo);
+        transaccion.setCuentaOrigen(origen);
+        transaccion.setCuentaDestino(destino);
+        transaccion.setMontoCentimos(2_550L);
+        transaccion.setFecha(LocalDateTime.of(2024, 5, 10, 9, 30));
+        return transaccion;
+    }
+}
@@ -0,0 +1,337 @@
+package com.nttdata.TransaccionMs.business;
+
+import com.nttdata.TransaccionMs.exception.CustomExceptions;
+import com.nttdata.TransaccionMs.model.TransactionRequest;
+import com.nttdata.TransaccionMs.model.TransactionResponse;
+import com.nttdata.TransaccionMs.model.entity.EstadoSolicitudEnum;
+import com.nttdata.TransaccionMs.model.entity.SolicitudIdempotente;
+import com.nttdata.TransaccionMs.model.entity.TipoTransaccionEnum;
+import com.nttdata.TransaccionMs.model.entity.Transaccion;
+import com.nttdata.TransaccionMs.repository.SolicitudIdempotenteRepository;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class RegistroIdempotenciaTest {
+
+    @Mock
+    private SolicitudIdempotenteRepository solicitudIdempotenteRepository;
+
+    @Mock
+    private PersistenciaTransacciones persistenciaTransacciones;
+
+    @Mock
+    private TransaccionMapper transaccionMapper;
+
+    @InjectMocks
+    private RegistroIdempotencia registroIdempotencia;
+
+    private TransactionRequest solicitud;
+    private Transaccion transaccion;
+    private TransactionResponse respuesta;
+    private AtomicInteger ejecuciones;
+    private List<String> referencias;
+    private Function<String, Transaccion> registro;
+
+    @BeforeEach
+    public void setUp() {
+        registroIdempotencia.retencion = Duration.ofHours(24);
+        registroIdempotencia.tiempoProceso = Duration.ofSeconds(60);
+        registroIdempotencia.maximoCache = 100;
+        registroIdempotencia.expiracionCache = Duration.ofMinutes(10);
+        registroIdempotencia.inicializar();
+
+        solicitud = new TransactionRequest();
+        solicitud.setTipo(TransactionRequest.TipoEnum.DEPOSITO);
+        solicitud.setCuentaOrigen("1234567890");
+        solicitud.setMonto(new BigDecimal("100.0"));
+
+        transaccion = new Transaccion();
+        transaccion.setId("652f1c0e8b3e4a1d2c3b4a59");
+
+        respuesta = new TransactionResponse();
+        respuesta.setMonto(new BigDecimal("100.0"));
+
+        ejecuciones = new AtomicInteger();
+        referencias = new ArrayList<>();
+        registro = referencia -> {
+            ejecuciones.incrementAndGet();
+            referencias.add(referencia);
+            return transaccion;
+        };
+    }
+
+    @Test
+    @DisplayName("Ejecutar - Without key always runs the operation")
+    public void testEjecutar_SinClave() {
+        when(transaccionMapper.getTransaccionResponseOfTransaccion(transaccion)).thenReturn(respuesta);
+
+        registroIdempotencia.ejecutar(null, "DEPOSITO", solicitud, registro);
+        registroIdempotencia.ejecutar(" ", "DEPOSITO", solicitud, registro);
+
+        assertEquals(2, ejecuciones.get());
+        assertEquals(2, referencias.size());
+        assertTrue(referencias.stream().allMatch(Objects::isNull));
+        verifyNoInteractions(solicitudIdempotenteRepository);
+    }
+
+    @Test
+    @DisplayName("Ejecutar - Replay is served from memory without running the operation again")
+    public void testEjecutar_ReintentoEnMemoria() {
+        when(transaccionMapper.getTransaccionResponseOfTransaccion(transaccion)).thenReturn(respuesta);
+
+        TransactionResponse primera = registroIdempotencia.ejecutar("clave-1", "DEPOSITO", solicitud, registro);
+        TransactionResponse reintento = registroIdempotencia.ejecutar("clave-1", "DEPOSITO", solicitud, registro);
+
+        assertSame(respuesta, primera);
+        assertSame(respuesta, reintento);
+        assertEquals(1, ejecuciones.get());
+
+        ArgumentCaptor<SolicitudIdempotente> completada = ArgumentCaptor.forClass(SolicitudIdempotente.class);
+        verify(solicitudIdempotenteRepository, times(1)).insert(any(SolicitudIdempotente.class));
+        verify(solicitudIdempotenteRepository, times(1)).save(completada.capture());
+        assertEquals(EstadoSolicitudEnum.COMPLETADA, completada.getValue().getEstado());
+        assertEquals(transaccion.getId(), completada.getValue().getTransaccionId());
+        assertEquals(referencias.get(0), completada.getValue().getReferencia());
+        assertNotNull(referencias.get(0));
+        assertTrue(completada.getValue().getExpiraEn().isAfter(Instant.now().plus(Duration.ofHours(23))));
+    }
+
+    @Test
+    @DisplayName("Ejecutar - Replay is served from the durable record")
+    public void testEjecutar_ReintentoDurable() {
+        SolicitudIdempotente existente = new SolicitudIdempotente("clave-1", huella("DEPOSITO", solicitud),
+                EstadoSolicitudEnum.COMPLETADA, "ref-1", transaccion.getId(), Instant.now().minusSeconds(30),
+                Instant.now().plus(Duration.ofHours(1)));
+
+        when(solicitudIdempotenteRepository.insert(any(SolicitudIdempotente.class))).thenThrow(new DuplicateKeyException("clave-1"));
+        when(solicitudIdempotenteRepository.findById("clave-1")).thenReturn(Optional.of(existente));
+        when(persistenciaTransacciones.buscar(transaccion.getId())).thenReturn(Optional.of(transaccion));
+        when(transaccionMapper.getTransaccionResponseOfTransaccion(transaccion)).thenReturn(respuesta);
+
+        TransactionResponse resultado = registroIdempotencia.ejecutar("clave-1", "DEPOSITO", solicitud, registro);
+
+        assertSame(respuesta, resultado);
+        assertEquals(0, ejecuciones.get());
+        verify(solicitudIdempotenteRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Ejecutar - Key reused with a different request")
+    public void testEjecutar_ClaveConOtraSolicitud() {
+        when(transaccionMapper.getTransaccionResponseOfTransaccion(transaccion)).thenReturn(respuesta);
+        registroIdempotencia.ejecutar("clave-1", "DEPOSITO", solicitud, registro);
+
+        solicitud.setMonto(new BigDecimal("200.0"));
+        CustomExceptions.ConflictException exception = assertThrows(
+                CustomExceptions.ConflictException.class,
+                () -> registroIdempotencia.ejecutar("clave-1", "DEPOSITO", solicitud, registro)
+        );
+
+        assertEquals("La clave de idempotencia ya fue usada con otra solicitud", exception.getMessage());
+        assertEquals(1, ejecuciones.get());
+    }
+
+    @Test
+    @DisplayName("Ejecutar - Original request still in progress")
+    public void testEjecutar_EnProceso() {
+        SolicitudIdempotente existente = new SolicitudIdempotente("clave-1", huella("RETIRO", solicitud),
+                EstadoSolicitudEnum.EN_PROCESO, "ref-1", null, Instant.now().plus(Duration.ofSeconds(30)),
+                Instant.now().plus(Duration.ofHours(24)));
+
+        when(solicitudIdempotenteRepository.insert(any(SolicitudIdempotente.class))).thenThrow(new DuplicateKeyException("clave-1"));
+        when(solicitudIdempotenteRepository.findById("clave-1")).thenReturn(Optional.of(existente));
+
+        assertThrows(
+                CustomExceptions.ConflictException.class,
+                () -> registroIdempotencia.ejecutar("clave-1", "RETIRO", solicitud, registro)
+        );
+        assertEquals(0, ejecuciones.get());
+    }
+
+    @Test
+    @DisplayName("Ejecutar - Abandoned reservation is taken over with the same reference")
+    public void testEjecutar_ReservaVencida() {
+        SolicitudIdempotente abandonada = new SolicitudIdempotente("clave-1", huella("DEPOSITO", solicitud),
+                EstadoSolicitudEnum.EN_PROCESO, "ref-1", null, Instant.now().minusSeconds(5),
+                Instant.now().plus(Duration.ofHours(24)));
+
+        when(solicitudIdempotenteRepository.insert(any(SolicitudIdempotente.class))).thenThrow(new DuplicateKeyException("clave-1"));
+        when(solicitudIdempotenteRepository.findById("clave-1")).thenReturn(Optional.of(abandonada));
+        when(solicitudIdempotenteRepository.retomar(eq(abandonada), any(Instant.class))).thenReturn(true);
+        when(transaccionMapper.getTransaccionResponseOfTransaccion(transaccion)).thenReturn(respuesta);
+
+        TransactionResponse resultado = registroIdempotencia.ejecutar("clave-1", "DEPOSITO", solicitud, registro);
+
+        assertSame(respuesta, resultado);
+        assertEquals(List.of("ref-1"), referencias);
+        assertEquals(EstadoSolicitudEnum.COMPLETADA, abandonada.getEstado());
+        verify(solicitudIdempotenteRepository, never()).delete(any());
+        verify(solicitudIdempotenteRepository, never()).deleteById(any());
+    }
+
+    @Test
+    @DisplayName("Ejecutar - Takeover lost to another instance reports the request as in progress")
+    public void testEjecutar_RetomaConcurrente() {
+        SolicitudIdempotente abandonada = new SolicitudIdempotente("clave-1", huella("DEPOSITO", solicitud),
+                EstadoSolicitudEnum.DESCONOCIDO, "ref-1", null, Instant.now().minusSeconds(5),
+                Instant.now().plus(Duration.ofHours(24)));
+        SolicitudIdempotente retomada = new SolicitudIdempotente("clave-1", huella("DEPOSITO", solicitud),
+                EstadoSolicitudEnum.EN_PROCESO, "ref-1", null, Instant.now().plusSeconds(60),
+                Instant.now().plus(Duration.ofHours(24)));
+
+        when(solicitudIdempotenteRepository.insert(any(SolicitudIdempotente.class))).thenThrow(new DuplicateKeyException("clave-1"));
+        when(solicitudIdempotenteRepository.findById("clave-1"))
+                .thenReturn(Optional.of(abandonada))
+                .thenReturn(Optional.of(retomada));
+        when(solicitudIdempotenteRepository.retomar(eq(abandonada), any(Instant.class))).thenReturn(false);
+
+        assertThrows(
+                CustomExceptions.ConflictException.class,
+                () -> registroIdempotencia.ejecutar("clave-1", "DEPOSITO", solicitud, registro)
+        );
+        assertEquals(0, ejecuciones.get());
+    }
+
+    @Test
+    @DisplayName("Ejecutar - Business rejection releases the key")
+    public void testEjecutar_FallaLiberaClave() {
+        Function<String, Transaccion> fallido = referencia -> {
+            throw new CustomExceptions.BadRequestException("Saldo insuficiente");
+        };
+
+        assertThrows(
+                CustomExceptions.BadRequestException.class,
+                () -> registroIdempotencia.ejecutar("clave-1", "RETIRO", solicitud, fallido)
+        );
+
+        verify(solicitudIdempotenteRepository, times(1)).deleteById("clave-1");
+        verify(solicitudIdempotenteRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Ejecutar - Failure after the remote applied the movement keeps the key and the retry reuses its reference")
+    public void testEjecutar_ResultadoDesconocido() {
+        Set<String> aplicadasEnCuentas = new HashSet<>();
+        AtomicInteger movimientosAplicados = new AtomicInteger();
+        AtomicInteger llamadas = new AtomicInteger();
+        Function<String, Transaccion> remoto = referencia -> {
+            if (aplicadasEnCuentas.add(referencia)) {
+                movimientosAplicados.incrementAndGet();
+            }
+            if (llamadas.incrementAndGet() == 1) {
+                throw new CustomExceptions.ServiceUnavailableException("Tiempo de espera agotado");
+            }
+            return transaccion;
+        };
+        ArgumentCaptor<SolicitudIdempotente> reserva = ArgumentCaptor.forClass(SolicitudIdempotente.class);
+
+        assertThrows(
+                CustomExceptions.ServiceUnavailableException.class,
+                () -> registroIdempotencia.ejecutar("clave-1", "RETIRO", solicitud, remoto)
+        );
+
+        verify(solicitudIdempotenteRepository, never()).deleteById(any());
+        verify(solicitudIdempotenteRepository).save(reserva.capture());
+        SolicitudIdempotente desconocida = reserva.getValue();
+        assertEquals(EstadoSolicitudEnum.DESCONOCIDO, desconocida.getEstado());
+        assertNotNull(desconocida.getReferencia());
+
+        when(solicitudIdempotenteRepository.insert(any(SolicitudIdempotente.class))).thenThrow(new DuplicateKeyException("clave-1"));
+        when(solicitudIdempotenteRepository.findById("clave-1")).thenReturn(Optional.of(desconocida));
+        when(solicitudIdempotenteRepository.retomar(eq(desconocida), any(Instant.class))).thenReturn(true);
+        when(transaccionMapper.getTransaccionResponseOfTransaccion(transaccion)).thenReturn(respuesta);
+
+        TransactionResponse resultado = registroIdempotencia.ejecutar("clave-1", "RETIRO", solicitud, remoto);
+
+        assertSame(respuesta, resultado);
+        assertEquals(2, llamadas.get());
+        assertEquals(1, movimientosAplicados.get());
+        assertEquals(EstadoSolicitudEnum.COMPLETADA, desconocida.getEstado());
+    }
+
+    @Test
+    @DisplayName("Ejecutar - Crash between the save and COMPLETADA is replayed without a second transaction")
+    public void testEjecutar_FallaAntesDeCompletar() {
+        Map<String, Transaccion> guardadas = new HashMap<>();
+        Set<String> asientos = new HashSet<>();
+        Function<String, Transaccion> guardar = referencia -> {
+            Transaccion nueva = new Transaccion();
+            nueva.setId(RegistroIdempotencia.transaccionIdDe(referencia));
+            nueva.setTipo(TipoTransaccionEnum.DEPOSITO);
+            nueva.setCuentaOrigen("1234567890");
+            nueva.setMontoCentimos(10_000L);
+            guardadas.put(nueva.getId(), nueva);
+            LibroMayor.asientosDe(nueva).forEach(asiento -> asientos.add(asiento.getId()));
+            return nueva;
+        };
+        ArgumentCaptor<SolicitudIdempotente> reserva = ArgumentCaptor.forClass(SolicitudIdempotente.class);
+        when(solicitudIdempotenteRepository.save(any(SolicitudIdempotente.class)))
+                .thenThrow(new DataAccessResourceFailureException("Mongo no disponible"))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+
+        assertThrows(
+                DataAccessResourceFailureException.class,
+                () -> registroIdempotencia.ejecutar("clave-1", "DEPOSITO", solicitud, guardar)
+        );
+
+        verify(solicitudIdempotenteRepository).insert(reserva.capture());
+        SolicitudIdempotente enProceso = reserva.getValue();
+        enProceso.setEstado(EstadoSolicitudEnum.EN_PROCESO);
+        enProceso.setLimiteProceso(Instant.now().minusSeconds(1));
+        when(solicitudIdempotenteRepository.insert(any(SolicitudIdempotente.class))).thenThrow(new DuplicateKeyException("clave-1"));
+        when(solicitudIdempotenteRepository.findById("clave-1")).thenReturn(Optional.of(enProceso));
+        when(solicitudIdempotenteRepository.retomar(eq(enProceso), any(Instant.class))).thenReturn(true);
+        when(transaccionMapper.getTransaccionResponseOfTransaccion(any(Transaccion.class))).thenReturn(respuesta);
+
+        TransactionResponse resultado = registroIdempotencia.ejecutar("clave-1", "DEPOSITO", solicitud, guardar);
+
+        assertSame(respuesta, resultado);
+        assertEquals(1, guardadas.size());
+        assertEquals(2, asientos.size());
+        assertEquals(EstadoSolicitudEnum.COMPLETADA, enProceso.getEstado());
+        assertEquals(RegistroIdempotencia.transaccionIdDe(enProceso.getReferencia()), enProceso.getTransaccionId());
+        assertTrue(ObjectId.isValid(enProceso.getTransaccionId()));
+    }
+
+    @Test
+    @DisplayName("Ejecutar - Key too long")
+    public void testEjecutar_ClaveDemasiadoLarga() {
+        assertThrows(
+                CustomExceptions.BadRequestException.class,
+                () -> registroIdempotencia.ejecutar("x".repeat(129), "DEPOSITO", solicitud, registro)
+        );
+        verifyNoInteractions(solicitudIdempotenteRepository);
+    }
+
+    private String huella(String operacion, TransactionRequest transactionRequest) {
+        return ReflectionTestUtils.invokeMethod(registroIdempotencia, "calcularHuella", operacion, transactionRequest);
+    }
+}
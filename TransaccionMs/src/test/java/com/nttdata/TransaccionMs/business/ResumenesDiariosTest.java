@@ -0,0 +1,98 @@
+package com.nttdata.TransaccionMs.business;
+
+import com.nttdata.TransaccionMs.dto.TotalAsientos;
+import com.nttdata.TransaccionMs.model.entity.ResumenDiario;
+import com.nttdata.TransaccionMs.model.entity.TipoTransaccionEnum;
+import com.nttdata.TransaccionMs.model.entity.TotalTipoTransaccion;
+import com.nttdata.TransaccionMs.repository.AsientoRepository;
+import com.nttdata.TransaccionMs.repository.ResumenDiarioRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ResumenesDiariosTest {
+
+    @Mock
+    private ResumenDiarioRepository resumenDiarioRepository;
+
+    @Mock
+    private AsientoRepository asientoRepository;
+
+    @InjectMocks
+    private ResumenesDiarios resumenesDiarios;
+
+    @BeforeEach
+    public void setUp() {
+        resumenesDiarios.tamanioLote = 2;
+    }
+
+    @Test
+    @DisplayName("Totales - Closed days come from rollups and today from the entries")
+    public void testTotales_ResumenesMasDiaEnCurso() {
+        LocalDate hoy = LocalDate.now();
+        LocalDate desde = hoy.minusDays(3);
+        when(resumenDiarioRepository.buscarPorCuentaYDias("111", desde, hoy)).thenReturn(List.of(
+                crearResumen("111", desde, Map.of("DEPOSITO", new TotalTipoTransaccion(2, 30_000L, 0L))),
+                crearResumen("111", hoy.minusDays(1), Map.of("DEPOSITO", new TotalTipoTransaccion(1, 5_000L, 0L),
+                        "RETIRO", new TotalTipoTransaccion(1, 0L, 2_000L)))));
+        when(asientoRepository.sumarPorTipo("111", hoy.atStartOfDay(), hoy.plusDays(1).atStartOfDay()))
+                .thenReturn(List.of(new TotalAsientos("111", TipoTransaccionEnum.TRANSFERENCIA, 2, 1_000L, 4_000L)));
+
+        Map<TipoTransaccionEnum, TotalTipoTransaccion> totales = resumenesDiarios.totales("111", desde, hoy);
+
+        assertEquals(new TotalTipoTransaccion(3, 35_000L, 0L), totales.get(TipoTransaccionEnum.DEPOSITO));
+        assertEquals(new TotalTipoTransaccion(1, 0L, 2_000L), totales.get(TipoTransaccionEnum.RETIRO));
+        assertEquals(new TotalTipoTransaccion(2, 1_000L, 4_000L), totales.get(TipoTransaccionEnum.TRANSFERENCIA));
+    }
+
+    @Test
+    @DisplayName("Totales - A past range never scans the entries")
+    public void testTotales_RangoCerrado() {
+        LocalDate desde = LocalDate.of(2024, 5, 1);
+        LocalDate hasta = LocalDate.of(2024, 5, 31);
+        when(resumenDiarioRepository.buscarPorCuentaYDias("111", desde, hasta.plusDays(1))).thenReturn(List.of());
+
+        assertTrue(resumenesDiarios.totales("111", desde, hasta).isEmpty());
+        verifyNoInteractions(asientoRepository);
+    }
+
+    @Test
+    @DisplayName("Recalcular - Rebuilds one rollup per account in batches")
+    public void testRecalcular_ReemplazaPorLotes() {
+        LocalDate dia = LocalDate.of(2024, 5, 10);
+        when(asientoRepository.sumarPorCuentaYTipo(dia.atStartOfDay(), dia.plusDays(1).atStartOfDay(), LibroMayor.CUENTA_CAJA))
+                .thenReturn(Stream.of(new TotalAsientos("111", TipoTransaccionEnum.DEPOSITO, 1, 5_000L, 0L),
+                        new TotalAsientos("111", TipoTransaccionEnum.RETIRO, 1, 0L, 1_000L),
+                        new TotalAsientos("222", TipoTransaccionEnum.TRANSFERENCIA, 1, 700L, 0L),
+                        new TotalAsientos("333", TipoTransaccionEnum.TRANSFERENCIA, 1, 0L, 700L)));
+
+        resumenesDiarios.recalcular(dia);
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<ResumenDiario>> lotes = ArgumentCaptor.forClass(List.class);
+        verify(resumenDiarioRepository, times(2)).reemplazarLote(lotes.capture());
+        List<ResumenDiario> resumenes = lotes.getAllValues().stream().flatMap(List::stream).toList();
+        assertEquals(List.of("111:2024-05-10", "222:2024-05-10", "333:2024-05-10"),
+                resumenes.stream().map(ResumenDiario::getId).toList());
+        assertEquals(2, resumenes.get(0).getTotales().size());
+        assertEquals(new TotalTipoTransaccion(1, 0L, 1_000L), resumenes.get(0).getTotales().get("RETIRO"));
+    }
+
+    private ResumenDiario crearResumen(String cuenta, LocalDate dia, Map<String, TotalTipoTransaccion> totales) {
+        return new ResumenDiario(ResumenDiario.idDe(cuenta, dia), cuenta, dia, totales);
+    }
+}
@@ -0,0 +1,194 @@
+package com.nttdata.TransaccionMs.clients;
+
+import com.nttdata.TransaccionMs.dto.AjustesCuenta;
+import com.nttdata.TransaccionMs.dto.SaldoConciliacion;
+import com.nttdata.TransaccionMs.exception.CustomExceptions;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.discovery.DiscoveryClient;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ConsultaCuentaCubiertaTest {
+
+    private static final String DESDE = "2024-05-01T00:00Z";
+    private static final String HASTA = "2024-06-01T00:00Z";
+
+    @Mock
+    private CuentaFeignClient cuentaFeignClient;
+
+    @Mock
+    private CuentaWebClient cuentaWebClient;
+
+    @Mock
+    private DiscoveryClient discoveryClient;
+
+    private final ServiceInstance primera = new DefaultServiceInstance("AccountMs-1", "AccountMs", "10.0.0.1", 8090, false);
+    private final ServiceInstance segunda = new DefaultServiceInstance("AccountMs-2", "AccountMs", "10.0.0.2", 8090, false);
+
+    private ConsultaCuentaCubierta consultaCuentaCubierta;
+
+    @BeforeEach
+    public void setUp() {
+        consultaCuentaCubierta = new ConsultaCuentaCubierta();
+        consultaCuentaCubierta.cuentaFeignClient = cuentaFeignClient;
+        consultaCuentaCubierta.cuentaWebClient = cuentaWebClient;
+        consultaCuentaCubierta.discoveryClient = discoveryClient;
+        consultaCuentaCubierta.circuitBreakerRegistry = CircuitBreakerRegistry.ofDefaults();
+        consultaCuentaCubierta.habilitada = true;
+        consultaCuentaCubierta.servicio = "AccountMs";
+        consultaCuentaCubierta.ventana = 100;
+        consultaCuentaCubierta.percentil = 0.95;
+        consultaCuentaCubierta.retardoInicial = Duration.ofMillis(50);
+        consultaCuentaCubierta.retardoMinimo = Duration.ofMillis(1);
+        consultaCuentaCubierta.presupuesto = 1.0;
+        consultaCuentaCubierta.rafagaMaxima = 10;
+        consultaCuentaCubierta.tiempoMaximo = Duration.ofSeconds(2);
+    }
+
+    @Test
+    @DisplayName("Get account adjustments - Hedge to the other instance wins when the first is slow")
+    public void testGetAccountAdjustments_CoberturaGana() {
+        consultaCuentaCubierta.tiempoMaximo = Duration.ofSeconds(30);
+        when(discoveryClient.getInstances("AccountMs")).thenReturn(List.of(primera, segunda));
+        when(cuentaWebClient.getAccountAdjustments(any(ServiceInstance.class), eq("1234567890"), eq(DESDE), eq(HASTA)))
+                .thenReturn(Mono.just(ajustes("9.00")).delayElement(Duration.ofSeconds(30)), Mono.just(ajustes("1.00")));
+
+        AjustesCuenta respuesta = consultaCuentaCubierta.getAccountAdjustments("1234567890", DESDE, HASTA);
+
+        assertEquals(new BigDecimal("1.00"), respuesta.getAjusteInicial());
+        verify(cuentaWebClient).getAccountAdjustments(primera, "1234567890", DESDE, HASTA);
+        verify(cuentaWebClient).getAccountAdjustments(segunda, "1234567890", DESDE, HASTA);
+        verifyNoInteractions(cuentaFeignClient);
+    }
+
+    @Test
+    @DisplayName("Get account adjustments - No hedge is sent when the first instance answers in time")
+    public void testGetAccountAdjustments_SinCobertura() {
+        when(discoveryClient.getInstances("AccountMs")).thenReturn(List.of(primera, segunda));
+        when(cuentaWebClient.getAccountAdjustments(any(ServiceInstance.class), eq("1234567890"), eq(DESDE), eq(HASTA)))
+                .thenReturn(Mono.just(ajustes("2.00")));
+
+        assertEquals(new BigDecimal("2.00"),
+                consultaCuentaCubierta.getAccountAdjustments("1234567890", DESDE, HASTA).getAjusteInicial());
+
+        verify(cuentaWebClient, times(1)).getAccountAdjustments(any(ServiceInstance.class), eq("1234567890"), eq(DESDE), eq(HASTA));
+    }
+
+    @Test
+    @DisplayName("List balances in range - Exhausted hedge budget waits for the first instance")
+    public void testListBalancesInRange_PresupuestoAgotado() {
+        consultaCuentaCubierta.presupuesto = 0.0;
+        SaldoConciliacion saldo = new SaldoConciliacion();
+        saldo.setNumeroCuenta("1000000001");
+        saldo.setSaldo(new BigDecimal("3.00"));
+        when(discoveryClient.getInstances("AccountMs")).thenReturn(List.of(primera, segunda));
+        when(cuentaWebClient.listBalancesInRange(any(ServiceInstance.class), eq("1000000000"), eq("1000000999"), eq(1000)))
+                .thenReturn(Mono.just(List.of(saldo)).delayElement(Duration.ofMillis(200)));
+
+        assertEquals(List.of(saldo), consultaCuentaCubierta.listBalancesInRange("1000000000", "1000000999", 1000));
+
+        verify(cuentaWebClient, times(1)).listBalancesInRange(any(ServiceInstance.class), anyString(), anyString(), anyInt());
+    }
+
+    @Test
+    @DisplayName("List balances in range - Each operation keeps its own latency window")
+    public void testListBalancesInRange_PoliticaPorOperacion() {
+        when(discoveryClient.getInstances("AccountMs")).thenReturn(List.of(primera, segunda));
+        when(cuentaWebClient.listBalancesInRange(any(ServiceInstance.class), anyString(), anyString(), anyInt()))
+                .thenReturn(Mono.just(List.of()));
+        when(cuentaWebClient.getAccountAdjustments(any(ServiceInstance.class), anyString(), anyString(), anyString()))
+                .thenReturn(Mono.just(ajustes("0.00")));
+
+        consultaCuentaCubierta.listBalancesInRange("1000000000", "1000000999", 1000);
+        consultaCuentaCubierta.getAccountAdjustments("1234567890", DESDE, HASTA);
+
+        assertEquals(2, consultaCuentaCubierta.politicas.size());
+        assertTrue(consultaCuentaCubierta.politicas.containsKey("AccountMs_listBalancesInRange"));
+        assertTrue(consultaCuentaCubierta.politicas.containsKey("AccountMs_getAccountAdjustments"));
+    }
+
+    @Test
+    @DisplayName("Get account adjustments - Business errors from AccountMs are propagated")
+    public void testGetAccountAdjustments_CuentaNoEncontrada() {
+        when(discoveryClient.getInstances("AccountMs")).thenReturn(List.of(primera, segunda));
+        when(cuentaWebClient.getAccountAdjustments(any(ServiceInstance.class), eq("1234567890"), eq(DESDE), eq(HASTA)))
+                .thenReturn(Mono.error(new CustomExceptions.ResourceNotFoundException("Cuenta no encontrada")));
+
+        assertThrows(CustomExceptions.ResourceNotFoundException.class,
+                () -> consultaCuentaCubierta.getAccountAdjustments("1234567890", DESDE, HASTA));
+    }
+
+    @Test
+    @DisplayName("List balances in range - Both instances too slow is reported as service unavailable")
+    public void testListBalancesInRange_TiempoAgotado() {
+        consultaCuentaCubierta.tiempoMaximo = Duration.ofMillis(200);
+        when(discoveryClient.getInstances("AccountMs")).thenReturn(List.of(primera, segunda));
+        when(cuentaWebClient.listBalancesInRange(any(ServiceInstance.class), anyString(), anyString(), anyInt()))
+                .thenReturn(Mono.never());
+
+        CustomExceptions.ServiceUnavailableException exception = assertThrows(
+                CustomExceptions.ServiceUnavailableException.class,
+                () -> consultaCuentaCubierta.listBalancesInRange("1000000000", "1000000999", 1000));
+
+        assertEquals("AccountMs no respondió a tiempo", exception.getMessage());
+    }
+
+    @Test
+    @DisplayName("List balances in range - Open circuit is reported as service unavailable")
+    public void testListBalancesInRange_CircuitoAbierto() {
+        consultaCuentaCubierta.circuitBreakerRegistry.circuitBreaker("AccountMs_listBalancesInRange").transitionToOpenState();
+        when(discoveryClient.getInstances("AccountMs")).thenReturn(List.of(primera, segunda));
+
+        CustomExceptions.ServiceUnavailableException exception = assertThrows(
+                CustomExceptions.ServiceUnavailableException.class,
+                () -> consultaCuentaCubierta.listBalancesInRange("1000000000", "1000000999", 1000));
+
+        assertEquals("AccountMs no está disponible temporalmente", exception.getMessage());
+        verifyNoInteractions(cuentaWebClient, cuentaFeignClient);
+    }
+
+    @Test
+    @DisplayName("Get account adjustments - Falls back to Feign with a single instance")
+    public void testGetAccountAdjustments_UnaInstancia() {
+        when(discoveryClient.getInstances("AccountMs")).thenReturn(List.of(primera));
+        when(cuentaFeignClient.getAccountAdjustments("1234567890", DESDE, HASTA)).thenReturn(ajustes("4.00"));
+
+        assertEquals(new BigDecimal("4.00"),
+                consultaCuentaCubierta.getAccountAdjustments("1234567890", DESDE, HASTA).getAjusteInicial());
+
+        verifyNoInteractions(cuentaWebClient);
+    }
+
+    @Test
+    @DisplayName("List balances in range - Hedging disabled uses Feign")
+    public void testListBalancesInRange_Deshabilitada() {
+        consultaCuentaCubierta.habilitada = false;
+        when(cuentaFeignClient.listBalancesInRange("1000000000", "1000000999", 1000)).thenReturn(List.of());
+
+        assertEquals(List.of(), consultaCuentaCubierta.listBalancesInRange("1000000000", "1000000999", 1000));
+
+        verifyNoInteractions(discoveryClient, cuentaWebClient);
+    }
+
+    private AjustesCuenta ajustes(String ajusteInicial) {
+        AjustesCuenta ajustesCuenta = new AjustesCuenta();
+        ajustesCuenta.setAjusteInicial(new BigDecimal(ajusteInicial));
+        return ajustesCuenta;
+    }
+}
@@ -0,0 +1,121 @@
+package com.nttdata.TransaccionMs.clients;
+
+import com.nttdata.TransaccionMs.dto.MovimientoLoteRequest;
+import com.nttdata.TransaccionMs.dto.MovimientoSaldoRequest;
+import com.nttdata.TransaccionMs.dto.TransferenciaRequest;
+import com.nttdata.TransaccionMs.exception.CustomExceptions;
+import feign.Request;
+import feign.RetryableException;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.net.SocketTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CuentaFeignFallbackFactoryTest {
+
+    private final CuentaFeignFallbackFactory fallbackFactory = new CuentaFeignFallbackFactory();
+
+    @Test
+    @DisplayName("Fallback - Open circuit fails fast as service unavailable")
+    public void testCreate_CircuitoAbierto() {
+        CircuitBreaker circuitBreaker = CircuitBreaker.ofDefaults("AccountMs_applyBalanceMovement");
+        circuitBreaker.transitionToOpenState();
+        CuentaFeignClient fallback = fallbackFactory.create(
+                CallNotPermittedException.createCallNotPermittedException(circuitBreaker));
+
+        CustomExceptions.ServiceUnavailableException exception = assertThrows(
+                CustomExceptions.ServiceUnavailableException.class,
+                () -> fallback.applyBalanceMovement("1234567890", new MovimientoSaldoRequest(), "ref-1"));
+
+        assertEquals("AccountMs no está disponible temporalmente", exception.getMessage());
+    }
+
+    @Test
+    @DisplayName("Fallback - Full bulkhead fails fast as service unavailable")
+    public void testCreate_BulkheadLleno() {
+        CuentaFeignClient fallback = fallbackFactory.create(
+                BulkheadFullException.createBulkheadFullException(Bulkhead.ofDefaults("AccountMs_applyMovementsBatch")));
+
+        CustomExceptions.ServiceUnavailableException exception = assertThrows(
+                CustomExceptions.ServiceUnavailableException.class,
+                () -> fallback.applyMovementsBatch(new MovimientoLoteRequest()));
+
+        assertEquals("AccountMs alcanzó el límite de llamadas concurrentes", exception.getMessage());
+    }
+
+    @Test
+    @DisplayName("Fallback - Time limiter timeout is reported as service unavailable")
+    public void testCreate_TiempoAgotado() {
+        CuentaFeignClient fallback = fallbackFactory.create(
+                new ExecutionException(new TimeoutException("TimeLimiter 'AccountMs_getAccountAdjustments'")));
+
+        CustomExceptions.ServiceUnavailableException exception = assertThrows(
+                CustomExceptions.ServiceUnavailableException.class,
+                () -> fallback.getAccountAdjustments("1234567890", "2024-05-01T00:00Z", "2024-06-01T00:00Z"));
+
+        assertEquals("AccountMs no respondió a tiempo", exception.getMessage());
+    }
+
+    @Test
+    @DisplayName("Fallback - Feign read timeout on a write is reported as service unavailable")
+    public void testCreate_LecturaAgotada() {
+        Request request = Request.create(Request.HttpMethod.POST, "http://AccountMs/cuentas/transferencias",
+                Map.of(), null, StandardCharsets.UTF_8, null);
+        CuentaFeignClient fallback = fallbackFactory.create(new RetryableException(-1, "Read timed out",
+                Request.HttpMethod.POST, new SocketTimeoutException("Read timed out"), (Long) null, request));
+
+        CustomExceptions.ServiceUnavailableException exception = assertThrows(
+                CustomExceptions.ServiceUnavailableException.class,
+                () -> fallback.transferBetweenAccounts(new TransferenciaRequest(), "ref-1"));
+
+        assertEquals("AccountMs no respondió a tiempo", exception.getMessage());
+    }
+
+    @Test
+    @DisplayName("Fallback - AccountMs business errors are propagated unchanged")
+    public void testCreate_ErrorDeNegocio() {
+        CustomExceptions.BadRequestException saldoInsuficiente = new CustomExceptions.BadRequestException("Saldo insuficiente");
+        CuentaFeignClient fallback = fallbackFactory.create(new ExecutionException(saldoInsuficiente));
+
+        CustomExceptions.BadRequestException exception = assertThrows(
+                CustomExceptions.BadRequestException.class,
+                () -> fallback.applyBalanceMovement("1234567890", new MovimientoSaldoRequest(), "ref-1"));
+
+        assertSame(saldoInsuficiente, exception);
+    }
+
+    @Test
+    @DisplayName("Fallback - Optimistic locking conflicts in AccountMs are propagated unchanged")
+    public void testCreate_Conflicto() {
+        CustomExceptions.ConflictException conflicto = new CustomExceptions.ConflictException("La cuenta fue modificada por otra operación");
+        CuentaFeignClient fallback = fallbackFactory.create(new ExecutionException(conflicto));
+
+        CustomExceptions.ConflictException exception = assertThrows(
+                CustomExceptions.ConflictException.class,
+                () -> fallback.transferBetweenAccounts(new TransferenciaRequest(), "ref-1"));
+
+        assertSame(conflicto, exception);
+    }
+
+    @Test
+    @DisplayName("Fallback - Connection failures are reported as service unavailable")
+    public void testCreate_ErrorDeConexion() {
+        CuentaFeignClient fallback = fallbackFactory.create(new IllegalStateException("Connection refused"));
+
+        CustomExceptions.ServiceUnavailableException exception = assertThrows(
+                CustomExceptions.ServiceUnavailableException.class,
+                () -> fallback.getAccountAdjustments("1234567890", "2024-05-01T00:00Z", "2024-06-01T00:00Z"));
+
+        assertEquals("No se pudo comunicar con AccountMs", exception.getMessage());
+    }
+}
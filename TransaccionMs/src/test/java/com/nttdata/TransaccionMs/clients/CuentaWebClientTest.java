@@ -0,0 +1,190 @@
+package com.nttdata.TransaccionMs.clients;
+
+import com.nttdata.TransaccionMs.dto.AjustesCuenta;
+import com.nttdata.TransaccionMs.dto.MovimientoSaldoRequest;
+import com.nttdata.TransaccionMs.dto.SaldoResponse;
+import com.nttdata.TransaccionMs.dto.TransferenciaRequest;
+import com.nttdata.TransaccionMs.exception.CustomExceptions;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.reactive.ReactorLoadBalancerExchangeFilterFunction;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+public class CuentaWebClientTest {
+
+    @Test
+    @DisplayName("Apply balance movement success")
+    public void testApplyBalanceMovement_Success() {
+        CuentaWebClient cliente = clienteConRespuesta(HttpStatus.OK, "{\"saldo\":900.0,\"tipoCuenta\":\"AHORROS\"}");
+
+        SaldoResponse saldo = cliente.applyBalanceMovement("1234567890", new MovimientoSaldoRequest()).block();
+
+        assertEquals(new BigDecimal("900.0"), saldo.getSaldo());
+        assertEquals("AHORROS", saldo.getTipoCuenta());
+    }
+
+    @Test
+    @DisplayName("Apply balance movement - Bad request keeps AccountMs detail")
+    public void testApplyBalanceMovement_BadRequestException() {
+        CuentaWebClient cliente = clienteConRespuesta(HttpStatus.BAD_REQUEST,
+                "{\"code\":400,\"message\":\"Solicitud inválida\",\"details\":\"Saldo insuficiente\"}");
+
+        CustomExceptions.BadRequestException exception = assertThrows(
+                CustomExceptions.BadRequestException.class,
+                () -> cliente.applyBalanceMovement("1234567890", new MovimientoSaldoRequest()).block()
+        );
+
+        assertEquals("Saldo insuficiente", exception.getMessage());
+    }
+
+    @Test
+    @DisplayName("Transfer between accounts - Not found without body")
+    public void testTransferBetweenAccounts_ResourceNotFoundException() {
+        CuentaWebClient cliente = clienteConRespuesta(HttpStatus.NOT_FOUND, null);
+
+        CustomExceptions.ResourceNotFoundException exception = assertThrows(
+                CustomExceptions.ResourceNotFoundException.class,
+                () -> cliente.transferBetweenAccounts(new TransferenciaRequest()).block()
+        );
+
+        assertEquals("Cuenta no encontrada", exception.getMessage());
+    }
+
+    @Test
+    @DisplayName("Transfer between accounts - Conflict keeps AccountMs detail")
+    public void testTransferBetweenAccounts_ConflictException() {
+        CuentaWebClient cliente = clienteConRespuesta(HttpStatus.CONFLICT,
+                "{\"code\":409,\"message\":\"Conflicto\",\"details\":\"Saldo insuficiente en la cuenta origen\"}");
+
+        CustomExceptions.ConflictException exception = assertThrows(
+                CustomExceptions.ConflictException.class,
+                () -> cliente.transferBetweenAccounts(new TransferenciaRequest()).block()
+        );
+
+        assertEquals("Saldo insuficiente en la cuenta origen", exception.getMessage());
+    }
+
+    @Test
+    @DisplayName("Apply balance movement - Conflict without body")
+    public void testApplyBalanceMovement_ConflictException() {
+        CuentaWebClient cliente = clienteConRespuesta(HttpStatus.CONFLICT, null);
+
+        CustomExceptions.ConflictException exception = assertThrows(
+                CustomExceptions.ConflictException.class,
+                () -> cliente.applyBalanceMovement("1234567890", new MovimientoSaldoRequest()).block()
+        );
+
+        assertEquals("La cuenta fue modificada por otra operación", exception.getMessage());
+    }
+
+    @Test
+    @DisplayName("Transfer between accounts - Other errors are not translated")
+    public void testTransferBetweenAccounts_ErrorServidor() {
+        CuentaWebClient cliente = clienteConRespuesta(HttpStatus.SERVICE_UNAVAILABLE, null);
+
+        assertThrows(
+                WebClientResponseException.ServiceUnavailable.class,
+                () -> cliente.transferBetweenAccounts(new TransferenciaRequest()).block()
+        );
+    }
+
+    @Test
+    @DisplayName("Apply balance movement - Read timeout is reported as service unavailable")
+    public void testApplyBalanceMovement_TiempoAgotado() throws IOException {
+        ReactorLoadBalancerExchangeFilterFunction balanceador = mock(ReactorLoadBalancerExchangeFilterFunction.class,
+                withSettings().defaultAnswer(CALLS_REAL_METHODS));
+        doAnswer(invocation -> invocation.<ExchangeFunction>getArgument(1).exchange(invocation.getArgument(0)))
+                .when(balanceador).filter(any(ClientRequest.class), any(ExchangeFunction.class));
+
+        try (ServerSocket servidor = new ServerSocket(0)) {
+            CuentaWebClient cliente = new CuentaWebClient();
+            cliente.webClientBuilder = WebClient.builder();
+            cliente.balanceadorCarga = balanceador;
+            cliente.circuitBreakerRegistry = CircuitBreakerRegistry.ofDefaults();
+            cliente.urlCuentas = "http://localhost:" + servidor.getLocalPort();
+            cliente.tiempoConexion = 1000;
+            cliente.tiempoLectura = 200;
+            cliente.inicializar();
+
+            CustomExceptions.ServiceUnavailableException exception = assertThrows(
+                    CustomExceptions.ServiceUnavailableException.class,
+                    () -> cliente.applyBalanceMovement("1234567890", new MovimientoSaldoRequest()).block(Duration.ofSeconds(5))
+            );
+
+            assertEquals("AccountMs no respondió a tiempo", exception.getMessage());
+        }
+    }
+
+    @Test
+    @DisplayName("Transfer between accounts - Open circuit is reported as service unavailable")
+    public void testTransferBetweenAccounts_CircuitoAbierto() {
+        CuentaWebClient cliente = clienteConRespuesta(HttpStatus.OK, "{}");
+        cliente.circuitBreakerRegistry.circuitBreaker("AccountMs_transferBetweenAccounts").transitionToOpenState();
+
+        CustomExceptions.ServiceUnavailableException exception = assertThrows(
+                CustomExceptions.ServiceUnavailableException.class,
+                () -> cliente.transferBetweenAccounts(new TransferenciaRequest()).block()
+        );
+
+        assertEquals("AccountMs no está disponible temporalmente", exception.getMessage());
+    }
+
+    @Test
+    @DisplayName("Get account adjustments - Targets the given instance and encodes the dates")
+    public void testGetAccountAdjustments_InstanciaDirecta() {
+        List<URI> solicitudes = new ArrayList<>();
+        CuentaWebClient cliente = new CuentaWebClient();
+        cliente.webClientDirecto = WebClient.builder()
+                .exchangeFunction(request -> {
+                    solicitudes.add(request.url());
+                    return Mono.just(ClientResponse.create(HttpStatus.OK)
+                            .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                            .body("{\"numeroCuenta\":\"1234567890\",\"ajusteInicial\":5.00,\"ajustes\":[]}")
+                            .build());
+                })
+                .build();
+        ServiceInstance instancia = new DefaultServiceInstance("AccountMs-2", "AccountMs", "10.0.0.2", 8090, false);
+
+        AjustesCuenta ajustes = cliente.getAccountAdjustments(instancia, "1234567890",
+                "2024-05-01T00:00+05:00", "2024-06-01T00:00Z").block();
+
+        assertEquals(new BigDecimal("5.00"), ajustes.getAjusteInicial());
+        assertEquals(URI.create("http://10.0.0.2:8090/cuentas/numero/1234567890/ajustes?desde=2024-05-01T00%3A00%2B05%3A00&hasta=2024-06-01T00%3A00Z"),
+                solicitudes.get(0));
+    }
+
+    private CuentaWebClient clienteConRespuesta(HttpStatus estado, String cuerpo) {
+        CuentaWebClient cliente = new CuentaWebClient();
+        cliente.circuitBreakerRegistry = CircuitBreakerRegistry.ofDefaults();
+        cliente.webClient = WebClient.builder()
+                .exchangeFunction(request -> {
+                    ClientResponse.Builder respuesta = ClientResponse.create(estado)
+                            .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE);
+                    return Mono.just(cuerpo == null ? respuesta.build() : respuesta.body(cuerpo).build());
+                })
+                .build();
+        return cliente;
+    }
+}
@@ -0,0 +1,80 @@
+package com.nttdata.TransaccionMs.clients;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PoliticaCoberturaTest {
+
+    @Test
+    @DisplayName("Delay - Initial delay is used until enough latencies are recorded")
+    public void testRetardo_Inicial() {
+        PoliticaCobertura politica = new PoliticaCobertura(100, 0.95, Duration.ofMillis(100), Duration.ofMillis(1), 0.05, 10);
+
+        for (int i = 0; i < 9; i++) {
+            politica.registrarLatencia(Duration.ofMillis(5).toNanos());
+        }
+
+        assertEquals(Duration.ofMillis(100), politica.retardo());
+    }
+
+    @Test
+    @DisplayName("Delay - Follows the configured latency percentile")
+    public void testRetardo_Percentil() {
+        PoliticaCobertura politica = new PoliticaCobertura(100, 0.95, Duration.ofMillis(100), Duration.ofMillis(1), 0.05, 10);
+
+        for (int i = 1; i <= 100; i++) {
+            politica.registrarLatencia(Duration.ofMillis(i).toNanos());
+        }
+
+        assertEquals(Duration.ofMillis(95), politica.retardo());
+    }
+
+    @Test
+    @DisplayName("Delay - Never drops below the minimum delay")
+    public void testRetardo_Minimo() {
+        PoliticaCobertura politica = new PoliticaCobertura(100, 0.95, Duration.ofMillis(100), Duration.ofMillis(10), 0.05, 10);
+
+        for (int i = 0; i < 100; i++) {
+            politica.registrarLatencia(Duration.ofMillis(2).toNanos());
+        }
+
+        assertEquals(Duration.ofMillis(10), politica.retardo());
+    }
+
+    @Test
+    @DisplayName("Budget - Hedges are limited to the configured share of requests")
+    public void testAutorizarCobertura_Presupuesto() {
+        PoliticaCobertura politica = new PoliticaCobertura(100, 0.95, Duration.ofMillis(100), Duration.ofMillis(1), 0.1, 10);
+
+        assertFalse(politica.autorizarCobertura());
+
+        int autorizadas = 0;
+        for (int i = 0; i < 50; i++) {
+            politica.registrarSolicitud();
+            if (politica.autorizarCobertura()) {
+                autorizadas++;
+            }
+        }
+
+        assertEquals(5, autorizadas);
+    }
+
+    @Test
+    @DisplayName("Budget - Unused budget is capped at the maximum burst")
+    public void testAutorizarCobertura_RafagaMaxima() {
+        PoliticaCobertura politica = new PoliticaCobertura(100, 0.95, Duration.ofMillis(100), Duration.ofMillis(1), 0.5, 3);
+
+        for (int i = 0; i < 100; i++) {
+            politica.registrarSolicitud();
+        }
+
+        assertTrue(politica.autorizarCobertura());
+        assertTrue(politica.autorizarCobertura());
+        assertTrue(politica.autorizarCobertura());
+        assertFalse(politica.autorizarCobertura());
+    }
+}
@@ -1,7 +1,12 @@
 package com.nttdata.TransaccionMs.controllers;
 
 import com.nttdata.TransaccionMs.TransaccionDelegateImp;
+import com.nttdata.TransaccionMs.business.TransaccionMapper;
 import com.nttdata.TransaccionMs.business.TransaccionService;
+import com.nttdata.TransaccionMs.dto.FiltroHistorial;
+import com.nttdata.TransaccionMs.model.TransactionLoteRequest;
+import com.nttdata.TransaccionMs.model.TransactionLoteResponse;
+import com.nttdata.TransaccionMs.model.TransactionPage;
 import com.nttdata.TransaccionMs.model.TransactionRequest;
 import com.nttdata.TransaccionMs.model.TransactionResponse;
 import org.junit.jupiter.api.BeforeEach;
@@ -11,8 +16,15 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 import java.util.List;
 
@@ -25,6 +37,9 @@ public class TransaccionDelegateImpTest {
     @Mock
     private TransaccionService transaccionService;
 
+    @Mock
+    private TransaccionMapper transaccionMapper;
+
     @InjectMocks
     private TransaccionDelegateImp transaccionDelegateImp;
 
@@ -37,12 +52,12 @@ public class TransaccionDelegateImpTest {
         transactionRequest = new TransactionRequest();
         transactionRequest.setCuentaOrigen("1234567890");
         transactionRequest.setCuentaDestino("0987654321");
-        transactionRequest.setMonto(100.0);
+        transactionRequest.setMonto(new BigDecimal("100.0"));
 
         transactionResponse = new TransactionResponse();
         transactionResponse.setCuentaOrigen("1234567890");
         transactionResponse.setCuentaDestino("0987654321");
-        transactionResponse.setMonto(100.0);
+        transactionResponse.setMonto(new BigDecimal("100.0"));
     }
 
     @Test
@@ -62,46 +77,114 @@ public class TransaccionDelegateImpTest {
         verify(transaccionService, times(1)).consultarHistorialTransacciones();
     }
 
+    @Test
+    @DisplayName("Consultar Historial Paginado")
+    public void testConsultarHistorialPaginado_Success() {
+        TransactionPage pagina = new TransactionPage();
+        pagina.setTransacciones(List.of(transactionResponse));
+        pagina.setSiguienteCursor("cursor");
+        FiltroHistorial filtro = FiltroHistorial.builder().cuentaOrigen("1234567890").build();
+
+        when(transaccionMapper.getFiltroHistorial("1234567890", null, null, null, null)).thenReturn(filtro);
+        when(transaccionService.consultarHistorialPaginado(filtro, "anterior", 20)).thenReturn(pagina);
+
+        ResponseEntity<TransactionPage> response = transaccionDelegateImp.consultarHistorialPaginado(
+                "1234567890", null, null, null, null, "anterior", 20);
+
+        assertNotNull(response);
+        assertEquals(200, response.getStatusCodeValue());
+        assertEquals("cursor", response.getBody().getSiguienteCursor());
+
+        verify(transaccionService, times(1)).consultarHistorialPaginado(filtro, "anterior", 20);
+    }
+
+    @Test
+    @DisplayName("Exportar Historial Transacciones")
+    public void testExportarHistorialTransacciones_Success() throws Exception {
+        FiltroHistorial filtro = FiltroHistorial.builder().cuentaOrigen("1234567890").build();
+        InputStream exportacion = new ByteArrayInputStream("{}\n".getBytes(StandardCharsets.UTF_8));
+
+        when(transaccionMapper.getFiltroHistorial("1234567890", null, null, null, null)).thenReturn(filtro);
+        when(transaccionService.exportarHistorialTransacciones(filtro, false)).thenReturn(exportacion);
+
+        ResponseEntity<Resource> response = transaccionDelegateImp.exportarHistorialTransacciones(
+                "1234567890", null, null, null, null, null);
+
+        assertEquals(200, response.getStatusCodeValue());
+        assertEquals(MediaType.APPLICATION_NDJSON, response.getHeaders().getContentType());
+        assertEquals("attachment; filename=\"historial.ndjson\"", response.getHeaders().getFirst(HttpHeaders.CONTENT_DISPOSITION));
+        assertEquals(-1, response.getHeaders().getContentLength());
+        assertSame(exportacion, response.getBody().getInputStream());
+    }
+
+    @Test
+    @DisplayName("Exportar Historial Transacciones Comprimido")
+    public void testExportarHistorialTransacciones_Gzip() {
+        InputStream exportacion = new ByteArrayInputStream(new byte[0]);
+
+        when(transaccionService.exportarHistorialTransacciones(null, true)).thenReturn(exportacion);
+
+        ResponseEntity<Resource> response = transaccionDelegateImp.exportarHistorialTransacciones(
+                null, null, null, null, null, true);
+
+        assertEquals("application/gzip", response.getHeaders().getContentType().toString());
+        assertEquals("attachment; filename=\"historial.ndjson.gz\"", response.getHeaders().getFirst(HttpHeaders.CONTENT_DISPOSITION));
+    }
+
     @Test
     @DisplayName("Registrar Deposito")
     public void testRegistrarDeposito_Success() {
-        when(transaccionService.registrarDeposito(transactionRequest)).thenReturn(transactionResponse);
+        when(transaccionService.registrarDeposito(transactionRequest, "clave-1")).thenReturn(transactionResponse);
 
-        ResponseEntity<TransactionResponse> response = transaccionDelegateImp.registrarDeposito(transactionRequest);
+        ResponseEntity<TransactionResponse> response = transaccionDelegateImp.registrarDeposito(transactionRequest, "clave-1");
 
         assertNotNull(response);
         assertEquals(200, response.getStatusCodeValue());
         assertEquals("1234567890", response.getBody().getCuentaOrigen());
 
-        verify(transaccionService, times(1)).registrarDeposito(transactionRequest);
+        verify(transaccionService, times(1)).registrarDeposito(transactionRequest, "clave-1");
     }
 
     @Test
     @DisplayName("Registrar Retiro")
     public void testRegistrarRetiro_Success() {
-        when(transaccionService.registrarRetiro(transactionRequest)).thenReturn(transactionResponse);
+        when(transaccionService.registrarRetiro(transactionRequest, "clave-1")).thenReturn(transactionResponse);
 
-        ResponseEntity<TransactionResponse> response = transaccionDelegateImp.registrarRetiro(transactionRequest);
+        ResponseEntity<TransactionResponse> response = transaccionDelegateImp.registrarRetiro(transactionRequest, "clave-1");
 
         assertNotNull(response);
         assertEquals(200, response.getStatusCodeValue());
         assertEquals("1234567890", response.getBody().getCuentaOrigen());
 
-        verify(transaccionService, times(1)).registrarRetiro(transactionRequest);
+        verify(transaccionService, times(1)).registrarRetiro(transactionRequest, "clave-1");
     }
 
     @Test
     @DisplayName("Registrar Transferencia")
     public void testRegistrarTransferencia_Success() {
-        when(transaccionService.registrarTransferencia(transactionRequest)).thenReturn(transactionResponse);
+        when(transaccionService.registrarTransferencia(transactionRequest, "clave-1")).thenReturn(transactionResponse);
 
-        ResponseEntity<TransactionResponse> response = transaccionDelegateImp.registrarTransferencia(transactionRequest);
+        ResponseEntity<TransactionResponse> response = transaccionDelegateImp.registrarTransferencia(transactionRequest, "clave-1");
 
         assertNotNull(response);
         assertEquals(200, response.getStatusCodeValue());
         assertEquals("1234567890", response.getBody().getCuentaOrigen());
 
-        verify(transaccionService, times(1)).registrarTransferencia(transactionRequest);
+        verify(transaccionService, times(1)).registrarTransferencia(transactionRequest, "clave-1");
     }
 
-}
\ No newline at end of file
+    @Test
+    @DisplayName("Registrar lote de transacciones")
+    public void testRegistrarLoteTransacciones_Success() {
+        TransactionLoteRequest lote = new TransactionLoteRequest();
+        TransactionLoteResponse loteResponse = new TransactionLoteResponse();
+        loteResponse.setAplicadas(2);
+
+        when(transaccionService.registrarLoteTransacciones(lote)).thenReturn(loteResponse);
+
+        ResponseEntity<TransactionLoteResponse> response = transaccionDelegateImp.registrarLoteTransacciones(lote);
+
+        assertEquals(200, response.getStatusCodeValue());
+        assertEquals(2, response.getBody().getAplicadas());
+    }
+}
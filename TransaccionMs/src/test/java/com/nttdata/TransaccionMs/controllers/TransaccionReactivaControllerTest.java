@@ -0,0 +1,44 @@
+package com.nttdata.TransaccionMs.controllers;
+
+import com.nttdata.TransaccionMs.TransaccionReactivaController;
+import com.nttdata.TransaccionMs.business.TransaccionServiceReactivo;
+import com.nttdata.TransaccionMs.model.TransactionRequest;
+import com.nttdata.TransaccionMs.model.TransactionResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.ResponseEntity;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class TransaccionReactivaControllerTest {
+
+    @Mock
+    private TransaccionServiceReactivo transaccionServiceReactivo;
+
+    @InjectMocks
+    private TransaccionReactivaController transaccionReactivaController;
+
+    @Test
+    @DisplayName("Registrar transferencia reactiva success")
+    public void testRegistrarTransferencia_Success() {
+        TransactionRequest transactionRequest = new TransactionRequest();
+        TransactionResponse transactionResponse = new TransactionResponse();
+        transactionResponse.setMonto(new BigDecimal("50.0"));
+
+        when(transaccionServiceReactivo.registrarTransferencia(transactionRequest)).thenReturn(Mono.just(transactionResponse));
+
+        ResponseEntity<TransactionResponse> response = transaccionReactivaController.registrarTransferencia(transactionRequest).block();
+
+        assertEquals(200, response.getStatusCodeValue());
+        assertEquals(new BigDecimal("50.0"), response.getBody().getMonto());
+    }
+}
@@ -0,0 +1,227 @@
+package com.nttdata.TransaccionMs.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.nttdata.TransaccionMs.business.Impl.PersistenciaDiferidaImp;
+import com.nttdata.TransaccionMs.business.LibroMayor;
+import com.nttdata.TransaccionMs.exception.CustomExceptions;
+import com.nttdata.TransaccionMs.model.entity.TipoTransaccionEnum;
+import com.nttdata.TransaccionMs.model.entity.Transaccion;
+import com.nttdata.TransaccionMs.repository.TransaccionRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.unit.DataSize;
+
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class PersistenciaDiferidaImpTest {
+
+    @Mock
+    private TransaccionRepository transaccionRepository;
+
+    @Mock
+    private LibroMayor libroMayor;
+
+    @TempDir
+    Path directorioDiario;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+    private final List<PersistenciaDiferidaImp> iniciadas = new ArrayList<>();
+
+    @BeforeEach
+    public void setUp() {
+        iniciadas.clear();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        iniciadas.forEach(persistencia -> ReflectionTestUtils.invokeMethod(persistencia, "detener"));
+    }
+
+    @Test
+    @DisplayName("Guardar - Returns before Mongo and flushes in batches")
+    public void testGuardar_EscrituraPorLotes() {
+        PersistenciaDiferidaImp persistencia = iniciar(100, 3);
+
+        List<Transaccion> guardadas = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            guardadas.add(persistencia.guardar(crearTransaccion()));
+        }
+
+        guardadas.forEach(transaccion -> assertNotNull(transaccion.getId()));
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Transaccion>> lotes = ArgumentCaptor.forClass(List.class);
+        verify(transaccionRepository, timeout(2000).atLeast(3)).insertarLote(lotes.capture());
+        assertEquals(7, lotes.getAllValues().stream().mapToInt(List::size).sum());
+        assertTrue(lotes.getAllValues().stream().allMatch(lote -> lote.size() <= 3));
+        verify(transaccionRepository, never()).save(any(Transaccion.class));
+        verify(libroMayor, timeout(2000).times(lotes.getAllValues().size())).registrar(anyList());
+    }
+
+    @Test
+    @DisplayName("Guardar - Failed batch is retried until Mongo accepts it")
+    public void testGuardar_ReintentaLoteFallido() throws Exception {
+        doThrow(new DataAccessResourceFailureException("Mongo no disponible"))
+                .doNothing()
+                .when(transaccionRepository).insertarLote(anyList());
+        PersistenciaDiferidaImp persistencia = iniciar(100, 10);
+
+        Transaccion transaccion = persistencia.guardar(crearTransaccion());
+
+        verify(transaccionRepository, timeout(2000).times(2)).insertarLote(List.of(transaccion));
+        ReflectionTestUtils.invokeMethod(persistencia, "detener");
+        iniciadas.clear();
+        assertEquals(0, segmentosDelDiario());
+    }
+
+    @Test
+    @DisplayName("Iniciar - Pending transactions are recovered from the journal")
+    public void testIniciar_RecuperaDiario() throws Exception {
+        doThrow(new DataAccessResourceFailureException("Mongo no disponible"))
+                .when(transaccionRepository).insertarLote(anyList());
+        PersistenciaDiferidaImp caida = iniciar(100, 10);
+        Transaccion primera = caida.guardar(crearTransaccion());
+        Transaccion segunda = caida.guardar(crearTransaccion());
+        verify(transaccionRepository, timeout(2000).atLeastOnce()).insertarLote(anyList());
+        ReflectionTestUtils.invokeMethod(caida, "detener");
+        iniciadas.clear();
+
+        reset(transaccionRepository);
+        iniciar(100, 10);
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Transaccion>> recuperadas = ArgumentCaptor.forClass(List.class);
+        verify(transaccionRepository, timeout(2000).atLeastOnce()).insertarLote(recuperadas.capture());
+        assertEquals(List.of(primera.getId(), segunda.getId()),
+                recuperadas.getAllValues().stream().flatMap(List::stream).map(Transaccion::getId).toList());
+    }
+
+    @Test
+    @DisplayName("Iniciar - Journal lines with decimal amounts are read as cents")
+    public void testIniciar_DiarioConMontoDecimal() throws Exception {
+        Files.writeString(directorioDiario.resolve("diario-0.ndjson"),
+                "{\"id\":\"652f1c2e8b3e4a0001a1b2c3\",\"tipo\":\"DEPOSITO\",\"monto\":100.1,\"cuentaOrigen\":\"1234567890\"}\n");
+
+        iniciar(100, 10);
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Transaccion>> recuperadas = ArgumentCaptor.forClass(List.class);
+        verify(transaccionRepository, timeout(2000)).insertarLote(recuperadas.capture());
+        assertEquals(10_010L, recuperadas.getValue().get(0).getMontoCentimos());
+    }
+
+    @Test
+    @DisplayName("Guardar - Full buffer writes directly after a bounded wait")
+    public void testGuardar_BufferLlenoEscribeDirecto() throws Exception {
+        CountDownLatch mongoLento = new CountDownLatch(1);
+        CountDownLatch escribiendo = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            escribiendo.countDown();
+            mongoLento.await();
+            return null;
+        }).doNothing().when(transaccionRepository).insertarLote(anyList());
+        PersistenciaDiferidaImp persistencia = iniciar(1, 1);
+
+        persistencia.guardar(crearTransaccion());
+        assertTrue(escribiendo.await(2, TimeUnit.SECONDS));
+        Transaccion enCola = persistencia.guardar(crearTransaccion());
+        assertSame(enCola, persistencia.buscar(enCola.getId()).orElseThrow());
+
+        Transaccion directa = CompletableFuture.supplyAsync(() -> persistencia.guardar(crearTransaccion()))
+                .get(2, TimeUnit.SECONDS);
+
+        verify(transaccionRepository).insertarLote(List.of(directa));
+        verify(libroMayor).registrar(List.of(directa));
+        when(transaccionRepository.findById(directa.getId())).thenReturn(Optional.of(directa));
+        assertSame(directa, persistencia.buscar(directa.getId()).orElseThrow());
+        mongoLento.countDown();
+    }
+
+    @Test
+    @DisplayName("Guardar - Full buffer with Mongo down is reported as service unavailable")
+    public void testGuardar_BufferLlenoSinMongo() throws Exception {
+        CountDownLatch mongoLento = new CountDownLatch(1);
+        CountDownLatch escribiendo = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            escribiendo.countDown();
+            mongoLento.await();
+            return null;
+        }).doThrow(new DataAccessResourceFailureException("Mongo no disponible"))
+                .when(transaccionRepository).insertarLote(anyList());
+        PersistenciaDiferidaImp persistencia = iniciar(1, 1);
+
+        persistencia.guardar(crearTransaccion());
+        assertTrue(escribiendo.await(2, TimeUnit.SECONDS));
+        persistencia.guardar(crearTransaccion());
+        Transaccion rechazada = crearTransaccion();
+
+        CustomExceptions.ServiceUnavailableException exception = assertThrows(
+                CustomExceptions.ServiceUnavailableException.class,
+                () -> persistencia.guardar(rechazada)
+        );
+
+        assertEquals("No se pudo registrar la transacción; intente nuevamente", exception.getMessage());
+        assertSame(rechazada, persistencia.buscar(rechazada.getId()).orElseThrow());
+        assertTrue(Files.readString(directorioDiario.resolve("diario-0.ndjson")).contains(rechazada.getId()));
+        mongoLento.countDown();
+    }
+
+    private PersistenciaDiferidaImp iniciar(int capacidad, int tamanioLote) {
+        PersistenciaDiferidaImp persistencia = new PersistenciaDiferidaImp();
+        ReflectionTestUtils.setField(persistencia, "transaccionRepository", transaccionRepository);
+        ReflectionTestUtils.setField(persistencia, "libroMayor", libroMayor);
+        ReflectionTestUtils.setField(persistencia, "objectMapper", objectMapper);
+        ReflectionTestUtils.setField(persistencia, "capacidad", capacidad);
+        ReflectionTestUtils.setField(persistencia, "tamanioLote", tamanioLote);
+        ReflectionTestUtils.setField(persistencia, "intervalo", Duration.ofMillis(20));
+        ReflectionTestUtils.setField(persistencia, "esperaEncolado", Duration.ofMillis(100));
+        ReflectionTestUtils.setField(persistencia, "esperaReintento", Duration.ofMillis(20));
+        ReflectionTestUtils.setField(persistencia, "tiempoCierre", Duration.ofSeconds(2));
+        ReflectionTestUtils.setField(persistencia, "directorioDiario", directorioDiario);
+        ReflectionTestUtils.setField(persistencia, "tamanioSegmento", DataSize.ofMegabytes(1));
+        ReflectionTestUtils.setField(persistencia, "sincronizarDiario", true);
+        ReflectionTestUtils.invokeMethod(persistencia, "iniciar");
+        iniciadas.add(persistencia);
+        return persistencia;
+    }
+
+    private long segmentosDelDiario() throws Exception {
+        try (Stream<Path> archivos = Files.list(directorioDiario)) {
+            return archivos.count();
+        }
+    }
+
+    private Transaccion crearTransaccion() {
+        Transaccion transaccion = new Transaccion();
+        transaccion.setTipo(TipoTransaccionEnum.DEPOSITO);
+        transaccion.setCuentaOrigen("1234567890");
+        transaccion.setMontoCentimos(10_000L);
+        transaccion.setFecha(LocalDateTime.now());
+        return transaccion;
+    }
+}
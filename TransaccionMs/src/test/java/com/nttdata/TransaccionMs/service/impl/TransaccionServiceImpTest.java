@@ -1,26 +1,66 @@
 package com.nttdata.TransaccionMs.service.impl;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import com.nttdata.TransaccionMs.business.Impl.TransaccionServiceImp;
+import com.nttdata.TransaccionMs.business.LibroMayor;
+import com.nttdata.TransaccionMs.business.PersistenciaTransacciones;
+import com.nttdata.TransaccionMs.business.RegistroIdempotencia;
+import com.nttdata.TransaccionMs.business.ResumenesDiarios;
 import com.nttdata.TransaccionMs.business.TransaccionMapper;
+import com.nttdata.TransaccionMs.clients.ConsultaCuentaCubierta;
 import com.nttdata.TransaccionMs.clients.CuentaFeignClient;
+import com.nttdata.TransaccionMs.dto.CursorHistorial;
+import com.nttdata.TransaccionMs.dto.AjusteSaldo;
+import com.nttdata.TransaccionMs.dto.AjustesCuenta;
+import com.nttdata.TransaccionMs.dto.EstadoCuenta;
+import com.nttdata.TransaccionMs.dto.FiltroHistorial;
+import com.nttdata.TransaccionMs.dto.MovimientoLoteRequest;
+import com.nttdata.TransaccionMs.dto.MovimientoLoteResponse;
+import com.nttdata.TransaccionMs.dto.MovimientoLoteResultado;
+import com.nttdata.TransaccionMs.dto.MovimientoSaldoRequest;
 import com.nttdata.TransaccionMs.dto.SaldoResponse;
-import com.nttdata.TransaccionMs.dto.SaldoUpdateRequest;
+import com.nttdata.TransaccionMs.dto.TransferenciaRequest;
+import com.nttdata.TransaccionMs.dto.TransferenciaResponse;
 import com.nttdata.TransaccionMs.exception.CustomExceptions;
+import com.nttdata.TransaccionMs.model.SaldoLibroMayorResponse;
+import com.nttdata.TransaccionMs.model.TotalesCuentaResponse;
+import com.nttdata.TransaccionMs.model.TransactionLoteRequest;
+import com.nttdata.TransaccionMs.model.TransactionPage;
 import com.nttdata.TransaccionMs.model.TransactionRequest;
 import com.nttdata.TransaccionMs.model.TransactionResponse;
+import com.nttdata.TransaccionMs.model.entity.Asiento;
+import com.nttdata.TransaccionMs.model.entity.TipoTransaccionEnum;
+import com.nttdata.TransaccionMs.model.entity.TotalTipoTransaccion;
 import com.nttdata.TransaccionMs.model.entity.Transaccion;
+import com.nttdata.TransaccionMs.repository.AsientoRepository;
 import com.nttdata.TransaccionMs.repository.TransaccionRepository;
+import org.bson.types.ObjectId;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.io.BufferedReader;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -31,12 +71,33 @@ public class TransaccionServiceImpTest {
     @Mock
     private TransaccionRepository transaccionRepository;
 
+    @Mock
+    private AsientoRepository asientoRepository;
+
     @Mock
     private CuentaFeignClient cuentaFeignClient;
 
+    @Mock
+    private ConsultaCuentaCubierta consultaCuentaCubierta;
+
     @Mock
     private TransaccionMapper transaccionMapper;
 
+    @Mock
+    private RegistroIdempotencia registroIdempotencia;
+
+    @Mock
+    private PersistenciaTransacciones persistenciaTransacciones;
+
+    @Mock
+    private LibroMayor libroMayor;
+
+    @Mock
+    private ResumenesDiarios resumenesDiarios;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
     @InjectMocks
     private TransaccionServiceImp transaccionServiceImp;
 
@@ -47,25 +108,28 @@ public class TransaccionServiceImpTest {
 
     @BeforeEach
     public void setUp() {
+        lenient().when(registroIdempotencia.ejecutar(any(), anyString(), any(TransactionRequest.class), any()))
+                .thenAnswer(invocation -> transaccionMapper.getTransaccionResponseOfTransaccion(
+                        invocation.<Function<String, Transaccion>>getArgument(3).apply("ref-1")));
 
         transactionRequest = new TransactionRequest();
         transactionRequest.setCuentaOrigen("1234567890");
         transactionRequest.setCuentaDestino("0987654321");
-        transactionRequest.setMonto(100.0);
+        transactionRequest.setMonto(new BigDecimal("100.0"));
 
         transaccion = new Transaccion();
         transaccion.setCuentaOrigen("1234567890");
         transaccion.setCuentaDestino("0987654321");
-        transaccion.setMonto(100.0);
+        transaccion.setMontoCentimos(10_000L);
         transaccion.setFecha(LocalDateTime.now());
 
         transactionResponse = new TransactionResponse();
         transactionResponse.setCuentaOrigen("1234567890");
         transactionResponse.setCuentaDestino("0987654321");
-        transactionResponse.setMonto(100.0);
+        transactionResponse.setMonto(new BigDecimal("100.0"));
 
         saldoResponse = new SaldoResponse();
-        saldoResponse.setSaldo(1000.0);
+        saldoResponse.setSaldo(new BigDecimal("1000.0"));
         saldoResponse.setTipoCuenta("AHORROS");
     }
 
@@ -74,7 +138,7 @@ public class TransaccionServiceImpTest {
     public void testConsultarHistorialTransacciones_Success() {
         List<Transaccion> transacciones = Arrays.asList(transaccion);
 
-        when(transaccionRepository.findAll()).thenReturn(transacciones);
+        when(transaccionRepository.buscarPagina(FiltroHistorial.builder().build(), null, 500)).thenReturn(transacciones);
         when(transaccionMapper.getTransaccionResponseOfTransaccion(transaccion)).thenReturn(transactionResponse);
 
         List<TransactionResponse> result = transaccionServiceImp.consultarHistorialTransacciones();
@@ -83,145 +147,522 @@ public class TransaccionServiceImpTest {
         assertEquals(1, result.size());
         assertEquals("1234567890", result.get(0).getCuentaOrigen());
 
-        verify(transaccionRepository, times(1)).findAll();
+        verify(transaccionRepository, times(1)).buscarPagina(FiltroHistorial.builder().build(), null, 500);
+        verify(transaccionRepository, never()).findAll();
+    }
+
+    @Test
+    @DisplayName("Consultar historial paginado - Next cursor")
+    public void testConsultarHistorialPaginado_SiguienteCursor() {
+        FiltroHistorial filtro = FiltroHistorial.builder().cuentaOrigen("1234567890").build();
+        Transaccion primera = crearTransaccion(LocalDateTime.of(2024, 5, 2, 10, 0));
+        Transaccion segunda = crearTransaccion(LocalDateTime.of(2024, 5, 1, 10, 0));
+        Transaccion tercera = crearTransaccion(LocalDateTime.of(2024, 4, 30, 10, 0));
+        TransactionPage pagina = new TransactionPage();
+
+        when(transaccionRepository.buscarPagina(filtro, null, 3)).thenReturn(Arrays.asList(primera, segunda, tercera));
+        when(transaccionMapper.getTransactionPageOfTransacciones(eq(List.of(primera, segunda)), anyString())).thenReturn(pagina);
+
+        TransactionPage result = transaccionServiceImp.consultarHistorialPaginado(filtro, null, 2);
+
+        assertSame(pagina, result);
+
+        ArgumentCaptor<String> cursor = ArgumentCaptor.forClass(String.class);
+        verify(transaccionMapper).getTransactionPageOfTransacciones(anyList(), cursor.capture());
+        CursorHistorial siguiente = CursorHistorial.decodificar(cursor.getValue());
+        assertEquals(segunda.getFecha(), siguiente.getFecha());
+        assertEquals(segunda.getId(), siguiente.getId());
+        verify(transaccionRepository, never()).findAll();
+    }
+
+    @Test
+    @DisplayName("Consultar historial paginado - Last page")
+    public void testConsultarHistorialPaginado_UltimaPagina() {
+        FiltroHistorial filtro = FiltroHistorial.builder().build();
+        Transaccion unica = crearTransaccion(LocalDateTime.of(2024, 5, 2, 10, 0));
+        String cursor = new CursorHistorial(LocalDateTime.of(2024, 5, 3, 10, 0), new ObjectId().toHexString()).codificar();
+
+        when(transaccionRepository.buscarPagina(eq(filtro), any(CursorHistorial.class), eq(51))).thenReturn(List.of(unica));
+
+        transaccionServiceImp.consultarHistorialPaginado(filtro, cursor, null);
+
+        verify(transaccionMapper).getTransactionPageOfTransacciones(List.of(unica), null);
+    }
+
+    @Test
+    @DisplayName("Exportar historial - NDJSON")
+    public void testExportarHistorialTransacciones_Ndjson() throws Exception {
+        FiltroHistorial filtro = FiltroHistorial.builder().cuentaOrigen("1234567890").build();
+        Transaccion primera = crearTransaccion(LocalDateTime.of(2024, 5, 1, 10, 0));
+        Transaccion segunda = crearTransaccion(LocalDateTime.of(2024, 5, 2, 10, 0));
+        Stream<Transaccion> transacciones = Stream.of(primera, segunda);
+
+        when(transaccionRepository.recorrerHistorial(eq(filtro), anyInt())).thenReturn(transacciones);
+        when(transaccionMapper.getTransaccionResponseOfTransaccion(any(Transaccion.class))).thenReturn(transactionResponse);
+
+        List<String> lineas;
+        try (InputStream exportacion = transaccionServiceImp.exportarHistorialTransacciones(filtro, false)) {
+            lineas = new BufferedReader(new InputStreamReader(exportacion, StandardCharsets.UTF_8)).lines().toList();
+        }
+
+        assertEquals(2, lineas.size());
+        assertEquals("1234567890", objectMapper.readTree(lineas.get(0)).get("cuentaOrigen").asText());
+        verify(transaccionRepository, never()).findAll();
+    }
+
+    @Test
+    @DisplayName("Exportar historial - Gzip")
+    public void testExportarHistorialTransacciones_Gzip() throws Exception {
+        FiltroHistorial filtro = FiltroHistorial.builder().build();
+        Transaccion unica = crearTransaccion(LocalDateTime.of(2024, 5, 1, 10, 0));
+
+        when(transaccionRepository.recorrerHistorial(eq(filtro), anyInt())).thenReturn(Stream.of(unica));
+        when(transaccionMapper.getTransaccionResponseOfTransaccion(unica)).thenReturn(transactionResponse);
+
+        List<String> lineas;
+        try (InputStream exportacion = new GZIPInputStream(transaccionServiceImp.exportarHistorialTransacciones(filtro, true))) {
+            lineas = new BufferedReader(new InputStreamReader(exportacion, StandardCharsets.UTF_8)).lines().toList();
+        }
+
+        assertEquals(1, lineas.size());
+        assertEquals(100.0, objectMapper.readTree(lineas.get(0)).get("monto").asDouble());
+    }
+
+    @Test
+    @DisplayName("Exportar estado de cuenta - Running balance from the opening balance")
+    public void testExportarEstadoCuenta_SaldoCorrido() throws Exception {
+        OffsetDateTime desde = OffsetDateTime.of(2024, 5, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+        OffsetDateTime hasta = OffsetDateTime.of(2024, 6, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+        LocalDateTime inicio = LocalDateTime.of(2024, 5, 1, 0, 0);
+        LocalDateTime fin = LocalDateTime.of(2024, 6, 1, 0, 0);
+        when(transaccionMapper.mapToEntityFecha(desde)).thenReturn(inicio);
+        when(transaccionMapper.mapToEntityFecha(hasta)).thenReturn(fin);
+        when(libroMayor.saldoAntesDe("1234567890", inicio)).thenReturn(50_000L);
+        when(consultaCuentaCubierta.getAccountAdjustments("1234567890", "2024-05-01T00:00Z", "2024-06-01T00:00Z"))
+                .thenReturn(ajustes("0.00"));
+        when(asientoRepository.recorrerMovimientos(eq("1234567890"), eq(inicio), eq(fin), anyInt())).thenReturn(Stream.of(
+                new Asiento("t1-0", "t1", "1234567890", 10_000L, TipoTransaccionEnum.DEPOSITO, LocalDateTime.of(2024, 5, 2, 9, 0), null),
+                new Asiento("t2-0", "t2", "1234567890", -2_550L, TipoTransaccionEnum.TRANSFERENCIA, LocalDateTime.of(2024, 5, 3, 9, 0), null)));
+        when(transaccionMapper.getMovimientoEstadoCuentaResponse(any(Asiento.class), anyLong())).thenAnswer(invocation ->
+                new TransaccionMapper().getMovimientoEstadoCuentaResponse(invocation.<Asiento>getArgument(0), invocation.getArgument(1)));
+
+        EstadoCuenta estadoCuenta = transaccionServiceImp.exportarEstadoCuenta("1234567890", desde, hasta, false);
+        List<String> lineas;
+        try (InputStream movimientos = estadoCuenta.getMovimientos()) {
+            lineas = new BufferedReader(new InputStreamReader(movimientos, StandardCharsets.UTF_8)).lines().toList();
+        }
+
+        assertEquals(50_000L, estadoCuenta.getSaldoInicialCentimos());
+        assertEquals(2, lineas.size());
+        assertEquals(600.0, objectMapper.readTree(lineas.get(0)).get("saldo").asDouble());
+        assertEquals(-25.5, objectMapper.readTree(lineas.get(1)).get("monto").asDouble());
+        assertEquals(574.5, objectMapper.readTree(lineas.get(1)).get("saldo").asDouble());
+    }
+
+    @Test
+    @DisplayName("Exportar estado de cuenta - Opening balance and manual adjustments from AccountMs are part of the running balance")
+    public void testExportarEstadoCuenta_SaldoInicialYAjustes() throws Exception {
+        OffsetDateTime desde = OffsetDateTime.of(2024, 5, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+        OffsetDateTime hasta = OffsetDateTime.of(2024, 6, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+        LocalDateTime inicio = LocalDateTime.of(2024, 5, 1, 0, 0);
+        LocalDateTime fin = LocalDateTime.of(2024, 6, 1, 0, 0);
+        AjustesCuenta ajustes = ajustes("1000.00",
+                new AjusteSaldo(new BigDecimal("250.00"), OffsetDateTime.of(2024, 5, 5, 7, 0, 0, 0, ZoneOffset.ofHours(-5))),
+                new AjusteSaldo(new BigDecimal("-40.00"), OffsetDateTime.of(2024, 6, 1, 0, 0, 0, 0, ZoneOffset.UTC)));
+        when(transaccionMapper.mapToEntityFecha(any(OffsetDateTime.class))).thenCallRealMethod();
+        when(libroMayor.saldoAntesDe("1234567890", inicio)).thenReturn(0L);
+        when(consultaCuentaCubierta.getAccountAdjustments("1234567890", "2024-05-01T00:00Z", "2024-06-01T00:00Z"))
+                .thenReturn(ajustes);
+        when(asientoRepository.recorrerMovimientos(eq("1234567890"), eq(inicio), eq(fin), anyInt())).thenReturn(Stream.of(
+                new Asiento("t1-0", "t1", "1234567890", -10_000L, TipoTransaccionEnum.RETIRO, LocalDateTime.of(2024, 5, 2, 9, 0), null),
+                new Asiento("t2-0", "t2", "1234567890", 5_000L, TipoTransaccionEnum.DEPOSITO, LocalDateTime.of(2024, 5, 20, 9, 0), null)));
+        when(transaccionMapper.getMovimientoEstadoCuentaResponse(any(Asiento.class), anyLong())).thenAnswer(invocation ->
+                new TransaccionMapper().getMovimientoEstadoCuentaResponse(invocation.<Asiento>getArgument(0), invocation.getArgument(1)));
+        when(transaccionMapper.getMovimientoEstadoCuentaResponse(any(AjusteSaldo.class), anyLong())).thenAnswer(invocation ->
+                new TransaccionMapper().getMovimientoEstadoCuentaResponse(invocation.<AjusteSaldo>getArgument(0), invocation.getArgument(1)));
+
+        EstadoCuenta estadoCuenta = transaccionServiceImp.exportarEstadoCuenta("1234567890", desde, hasta, false);
+        List<String> lineas;
+        try (InputStream movimientos = estadoCuenta.getMovimientos()) {
+            lineas = new BufferedReader(new InputStreamReader(movimientos, StandardCharsets.UTF_8)).lines().toList();
+        }
+
+        assertEquals(100_000L, estadoCuenta.getSaldoInicialCentimos());
+        assertEquals(3, lineas.size());
+        assertEquals(900.0, objectMapper.readTree(lineas.get(0)).get("saldo").asDouble());
+        assertEquals("AJUSTE", objectMapper.readTree(lineas.get(1)).get("tipo").asText());
+        assertEquals(250.0, objectMapper.readTree(lineas.get(1)).get("monto").asDouble());
+        assertEquals(1150.0, objectMapper.readTree(lineas.get(1)).get("saldo").asDouble());
+        assertEquals(1200.0, objectMapper.readTree(lineas.get(2)).get("saldo").asDouble());
+    }
+
+    @Test
+    @DisplayName("Exportar estado de cuenta - Empty date range")
+    public void testExportarEstadoCuenta_BadRequestException_Rango() {
+        OffsetDateTime fecha = OffsetDateTime.of(2024, 5, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+
+        CustomExceptions.BadRequestException exception = assertThrows(
+                CustomExceptions.BadRequestException.class,
+                () -> transaccionServiceImp.exportarEstadoCuenta("1234567890", fecha, fecha, false)
+        );
+
+        assertEquals("La fecha inicial debe ser anterior a la fecha final", exception.getMessage());
+        verifyNoInteractions(asientoRepository, libroMayor);
+    }
+
+    @Test
+    @DisplayName("Consultar historial paginado - Invalid cursor")
+    public void testConsultarHistorialPaginado_CursorInvalido() {
+        FiltroHistorial filtro = FiltroHistorial.builder().build();
+
+        CustomExceptions.BadRequestException exception = assertThrows(
+                CustomExceptions.BadRequestException.class,
+                () -> transaccionServiceImp.consultarHistorialPaginado(filtro, "no-es-un-cursor", 10)
+        );
+
+        assertEquals("El cursor de paginación no es válido", exception.getMessage());
+        verify(transaccionRepository, never()).buscarPagina(any(), any(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Consultar historial paginado - Invalid page size")
+    public void testConsultarHistorialPaginado_TamanioInvalido() {
+        FiltroHistorial filtro = FiltroHistorial.builder().build();
+
+        assertThrows(
+                CustomExceptions.BadRequestException.class,
+                () -> transaccionServiceImp.consultarHistorialPaginado(filtro, null, 501)
+        );
+
+        verify(transaccionRepository, never()).buscarPagina(any(), any(), anyInt());
     }
 
     @Test
     @DisplayName("Registrar deposito success")
     public void testRegistrarDeposito_Success() {
-        when(cuentaFeignClient.getAccountBalanceAndType(transactionRequest.getCuentaOrigen())).thenReturn(saldoResponse);
+        when(cuentaFeignClient.applyBalanceMovement(eq(transactionRequest.getCuentaOrigen()), any(MovimientoSaldoRequest.class), any())).thenReturn(saldoResponse);
         when(transaccionMapper.getTransaccionOfTransaccionRequest(transactionRequest)).thenReturn(transaccion);
-        when(transaccionRepository.save(transaccion)).thenReturn(transaccion);
+        when(persistenciaTransacciones.guardar(transaccion)).thenReturn(transaccion);
         when(transaccionMapper.getTransaccionResponseOfTransaccion(transaccion)).thenReturn(transactionResponse);
 
-        TransactionResponse result = transaccionServiceImp.registrarDeposito(transactionRequest);
+        TransactionResponse result = transaccionServiceImp.registrarDeposito(transactionRequest, null);
 
         assertNotNull(result);
-        assertEquals(100.0, result.getMonto());
+        assertEquals(new BigDecimal("100.0"), result.getMonto());
         assertEquals("1234567890", result.getCuentaOrigen());
 
-        verify(cuentaFeignClient, times(1)).getAccountBalanceAndType(transactionRequest.getCuentaOrigen());
-        verify(cuentaFeignClient, times(1)).updateAccountBalance(eq(transactionRequest.getCuentaOrigen()), any(SaldoUpdateRequest.class));
-        verify(transaccionRepository, times(1)).save(transaccion);
+        ArgumentCaptor<MovimientoSaldoRequest> movimiento = ArgumentCaptor.forClass(MovimientoSaldoRequest.class);
+        verify(cuentaFeignClient, times(1)).applyBalanceMovement(eq(transactionRequest.getCuentaOrigen()), movimiento.capture(), eq("ref-1"));
+        assertEquals(new BigDecimal("100.00"), movimiento.getValue().getMonto());
+        assertEquals(RegistroIdempotencia.transaccionIdDe("ref-1"), transaccion.getId());
+        verify(persistenciaTransacciones, times(1)).guardar(transaccion);
     }
 
     @Test
     @DisplayName("Registrar deposito - Not found account")
     public void testRegistrarDeposito_ResourceNotFoundException() {
-        when(cuentaFeignClient.getAccountBalanceAndType(transactionRequest.getCuentaOrigen())).thenReturn(null);
+        when(cuentaFeignClient.applyBalanceMovement(eq(transactionRequest.getCuentaOrigen()), any(MovimientoSaldoRequest.class), any())).thenReturn(null);
 
         CustomExceptions.ResourceNotFoundException exception = assertThrows(
                 CustomExceptions.ResourceNotFoundException.class,
-                () -> transaccionServiceImp.registrarDeposito(transactionRequest)
+                () -> transaccionServiceImp.registrarDeposito(transactionRequest, null)
         );
 
         assertEquals("Cuenta no encontrada", exception.getMessage());
 
-        verify(cuentaFeignClient, times(1)).getAccountBalanceAndType(transactionRequest.getCuentaOrigen());
-        verify(cuentaFeignClient, never()).updateAccountBalance(anyString(), any(SaldoUpdateRequest.class));
-        verify(transaccionRepository, never()).save(any(Transaccion.class));
+        verify(cuentaFeignClient, times(1)).applyBalanceMovement(eq(transactionRequest.getCuentaOrigen()), any(MovimientoSaldoRequest.class), any());
+        verify(persistenciaTransacciones, never()).guardar(any(Transaccion.class));
+    }
+
+    @Test
+    @DisplayName("Registrar deposito - Invalid amount")
+    public void testRegistrarDeposito_BadRequestException_Monto() {
+        transactionRequest.setMonto(new BigDecimal("-50.0"));
+
+        CustomExceptions.BadRequestException exception = assertThrows(
+                CustomExceptions.BadRequestException.class,
+                () -> transaccionServiceImp.registrarDeposito(transactionRequest, null)
+        );
+
+        assertEquals("El monto de la transacción debe ser mayor a 0", exception.getMessage());
+
+        verify(cuentaFeignClient, never()).applyBalanceMovement(anyString(), any(MovimientoSaldoRequest.class), any());
+        verify(persistenciaTransacciones, never()).guardar(any(Transaccion.class));
+    }
+
+    @Test
+    @DisplayName("Registrar deposito - More than two decimals")
+    public void testRegistrarDeposito_BadRequestException_Precision() {
+        transactionRequest.setMonto(new BigDecimal("10.001"));
+
+        CustomExceptions.BadRequestException exception = assertThrows(
+                CustomExceptions.BadRequestException.class,
+                () -> transaccionServiceImp.registrarDeposito(transactionRequest, null)
+        );
+
+        assertEquals("El monto debe tener como máximo 2 decimales", exception.getMessage());
+
+        verify(cuentaFeignClient, never()).applyBalanceMovement(anyString(), any(MovimientoSaldoRequest.class), any());
     }
 
     @Test
     @DisplayName("Registrar retiro success")
     public void testRegistrarRetiro_Success() {
-        when(cuentaFeignClient.getAccountBalanceAndType(transactionRequest.getCuentaOrigen())).thenReturn(saldoResponse);
+        when(cuentaFeignClient.applyBalanceMovement(eq(transactionRequest.getCuentaOrigen()), any(MovimientoSaldoRequest.class), any())).thenReturn(saldoResponse);
         when(transaccionMapper.getTransaccionOfTransaccionRequest(transactionRequest)).thenReturn(transaccion);
-        when(transaccionRepository.save(transaccion)).thenReturn(transaccion);
+        when(persistenciaTransacciones.guardar(transaccion)).thenReturn(transaccion);
         when(transaccionMapper.getTransaccionResponseOfTransaccion(transaccion)).thenReturn(transactionResponse);
 
-        TransactionResponse result = transaccionServiceImp.registrarRetiro(transactionRequest);
+        TransactionResponse result = transaccionServiceImp.registrarRetiro(transactionRequest, null);
 
         assertNotNull(result);
-        assertEquals(100.0, result.getMonto());
+        assertEquals(new BigDecimal("100.0"), result.getMonto());
         assertEquals("1234567890", result.getCuentaOrigen());
 
-        verify(cuentaFeignClient, times(1)).getAccountBalanceAndType(transactionRequest.getCuentaOrigen());
-        verify(cuentaFeignClient, times(1)).updateAccountBalance(eq(transactionRequest.getCuentaOrigen()), any(SaldoUpdateRequest.class));
-        verify(transaccionRepository, times(1)).save(transaccion);
+        ArgumentCaptor<MovimientoSaldoRequest> movimiento = ArgumentCaptor.forClass(MovimientoSaldoRequest.class);
+        verify(cuentaFeignClient, times(1)).applyBalanceMovement(eq(transactionRequest.getCuentaOrigen()), movimiento.capture(), any());
+        assertEquals(new BigDecimal("-100.00"), movimiento.getValue().getMonto());
+        verify(persistenciaTransacciones, times(1)).guardar(transaccion);
     }
 
     @Test
     @DisplayName("Registrar retiro - Bad request Ahorros")
     public void testRegistrarRetiro_BadRequestException_Ahorros() {
-        saldoResponse.setSaldo(50.0);
-
-        when(cuentaFeignClient.getAccountBalanceAndType(transactionRequest.getCuentaOrigen())).thenReturn(saldoResponse);
+        when(cuentaFeignClient.applyBalanceMovement(eq(transactionRequest.getCuentaOrigen()), any(MovimientoSaldoRequest.class), any()))
+                .thenThrow(new CustomExceptions.BadRequestException("No se puede realizar un retiro que deje el saldo en negativo para cuentas de ahorro"));
 
         CustomExceptions.BadRequestException exception = assertThrows(
                 CustomExceptions.BadRequestException.class,
-                () -> transaccionServiceImp.registrarRetiro(transactionRequest)
+                () -> transaccionServiceImp.registrarRetiro(transactionRequest, null)
         );
 
         assertEquals("No se puede realizar un retiro que deje el saldo en negativo para cuentas de ahorro", exception.getMessage());
 
-        verify(cuentaFeignClient, times(1)).getAccountBalanceAndType(transactionRequest.getCuentaOrigen());
-        verify(cuentaFeignClient, never()).updateAccountBalance(anyString(), any(SaldoUpdateRequest.class));
-        verify(transaccionRepository, never()).save(any(Transaccion.class));
+        verify(cuentaFeignClient, times(1)).applyBalanceMovement(eq(transactionRequest.getCuentaOrigen()), any(MovimientoSaldoRequest.class), any());
+        verify(persistenciaTransacciones, never()).guardar(any(Transaccion.class));
     }
 
     @Test
     @DisplayName("Registrar retiro - Bad request Corriente")
     public void testRegistrarRetiro_BadRequestException_Corriente() {
-        saldoResponse.setSaldo(-600.0);
-        saldoResponse.setTipoCuenta("CORRIENTE");
-
-        when(cuentaFeignClient.getAccountBalanceAndType(transactionRequest.getCuentaOrigen())).thenReturn(saldoResponse);
+        when(cuentaFeignClient.applyBalanceMovement(eq(transactionRequest.getCuentaOrigen()), any(MovimientoSaldoRequest.class), any()))
+                .thenThrow(new CustomExceptions.BadRequestException("No se puede realizar un sobregiro mayor a -500 en cuentas corrientes"));
 
         CustomExceptions.BadRequestException exception = assertThrows(
                 CustomExceptions.BadRequestException.class,
-                () -> transaccionServiceImp.registrarRetiro(transactionRequest)
+                () -> transaccionServiceImp.registrarRetiro(transactionRequest, null)
         );
 
         assertEquals("No se puede realizar un sobregiro mayor a -500 en cuentas corrientes", exception.getMessage());
 
-        verify(cuentaFeignClient, times(1)).getAccountBalanceAndType(transactionRequest.getCuentaOrigen());
-        verify(cuentaFeignClient, never()).updateAccountBalance(anyString(), any(SaldoUpdateRequest.class));
-        verify(transaccionRepository, never()).save(any(Transaccion.class));
+        verify(cuentaFeignClient, times(1)).applyBalanceMovement(eq(transactionRequest.getCuentaOrigen()), any(MovimientoSaldoRequest.class), any());
+        verify(persistenciaTransacciones, never()).guardar(any(Transaccion.class));
     }
 
     @Test
     @DisplayName("Registrar transferencia success")
     public void testRegistrarTransferencia_Success() {
-        SaldoResponse saldoDestino = new SaldoResponse();
-        saldoDestino.setSaldo(500.0);
-        saldoDestino.setTipoCuenta("AHORROS");
+        TransferenciaResponse saldos = new TransferenciaResponse();
+        saldos.setSaldoOrigen(new BigDecimal("900.0"));
+        saldos.setSaldoDestino(new BigDecimal("600.0"));
 
-        when(cuentaFeignClient.getAccountBalanceAndType(transactionRequest.getCuentaOrigen())).thenReturn(saldoResponse);
-        when(cuentaFeignClient.getAccountBalanceAndType(transactionRequest.getCuentaDestino())).thenReturn(saldoDestino);
+        when(cuentaFeignClient.transferBetweenAccounts(any(TransferenciaRequest.class), any())).thenReturn(saldos);
         when(transaccionMapper.getTransaccionOfTransaccionRequest(transactionRequest)).thenReturn(transaccion);
-        when(transaccionRepository.save(transaccion)).thenReturn(transaccion);
+        when(persistenciaTransacciones.guardar(transaccion)).thenReturn(transaccion);
         when(transaccionMapper.getTransaccionResponseOfTransaccion(transaccion)).thenReturn(transactionResponse);
 
-        TransactionResponse result = transaccionServiceImp.registrarTransferencia(transactionRequest);
+        TransactionResponse result = transaccionServiceImp.registrarTransferencia(transactionRequest, null);
 
         assertNotNull(result);
-        assertEquals(100.0, result.getMonto());
+        assertEquals(new BigDecimal("100.0"), result.getMonto());
         assertEquals("1234567890", result.getCuentaOrigen());
 
-        verify(cuentaFeignClient, times(1)).getAccountBalanceAndType(transactionRequest.getCuentaOrigen());
-        verify(cuentaFeignClient, times(1)).getAccountBalanceAndType(transactionRequest.getCuentaDestino());
-        verify(cuentaFeignClient, times(2)).updateAccountBalance(anyString(), any(SaldoUpdateRequest.class));
-        verify(transaccionRepository, times(1)).save(transaccion);
+        ArgumentCaptor<TransferenciaRequest> transferencia = ArgumentCaptor.forClass(TransferenciaRequest.class);
+        verify(cuentaFeignClient, times(1)).transferBetweenAccounts(transferencia.capture(), eq("ref-1"));
+        assertEquals("1234567890", transferencia.getValue().getCuentaOrigen());
+        assertEquals("0987654321", transferencia.getValue().getCuentaDestino());
+        assertEquals(new BigDecimal("100.00"), transferencia.getValue().getMonto());
+        verify(persistenciaTransacciones, times(1)).guardar(transaccion);
     }
 
     @Test
     @DisplayName("Registrar transferencia - Bad request Ahorros")
     public void testRegistrarTransferencia_BadRequestException_Ahorros() {
-        saldoResponse.setSaldo(50.0);
-
-        when(cuentaFeignClient.getAccountBalanceAndType(transactionRequest.getCuentaOrigen())).thenReturn(saldoResponse);
+        when(cuentaFeignClient.transferBetweenAccounts(any(TransferenciaRequest.class), any()))
+                .thenThrow(new CustomExceptions.BadRequestException("No se puede realizar una transferencia que deje el saldo en negativo para cuentas de ahorro"));
 
         CustomExceptions.BadRequestException exception = assertThrows(
                 CustomExceptions.BadRequestException.class,
-                () -> transaccionServiceImp.registrarTransferencia(transactionRequest)
+                () -> transaccionServiceImp.registrarTransferencia(transactionRequest, null)
         );
 
         assertEquals("No se puede realizar una transferencia que deje el saldo en negativo para cuentas de ahorro", exception.getMessage());
 
-        verify(cuentaFeignClient, times(1)).getAccountBalanceAndType(transactionRequest.getCuentaOrigen());
-        verify(cuentaFeignClient, never()).getAccountBalanceAndType(transactionRequest.getCuentaDestino());
-        verify(cuentaFeignClient, never()).updateAccountBalance(anyString(), any(SaldoUpdateRequest.class));
-        verify(transaccionRepository, never()).save(any(Transaccion.class));
+        verify(cuentaFeignClient, times(1)).transferBetweenAccounts(any(TransferenciaRequest.class), any());
+        verify(persistenciaTransacciones, never()).guardar(any(Transaccion.class));
+    }
+
+    @Test
+    @DisplayName("Registrar transferencia - Missing destination")
+    public void testRegistrarTransferencia_BadRequestException_SinDestino() {
+        transactionRequest.setCuentaDestino(null);
+
+        CustomExceptions.BadRequestException exception = assertThrows(
+                CustomExceptions.BadRequestException.class,
+                () -> transaccionServiceImp.registrarTransferencia(transactionRequest, null)
+        );
+
+        assertEquals("La cuenta de destino es obligatoria para una transferencia", exception.getMessage());
+
+        verify(cuentaFeignClient, never()).transferBetweenAccounts(any(TransferenciaRequest.class), any());
+        verify(persistenciaTransacciones, never()).guardar(any(Transaccion.class));
+    }
+
+    @Test
+    @DisplayName("Registrar lote - Local and remote rejections")
+    public void testRegistrarLoteTransacciones_ResultadosMixtos() {
+        TransactionRequest deposito = crearOperacion(TransactionRequest.TipoEnum.DEPOSITO, null, new BigDecimal("100.0"));
+        TransactionRequest transferenciaSinDestino = crearOperacion(TransactionRequest.TipoEnum.TRANSFERENCIA, null, new BigDecimal("50.0"));
+        TransactionRequest retiro = crearOperacion(TransactionRequest.TipoEnum.RETIRO, null, new BigDecimal("5000.0"));
+        TransactionRequest sinMonto = crearOperacion(TransactionRequest.TipoEnum.DEPOSITO, null, null);
+        TransactionLoteRequest lote = new TransactionLoteRequest();
+        lote.setOperaciones(List.of(deposito, transferenciaSinDestino, retiro, sinMonto));
+
+        MovimientoLoteResponse respuestaCuentas = new MovimientoLoteResponse();
+        respuestaCuentas.setResultados(List.of(
+                crearResultadoMovimiento(0, true, null),
+                crearResultadoMovimiento(1, false, "No se puede realizar un retiro que deje el saldo en negativo para cuentas de ahorro")
+        ));
+
+        when(cuentaFeignClient.applyMovementsBatch(any(MovimientoLoteRequest.class))).thenReturn(respuestaCuentas);
+        when(transaccionMapper.getTransaccionOfTransaccionRequest(deposito)).thenReturn(transaccion);
+
+        transaccionServiceImp.registrarLoteTransacciones(lote);
+
+        ArgumentCaptor<MovimientoLoteRequest> movimientos = ArgumentCaptor.forClass(MovimientoLoteRequest.class);
+        verify(cuentaFeignClient, times(1)).applyMovementsBatch(movimientos.capture());
+        assertEquals(2, movimientos.getValue().getMovimientos().size());
+        verify(transaccionMapper).getMovimientoLoteItemOfTransaccionRequest(deposito);
+        verify(transaccionMapper).getMovimientoLoteItemOfTransaccionRequest(retiro);
+
+        verify(persistenciaTransacciones, times(1)).guardarTodas(List.of(transaccion));
+        verify(persistenciaTransacciones, never()).guardar(any(Transaccion.class));
+        assertNotNull(transaccion.getFecha());
+
+        verify(transaccionMapper).getTransactionLoteResultadoAplicada(0, transaccion);
+        verify(transaccionMapper).getTransactionLoteResultadoRechazada(1, "La cuenta de destino es obligatoria para una transferencia");
+        verify(transaccionMapper).getTransactionLoteResultadoRechazada(2,
+                "No se puede realizar un retiro que deje el saldo en negativo para cuentas de ahorro");
+        verify(transaccionMapper).getTransactionLoteResultadoRechazada(3, "El monto de la transacción debe ser mayor a 0");
+    }
+
+    @Test
+    @DisplayName("Registrar lote - Nothing valid skips AccountMs")
+    public void testRegistrarLoteTransacciones_SinOperacionesValidas() {
+        TransactionLoteRequest lote = new TransactionLoteRequest();
+        lote.setOperaciones(List.of(crearOperacion(null, null, new BigDecimal("10.0"))));
+
+        transaccionServiceImp.registrarLoteTransacciones(lote);
+
+        verify(transaccionMapper).getTransactionLoteResultadoRechazada(0, "El tipo de la transacción es obligatorio");
+        verifyNoInteractions(cuentaFeignClient);
+        verify(persistenciaTransacciones, never()).guardarTodas(anyList());
+    }
+
+    @Test
+    @DisplayName("Registrar lote - Empty batch")
+    public void testRegistrarLoteTransacciones_LoteVacio() {
+        CustomExceptions.BadRequestException exception = assertThrows(
+                CustomExceptions.BadRequestException.class,
+                () -> transaccionServiceImp.registrarLoteTransacciones(new TransactionLoteRequest())
+        );
+
+        assertEquals("El lote debe contener entre 1 y 5000 operaciones", exception.getMessage());
+    }
+
+    @Test
+    @DisplayName("Consultar saldo libro mayor - Balance at the requested date")
+    public void testConsultarSaldoLibroMayor_Success() {
+        OffsetDateTime fecha = OffsetDateTime.of(2024, 5, 10, 12, 0, 0, 0, ZoneOffset.ofHours(-5));
+        LocalDateTime fechaUtc = LocalDateTime.of(2024, 5, 10, 17, 0);
+        SaldoLibroMayorResponse saldo = new SaldoLibroMayorResponse();
+        when(transaccionMapper.mapToEntityFecha(fecha)).thenReturn(fechaUtc);
+        when(libroMayor.saldoAl("1234567890", fechaUtc)).thenReturn(-51_250L);
+        when(consultaCuentaCubierta.getAccountAdjustments("1234567890", "2024-05-10T17:00Z", "2024-05-10T17:00Z"))
+                .thenReturn(ajustes("1000.00", new AjusteSaldo(new BigDecimal("-0.50"), fecha)));
+        when(transaccionMapper.getSaldoLibroMayorResponse("1234567890", 48_700L, fecha)).thenReturn(saldo);
+
+        assertSame(saldo, transaccionServiceImp.consultarSaldoLibroMayor("1234567890", fecha));
+    }
+
+    @Test
+    @DisplayName("Consultar saldo libro mayor - Missing account number")
+    public void testConsultarSaldoLibroMayor_BadRequestException() {
+        CustomExceptions.BadRequestException exception = assertThrows(
+                CustomExceptions.BadRequestException.class,
+                () -> transaccionServiceImp.consultarSaldoLibroMayor(" ", null)
+        );
+
+        assertEquals("El número de cuenta es obligatorio", exception.getMessage());
+        verifyNoInteractions(libroMayor);
+    }
+
+    @Test
+    @DisplayName("Consultar totales cuenta - Defaults to month to date")
+    public void testConsultarTotalesCuenta_MesEnCurso() {
+        LocalDate hoy = LocalDate.now();
+        Map<TipoTransaccionEnum, TotalTipoTransaccion> totales =
+                Map.of(TipoTransaccionEnum.DEPOSITO, new TotalTipoTransaccion(2, 15_000L, 0L));
+        TotalesCuentaResponse response = new TotalesCuentaResponse();
+        when(resumenesDiarios.totales("1234567890", hoy.withDayOfMonth(1), hoy)).thenReturn(totales);
+        when(transaccionMapper.getTotalesCuentaResponse("1234567890", hoy.withDayOfMonth(1), hoy, totales)).thenReturn(response);
+
+        assertSame(response, transaccionServiceImp.consultarTotalesCuenta("1234567890", null, null));
+    }
+
+    @Test
+    @DisplayName("Consultar totales cuenta - Start day after end day")
+    public void testConsultarTotalesCuenta_BadRequestException_Rango() {
+        CustomExceptions.BadRequestException exception = assertThrows(
+                CustomExceptions.BadRequestException.class,
+                () -> transaccionServiceImp.consultarTotalesCuenta("1234567890", LocalDate.of(2024, 5, 11), LocalDate.of(2024, 5, 10))
+        );
+
+        assertEquals("La fecha inicial no puede ser posterior a la fecha final", exception.getMessage());
+        verifyNoInteractions(resumenesDiarios);
+    }
+
+    private TransactionRequest crearOperacion(TransactionRequest.TipoEnum tipo, String cuentaDestino, BigDecimal monto) {
+        TransactionRequest operacion = new TransactionRequest();
+        operacion.setTipo(tipo);
+        operacion.setCuentaOrigen("1234567890");
+        operacion.setCuentaDestino(cuentaDestino);
+        operacion.setMonto(monto);
+        return operacion;
+    }
+
+    private MovimientoLoteResultado crearResultadoMovimiento(int indice, boolean aplicado, String error) {
+        MovimientoLoteResultado resultado = new MovimientoLoteResultado();
+        resultado.setIndice(indice);
+        resultado.setAplicado(aplicado);
+        resultado.setError(error);
+        return resultado;
+    }
+
+    private Transaccion crearTransaccion(LocalDateTime fecha) {
+        Transaccion nueva = new Transaccion();
+        nueva.setId(new ObjectId().toHexString());
+        nueva.setCuentaOrigen("1234567890");
+        nueva.setMontoCentimos(10_000L);
+        nueva.setFecha(fecha);
+        return nueva;
+    }
+
+    private AjustesCuenta ajustes(String ajusteInicial, AjusteSaldo... ajustes) {
+        AjustesCuenta ajustesCuenta = new AjustesCuenta();
+        ajustesCuenta.setNumeroCuenta("1234567890");
+        ajustesCuenta.setAjusteInicial(new BigDecimal(ajusteInicial));
+        ajustesCuenta.setAjustes(List.of(ajustes));
+        return ajustesCuenta;
     }
 }
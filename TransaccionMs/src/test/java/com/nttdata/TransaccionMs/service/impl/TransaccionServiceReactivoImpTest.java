@@ -0,0 +1,181 @@
+package com.nttdata.TransaccionMs.service.impl;
+
+import com.nttdata.TransaccionMs.business.Impl.TransaccionServiceReactivoImp;
+import com.nttdata.TransaccionMs.business.TransaccionMapper;
+import com.nttdata.TransaccionMs.clients.CuentaWebClient;
+import com.nttdata.TransaccionMs.dto.MovimientoSaldoRequest;
+import com.nttdata.TransaccionMs.dto.SaldoResponse;
+import com.nttdata.TransaccionMs.dto.TransferenciaRequest;
+import com.nttdata.TransaccionMs.dto.TransferenciaResponse;
+import com.nttdata.TransaccionMs.exception.CustomExceptions;
+import com.nttdata.TransaccionMs.model.TransactionRequest;
+import com.nttdata.TransaccionMs.model.TransactionResponse;
+import com.nttdata.TransaccionMs.model.entity.Asiento;
+import com.nttdata.TransaccionMs.model.entity.TipoTransaccionEnum;
+import com.nttdata.TransaccionMs.model.entity.Transaccion;
+import com.nttdata.TransaccionMs.repository.AsientoReactivoRepository;
+import com.nttdata.TransaccionMs.repository.ResumenDiarioReactivoRepository;
+import com.nttdata.TransaccionMs.repository.TransaccionReactivaRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class TransaccionServiceReactivoImpTest {
+
+    @Mock
+    private TransaccionReactivaRepository transaccionReactivaRepository;
+
+    @Mock
+    private AsientoReactivoRepository asientoReactivoRepository;
+
+    @Mock
+    private ResumenDiarioReactivoRepository resumenDiarioReactivoRepository;
+
+    @Mock
+    private CuentaWebClient cuentaWebClient;
+
+    @Mock
+    private TransaccionMapper transaccionMapper;
+
+    @InjectMocks
+    private TransaccionServiceReactivoImp transaccionServiceReactivoImp;
+
+    private TransactionRequest transactionRequest;
+    private Transaccion transaccion;
+    private TransactionResponse transactionResponse;
+
+    @BeforeEach
+    public void setUp() {
+        transactionRequest = new TransactionRequest();
+        transactionRequest.setCuentaOrigen("1234567890");
+        transactionRequest.setCuentaDestino("0987654321");
+        transactionRequest.setMonto(new BigDecimal("100.0"));
+
+        transaccion = new Transaccion();
+        transaccion.setId("652f1c2e8b3e4a0001a1b2c3");
+        transaccion.setCuentaOrigen("1234567890");
+        transaccion.setMontoCentimos(10_000L);
+
+        transactionResponse = new TransactionResponse();
+        transactionResponse.setCuentaOrigen("1234567890");
+        transactionResponse.setMonto(new BigDecimal("100.0"));
+    }
+
+    @Test
+    @DisplayName("Registrar deposito reactivo success")
+    public void testRegistrarDeposito_Success() {
+        transaccion.setTipo(TipoTransaccionEnum.DEPOSITO);
+        when(cuentaWebClient.applyBalanceMovement(eq("1234567890"), any(MovimientoSaldoRequest.class)))
+                .thenReturn(Mono.just(new SaldoResponse()));
+        when(transaccionMapper.getTransaccionOfTransaccionRequest(transactionRequest)).thenReturn(transaccion);
+        when(transaccionReactivaRepository.save(transaccion)).thenReturn(Mono.just(transaccion));
+        when(asientoReactivoRepository.saveAll(anyList())).thenAnswer(invocation -> Flux.fromIterable(invocation.getArgument(0)));
+        when(resumenDiarioReactivoRepository.acumular(anyList())).thenReturn(Mono.empty());
+        when(transaccionMapper.getTransaccionResponseOfTransaccion(transaccion)).thenReturn(transactionResponse);
+
+        TransactionResponse result = transaccionServiceReactivoImp.registrarDeposito(transactionRequest).block();
+
+        assertSame(transactionResponse, result);
+        assertNotNull(transaccion.getFecha());
+        ArgumentCaptor<MovimientoSaldoRequest> movimiento = ArgumentCaptor.forClass(MovimientoSaldoRequest.class);
+        verify(cuentaWebClient).applyBalanceMovement(eq("1234567890"), movimiento.capture());
+        assertEquals(new BigDecimal("100.00"), movimiento.getValue().getMonto());
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Asiento>> asientos = ArgumentCaptor.forClass(List.class);
+        verify(asientoReactivoRepository).saveAll(asientos.capture());
+        assertEquals(List.of(10_000L, -10_000L), asientos.getValue().stream().map(Asiento::getMontoCentimos).toList());
+        verify(resumenDiarioReactivoRepository).acumular(List.of(asientos.getValue().get(0)));
+    }
+
+    @Test
+    @DisplayName("Registrar retiro reactivo - Sends a negative movement")
+    public void testRegistrarRetiro_MovimientoNegativo() {
+        transaccion.setTipo(TipoTransaccionEnum.RETIRO);
+        when(cuentaWebClient.applyBalanceMovement(eq("1234567890"), any(MovimientoSaldoRequest.class)))
+                .thenReturn(Mono.just(new SaldoResponse()));
+        when(transaccionMapper.getTransaccionOfTransaccionRequest(transactionRequest)).thenReturn(transaccion);
+        when(transaccionReactivaRepository.save(transaccion)).thenReturn(Mono.just(transaccion));
+        when(asientoReactivoRepository.saveAll(anyList())).thenAnswer(invocation -> Flux.fromIterable(invocation.getArgument(0)));
+        when(resumenDiarioReactivoRepository.acumular(anyList())).thenReturn(Mono.empty());
+        when(transaccionMapper.getTransaccionResponseOfTransaccion(transaccion)).thenReturn(transactionResponse);
+
+        transaccionServiceReactivoImp.registrarRetiro(transactionRequest).block();
+
+        ArgumentCaptor<MovimientoSaldoRequest> movimiento = ArgumentCaptor.forClass(MovimientoSaldoRequest.class);
+        verify(cuentaWebClient).applyBalanceMovement(eq("1234567890"), movimiento.capture());
+        assertEquals(new BigDecimal("-100.00"), movimiento.getValue().getMonto());
+    }
+
+    @Test
+    @DisplayName("Registrar retiro reactivo - Invalid amount")
+    public void testRegistrarRetiro_BadRequestException_Monto() {
+        transactionRequest.setMonto(null);
+
+        CustomExceptions.BadRequestException exception = assertThrows(
+                CustomExceptions.BadRequestException.class,
+                () -> transaccionServiceReactivoImp.registrarRetiro(transactionRequest).block()
+        );
+
+        assertEquals("El monto de la transacción debe ser mayor a 0", exception.getMessage());
+        verifyNoInteractions(cuentaWebClient, transaccionReactivaRepository);
+    }
+
+    @Test
+    @DisplayName("Registrar transferencia reactiva - Missing destination")
+    public void testRegistrarTransferencia_BadRequestException_SinDestino() {
+        transactionRequest.setCuentaDestino(" ");
+
+        CustomExceptions.BadRequestException exception = assertThrows(
+                CustomExceptions.BadRequestException.class,
+                () -> transaccionServiceReactivoImp.registrarTransferencia(transactionRequest).block()
+        );
+
+        assertEquals("La cuenta de destino es obligatoria para una transferencia", exception.getMessage());
+        verifyNoInteractions(cuentaWebClient, transaccionReactivaRepository);
+    }
+
+    @Test
+    @DisplayName("Registrar transferencia reactiva - Rejected by AccountMs")
+    public void testRegistrarTransferencia_BadRequestException_Remota() {
+        when(cuentaWebClient.transferBetweenAccounts(any(TransferenciaRequest.class)))
+                .thenReturn(Mono.error(new CustomExceptions.BadRequestException("Saldo insuficiente")));
+
+        CustomExceptions.BadRequestException exception = assertThrows(
+                CustomExceptions.BadRequestException.class,
+                () -> transaccionServiceReactivoImp.registrarTransferencia(transactionRequest).block()
+        );
+
+        assertEquals("Saldo insuficiente", exception.getMessage());
+        verify(transaccionReactivaRepository, never()).save(any(Transaccion.class));
+        verifyNoInteractions(asientoReactivoRepository);
+    }
+
+    @Test
+    @DisplayName("Registrar transferencia reactiva - Empty response")
+    public void testRegistrarTransferencia_ResourceNotFoundException() {
+        when(cuentaWebClient.transferBetweenAccounts(any(TransferenciaRequest.class)))
+                .thenReturn(Mono.<TransferenciaResponse>empty());
+
+        CustomExceptions.ResourceNotFoundException exception = assertThrows(
+                CustomExceptions.ResourceNotFoundException.class,
+                () -> transaccionServiceReactivoImp.registrarTransferencia(transactionRequest).block()
+        );
+
+        assertEquals("Cuenta no encontrada", exception.getMessage());
+        verify(transaccionReactivaRepository, never()).save(any(Transaccion.class));
+    }
+}
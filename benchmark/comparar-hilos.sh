@@ -0,0 +1,76 @@
+#!/usr/bin/env bash
+# Compara el pool de hilos de plataforma de Tomcat con hilos virtuales para un microservicio.
+# Requiere Java 21 (mvn -Pjava21 package), k6 y que las dependencias del servicio estén levantadas.
+#
+# Uso: JAR=TransaccionMs/target/TransaccionMs-0.0.1-SNAPSHOT.jar PUERTO=8085 ESCENARIO=deposito \
+#      CUENTAS=1234567890,0987654321 benchmark/comparar-hilos.sh
+set -euo pipefail
+
+: "${JAR:?Defina JAR con la ruta del jar del servicio}"
+: "${CUENTAS:?Defina CUENTAS con números de cuenta existentes}"
+PUERTO="${PUERTO:-8085}"
+ESCENARIO="${ESCENARIO:-deposito}"
+VUS="${VUS:-5000}"
+DURACION="${DURACION:-2m}"
+OPCIONES_JVM="${OPCIONES_JVM:--Xms512m -Xmx512m}"
+DIRECTORIO="$(cd "$(dirname "$0")" && pwd)"
+RESULTADOS="${RESULTADOS:-$DIRECTORIO/resultados/$(date +%Y%m%d-%H%M%S)}"
+
+mkdir -p "$RESULTADOS"
+
+esperar_puerto() {
+    for _ in $(seq 1 120); do
+        if curl -s -o /dev/null "http://localhost:$PUERTO/"; then
+            return 0
+        fi
+        sleep 1
+    done
+    echo "El servicio no respondió en el puerto $PUERTO" >&2
+    return 1
+}
+
+muestrear() {
+    local pid="$1" salida="$2"
+    echo "segundo,rss_kb,hilos" > "$salida"
+    local segundo=0
+    while kill -0 "$pid" 2>/dev/null; do
+        local rss hilos
+        rss="$(ps -o rss= -p "$pid" | tr -d ' ')"
+        hilos="$(awk '/^Threads:/ {print $2}' "/proc/$pid/status" 2>/dev/null || echo 0)"
+        echo "$segundo,$rss,$hilos" >> "$salida"
+        segundo=$((segundo + 1))
+        sleep 1
+    done
+}
+
+for modo in plataforma virtual; do
+    virtual=false
+    [ "$modo" = "virtual" ] && virtual=true
+
+    # shellcheck disable=SC2086
+    java $OPCIONES_JVM -jar "$JAR" --server.port="$PUERTO" --spring.threads.virtual.enabled="$virtual" \
+        > "$RESULTADOS/$modo-servicio.log" 2>&1 &
+    pid=$!
+    esperar_puerto
+
+    muestrear "$pid" "$RESULTADOS/$modo-memoria.csv" &
+    muestreo=$!
+
+    k6 run --quiet \
+        -e BASE_URL="http://localhost:$PUERTO" -e ESCENARIO="$ESCENARIO" -e CUENTAS="$CUENTAS" \
+        -e VUS="$VUS" -e DURACION="$DURACION" \
+        --summary-export "$RESULTADOS/$modo-resumen.json" \
+        "$DIRECTORIO/hilos-virtuales.js" | tee "$RESULTADOS/$modo-k6.txt"
+
+    kill "$pid"
+    wait "$pid" 2>/dev/null || true
+    wait "$muestreo" 2>/dev/null || true
+done
+
+for modo in plataforma virtual; do
+    rps="$(grep -o '"http_reqs":{[^}]*"rate":[0-9.]*' "$RESULTADOS/$modo-resumen.json" | grep -o '[0-9.]*$')"
+    p99="$(grep -o '"http_req_duration":{[^}]*"p(99)":[0-9.]*' "$RESULTADOS/$modo-resumen.json" | grep -o '[0-9.]*$')"
+    rss_max="$(tail -n +2 "$RESULTADOS/$modo-memoria.csv" | cut -d, -f2 | sort -n | tail -1)"
+    hilos_max="$(tail -n +2 "$RESULTADOS/$modo-memoria.csv" | cut -d, -f3 | sort -n | tail -1)"
+    printf '%-10s req/s=%-10s p99_ms=%-10s rss_max_kb=%-10s hilos_max=%s\n' "$modo" "$rps" "$p99" "$rss_max" "$hilos_max"
+done | tee "$RESULTADOS/comparacion.txt"
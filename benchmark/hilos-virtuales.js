@@ -0,0 +1,42 @@
+import http from 'k6/http';
+import { check } from 'k6';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8085';
+const ESCENARIO = __ENV.ESCENARIO || 'deposito';
+const CUENTAS = (__ENV.CUENTAS || '').split(',').filter((cuenta) => cuenta.length > 0);
+
+export const options = {
+    scenarios: {
+        concurrencia: {
+            executor: 'constant-vus',
+            vus: Number(__ENV.VUS || 5000),
+            duration: __ENV.DURACION || '2m',
+        },
+    },
+    summaryTrendStats: ['avg', 'p(50)', 'p(95)', 'p(99)', 'max'],
+};
+
+export function setup() {
+    if (CUENTAS.length === 0) {
+        throw new Error('Defina CUENTAS con números de cuenta existentes separados por coma');
+    }
+}
+
+function cuentaAleatoria() {
+    return CUENTAS[Math.floor(Math.random() * CUENTAS.length)];
+}
+
+const escenarios = {
+    deposito: () => http.post(`${BASE_URL}/transacciones/deposito`,
+        JSON.stringify({ tipo: 'DEPOSITO', cuentaOrigen: cuentaAleatoria(), monto: 1.0 }),
+        { headers: { 'Content-Type': 'application/json' } }),
+    transferencia: () => http.post(`${BASE_URL}/transacciones/transferencia`,
+        JSON.stringify({ tipo: 'TRANSFERENCIA', cuentaOrigen: cuentaAleatoria(), cuentaDestino: cuentaAleatoria(), monto: 0.01 }),
+        { headers: { 'Content-Type': 'application/json' } }),
+    saldo: () => http.get(`${BASE_URL}/cuentas/numero/${cuentaAleatoria()}/saldo-tipo`),
+};
+
+export default function () {
+    const respuesta = escenarios[ESCENARIO]();
+    check(respuesta, { 'respuesta 2xx': (r) => r.status >= 200 && r.status < 300 });
+}